@@ -0,0 +1,306 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static java.util.Collections.singletonList;
+import static org.eclipselabs.garbagecat.OptionsParser.getLatestVersion;
+import static org.eclipselabs.garbagecat.OptionsParser.getVersion;
+import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+
+/**
+ * <p>
+ * Batch analysis of many gc logs (e.g. all the JVMs on a host). Each log file is a separate JVM run, analyzed on a
+ * fixed pool of worker threads with its own {@link org.eclipselabs.garbagecat.service.GcManager}, and written to its
+ * own report ("&lt;logfile&gt;.report.txt"). A summary index of the reports is written to the output file.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class Batch {
+
+    /**
+     * The file name suffix of the report created for each log file.
+     */
+    static final String REPORT_SUFFIX = ".report.txt";
+
+    /**
+     * The file name suffixes of the files garbagecat creates next to a log file, not analyzed in a directory or glob.
+     */
+    private static final String[] IGNORED_SUFFIXES = { REPORT_SUFFIX, ".pp", ".checkpoint", ".events", ".tmp" };
+
+    /**
+     * @param logFileName
+     *            A log file name command line argument.
+     * @return True if the argument is a glob (e.g. /var/log/jvm/*.log), false otherwise.
+     */
+    static boolean isGlob(String logFileName) {
+        return logFileName.matches(".*[*?\\[{].*");
+    }
+
+    /**
+     * Resolve the log file command line arguments to the log files to analyze. A directory is all the files in it (not
+     * recursive), and a glob is all the files that match it, except the files garbagecat creates (e.g. reports).
+     *
+     * @param logFileNames
+     *            Log file, directory, and glob command line arguments.
+     * @return The log files, sorted and without duplicates.
+     * @throws IOException
+     *             if a directory cannot be listed.
+     */
+    static List<File> getLogFiles(List<String> logFileNames) throws IOException {
+        Set<File> logFiles = new TreeSet<File>();
+        for (String logFileName : logFileNames) {
+            if (isGlob(logFileName)) {
+                Path glob = Paths.get(logFileName);
+                // The glob is matched against the files under the longest path without wildcards
+                int firstWildcard = 0;
+                while (!isGlob(glob.getName(firstWildcard).toString())) {
+                    firstWildcard++;
+                }
+                Path directory = firstWildcard == 0 ? (glob.getRoot() == null ? Paths.get("") : glob.getRoot())
+                        : glob.getRoot() == null ? glob.subpath(0, firstWildcard)
+                                : glob.getRoot().resolve(glob.subpath(0, firstWildcard));
+                int maxDepth = logFileName.contains("**") ? Integer.MAX_VALUE : glob.getNameCount() - firstWildcard;
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + logFileName);
+                if (Files.isDirectory(directory)) {
+                    try (Stream<Path> paths = Files.walk(directory, maxDepth)) {
+                        logFiles.addAll(paths
+                                .filter(path -> matcher.matches(path) && Files.isRegularFile(path) && !isIgnored(path))
+                                .map(Path::toFile).collect(Collectors.toList()));
+                    }
+                }
+            } else {
+                File logFile = new File(logFileName);
+                if (logFile.isDirectory()) {
+                    try (Stream<Path> paths = Files.list(logFile.toPath())) {
+                        logFiles.addAll(paths.filter(path -> Files.isRegularFile(path) && !isIgnored(path))
+                                .map(Path::toFile).collect(Collectors.toList()));
+                    }
+                } else {
+                    logFiles.add(logFile);
+                }
+            }
+        }
+        return new ArrayList<File>(logFiles);
+    }
+
+    /**
+     * @param path
+     *            A file in a directory or matching a glob.
+     * @return True if the file is created by garbagecat (e.g. a report), false otherwise.
+     */
+    private static boolean isIgnored(Path path) {
+        String fileName = path.getFileName().toString();
+        for (String suffix : IGNORED_SUFFIXES) {
+            if (fileName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param logFiles
+     *            The log files to analyze.
+     * @param reportDirectory
+     *            The directory the reports are written to.
+     * @return The report file for each log file, with a number added to the name of log files in different directories
+     *         that have the same name (e.g. gc.log.report.txt, gc.log-2.report.txt).
+     */
+    static List<File> getReportFiles(List<File> logFiles, File reportDirectory) {
+        List<File> reportFiles = new ArrayList<File>();
+        Set<String> reportFileNames = new HashSet<String>();
+        for (File logFile : logFiles) {
+            String reportFileName = logFile.getName() + REPORT_SUFFIX;
+            for (int i = 2; !reportFileNames.add(reportFileName); i++) {
+                reportFileName = logFile.getName() + "-" + i + REPORT_SUFFIX;
+            }
+            reportFiles.add(new File(reportDirectory, reportFileName));
+        }
+        return reportFiles;
+    }
+
+    /**
+     * The log files to analyze.
+     */
+    private final List<File> logFiles;
+
+    /**
+     * The JVM start date/time, or null if not specified.
+     */
+    private final Date jvmStartDate;
+
+    /**
+     * The JVM options, or null if not specified.
+     */
+    private final String jvmOptions;
+
+    /**
+     * Whether or not to preprocess the logging.
+     */
+    private final boolean preprocess;
+
+    /**
+     * Whether or not to reorder the logging by timestamp.
+     */
+    private final boolean reorder;
+
+    /**
+     * The throughput threshold for bottleneck reporting.
+     */
+    private final int throughputThreshold;
+
+    /**
+     * The number of log files analyzed at the same time.
+     */
+    private final int threads;
+
+    /**
+     * @param logFiles
+     *            The log files to analyze.
+     * @param jvmStartDate
+     *            The JVM start date/time, or null if not specified.
+     * @param jvmOptions
+     *            The JVM options, or null if not specified.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to reorder the logging by timestamp.
+     * @param throughputThreshold
+     *            The throughput threshold for bottleneck reporting.
+     * @param threads
+     *            The number of log files analyzed at the same time.
+     */
+    Batch(List<File> logFiles, Date jvmStartDate, String jvmOptions, boolean preprocess, boolean reorder,
+            int throughputThreshold, int threads) {
+        this.logFiles = logFiles;
+        this.jvmStartDate = jvmStartDate;
+        this.jvmOptions = jvmOptions;
+        this.preprocess = preprocess;
+        this.reorder = reorder;
+        this.throughputThreshold = throughputThreshold;
+        this.threads = threads;
+    }
+
+    /**
+     * Analyze the log files, creating a report for each log file and the summary index.
+     *
+     * @param summaryFileName
+     *            The summary index file name. The reports are created in the same directory.
+     * @param version
+     *            Whether or not to report garbagecat version in the summary.
+     * @param latestVersion
+     *            Whether or not to report latest garbagecat version in the summary.
+     */
+    void createReports(String summaryFileName, boolean version, boolean latestVersion) {
+        File summaryFile = new File(summaryFileName);
+        File reportDirectory = summaryFile.getAbsoluteFile().getParentFile();
+        List<File> reportFiles = getReportFiles(logFiles, reportDirectory);
+        List<Future<JvmRun>> jvmRuns = new ArrayList<Future<JvmRun>>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(logFiles.size(), 1)));
+        try {
+            for (int i = 0; i < logFiles.size(); i++) {
+                File logFile = logFiles.get(i);
+                File reportFile = reportFiles.get(i);
+                jvmRuns.add(executor.submit(() -> {
+                    // Each log file is a separate JVM run with its own data store
+                    GcManager gcManager = new GcManager();
+                    gcManager.store(singletonList(logFile), jvmStartDate, preprocess, reorder);
+                    JvmRun jvmRun = gcManager.getJvmRun(new Jvm(jvmOptions, jvmStartDate), throughputThreshold);
+                    Main.createReport(jvmRun, reportFile.getPath(), false, false, logFile.getPath());
+                    return jvmRun;
+                }));
+            }
+            createSummary(summaryFile, reportFiles, jvmRuns, version, latestVersion);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Write the summary index, waiting for each log file analysis to finish.
+     *
+     * @param summaryFile
+     *            The summary index file.
+     * @param reportFiles
+     *            The report file for each log file.
+     * @param jvmRuns
+     *            The analysis of each log file.
+     * @param version
+     *            Whether or not to report garbagecat version.
+     * @param latestVersion
+     *            Whether or not to report latest garbagecat version.
+     */
+    private void createSummary(File summaryFile, List<File> reportFiles, List<Future<JvmRun>> jvmRuns,
+            boolean version, boolean latestVersion) {
+        try (PrintWriter printWriter = new PrintWriter(new FileWriter(summaryFile))) {
+            printWriter.write("Batch: " + logFiles.size() + " log file(s)" + LINE_SEPARATOR);
+            if (version) {
+                printWriter.write("Running garbagecat version: " + getVersion() + LINE_SEPARATOR);
+            }
+            if (latestVersion) {
+                printWriter.write("Latest garbagecat version/tag: " + getLatestVersion() + LINE_SEPARATOR);
+            }
+            for (int i = 0; i < logFiles.size(); i++) {
+                printWriter.write(LINE_SEPARATOR);
+                printWriter.write(logFiles.get(i).getPath() + LINE_SEPARATOR);
+                try {
+                    JvmRun jvmRun = jvmRuns.get(i).get();
+                    printWriter.write("Report: " + reportFiles.get(i).getName() + LINE_SEPARATOR);
+                    printWriter.write("# GC Events: " + jvmRun.getBlockingEventCount() + LINE_SEPARATOR);
+                    if (jvmRun.getBlockingEventCount() > 0) {
+                        printWriter.write("GC Throughput: " + jvmRun.getGcThroughput() + "%" + LINE_SEPARATOR);
+                        printWriter.write("GC Pause Max: " + JdkMath.convertMillisToSecs(jvmRun.getMaxGcPause())
+                                + " secs" + LINE_SEPARATOR);
+                    }
+                    printWriter.write("# Analysis: " + jvmRun.getAnalysis().size() + LINE_SEPARATOR);
+                } catch (ExecutionException e) {
+                    printWriter.write("Error: " + e.getCause() + LINE_SEPARATOR);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    printWriter.write("Error: interrupted" + LINE_SEPARATOR);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
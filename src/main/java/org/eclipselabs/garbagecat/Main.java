@@ -18,16 +18,26 @@ import static org.eclipselabs.garbagecat.OptionsParser.options;
 import static org.eclipselabs.garbagecat.OptionsParser.parseOptions;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
 import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CHECKPOINT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENT_CACHE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OFF_HEAP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OFF_HEAP_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_STAGES_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_THREADS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_THREADS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERSION_LONG;
@@ -56,6 +66,7 @@ import org.apache.commons.cli.ParseException;
 import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.service.StageStatistics;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -120,7 +131,7 @@ public class Main {
     private static void usage() {
         // Use the built in formatter class
         HelpFormatter formatter = new HelpFormatter();
-        formatter.printHelp("garbagecat [OPTION]... [FILE]", options);
+        formatter.printHelp("garbagecat [OPTION]... [FILE]...", options);
     }
 
     public static void createReport(CommandLine cmd) {
@@ -129,44 +140,137 @@ public class Main {
                 ? parseStartDateTime(cmd.getOptionValue(OPTION_STARTDATETIME_SHORT))
                 : null;
         String jvmOptions = cmd.hasOption(OPTION_JVMOPTIONS_LONG) ? cmd.getOptionValue(OPTION_JVMOPTIONS_SHORT) : null;
-        String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
-        File logFile = new File(logFileName);
+        if (cmd.hasOption(OPTION_BATCH_LONG)) {
+            createBatchReports(cmd, jvmStartDate, jvmOptions);
+            return;
+        }
+        // Multiple log files are a set of log files from a single JVM run (e.g. rotated logging)
+        List<File> logFiles = new ArrayList<File>();
+        StringBuilder logFileNames = new StringBuilder();
+        for (Object logFileName : cmd.getArgList()) {
+            File logFile = new File((String) logFileName);
+            logFiles.add(logFile);
+            if (logFileNames.length() > 0) {
+                logFileNames.append(", ");
+            }
+            logFileNames.append(logFile.getName());
+        }
 
         GcManager gcManager = new GcManager();
-
-        // Do preprocessing
-        if (cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
-            /*
-             * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat was
-             * started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK 1.6 update
-             * 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and convert them to
-             * timestamps.
-             * 
-             * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the JVM
-             * start date/time.
-             */
-            logFile = gcManager.preprocess(logFile, jvmStartDate);
+        if (cmd.hasOption(OPTION_THREADS_LONG)) {
+            gcManager.setParallelism(Integer.parseInt(cmd.getOptionValue(OPTION_THREADS_SHORT)));
+        }
+        if (cmd.hasOption(OPTION_OFF_HEAP_LONG)) {
+            gcManager.setScratchDirectory(new File(cmd.getOptionValue(OPTION_OFF_HEAP_SHORT)));
         }
 
         // Allow logging to be reordered?
         boolean reorder = cmd.hasOption(OPTION_REORDER_LONG);
 
-        // Store garbage collection logging in data store.
-        gcManager.store(logFile, reorder);
-
-        // Create report
-        Jvm jvm = new Jvm(jvmOptions, jvmStartDate);
         // Determine report options
+        Jvm jvm = new Jvm(jvmOptions, jvmStartDate);
         int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
                 ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
                 : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
-
-        JvmRun jvmRun = gcManager.getJvmRun(jvm, throughputThreshold);
         String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
                 : OUTPUT_FILE_NAME;
         boolean version = cmd.hasOption(OPTION_VERSION_LONG);
         boolean latestVersion = cmd.hasOption(OPTION_LATEST_VERSION_LONG);
-        createReport(jvmRun, outputFileName, version, latestVersion, logFileName);
+
+        /*
+         * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat was
+         * started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK 1.6 update 4,
+         * the easiest thing to do to handle datestamps was to preprocess the datestamps and convert them to timestamps.
+         * 
+         * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the JVM
+         * start date/time.
+         * 
+         * Preprocessed logging is stored as it is preprocessed, without writing an intermediate file.
+         */
+        boolean preprocess = cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG);
+
+        if (cmd.hasOption(OPTION_FOLLOW_LONG)) {
+            // Stop following and create the final report on shutdown (e.g. Ctrl-C)
+            final Thread followThread = Thread.currentThread();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                followThread.interrupt();
+                try {
+                    followThread.join();
+                } catch (InterruptedException e) {
+                    // Shutting down anyway
+                }
+            }));
+            long reportInterval = Long.parseLong(cmd.getOptionValue(OPTION_FOLLOW_SHORT)) * 1000;
+            gcManager.follow(logFiles.get(0), jvmStartDate, preprocess, reorder, reportInterval,
+                    () -> createReport(gcManager.getJvmRun(jvm, throughputThreshold), outputFileName, version,
+                            latestVersion, logFileNames.toString()));
+        } else {
+            File eventCacheFile = new File(logFiles.get(0).getPath() + ".events");
+            boolean eventCache = cmd.hasOption(OPTION_EVENT_CACHE_LONG);
+            // Load the data store from the events parsed by the previous run, if the log files are unchanged
+            if (!eventCache
+                    || !gcManager.loadEventCache(eventCacheFile, logFiles, jvmStartDate, preprocess, reorder)) {
+                if (cmd.hasOption(OPTION_CHECKPOINT_LONG)) {
+                    // Store only the logging after the checkpoint of the previous run
+                    File logFile = logFiles.get(0);
+                    gcManager.store(logFile, jvmStartDate, preprocess, reorder,
+                            new File(logFile.getPath() + ".checkpoint"));
+                } else {
+                    // Store garbage collection logging in data store.
+                    gcManager.store(logFiles, jvmStartDate, preprocess, reorder);
+                }
+                if (eventCache) {
+                    gcManager.saveEventCache(eventCacheFile, logFiles, jvmStartDate, preprocess, reorder);
+                }
+            }
+        }
+
+        // Show which ingest stage is the bottleneck
+        if (cmd.hasOption(OPTION_STAGES_LONG)) {
+            for (StageStatistics stageStatistics : gcManager.getStageStatistics()) {
+                System.out.println(stageStatistics);
+            }
+        }
+
+        // Create report
+        JvmRun jvmRun = gcManager.getJvmRun(jvm, throughputThreshold);
+        createReport(jvmRun, outputFileName, version, latestVersion, logFileNames.toString());
+    }
+
+    /**
+     * Create a report for each log file, analyzing the log files concurrently, and a summary index of the reports.
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param jvmStartDate
+     *            The JVM start date/time, or null if not specified.
+     * @param jvmOptions
+     *            The JVM options, or null if not specified.
+     */
+    private static void createBatchReports(CommandLine cmd, Date jvmStartDate, String jvmOptions) {
+        List<String> logFileNames = new ArrayList<String>();
+        for (Object logFileName : cmd.getArgList()) {
+            logFileNames.add((String) logFileName);
+        }
+        List<File> logFiles;
+        try {
+            logFiles = Batch.getLogFiles(logFileNames);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
+                ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
+                : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
+        int threads = cmd.hasOption(OPTION_THREADS_LONG) ? Integer.parseInt(cmd.getOptionValue(OPTION_THREADS_SHORT))
+                : 1;
+        boolean preprocess = cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG);
+        Batch batch = new Batch(logFiles, jvmStartDate, jvmOptions, preprocess, cmd.hasOption(OPTION_REORDER_LONG),
+                throughputThreshold, threads);
+        String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
+                : OUTPUT_FILE_NAME;
+        batch.createReports(outputFileName, cmd.hasOption(OPTION_VERSION_LONG),
+                cmd.hasOption(OPTION_LATEST_VERSION_LONG));
     }
 
     /**
@@ -181,7 +285,7 @@ public class Main {
      * @param latestVersion
      *            Whether or not to report latest garbagecat version.
      * @param gcLogFileName
-     *            The gc log file analyzed.
+     *            The gc log file(s) analyzed.
      */
     public static void createReport(JvmRun jvmRun, String reportFileName, boolean version, boolean latestVersion,
             String gcLogFileName) {
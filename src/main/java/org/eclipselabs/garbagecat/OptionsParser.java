@@ -12,20 +12,34 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_BATCH_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CHECKPOINT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_CHECKPOINT_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENT_CACHE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENT_CACHE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FOLLOW_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OFF_HEAP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OFF_HEAP_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_STAGES_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_STAGES_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_THREADS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_THREADS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERSION_LONG;
@@ -75,6 +89,21 @@ public class OptionsParser {
         options.addOption(OPTION_REORDER_SHORT, OPTION_REORDER_LONG, false, "reorder logging by timestamp");
         options.addOption(OPTION_OUTPUT_SHORT, OPTION_OUTPUT_LONG, true,
                 "output file name (default " + OUTPUT_FILE_NAME + ")");
+        options.addOption(OPTION_THREADS_SHORT, OPTION_THREADS_LONG, true,
+                "number of threads (1-999) used to parse logging (default 1)");
+        options.addOption(OPTION_FOLLOW_SHORT, OPTION_FOLLOW_LONG, true,
+                "follow logging as it is written, creating the report every <arg> seconds (1-99999)");
+        options.addOption(OPTION_CHECKPOINT_SHORT, OPTION_CHECKPOINT_LONG, false,
+                "resume from the checkpoint of the previous run (<logfile>.checkpoint)");
+        options.addOption(OPTION_EVENT_CACHE_SHORT, OPTION_EVENT_CACHE_LONG, false,
+                "reuse the events parsed by the previous run (<logfile>.events) to change only report options");
+        options.addOption(OPTION_BATCH_SHORT, OPTION_BATCH_LONG, false,
+                "analyze each log file (or the files in a directory or matching a glob) as a separate JVM run, "
+                        + "creating one report per log file and a summary (default 1 at a time, see threads)");
+        options.addOption(OPTION_OFF_HEAP_SHORT, OPTION_OFF_HEAP_LONG, true,
+                "store the events in memory-mapped scratch files in directory <arg> instead of on the heap");
+        options.addOption(OPTION_STAGES_SHORT, OPTION_STAGES_LONG, false,
+                "print the time spent in each ingest stage (read, preprocess, parse, store)");
     }
 
     /**
@@ -131,10 +160,14 @@ public class OptionsParser {
         if (cmd.getArgList().isEmpty()) {
             throw new ParseException("Missing log file not");
         }
-        String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
-        File logFile = new File(logFileName);
-        if (!logFile.exists()) {
-            throw new ParseException("Invalid log file: '" + logFileName + "'");
+        for (Object logFileName : cmd.getArgList()) {
+            File logFile = new File((String) logFileName);
+            if (cmd.hasOption(OPTION_BATCH_LONG) && Batch.isGlob((String) logFileName)) {
+                continue;
+            }
+            if (!logFile.exists()) {
+                throw new ParseException("Invalid log file: '" + logFileName + "'");
+            }
         }
         // threshold
         if (cmd.hasOption(OPTION_THRESHOLD_LONG)) {
@@ -146,6 +179,58 @@ public class OptionsParser {
                 throw new ParseException("Invalid threshold: '" + thresholdOptionValue + "'");
             }
         }
+        // threads
+        if (cmd.hasOption(OPTION_THREADS_LONG)) {
+            String threadsOptionValue = cmd.getOptionValue(OPTION_THREADS_SHORT);
+            if (!threadsOptionValue.matches("^\\d{1,3}$") || Integer.parseInt(threadsOptionValue) < 1) {
+                throw new ParseException("Invalid threads: '" + threadsOptionValue + "'");
+            }
+        }
+        // follow
+        if (cmd.hasOption(OPTION_FOLLOW_LONG)) {
+            String followOptionValue = cmd.getOptionValue(OPTION_FOLLOW_SHORT);
+            if (!followOptionValue.matches("^\\d{1,5}$") || Integer.parseInt(followOptionValue) < 1) {
+                throw new ParseException("Invalid follow: '" + followOptionValue + "'");
+            }
+            if (cmd.getArgList().size() > 1) {
+                throw new ParseException("Follow requires a single log file");
+            }
+        }
+        // checkpoint
+        if (cmd.hasOption(OPTION_CHECKPOINT_LONG)) {
+            if (cmd.getArgList().size() > 1) {
+                throw new ParseException("Checkpoint requires a single log file");
+            }
+            if (cmd.hasOption(OPTION_FOLLOW_LONG)) {
+                throw new ParseException("Checkpoint cannot be used with follow");
+            }
+        }
+        // event cache
+        if (cmd.hasOption(OPTION_EVENT_CACHE_LONG) && cmd.hasOption(OPTION_FOLLOW_LONG)) {
+            throw new ParseException("Event cache cannot be used with follow");
+        }
+        // batch
+        if (cmd.hasOption(OPTION_BATCH_LONG)) {
+            if (cmd.hasOption(OPTION_FOLLOW_LONG)) {
+                throw new ParseException("Batch cannot be used with follow");
+            }
+            if (cmd.hasOption(OPTION_CHECKPOINT_LONG)) {
+                throw new ParseException("Batch cannot be used with checkpoint");
+            }
+            if (cmd.hasOption(OPTION_EVENT_CACHE_LONG)) {
+                throw new ParseException("Batch cannot be used with event cache");
+            }
+        }
+        // off heap
+        if (cmd.hasOption(OPTION_OFF_HEAP_LONG)) {
+            String offHeapOptionValue = cmd.getOptionValue(OPTION_OFF_HEAP_SHORT);
+            if (!new File(offHeapOptionValue).isDirectory()) {
+                throw new ParseException("Invalid offheap directory: '" + offHeapOptionValue + "'");
+            }
+            if (cmd.hasOption(OPTION_BATCH_LONG)) {
+                throw new ParseException("Batch cannot be used with offheap");
+            }
+        }
         // startdatetime
         if (cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
             String startdatetimeOptionValue = cmd.getOptionValue(OPTION_STARTDATETIME_SHORT);
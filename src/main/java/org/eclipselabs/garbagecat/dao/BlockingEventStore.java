@@ -0,0 +1,780 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.eclipselabs.garbagecat.util.Memory.NO_KILOBYTES;
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
+import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * <code>BlockingEvent</code>s stored as fixed-width records, one row per event in timestamp order.
+ * </p>
+ *
+ * <p>
+ * Each row holds the event type, timestamp, duration, and the sizes (kilobytes) needed for the JVM run aggregates. The
+ * aggregates are running maximums and totals, and the rows of each event type are indexed, both updated as events are
+ * added, so neither scans the events. Each row has the offset of its log entry in the log entry text. Events are
+ * materialized from the stored event type, log entry, timestamp and duration when requested, without parsing the log
+ * entry, except the first and last events, which are kept. Callers that need the event values the records do not
+ * store (e.g. the young and old sizes) get the events parsed from their log entries with {@link #getParsedEvents()}.
+ * The records are
+ * stored on the heap or memory-mapped from scratch files (see {@link EventRecords}), and are written and read as
+ * stored, so a checkpoint is saved and loaded without parsing the events.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public final class BlockingEventStore implements Closeable {
+
+    /**
+     * Event type of events without a registered <code>LogEventType</code>.
+     */
+    private static final short NO_EVENT_TYPE = -1;
+
+    /**
+     * Record field offsets.
+     */
+    private static final int EVENT_TYPE = 0;
+
+    private static final int DURATION = 4;
+
+    private static final int TIMESTAMP = 8;
+
+    /**
+     * Young plus old occupancy at the beginning of the event, or combined occupancy.
+     */
+    private static final int HEAP_OCCUPANCY_INIT = 16;
+
+    /**
+     * Young plus old occupancy at the end of the event, or combined occupancy (the greater if both are logged).
+     */
+    private static final int HEAP_OCCUPANCY_END = 24;
+
+    /**
+     * Young plus old space, or combined space.
+     */
+    private static final int HEAP_SPACE = 32;
+
+    private static final int YOUNG_SPACE = 40;
+
+    private static final int OLD_SPACE = 48;
+
+    private static final int PERM_OCCUPANCY_INIT = 56;
+
+    private static final int PERM_OCCUPANCY_END = 64;
+
+    private static final int PERM_SPACE = 72;
+
+    /**
+     * G1 eden occupancy at the beginning of the event, for the allocation rate.
+     */
+    private static final int EDEN_OCCUPANCY_INIT = 80;
+
+    /**
+     * G1 eden occupancy at the end of the event, for the allocation rate.
+     */
+    private static final int EDEN_OCCUPANCY_END = 88;
+
+    private static final int LOG_ENTRY = 96;
+
+    /**
+     * The number of size fields, which are the long fields from {@link #HEAP_OCCUPANCY_INIT} to
+     * {@link #EDEN_OCCUPANCY_END}.
+     */
+    private static final int SIZE_FIELDS = (LOG_ENTRY - HEAP_OCCUPANCY_INIT) / Long.BYTES;
+
+    private static final int RECORD_WIDTH = LOG_ENTRY + EventRecords.LOG_ENTRY_WIDTH;
+
+    private static Memory add(Memory m1, Memory m2) {
+        Memory memory2 = m2 == null ? Memory.ZERO : m2;
+        return m1 == null ? memory2 : m1.plus(memory2);
+    }
+
+    private static long kilobytes(Memory memory) {
+        return memory == null ? NO_KILOBYTES : memory.getValue(KILOBYTES);
+    }
+
+    private static int sizeIndex(int field) {
+        return (field - HEAP_OCCUPANCY_INIT) / Long.BYTES;
+    }
+
+    /**
+     * One record per event, in timestamp order.
+     */
+    private final EventRecords records;
+
+    /**
+     * The event in the first row as added, or null if not kept.
+     */
+    private BlockingEvent firstEvent;
+
+    /**
+     * The event in the last row as added, or null if not kept.
+     */
+    private BlockingEvent lastEvent;
+
+    /**
+     * The rows of the events of each event type, updated as events are added.
+     */
+    private final Map<LogEventType, RowIndex> rowIndexes = new EnumMap<>(LogEventType.class);
+
+    /**
+     * Running maximum of each size field (kilobytes), updated as events are added.
+     */
+    private final long[] maxSizes = new long[SIZE_FIELDS];
+
+    /**
+     * Running maximum duration (microseconds).
+     */
+    private int maxDuration;
+
+    /**
+     * Running total duration (microseconds).
+     */
+    private long totalDuration;
+
+    /**
+     * Store the events on the heap.
+     */
+    public BlockingEventStore() {
+        this(null);
+    }
+
+    /**
+     * @param scratchDirectory
+     *            The directory for the memory-mapped scratch files, or null to store the events on the heap.
+     */
+    public BlockingEventStore(File scratchDirectory) {
+        records = new EventRecords(RECORD_WIDTH, scratchDirectory);
+        Arrays.fill(maxSizes, NO_KILOBYTES);
+    }
+
+    /**
+     * Add an event in timestamp order. An event with the same timestamp as stored events is added after them.
+     *
+     * @param event
+     *            The event.
+     */
+    public void add(BlockingEvent event) {
+        long timestamp = event.getTimestamp();
+        int size = records.size();
+        int row;
+        if (size > 0 && records.getLong(size - 1, TIMESTAMP) > timestamp) {
+            row = insertPosition(timestamp);
+            records.insert(row);
+            for (RowIndex rowIndex : rowIndexes.values()) {
+                rowIndex.shift(row);
+            }
+        } else {
+            row = records.append();
+        }
+        if (row == 0) {
+            firstEvent = event;
+        }
+        if (row == records.size() - 1) {
+            lastEvent = event;
+        }
+
+        LogEventType eventType = EventTypeRegistry.getEventType(event);
+        records.putShort(row, EVENT_TYPE, eventType == null ? NO_EVENT_TYPE : (short) eventType.ordinal());
+        if (eventType != null) {
+            RowIndex rowIndex = rowIndexes.get(eventType);
+            if (rowIndex == null) {
+                rowIndex = new RowIndex();
+                rowIndexes.put(eventType, rowIndex);
+            }
+            rowIndex.add(row);
+        }
+        records.putLong(row, TIMESTAMP, timestamp);
+        int duration = event.getDuration();
+        records.putInt(row, DURATION, duration);
+        if (records.size() == 1 || duration > maxDuration) {
+            maxDuration = duration;
+        }
+        totalDuration += duration;
+
+        long heapOccupancyInit = 0;
+        long heapOccupancyEnd = NO_KILOBYTES;
+        long heapSpace = 0;
+        long oldSpace = NO_KILOBYTES;
+        if (event instanceof OldData) {
+            OldData old = (OldData) event;
+            heapOccupancyInit = kilobytes(add(old.getYoungOccupancyInit(), old.getOldOccupancyInit()));
+            heapOccupancyEnd = kilobytes(add(old.getYoungOccupancyEnd(), old.getOldOccupancyEnd()));
+            heapSpace = kilobytes(add(old.getYoungSpace(), old.getOldSpace()));
+            oldSpace = kilobytes(old.getOldSpace());
+        }
+        if (event instanceof CombinedData) {
+            CombinedData combined = (CombinedData) event;
+            if (!(event instanceof OldData)) {
+                heapOccupancyInit = kilobytes(combined.getCombinedOccupancyInit());
+                heapSpace = kilobytes(combined.getCombinedSpace());
+            }
+            long combinedOccupancyEnd = kilobytes(combined.getCombinedOccupancyEnd());
+            if (heapOccupancyEnd == NO_KILOBYTES || combinedOccupancyEnd > heapOccupancyEnd) {
+                heapOccupancyEnd = combinedOccupancyEnd;
+            }
+        }
+        putSize(row, HEAP_OCCUPANCY_INIT, heapOccupancyInit);
+        putSize(row, HEAP_OCCUPANCY_END, heapOccupancyEnd);
+        putSize(row, HEAP_SPACE, heapSpace);
+        putSize(row, OLD_SPACE, oldSpace);
+        putSize(row, YOUNG_SPACE,
+                event instanceof YoungData ? kilobytes(((YoungData) event).getYoungSpace()) : NO_KILOBYTES);
+        if (event instanceof PermMetaspaceData) {
+            PermMetaspaceData perm = (PermMetaspaceData) event;
+            putSize(row, PERM_OCCUPANCY_INIT, kilobytes(perm.getPermOccupancyInit()));
+            putSize(row, PERM_OCCUPANCY_END, kilobytes(perm.getPermOccupancyEnd()));
+            putSize(row, PERM_SPACE, kilobytes(perm.getPermSpace()));
+        } else {
+            putSize(row, PERM_OCCUPANCY_INIT, NO_KILOBYTES);
+            putSize(row, PERM_OCCUPANCY_END, NO_KILOBYTES);
+            putSize(row, PERM_SPACE, NO_KILOBYTES);
+        }
+        if (event instanceof G1YoungPauseEvent) {
+            G1YoungPauseEvent g1YoungPause = (G1YoungPauseEvent) event;
+            putSize(row, EDEN_OCCUPANCY_INIT, kilobytes(g1YoungPause.getEdenOccupancyInit()));
+            putSize(row, EDEN_OCCUPANCY_END, kilobytes(g1YoungPause.getEdenOccupancyEnd()));
+        } else {
+            putSize(row, EDEN_OCCUPANCY_INIT, NO_KILOBYTES);
+            putSize(row, EDEN_OCCUPANCY_END, NO_KILOBYTES);
+        }
+        records.putLogEntry(row, LOG_ENTRY, event.getLogEntry());
+    }
+
+    /**
+     * Remove all events.
+     */
+    public void clear() {
+        records.clear();
+        rowIndexes.clear();
+        firstEvent = null;
+        lastEvent = null;
+        Arrays.fill(maxSizes, NO_KILOBYTES);
+        maxDuration = 0;
+        totalDuration = 0;
+    }
+
+    /**
+     * The kilobytes allocated between the events of an event type: the eden occupancy at the beginning of each event
+     * less the eden occupancy at the end of the prior event. Events without eden occupancy are skipped.
+     *
+     * @param eventType
+     *            The event type.
+     * @return The allocation (kilobytes).
+     */
+    public long getEdenAllocation(LogEventType eventType) {
+        RowIndex rowIndex = rowIndexes.get(eventType);
+        if (rowIndex == null) {
+            return 0;
+        }
+        long allocation = 0;
+        long priorEdenOccupancyEnd = NO_KILOBYTES;
+        for (int i = 0; i < rowIndex.size; i++) {
+            int row = rowIndex.rows[i];
+            long edenOccupancyInit = records.getLong(row, EDEN_OCCUPANCY_INIT);
+            long edenOccupancyEnd = records.getLong(row, EDEN_OCCUPANCY_END);
+            if (edenOccupancyInit == NO_KILOBYTES || edenOccupancyEnd == NO_KILOBYTES) {
+                continue;
+            }
+            if (priorEdenOccupancyEnd != NO_KILOBYTES) {
+                allocation += edenOccupancyInit - priorEdenOccupancyEnd;
+            }
+            priorEdenOccupancyEnd = edenOccupancyEnd;
+        }
+        return allocation;
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return The time (milliseconds) from the first to the last event of the event type, or 0 if there are none.
+     */
+    public long getElapsedTime(LogEventType eventType) {
+        RowIndex rowIndex = rowIndexes.get(eventType);
+        if (rowIndex == null || rowIndex.size == 0) {
+            return 0;
+        }
+        return records.getLong(rowIndex.rows[rowIndex.size - 1], TIMESTAMP)
+                - records.getLong(rowIndex.rows[0], TIMESTAMP);
+    }
+
+    /**
+     * Remove all events and delete any scratch files. No events can be added afterwards.
+     */
+    @Override
+    public void close() {
+        clear();
+        records.close();
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The duration (microseconds) of the event in the row.
+     */
+    public int getDuration(int row) {
+        checkRow(row);
+        return records.getInt(row, DURATION);
+    }
+
+    /**
+     * Materialize the event in a row from the stored values, except the first and last events, which are kept.
+     *
+     * @param row
+     *            The row.
+     * @return The event in the row, with only the event type, log entry, timestamp and duration.
+     */
+    public BlockingEvent getEvent(int row) {
+        checkRow(row);
+        if (row == 0) {
+            return getFirstEvent();
+        }
+        if (row == records.size() - 1) {
+            return getLastEvent();
+        }
+        return materialize(row);
+    }
+
+    /**
+     * @return A list of the events, each event materialized from the stored values when it is retrieved. The list is
+     *         only valid until the next event is added.
+     */
+    public List<BlockingEvent> getEvents() {
+        return new Events(null, records.size(), false);
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return A list of the events of the event type, each event materialized from the stored values when it is
+     *         retrieved. The list is only valid until the next event is added.
+     */
+    public List<BlockingEvent> getEvents(LogEventType eventType) {
+        RowIndex rowIndex = rowIndexes.get(eventType);
+        return rowIndex == null ? new Events(new int[0], 0, false) : new Events(rowIndex.rows, rowIndex.size, false);
+    }
+
+    /**
+     * @return The first event, or null if there are none.
+     */
+    public BlockingEvent getFirstEvent() {
+        if (firstEvent == null && records.size() > 0) {
+            return materialize(0);
+        }
+        return firstEvent;
+    }
+
+    /**
+     * @return The last event, or null if there are none.
+     */
+    public BlockingEvent getLastEvent() {
+        if (lastEvent == null && records.size() > 0) {
+            return materialize(records.size() - 1);
+        }
+        return lastEvent;
+    }
+
+    /**
+     * Parse the event in a row from its log entry, except the first and last events, which are kept. Only for callers
+     * that need event values the records do not store, since the log entry is parsed again.
+     *
+     * @param row
+     *            The row.
+     * @return The event in the row, with all the logged values.
+     */
+    public BlockingEvent getParsedEvent(int row) {
+        checkRow(row);
+        if (row == 0 && firstEvent != null) {
+            return firstEvent;
+        }
+        if (row == records.size() - 1 && lastEvent != null) {
+            return lastEvent;
+        }
+        return parse(row);
+    }
+
+    /**
+     * @return A list of the events, each event parsed from its log entry when it is retrieved (see
+     *         {@link #getParsedEvent(int)}). The list is only valid until the next event is added.
+     */
+    public List<BlockingEvent> getParsedEvents() {
+        return new Events(null, records.size(), true);
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The event type of the event in the row, or null if it is not a registered event type.
+     */
+    public LogEventType getEventType(int row) {
+        checkRow(row);
+        short eventType = records.getShort(row, EVENT_TYPE);
+        return eventType == NO_EVENT_TYPE ? null : LogEventType.values()[eventType];
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The log entry of the event in the row.
+     */
+    public String getLogEntry(int row) {
+        checkRow(row);
+        return records.getLogEntry(row, LOG_ENTRY);
+    }
+
+    /**
+     * @return The maximum heap after GC (kilobytes).
+     */
+    public long getMaxHeapAfterGc() {
+        return max(HEAP_OCCUPANCY_END);
+    }
+
+    /**
+     * @return The maximum heap occupancy (kilobytes).
+     */
+    public long getMaxHeapOccupancy() {
+        return max(HEAP_OCCUPANCY_INIT);
+    }
+
+    /**
+     * @return The maximum heap space (kilobytes).
+     */
+    public long getMaxHeapSpace() {
+        return max(HEAP_SPACE);
+    }
+
+    /**
+     * @return The maximum old space (kilobytes).
+     */
+    public long getMaxOldSpace() {
+        return max(OLD_SPACE);
+    }
+
+    /**
+     * @return The maximum duration (microseconds).
+     */
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * @return The maximum perm/metaspace after GC (kilobytes).
+     */
+    public long getMaxPermAfterGc() {
+        return max(PERM_OCCUPANCY_END);
+    }
+
+    /**
+     * @return The maximum perm/metaspace occupancy (kilobytes).
+     */
+    public long getMaxPermOccupancy() {
+        return max(PERM_OCCUPANCY_INIT);
+    }
+
+    /**
+     * @return The maximum perm/metaspace space (kilobytes).
+     */
+    public long getMaxPermSpace() {
+        return max(PERM_SPACE);
+    }
+
+    /**
+     * @return The maximum young space (kilobytes).
+     */
+    public long getMaxYoungSpace() {
+        return max(YOUNG_SPACE);
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The timestamp (milliseconds) of the event in the row.
+     */
+    public long getTimestamp(int row) {
+        checkRow(row);
+        return records.getLong(row, TIMESTAMP);
+    }
+
+    /**
+     * Replace the events with events written by {@link #write(DataOutput)}. The records and aggregates are read as
+     * stored and the event type indexes are rebuilt from the event type field, so no event is parsed. The first and
+     * last events are not kept, so they are materialized from the stored values.
+     *
+     * @param in
+     *            The input.
+     * @throws IOException
+     *             if the events cannot be read.
+     */
+    public void read(DataInput in) throws IOException {
+        clear();
+        records.read(in);
+        for (int i = 0; i < maxSizes.length; i++) {
+            maxSizes[i] = in.readLong();
+        }
+        maxDuration = in.readInt();
+        totalDuration = in.readLong();
+        for (int row = 0; row < records.size(); row++) {
+            LogEventType eventType = getEventType(row);
+            if (eventType != null) {
+                RowIndex rowIndex = rowIndexes.get(eventType);
+                if (rowIndex == null) {
+                    rowIndex = new RowIndex();
+                    rowIndexes.put(eventType, rowIndex);
+                }
+                rowIndex.add(row);
+            }
+        }
+    }
+
+    /**
+     * @return The total duration (microseconds).
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * @return The number of events.
+     */
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Write the records and the running aggregates as stored.
+     *
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the events cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        records.write(out);
+        for (long maxSize : maxSizes) {
+            out.writeLong(maxSize);
+        }
+        out.writeInt(maxDuration);
+        out.writeLong(totalDuration);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= records.size()) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + records.size());
+        }
+    }
+
+    /**
+     * @param timestamp
+     *            The timestamp of an event logged out of order.
+     * @return The row after the last event with a timestamp less than or equal to the timestamp.
+     */
+    private int insertPosition(long timestamp) {
+        int low = 0;
+        int high = records.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (records.getLong(middle, TIMESTAMP) <= timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The event in the row, materialized from the stored values. An event without a registered event type is
+     *         parsed from its log entry, since there is no event type to create it.
+     */
+    private BlockingEvent materialize(int row) {
+        LogEventType eventType = getEventType(row);
+        if (eventType == null) {
+            return parse(row);
+        }
+        return JdkUtil.hydrateBlockingEvent(eventType, getLogEntry(row), records.getLong(row, TIMESTAMP),
+                records.getInt(row, DURATION));
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The event in the row, parsed from its log entry, or materialized from the stored values if the log entry
+     *         does not parse to the stored event.
+     */
+    private BlockingEvent parse(int row) {
+        LogEventType eventType = getEventType(row);
+        String logEntry = getLogEntry(row);
+        long timestamp = records.getLong(row, TIMESTAMP);
+        int duration = records.getInt(row, DURATION);
+        LogEvent event = logEntry == null ? null : JdkUtil.parseLogLine(logEntry);
+        if (event instanceof BlockingEvent && EventTypeRegistry.getEventType(event) == eventType
+                && event.getTimestamp() == timestamp && ((BlockingEvent) event).getDuration() == duration) {
+            return (BlockingEvent) event;
+        }
+        // Not logged the same as parsed (e.g. created from values), so only the stored values are available
+        return JdkUtil.hydrateBlockingEvent(eventType, logEntry, timestamp, duration);
+    }
+
+    /**
+     * @param field
+     *            A size field.
+     * @return The maximum size in the field, or 0 if there are none.
+     */
+    private long max(int field) {
+        long max = maxSizes[sizeIndex(field)];
+        return max == NO_KILOBYTES ? 0 : max;
+    }
+
+    /**
+     * Store a size and update the maximum size in the field.
+     *
+     * @param row
+     *            The row.
+     * @param field
+     *            A size field.
+     * @param kilobytes
+     *            The size (kilobytes), or {@link Memory#NO_KILOBYTES} if none.
+     */
+    private void putSize(int row, int field, long kilobytes) {
+        records.putLong(row, field, kilobytes);
+        int index = sizeIndex(field);
+        if (kilobytes > maxSizes[index]) {
+            maxSizes[index] = kilobytes;
+        }
+    }
+
+    /**
+     * The rows of the events of an event type, in row order.
+     */
+    private static final class RowIndex {
+
+        private int[] rows = new int[16];
+
+        private int size;
+
+        /**
+         * @param row
+         *            The row of an event added to the store, with the rows of following events already moved down one
+         *            row (see {@link #shift(int)}).
+         */
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size + (size >> 1));
+            }
+            int position = size;
+            if (size > 0 && rows[size - 1] > row) {
+                position = position(row);
+                System.arraycopy(rows, position, rows, position + 1, size - position);
+            }
+            rows[position] = row;
+            size++;
+        }
+
+        /**
+         * @param row
+         *            A row.
+         * @return The position of the first row greater than or equal to the row.
+         */
+        private int position(int row) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (rows[middle] < row) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Move rows down one row for an event inserted before them.
+         *
+         * @param row
+         *            The row of the inserted event.
+         */
+        private void shift(int row) {
+            for (int i = position(row); i < size; i++) {
+                rows[i]++;
+            }
+        }
+    }
+
+    /**
+     * Events in rows, materialized or parsed when retrieved.
+     */
+    private final class Events extends AbstractList<BlockingEvent> implements RandomAccess {
+
+        /**
+         * The rows, or null for all rows.
+         */
+        private final int[] rows;
+
+        private final int count;
+
+        /**
+         * Whether the events are parsed from their log entries.
+         */
+        private final boolean parsed;
+
+        private Events(int[] rows, int count, boolean parsed) {
+            this.rows = rows;
+            this.count = count;
+            this.parsed = parsed;
+        }
+
+        @Override
+        public BlockingEvent get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            int row = rows == null ? index : rows[index];
+            return parsed ? getParsedEvent(row) : getEvent(row);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,495 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Fixed-width event records and their log entries, stored in segments on the heap or memory-mapped from scratch files.
+ * </p>
+ *
+ * <p>
+ * Memory-mapped records are paged in and out by the operating system, so the heap needed to analyze a log does not
+ * grow with the number of events. The scratch files are deleted when the records are closed, or when the JVM exits.
+ * </p>
+ *
+ * <p>
+ * Each record has a log entry field of {@link #LOG_ENTRY_WIDTH} bytes with the position and length of the log entry
+ * text, which is stored UTF-8 encoded in a separate area.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+final class EventRecords implements Closeable {
+
+    /**
+     * Width of a log entry field.
+     */
+    static final int LOG_ENTRY_WIDTH = 12;
+
+    /**
+     * Length of a log entry field without a log entry.
+     */
+    private static final int NO_LOG_ENTRY = -1;
+
+    /**
+     * Records in a heap segment.
+     */
+    private static final int HEAP_SEGMENT_RECORDS = 1 << 12;
+
+    /**
+     * Bytes in a heap text segment.
+     */
+    private static final int HEAP_TEXT_SEGMENT_BYTES = 1 << 20;
+
+    /**
+     * Records in a memory-mapped segment.
+     */
+    private static final int MAPPED_SEGMENT_RECORDS = 1 << 20;
+
+    /**
+     * Bytes in a memory-mapped text segment.
+     */
+    private static final int MAPPED_TEXT_SEGMENT_BYTES = 1 << 28;
+
+    /**
+     * Initial capacity of the first heap segment, grown until it is a full segment, so small logs use little memory.
+     */
+    private static final int INITIAL_BYTES = 1 << 12;
+
+    /**
+     * Bytes copied at a time when records are written or read.
+     */
+    private static final int COPY_BYTES = 1 << 16;
+
+    /**
+     * Copy bytes from a segment with a relative bulk get on a duplicate, so the segment position is not changed.
+     *
+     * @param segment
+     *            The segment.
+     * @param index
+     *            The index of the first byte in the segment.
+     * @param bytes
+     *            The destination.
+     * @param offset
+     *            The offset of the first byte in the destination.
+     * @param length
+     *            The number of bytes.
+     */
+    private static void get(ByteBuffer segment, int index, byte[] bytes, int offset, int length) {
+        ByteBuffer duplicate = segment.duplicate();
+        duplicate.position(index);
+        duplicate.get(bytes, offset, length);
+    }
+
+    /**
+     * Copy bytes into a segment with a relative bulk put on a duplicate, so the segment position is not changed.
+     *
+     * @param segment
+     *            The segment.
+     * @param index
+     *            The index of the first byte in the segment.
+     * @param bytes
+     *            The source.
+     * @param offset
+     *            The offset of the first byte in the source.
+     * @param length
+     *            The number of bytes.
+     */
+    private static void put(ByteBuffer segment, int index, byte[] bytes, int offset, int length) {
+        ByteBuffer duplicate = segment.duplicate();
+        duplicate.position(index);
+        duplicate.put(bytes, offset, length);
+    }
+
+    /**
+     * A scratch file mapped into memory a segment at a time.
+     */
+    private static final class ScratchFile implements Closeable {
+
+        private final FileChannel channel;
+
+        private ScratchFile(File directory, String suffix) {
+            try {
+                Path path = Files.createTempFile(directory.toPath(), "garbagecat", suffix);
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+                path.toFile().deleteOnExit();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error creating scratch file in " + directory, e);
+            }
+        }
+
+        private ByteBuffer map(long position, int size) {
+            try {
+                return channel.map(MapMode.READ_WRITE, position, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error mapping scratch file.", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error closing scratch file.", e);
+            }
+        }
+    }
+
+    /**
+     * Segments of bytes, each segment on the heap or mapped from a scratch file.
+     */
+    private static final class Segments {
+
+        private final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+
+        private final int segmentBytes;
+
+        private final ScratchFile scratchFile;
+
+        private Segments(int segmentBytes, ScratchFile scratchFile) {
+            this.segmentBytes = segmentBytes;
+            this.scratchFile = scratchFile;
+        }
+
+        /**
+         * @param position
+         *            A position.
+         * @param length
+         *            The number of bytes needed at the position, not crossing a segment.
+         * @return The segment with the position, with capacity for the bytes at the position.
+         */
+        private ByteBuffer segment(long position, int length) {
+            int index = (int) (position / segmentBytes);
+            while (segments.size() <= index) {
+                segments.add(scratchFile == null ? ByteBuffer.allocate(Math.min(INITIAL_BYTES, segmentBytes))
+                        : scratchFile.map((long) segments.size() * segmentBytes, segmentBytes));
+            }
+            ByteBuffer segment = segments.get(index);
+            int end = (int) (position % segmentBytes) + length;
+            if (end > segment.capacity()) {
+                // Grow a heap segment
+                int capacity = segment.capacity();
+                while (capacity < end) {
+                    capacity = Math.min(capacity * 2, segmentBytes);
+                }
+                ByteBuffer grown = ByteBuffer.allocate(capacity);
+                grown.put(segment.array(), 0, segment.capacity());
+                segments.set(index, grown);
+                segment = grown;
+            }
+            return segment;
+        }
+
+        /**
+         * @param in
+         *            The input, positioned at the bytes.
+         * @param length
+         *            The number of bytes to read into the segments, from the start.
+         * @throws IOException
+         *             if the bytes cannot be read.
+         */
+        private void read(DataInput in, long length) throws IOException {
+            byte[] bytes = new byte[(int) Math.min(length, COPY_BYTES)];
+            long copied = 0;
+            while (copied < length) {
+                int offset = (int) (copied % segmentBytes);
+                int count = (int) Math.min(Math.min(length - copied, segmentBytes - offset), bytes.length);
+                in.readFully(bytes, 0, count);
+                put(segment(copied, count), offset, bytes, 0, count);
+                copied += count;
+            }
+        }
+
+        /**
+         * @param out
+         *            The output.
+         * @param length
+         *            The number of bytes to write from the segments, from the start.
+         * @throws IOException
+         *             if the bytes cannot be written.
+         */
+        private void write(DataOutput out, long length) throws IOException {
+            byte[] bytes = new byte[(int) Math.min(length, COPY_BYTES)];
+            long copied = 0;
+            while (copied < length) {
+                int offset = (int) (copied % segmentBytes);
+                int count = (int) Math.min(Math.min(length - copied, segmentBytes - offset), bytes.length);
+                get(segment(copied, count), offset, bytes, 0, count);
+                out.write(bytes, 0, count);
+                copied += count;
+            }
+        }
+
+        /**
+         * Move bytes toward the end, copying the bytes a chunk at a time from the last chunk, each chunk within one
+         * segment at the source and at the destination.
+         *
+         * @param position
+         *            The position of the first byte to move.
+         * @param length
+         *            The number of bytes to move.
+         * @param distance
+         *            The number of bytes to move them by, with the segments at the destination already added.
+         */
+        private void move(long position, long length, int distance) {
+            byte[] bytes = new byte[(int) Math.min(length, COPY_BYTES)];
+            long end = position + length;
+            while (end > position) {
+                long start = Math.max(end - bytes.length, position);
+                start = Math.max(start, (end - 1) / segmentBytes * segmentBytes);
+                start = Math.max(start, (end - 1 + distance) / segmentBytes * segmentBytes - distance);
+                int count = (int) (end - start);
+                get(segment(start, count), (int) (start % segmentBytes), bytes, 0, count);
+                put(segment(start + distance, count), (int) ((start + distance) % segmentBytes), bytes, 0, count);
+                end = start;
+            }
+        }
+
+        private void clear() {
+            if (scratchFile == null) {
+                segments.clear();
+            }
+        }
+
+        private void close() {
+            segments.clear();
+            if (scratchFile != null) {
+                scratchFile.close();
+            }
+        }
+    }
+
+    private final int recordWidth;
+
+    private final Segments records;
+
+    private final Segments text;
+
+    private final int segmentRecords;
+
+    private int size;
+
+    private long textSize;
+
+    /**
+     * @param recordWidth
+     *            The record width (bytes).
+     * @param scratchDirectory
+     *            The directory for the scratch files, or null to store the records on the heap.
+     */
+    EventRecords(int recordWidth, File scratchDirectory) {
+        this.recordWidth = recordWidth;
+        if (scratchDirectory == null) {
+            segmentRecords = HEAP_SEGMENT_RECORDS;
+            records = new Segments(recordWidth * segmentRecords, null);
+            text = new Segments(HEAP_TEXT_SEGMENT_BYTES, null);
+        } else {
+            segmentRecords = MAPPED_SEGMENT_RECORDS;
+            records = new Segments(recordWidth * segmentRecords, new ScratchFile(scratchDirectory, ".records"));
+            text = new Segments(MAPPED_TEXT_SEGMENT_BYTES, new ScratchFile(scratchDirectory, ".text"));
+        }
+    }
+
+    /**
+     * Add a record after the last record.
+     *
+     * @return The row of the record.
+     */
+    int append() {
+        records.segment(position(size, 0), recordWidth);
+        return size++;
+    }
+
+    /**
+     * Remove all records.
+     */
+    void clear() {
+        size = 0;
+        textSize = 0;
+        records.clear();
+        text.clear();
+    }
+
+    /**
+     * Remove all records and delete any scratch files. No records can be added afterwards.
+     */
+    @Override
+    public void close() {
+        size = 0;
+        textSize = 0;
+        try {
+            records.close();
+        } finally {
+            text.close();
+        }
+    }
+
+    /**
+     * Add a record before a row.
+     *
+     * @param row
+     *            The row of the record, with the following records moved down one row in bulk.
+     */
+    void insert(int row) {
+        append();
+        records.move(position(row, 0), position(size - 1 - row, 0), recordWidth);
+    }
+
+    int getInt(int row, int field) {
+        return segment(row, field, Integer.BYTES).getInt(offset(row, field));
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @param field
+     *            The offset of the log entry field in the record.
+     * @return The log entry, or null if none.
+     */
+    String getLogEntry(int row, int field) {
+        int length = getInt(row, field + Long.BYTES);
+        if (length == NO_LOG_ENTRY) {
+            return null;
+        }
+        long position = getLong(row, field);
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            int offset = (int) ((position + copied) % text.segmentBytes);
+            int count = Math.min(length - copied, text.segmentBytes - offset);
+            get(text.segment(position + copied, count), offset, bytes, copied, count);
+            copied += count;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    long getLong(int row, int field) {
+        return segment(row, field, Long.BYTES).getLong(offset(row, field));
+    }
+
+    short getShort(int row, int field) {
+        return segment(row, field, Short.BYTES).getShort(offset(row, field));
+    }
+
+    void putInt(int row, int field, int value) {
+        segment(row, field, Integer.BYTES).putInt(offset(row, field), value);
+    }
+
+    /**
+     * Store a log entry, appending the log entry text.
+     *
+     * @param row
+     *            The row.
+     * @param field
+     *            The offset of the log entry field in the record.
+     * @param logEntry
+     *            The log entry.
+     */
+    void putLogEntry(int row, int field, String logEntry) {
+        if (logEntry == null) {
+            putLong(row, field, 0);
+            putInt(row, field + Long.BYTES, NO_LOG_ENTRY);
+            return;
+        }
+        byte[] bytes = logEntry.getBytes(StandardCharsets.UTF_8);
+        putLong(row, field, textSize);
+        putInt(row, field + Long.BYTES, bytes.length);
+        int copied = 0;
+        while (copied < bytes.length) {
+            int offset = (int) (textSize % text.segmentBytes);
+            int count = Math.min(bytes.length - copied, text.segmentBytes - offset);
+            put(text.segment(textSize, count), offset, bytes, copied, count);
+            copied += count;
+            textSize += count;
+        }
+    }
+
+    void putLong(int row, int field, long value) {
+        segment(row, field, Long.BYTES).putLong(offset(row, field), value);
+    }
+
+    void putShort(int row, int field, short value) {
+        segment(row, field, Short.BYTES).putShort(offset(row, field), value);
+    }
+
+    /**
+     * Replace the records with records written by {@link #write(DataOutput)} with the same record width.
+     *
+     * @param in
+     *            The input.
+     * @throws IOException
+     *             if the records cannot be read.
+     */
+    void read(DataInput in) throws IOException {
+        clear();
+        int rows = in.readInt();
+        long textBytes = in.readLong();
+        records.read(in, position(rows, 0));
+        text.read(in, textBytes);
+        size = rows;
+        textSize = textBytes;
+    }
+
+    /**
+     * @return The number of records.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Write the records and the log entry text as stored, so they are read without converting any values.
+     *
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the records cannot be written.
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(size);
+        out.writeLong(textSize);
+        records.write(out, position(size, 0));
+        text.write(out, textSize);
+    }
+
+    private int offset(int row, int field) {
+        return (row % segmentRecords) * recordWidth + field;
+    }
+
+    private long position(int row, int field) {
+        return (long) row * recordWidth + field;
+    }
+
+    private ByteBuffer segment(int row, int field, int length) {
+        return records.segment(position(row, field), length);
+    }
+}
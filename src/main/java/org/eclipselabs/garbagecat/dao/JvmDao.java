@@ -12,44 +12,28 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
-import static java.util.Collections.binarySearch;
-import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.summingLong;
-import static java.util.stream.Collectors.toList;
-import static org.eclipselabs.garbagecat.util.Memory.ZERO;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 import static org.eclipselabs.garbagecat.util.jdk.JdkMath.convertMicrosToMillis;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.LongStream;
-import java.util.stream.Stream;
+import java.util.Map;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
-import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
-import org.eclipselabs.garbagecat.domain.OldData;
-import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
-import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
-import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
-import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 
 /**
@@ -62,36 +46,69 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
  */
 public class JvmDao {
 
-    private static final Comparator<BlockingEvent> COMPARE_BY_TIMESTAMP = comparing(BlockingEvent::getTimestamp);
-
     /**
-     * The database connection.
+     * Number of buckets in a safepoint pause histogram, enough for any <code>int</code> duration.
      */
-    private static Connection connection;
-
-    private static boolean created;
+    private static final int HISTOGRAM_BUCKETS = Integer.SIZE;
 
     /**
-     * SQL statement(s) to create table.
+     * Safepoint event statistics for a <code>Trigger</code>, updated as safepoint events are added.
      */
-    private static final String[] TABLES_CREATE_SQL = {
-            "create table safepoint_event (id integer identity, time_stamp bigint, trigger_type varchar(64), "
-                    + "duration integer, log_entry varchar(500))" };
+    private static final class TriggerStatistics {
 
-    private static Memory add(Memory m1, Memory m2) {
-        return m1 == null ? nullSafe(m2) : m1.plus(nullSafe(m2));
-    }
+        private long count;
 
-    private static <T> Stream<Integer> ints(List<T> list, Function<T, Integer> function) {
-        return list.stream().map(function).filter(Objects::nonNull);
-    }
+        /**
+         * Number of events by pause time (see {@link SafepointEventSummary#getPauseHistogram()}).
+         */
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
 
-    private static Memory nullSafe(Memory memory) {
-        return memory == null ? ZERO : memory;
-    }
+        /**
+         * Max pause time (microseconds).
+         */
+        private int pauseMax;
+
+        /**
+         * Total pause time (microseconds).
+         */
+        private long pauseTotal;
+
+        private void add(int duration) {
+            if (count == 0 || duration > pauseMax) {
+                pauseMax = duration;
+            }
+            count++;
+            pauseTotal += duration;
+            int millis = Math.max(duration, 0) / 1000;
+            histogram[Integer.SIZE - Integer.numberOfLeadingZeros(millis)]++;
+        }
+
+        private void read(DataInput in) throws IOException {
+            count = in.readLong();
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = in.readLong();
+            }
+            pauseMax = in.readInt();
+            pauseTotal = in.readLong();
+        }
 
-    private static BlockingEvent toBlockingEvent(BlockingEvent e) {
-        return e;
+        private void write(DataOutput out) throws IOException {
+            out.writeLong(count);
+            for (long bucket : histogram) {
+                out.writeLong(bucket);
+            }
+            out.writeInt(pauseMax);
+            out.writeLong(pauseTotal);
+        }
+
+        private SafepointEventSummary toSummary(Trigger trigger) {
+            int buckets = histogram.length;
+            while (buckets > 1 && histogram[buckets - 1] == 0) {
+                buckets--;
+            }
+            return new SafepointEventSummary(trigger, count, convertMicrosToMillis(pauseTotal).longValue(),
+                    convertMicrosToMillis(pauseMax).intValue(), Arrays.copyOf(histogram, buckets));
+        }
     }
 
     /**
@@ -102,7 +119,7 @@ public class JvmDao {
     /**
      * GC events that are blocking.
      */
-    private List<BlockingEvent> blockingEvents = new ArrayList<>();
+    private BlockingEventStore blockingEvents;
 
     /**
      * Collector families for JVM run.
@@ -167,7 +184,12 @@ public class JvmDao {
     /**
      * Stopped time events.
      */
-    private List<ApplicationStoppedTimeEvent> stoppedTimeEvents = new ArrayList<>();
+    private SafepointEventStore<ApplicationStoppedTimeEvent> stoppedTimeEvents;
+
+    /**
+     * Safepoint event statistics by <code>Trigger</code>.
+     */
+    private Map<Trigger, TriggerStatistics> safepointStatistics = new EnumMap<>(Trigger.class);
 
     /**
      * Swap size (bytes).
@@ -188,7 +210,7 @@ public class JvmDao {
     /**
      * Safepoint events.
      */
-    private List<UnifiedSafepointEvent> unifiedSafepointEvents = new ArrayList<>();
+    private SafepointEventStore<UnifiedSafepointEvent> unifiedSafepointEvents;
 
     /**
      * JVM version.
@@ -200,50 +222,26 @@ public class JvmDao {
      */
     private LogEvent worstInvertedParallelismEvent;
 
+    /**
+     * Store the events on the heap.
+     */
     public JvmDao() {
-        if (created) {
-            cleanup();
-        } else {
-            created = true;
-        }
-        try {
-            // Load database driver.
-            Class.forName("org.hsqldb.jdbcDriver");
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Failed to load HSQLDB JDBC driver.");
-        }
-
-        try {
-            // Connect to database.
-            connection = DriverManager.getConnection("jdbc:hsqldb:mem:vmdb", "sa", "");
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error accessing database.");
-        }
+        this(null);
+    }
 
-        // Create tables
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_CREATE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_CREATE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            if (e.getMessage().startsWith("Table already exists")) {
-                cleanup();
-            } else {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error creating tables.");
-            }
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
+    /**
+     * @param scratchDirectory
+     *            The directory for the memory-mapped scratch files the events are stored in, or null to store the
+     *            events on the heap.
+     */
+    public JvmDao(File scratchDirectory) {
+        blockingEvents = new BlockingEventStore(scratchDirectory);
+        stoppedTimeEvents = new SafepointEventStore<ApplicationStoppedTimeEvent>(
+                (logEntry, timestamp, duration, trigger) -> new ApplicationStoppedTimeEvent(logEntry, timestamp,
+                        duration),
+                scratchDirectory);
+        unifiedSafepointEvents = new SafepointEventStore<UnifiedSafepointEvent>(UnifiedSafepointEvent::new,
+                scratchDirectory);
     }
 
     public void addAnalysis(Analysis analysis) {
@@ -253,11 +251,18 @@ public class JvmDao {
     }
 
     public void addBlockingEvent(BlockingEvent event) {
-        blockingEvents.add(insertPosition(event), event);
+        blockingEvents.add(event);
     }
 
     public void addSafepointEvent(UnifiedSafepointEvent event) {
         unifiedSafepointEvents.add(event);
+        Trigger trigger = event.getTrigger() == null ? Trigger.UNKNOWN : event.getTrigger();
+        TriggerStatistics statistics = safepointStatistics.get(trigger);
+        if (statistics == null) {
+            statistics = new TriggerStatistics();
+            safepointStatistics.put(trigger, statistics);
+        }
+        statistics.add(event.getDuration());
     }
 
     public void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
@@ -265,11 +270,19 @@ public class JvmDao {
     }
 
     /**
-     * Cleanup operations.
+     * Cleanup operations: remove the events and delete any scratch files they are stored in. No events can be added
+     * afterwards.
      */
     public synchronized void cleanup() {
-        this.blockingEvents.clear();
-        JvmDao.created = false;
+        try {
+            this.blockingEvents.close();
+        } finally {
+            try {
+                this.stoppedTimeEvents.close();
+            } finally {
+                this.unifiedSafepointEvents.close();
+            }
+        }
     }
 
     public List<Analysis> getAnalysis() {
@@ -291,7 +304,27 @@ public class JvmDao {
      * @return <code>List</code> of events.
      */
     public synchronized List<BlockingEvent> getBlockingEvents() {
-        return this.blockingEvents.stream().map(JvmDao::toBlockingEvent).collect(toList());
+        return this.blockingEvents.getEvents();
+    }
+
+    /**
+     * Retrieve all <code>BlockingEvent</code>s parsed from their log entries, with the event values not stored by
+     * column. Slower than {@link #getBlockingEvents()}, since each log entry is parsed again.
+     * 
+     * @return <code>List</code> of events.
+     */
+    public synchronized List<BlockingEvent> getParsedBlockingEvents() {
+        return this.blockingEvents.getParsedEvents();
+    }
+
+    /**
+     * Retrieve the <code>BlockingEvent</code>s stored by column, for aggregating event values without materializing
+     * the events.
+     * 
+     * @return The <code>BlockingEvent</code> store.
+     */
+    public synchronized BlockingEventStore getBlockingEventStore() {
+        return this.blockingEvents;
     }
 
     /**
@@ -302,8 +335,7 @@ public class JvmDao {
      * @return <code>List</code> of events.
      */
     public synchronized List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
-        return this.blockingEvents.stream().filter(e -> e.getName().equals(eventType.toString()))
-                .map(JvmDao::toBlockingEvent).collect(toList());
+        return this.blockingEvents.getEvents(eventType);
     }
 
     public List<CollectorFamily> getCollectorFamilies() {
@@ -322,8 +354,7 @@ public class JvmDao {
      * @return The first blocking event.
      */
     public synchronized BlockingEvent getFirstGcEvent() {
-        // TODO JdkUtil#parseLogLine no longer needed?
-        return this.blockingEvents.isEmpty() ? null : this.blockingEvents.get(0);
+        return this.blockingEvents.getFirstEvent();
     }
 
     /**
@@ -333,9 +364,9 @@ public class JvmDao {
      */
     public synchronized SafepointEvent getFirstSafepointEvent() {
         SafepointEvent firstSafepointEvent = null;
-        if (!unifiedSafepointEvents.isEmpty()) {
+        if (unifiedSafepointEvents.size() > 0) {
             firstSafepointEvent = getFirstUnifiedSafepointEvent();
-        } else if (!stoppedTimeEvents.isEmpty()) {
+        } else if (stoppedTimeEvents.size() > 0) {
             firstSafepointEvent = getFirstStoppedEvent();
         }
         return firstSafepointEvent;
@@ -347,7 +378,7 @@ public class JvmDao {
      * @return The first stopped event.
      */
     private synchronized ApplicationStoppedTimeEvent getFirstStoppedEvent() {
-        return stoppedTimeEvents.isEmpty() ? null : stoppedTimeEvents.get(0);
+        return stoppedTimeEvents.getFirstEvent();
     }
 
     /**
@@ -356,7 +387,7 @@ public class JvmDao {
      * @return The first unified safepoint event.
      */
     private synchronized UnifiedSafepointEvent getFirstUnifiedSafepointEvent() {
-        return unifiedSafepointEvents.isEmpty() ? null : unifiedSafepointEvents.get(0);
+        return unifiedSafepointEvents.getFirstEvent();
     }
 
     /**
@@ -365,8 +396,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized long getGcPauseTotal() {
-        return convertMicrosToMillis(
-                ints(this.blockingEvents, BlockingEvent::getDuration).collect(summingLong(Long::valueOf))).longValue();
+        return convertMicrosToMillis(this.blockingEvents.getTotalDuration()).longValue();
     }
 
     /**
@@ -384,7 +414,7 @@ public class JvmDao {
      * @return The last blocking event.
      */
     public synchronized BlockingEvent getLastGcEvent() {
-        return this.blockingEvents.isEmpty() ? null : this.blockingEvents.get(blockingEvents.size() - 1);
+        return this.blockingEvents.getLastEvent();
     }
 
     /**
@@ -394,9 +424,9 @@ public class JvmDao {
      */
     public synchronized SafepointEvent getLastSafepointEvent() {
         SafepointEvent lastSafepointEvent = null;
-        if (!unifiedSafepointEvents.isEmpty()) {
+        if (unifiedSafepointEvents.size() > 0) {
             lastSafepointEvent = getLastUnifiedSafepointEvent();
-        } else if (!stoppedTimeEvents.isEmpty()) {
+        } else if (stoppedTimeEvents.size() > 0) {
             lastSafepointEvent = getLastStoppedEvent();
         }
         return lastSafepointEvent;
@@ -408,7 +438,7 @@ public class JvmDao {
      * @return The last stopped event.
      */
     private synchronized ApplicationStoppedTimeEvent getLastStoppedEvent() {
-        return stoppedTimeEvents.isEmpty() ? null : stoppedTimeEvents.get(stoppedTimeEvents.size() - 1);
+        return stoppedTimeEvents.getLastEvent();
     }
 
     /**
@@ -417,7 +447,7 @@ public class JvmDao {
      * @return The last safepoint event.
      */
     private synchronized UnifiedSafepointEvent getLastUnifiedSafepointEvent() {
-        return unifiedSafepointEvents.isEmpty() ? null : unifiedSafepointEvents.get(unifiedSafepointEvents.size() - 1);
+        return unifiedSafepointEvents.getLastEvent();
     }
 
     /**
@@ -426,9 +456,7 @@ public class JvmDao {
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getMaxGcPause() {
-        return convertMicrosToMillis(
-                ints(this.blockingEvents, BlockingEvent::getDuration).mapToInt(Integer::valueOf).max().orElse(0))
-                        .intValue();
+        return convertMicrosToMillis(this.blockingEvents.getMaxDuration()).intValue();
     }
 
     /**
@@ -437,11 +465,7 @@ public class JvmDao {
      * @return maximum heap after GC (kilobytes).
      */
     public synchronized int getMaxHeapAfterGc() {
-        int oldMaxHeapAfterGc = (int) kilobytes(OldData.class,
-                t -> add(t.getYoungOccupancyEnd(), t.getOldOccupancyEnd())).max().orElse(0);
-        int combinedMaxHeapAfterGc = (int) kilobytes(CombinedData.class, CombinedData::getCombinedOccupancyEnd).max()
-                .orElse(0);
-        return Math.max(oldMaxHeapAfterGc, combinedMaxHeapAfterGc);
+        return (int) this.blockingEvents.getMaxHeapAfterGc();
     }
 
     /**
@@ -450,19 +474,7 @@ public class JvmDao {
      * @return maximum heap occupancy (kilobytes).
      */
     public synchronized int getMaxHeapOccupancy() {
-        return (int) this.blockingEvents.stream() //
-                .map(e -> {
-                    if (e instanceof OldData) {
-                        OldData old = (OldData) e;
-                        return add(old.getYoungOccupancyInit(), old.getOldOccupancyInit());
-                    } else if (e instanceof CombinedData) {
-                        return ((CombinedData) e).getCombinedOccupancyInit();
-                    } else {
-                        return ZERO;
-                    }
-                }) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES)).max().orElse(0);
+        return (int) this.blockingEvents.getMaxHeapOccupancy();
     }
 
     /**
@@ -478,19 +490,7 @@ public class JvmDao {
      * @return maximum heap size (kilobytes).
      */
     public synchronized int getMaxHeapSpace() {
-        return (int) this.blockingEvents.stream() //
-                .map(e -> {
-                    if (e instanceof OldData) {
-                        OldData old = (OldData) e;
-                        return add(old.getYoungSpace(), old.getOldSpace());
-                    } else if (e instanceof CombinedData) {
-                        return ((CombinedData) e).getCombinedSpace();
-                    } else {
-                        return ZERO;
-                    }
-                }) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES)).max().orElse(0);
+        return (int) this.blockingEvents.getMaxHeapSpace();
     }
 
     /**
@@ -506,7 +506,7 @@ public class JvmDao {
      * @return maximum old space size (kilobytes).
      */
     public synchronized int getMaxOldSpace() {
-        return (int) kilobytes(OldData.class, OldData::getOldSpace).max().orElse(0);
+        return (int) this.blockingEvents.getMaxOldSpace();
     }
 
     /**
@@ -515,7 +515,7 @@ public class JvmDao {
      * @return maximum perm/metaspac after GC (kilobytes).
      */
     public synchronized int getMaxPermAfterGc() {
-        return (int) kilobytes(PermMetaspaceData.class, PermMetaspaceData::getPermOccupancyEnd).max().orElse(0);
+        return (int) this.blockingEvents.getMaxPermAfterGc();
     }
 
     /**
@@ -524,7 +524,7 @@ public class JvmDao {
      * @return maximum perm/metaspac occupancy (kilobytes).
      */
     public synchronized int getMaxPermOccupancy() {
-        return (int) kilobytes(PermMetaspaceData.class, PermMetaspaceData::getPermOccupancyInit).max().orElse(0);
+        return (int) this.blockingEvents.getMaxPermOccupancy();
     }
 
     /**
@@ -540,7 +540,7 @@ public class JvmDao {
      * @return maximum perm/metaspace footprint (kilobytes).
      */
     public synchronized int getMaxPermSpace() {
-        return (int) kilobytes(PermMetaspaceData.class, PermMetaspaceData::getPermSpace).max().orElse(0);
+        return (int) this.blockingEvents.getMaxPermSpace();
     }
 
     /**
@@ -556,8 +556,7 @@ public class JvmDao {
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getUnifiedSafepointTimeMax() {
-        return convertMicrosToMillis(ints(this.unifiedSafepointEvents, UnifiedSafepointEvent::getDuration)
-                .mapToInt(Integer::valueOf).max().orElse(0)).intValue();
+        return convertMicrosToMillis(this.unifiedSafepointEvents.getMaxDuration()).intValue();
     }
 
     /**
@@ -566,8 +565,7 @@ public class JvmDao {
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getStoppedTimeMax() {
-        return convertMicrosToMillis(ints(this.stoppedTimeEvents, ApplicationStoppedTimeEvent::getDuration)
-                .mapToInt(Integer::valueOf).max().orElse(0)).intValue();
+        return convertMicrosToMillis(this.stoppedTimeEvents.getMaxDuration()).intValue();
     }
 
     /**
@@ -576,7 +574,7 @@ public class JvmDao {
      * @return maximum young space size (kilobytes).
      */
     public synchronized int getMaxYoungSpace() {
-        return (int) kilobytes(YoungData.class, YoungData::getYoungSpace).max().orElse(0);
+        return (int) this.blockingEvents.getMaxYoungSpace();
     }
 
     /**
@@ -626,77 +624,14 @@ public class JvmDao {
     /**
      * Generate <code>SafepointEventSummary</code>s.
      * 
-     * @return <code>List</code> of <code>SafepointEventSummary</code>s.
+     * @return <code>List</code> of <code>SafepointEventSummary</code>s, in descending order of total pause time.
      */
     public synchronized List<SafepointEventSummary> getSafepointEventSummaries() {
         List<SafepointEventSummary> safepointEventSummaries = new ArrayList<SafepointEventSummary>();
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertSafepointEvent = "insert into safepoint_event (time_stamp, trigger_type, duration, "
-                    + "log_entry) values (?, ?, ?, ?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int TRIGGER_TYPE_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int LOG_ENTRY_INDEX = 4;
-
-            pst = connection.prepareStatement(sqlInsertSafepointEvent);
-
-            for (int i = 0; i < unifiedSafepointEvents.size(); i++) {
-                UnifiedSafepointEvent event = unifiedSafepointEvents.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                // Use trigger for event name
-                pst.setString(TRIGGER_TYPE_INDEX, event.getTrigger().toString());
-                pst.setInt(DURATION_INDEX, event.getDuration());
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting safepoint event.");
-        } finally {
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
-            }
-        }
-
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select trigger_type, count(id), sum(duration), max(duration) from safepoint_event group by "
-                    + "trigger_type order by sum(duration) desc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                Trigger trigger = UnifiedSafepoint.identifyTrigger(rs.getString(1));
-                SafepointEventSummary summary = new SafepointEventSummary(trigger, rs.getLong(2),
-                        JdkMath.convertMicrosToMillis(rs.getLong(3)).longValue(),
-                        JdkMath.convertMicrosToMillis(rs.getInt(4)).intValue());
-                safepointEventSummaries.add(summary);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving safepoint event summaries.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+        for (Map.Entry<Trigger, TriggerStatistics> entry : safepointStatistics.entrySet()) {
+            safepointEventSummaries.add(entry.getValue().toSummary(entry.getKey()));
         }
+        safepointEventSummaries.sort(Comparator.comparingLong(SafepointEventSummary::getPauseTotal).reversed());
         return safepointEventSummaries;
     }
 
@@ -706,8 +641,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized int getUnifiedSafepointTimeTotal() {
-        return convertMicrosToMillis(ints(this.unifiedSafepointEvents, UnifiedSafepointEvent::getDuration)
-                .collect(summingLong(Long::valueOf))).intValue();
+        return convertMicrosToMillis(this.unifiedSafepointEvents.getTotalDuration()).intValue();
     }
 
     /**
@@ -725,8 +659,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized int getStoppedTimeTotal() {
-        return convertMicrosToMillis(ints(this.stoppedTimeEvents, ApplicationStoppedTimeEvent::getDuration)
-                .collect(summingLong(Long::valueOf))).intValue();
+        return convertMicrosToMillis(this.stoppedTimeEvents.getTotalDuration()).intValue();
     }
 
     /**
@@ -743,10 +676,30 @@ public class JvmDao {
         return swapFree;
     }
 
+    /**
+     * Retrieve all <code>ApplicationStoppedTimeEvent</code>s.
+     * 
+     * @return <code>List</code> of events, each event materialized from its stored values when it is retrieved, so
+     *         the events are not all on the heap at once. The list is only valid until the next event is added.
+     */
+    public synchronized List<ApplicationStoppedTimeEvent> getStoppedTimeEvents() {
+        return this.stoppedTimeEvents.getEvents();
+    }
+
     public List<String> getUnidentifiedLogLines() {
         return unidentifiedLogLines;
     }
 
+    /**
+     * Retrieve all <code>UnifiedSafepointEvent</code>s.
+     * 
+     * @return <code>List</code> of events, each event materialized from its stored values when it is retrieved, so
+     *         the events are not all on the heap at once. The list is only valid until the next event is added.
+     */
+    public synchronized List<UnifiedSafepointEvent> getUnifiedSafepointEvents() {
+        return this.unifiedSafepointEvents.getEvents();
+    }
+
     /**
      * @return The JVM version information.
      */
@@ -761,22 +714,27 @@ public class JvmDao {
         return worstInvertedParallelismEvent;
     }
 
-    private int insertPosition(BlockingEvent event) {
-        int size = blockingEvents.size();
-        if (size > 0 && COMPARE_BY_TIMESTAMP.compare(blockingEvents.get(size - 1), event) <= 0) {
-            return size;
+    /**
+     * Replace the events with events written by {@link #writeEvents(DataOutput)}. The stored events and the
+     * statistics updated as they were added are read as stored, so no event is parsed.
+     * 
+     * @param in
+     *            The input.
+     * @throws IOException
+     *             if the events cannot be read.
+     */
+    public synchronized void readEvents(DataInput in) throws IOException {
+        blockingEvents.read(in);
+        stoppedTimeEvents.read(in);
+        unifiedSafepointEvents.read(in);
+        safepointStatistics.clear();
+        int size = in.readInt();
+        Trigger[] triggers = Trigger.values();
+        for (int i = 0; i < size; i++) {
+            TriggerStatistics statistics = new TriggerStatistics();
+            safepointStatistics.put(triggers[in.readInt()], statistics);
+            statistics.read(in);
         }
-        // here we could raise an Exception: Add param boolean reorderingAllowed to method
-        // if (!reorderingAllowed) throw new TimeWarpException("bad order")
-        return -binarySearch(blockingEvents, event, COMPARE_BY_TIMESTAMP) - 1;
-    }
-
-    private <T> LongStream kilobytes(Class<T> clazz, Function<T, Memory> func) {
-        return this.blockingEvents.stream() //
-                .filter(clazz::isInstance) //
-                .map(clazz::cast).map(func) //
-                .filter(Objects::nonNull) //
-                .mapToLong(m -> m.getValue(KILOBYTES));
     }
 
     /**
@@ -890,4 +848,23 @@ public class JvmDao {
     public void setWorstInvertedParallelismEvent(LogEvent worstInvertedParallelismEvent) {
         this.worstInvertedParallelismEvent = worstInvertedParallelismEvent;
     }
+
+    /**
+     * Write the stored events and the statistics updated as they were added, as stored.
+     * 
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the events cannot be written.
+     */
+    public synchronized void writeEvents(DataOutput out) throws IOException {
+        blockingEvents.write(out);
+        stoppedTimeEvents.write(out);
+        unifiedSafepointEvents.write(out);
+        out.writeInt(safepointStatistics.size());
+        for (Map.Entry<Trigger, TriggerStatistics> entry : safepointStatistics.entrySet()) {
+            out.writeInt(entry.getKey().ordinal());
+            entry.getValue().write(out);
+        }
+    }
 }
@@ -0,0 +1,292 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * <code>SafepointEvent</code>s stored as fixed-width records, one row per event in the order added.
+ * </p>
+ *
+ * <p>
+ * Each row holds the timestamp, duration, trigger, and log entry, which is everything a safepoint event has, so events
+ * are materialized with their value constructor when requested. The maximum and total duration are updated as events
+ * are added.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ * @param <T>
+ *            The safepoint event type.
+ */
+final class SafepointEventStore<T extends SafepointEvent> implements Closeable {
+
+    /**
+     * Creates a safepoint event from the stored values.
+     *
+     * @param <T>
+     *            The safepoint event type.
+     */
+    @FunctionalInterface
+    interface EventFactory<T extends SafepointEvent> {
+        T create(String logEntry, long timestamp, int duration, Trigger trigger);
+    }
+
+    /**
+     * Trigger of events without a trigger.
+     */
+    private static final short NO_TRIGGER = -1;
+
+    private static final Trigger[] TRIGGERS = Trigger.values();
+
+    /**
+     * Record field offsets.
+     */
+    private static final int TRIGGER = 0;
+
+    private static final int DURATION = 4;
+
+    private static final int TIMESTAMP = 8;
+
+    private static final int LOG_ENTRY = 16;
+
+    private static final int RECORD_WIDTH = LOG_ENTRY + EventRecords.LOG_ENTRY_WIDTH;
+
+    private final EventFactory<T> eventFactory;
+
+    /**
+     * One record per event.
+     */
+    private final EventRecords records;
+
+    /**
+     * Running maximum duration (microseconds).
+     */
+    private int maxDuration;
+
+    /**
+     * Running total duration (microseconds).
+     */
+    private long totalDuration;
+
+    /**
+     * @param eventFactory
+     *            Creates an event from the stored values.
+     * @param scratchDirectory
+     *            The directory for the memory-mapped scratch files, or null to store the events on the heap.
+     */
+    SafepointEventStore(EventFactory<T> eventFactory, File scratchDirectory) {
+        this.eventFactory = eventFactory;
+        records = new EventRecords(RECORD_WIDTH, scratchDirectory);
+    }
+
+    /**
+     * @param event
+     *            The event.
+     */
+    void add(T event) {
+        int row = records.append();
+        Trigger trigger = event instanceof UnifiedSafepointEvent ? ((UnifiedSafepointEvent) event).getTrigger() : null;
+        records.putShort(row, TRIGGER, trigger == null ? NO_TRIGGER : (short) trigger.ordinal());
+        int duration = event.getDuration();
+        records.putInt(row, DURATION, duration);
+        if (row == 0 || duration > maxDuration) {
+            maxDuration = duration;
+        }
+        totalDuration += duration;
+        records.putLong(row, TIMESTAMP, event.getTimestamp());
+        records.putLogEntry(row, LOG_ENTRY, event.getLogEntry());
+    }
+
+    /**
+     * Remove all events.
+     */
+    void clear() {
+        records.clear();
+        maxDuration = 0;
+        totalDuration = 0;
+    }
+
+    /**
+     * Remove all events and delete any scratch files. No events can be added afterwards.
+     */
+    @Override
+    public void close() {
+        clear();
+        records.close();
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The duration (microseconds) of the event in the row.
+     */
+    int getDuration(int row) {
+        checkRow(row);
+        return records.getInt(row, DURATION);
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The event in the row.
+     */
+    T getEvent(int row) {
+        return eventFactory.create(getLogEntry(row), getTimestamp(row), getDuration(row), getTrigger(row));
+    }
+
+    /**
+     * @return A list of the events, each event materialized when it is retrieved. The list is only valid until the
+     *         next event is added.
+     */
+    List<T> getEvents() {
+        return new Events(records.size());
+    }
+
+    /**
+     * @return The first event, or null if there are none.
+     */
+    T getFirstEvent() {
+        return records.size() == 0 ? null : getEvent(0);
+    }
+
+    /**
+     * @return The last event, or null if there are none.
+     */
+    T getLastEvent() {
+        return records.size() == 0 ? null : getEvent(records.size() - 1);
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The log entry of the event in the row.
+     */
+    String getLogEntry(int row) {
+        checkRow(row);
+        return records.getLogEntry(row, LOG_ENTRY);
+    }
+
+    /**
+     * @return The maximum duration (microseconds).
+     */
+    int getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The timestamp (milliseconds) of the event in the row.
+     */
+    long getTimestamp(int row) {
+        checkRow(row);
+        return records.getLong(row, TIMESTAMP);
+    }
+
+    /**
+     * Replace the events with events written by {@link #write(DataOutput)}, without materializing any event.
+     *
+     * @param in
+     *            The input.
+     * @throws IOException
+     *             if the events cannot be read.
+     */
+    void read(DataInput in) throws IOException {
+        records.read(in);
+        maxDuration = in.readInt();
+        totalDuration = in.readLong();
+    }
+
+    /**
+     * @return The total duration (microseconds).
+     */
+    long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * @param row
+     *            The row.
+     * @return The trigger of the event in the row, or null if none.
+     */
+    Trigger getTrigger(int row) {
+        checkRow(row);
+        short trigger = records.getShort(row, TRIGGER);
+        return trigger == NO_TRIGGER ? null : TRIGGERS[trigger];
+    }
+
+    /**
+     * @return The number of events.
+     */
+    int size() {
+        return records.size();
+    }
+
+    /**
+     * Write the records and the running aggregates as stored.
+     *
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the events cannot be written.
+     */
+    void write(DataOutput out) throws IOException {
+        records.write(out);
+        out.writeInt(maxDuration);
+        out.writeLong(totalDuration);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= records.size()) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + records.size());
+        }
+    }
+
+    /**
+     * Events in rows, materialized when retrieved.
+     */
+    private final class Events extends AbstractList<T> implements RandomAccess {
+
+        private final int count;
+
+        private Events(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            return getEvent(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain;
 
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 import java.util.ArrayList;
@@ -152,7 +153,7 @@ public class ApplicationLoggingEvent implements ThrowAwayEvent {
         boolean isMatch = false;
         for (int i = 0; i < REGEX_LIST.size(); i++) {
             Pattern pattern = REGEX_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 isMatch = true;
                 break;
             }
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -43,6 +44,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Application time: " };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -75,7 +81,7 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 
 }
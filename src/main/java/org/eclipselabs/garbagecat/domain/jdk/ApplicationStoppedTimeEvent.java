@@ -16,8 +16,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -95,6 +97,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class ApplicationStoppedTimeEvent implements SafepointEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Total time for which application threads were stopped: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -129,15 +136,26 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
      *            The log entry for the event.
      */
     public ApplicationStoppedTimeEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private ApplicationStoppedTimeEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        if (matcher != null) {
             if (matcher.group(24) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(24)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(24), matcher.end(24));
             } else if (matcher.group(38) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(38)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(38), matcher.end(38));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(43)).intValue();
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(43), matcher.end(43));
         }
     }
 
@@ -173,6 +191,35 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
         return timestamp;
     }
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the standard format.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static ApplicationStoppedTimeEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        if (scanner.datestamp() && !scanner.literal(": ")) {
+            return null;
+        }
+        long timestamp = 0;
+        if (!scanner.literal(LITERALS[0])) {
+            timestamp = scanner.timestamp();
+            if (timestamp == JdkScanner.NO_MATCH || !scanner.literal(": ") || !scanner.literal(LITERALS[0])) {
+                return null;
+            }
+        }
+        boolean negative = scanner.character('-');
+        long duration = scanner.decimal(1, 4, 7, 7, 6);
+        if (duration == JdkScanner.NO_MATCH || !scanner.literal(" seconds")) {
+            return null;
+        }
+        return new ApplicationStoppedTimeEvent(logLine, timestamp, (int) (negative ? -duration : duration));
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -181,7 +228,34 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern for this event, trying the scanner before
+     * running the matcher once.
+     * 
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static ApplicationStoppedTimeEvent tryParse(String logLine) {
+        ApplicationStoppedTimeEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new ApplicationStoppedTimeEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher = pattern.matcher(RegExGuard.input(logLine));
+        return matcher.matches() ? matcher : null;
     }
 
 }
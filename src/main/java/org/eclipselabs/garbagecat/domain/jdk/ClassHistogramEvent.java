@@ -14,6 +14,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -71,6 +72,12 @@ import java.util.regex.Pattern;
  */
 public class ClassHistogramEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = {
+            " num     #instances         #bytes  class name", "----------", ":      ", "Total", "[Class Histogram" };
+
     /**
      * Regular expression for cruft left after class histogram preprocessing.
      */
@@ -154,7 +161,7 @@ public class ClassHistogramEvent implements ThrowAwayEvent {
         boolean isMatch = false;
         for (int i = 0; i < REGEX_LIST.size(); i++) {
             Pattern pattern = REGEX_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 isMatch = true;
                 break;
             }
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -56,6 +57,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class ClassUnloadingEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[Unloading class " };
+
     /**
      * Regular expression defining the logging.
      */
@@ -103,6 +109,6 @@ public class ClassUnloadingEvent implements ThrowAwayEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+        return PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -77,6 +78,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class CmsConcurrentEvent extends CmsCollector implements LogEvent, ParallelEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[CMS-concurrent-" };
+
     /**
      * Regular expression defining the logging.
      */
@@ -107,6 +113,6 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
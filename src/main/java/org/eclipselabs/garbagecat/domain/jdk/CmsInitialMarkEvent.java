@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -56,6 +57,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent, TriggerData, ParallelEvent, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[1 CMS-initial-mark: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -110,15 +116,15 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
     public CmsInitialMarkEvent(String logEntry) {
         this.logEntry = logEntry;
         if (match(logEntry)) {
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 trigger = matcher.group(13);
-                duration = JdkMath.convertSecsToMicros(matcher.group(18)).intValue();
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(18), matcher.end(18));
                 if (matcher.group(21) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(22)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(23)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(24)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(22), matcher.end(22));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(23), matcher.end(23));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(24), matcher.end(24));
                 }
             }
         }
@@ -184,6 +190,6 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -120,6 +121,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class CmsRemarkEvent extends CmsIncrementalModeCollector
         implements BlockingEvent, TriggerData, ParallelEvent, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[1 CMS-remark: ", "[YG occupancy: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -216,51 +222,51 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
 
         if (logEntry.matches(REGEX)) {
             Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
                     // Initial GC[YG block exists
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(12), matcher.end(12));
                     trigger = matcher.group(14);
                 } else {
                     // Initial GC[YG block missing
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(27)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(27), matcher.end(27));
                 }
                 // The last duration is the total duration for the phase.
-                duration = JdkMath.convertSecsToMicros(matcher.group(64)).intValue();
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(64), matcher.end(64));
                 if (matcher.group(67) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(68)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(69)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(70)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(68), matcher.end(68));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(69), matcher.end(69));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(70), matcher.end(70));
                 }
             }
             classUnloading = false;
         } else if (logEntry.matches(REGEX_CLASS_UNLOADING)) {
             Pattern pattern = Pattern.compile(REGEX_CLASS_UNLOADING);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
                     // Initial GC[YG block exists
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(12), matcher.end(12));
                     trigger = matcher.group(14);
                 } else {
                     // Initial GC[YG block missing
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(27)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(27), matcher.end(27));
                 }
                 // The last duration is the total duration for the phase.
-                duration = JdkMath.convertSecsToMicros(matcher.group(128)).intValue();
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(128), matcher.end(128));
                 if (matcher.group(131) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(132)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(133)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(134)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(132), matcher.end(132));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(133), matcher.end(133));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(134), matcher.end(134));
                 }
             }
             classUnloading = true;
         } else if (logEntry.matches(REGEX_TRUNCATED)) {
             Pattern pattern = Pattern.compile(REGEX_TRUNCATED);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 trigger = matcher.group(13);
             }
             classUnloading = false;
@@ -331,8 +337,8 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() ||
-                REGEX_CLASS_UNLOADING_PATTERN.matcher(logLine).matches() ||
-                REGEX_TRUNCATED_PATTERN.matcher(logLine).matches();
+        return REGEX_PATTERN.matcher(RegExGuard.input(logLine)).matches() ||
+                REGEX_CLASS_UNLOADING_PATTERN.matcher(RegExGuard.input(logLine)).matches() ||
+                REGEX_TRUNCATED_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +26,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -139,6 +138,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements BlockingEvent, YoungCollection,
         OldCollection, PermMetaspaceCollection, YoungData, OldData, PermMetaspaceData, TriggerData, SerialCollection {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[Full GC", "[GC" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -157,47 +161,47 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young = Memory.ZERO;
+    private long young = 0;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd = Memory.ZERO;
+    private long youngEnd = 0;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable = Memory.ZERO;
+    private long youngAvailable = 0;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old = Memory.ZERO;
+    private long old = 0;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd = Memory.ZERO;
+    private long oldEnd = 0;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation = Memory.ZERO;
+    private long oldAllocation = 0;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen = Memory.ZERO;
+    private long permGen = 0;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd = Memory.ZERO;
+    private long permGenEnd = 0;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation = Memory.ZERO;
+    private long permGenAllocation = 0;
 
     /**
      * The trigger for the GC event.
@@ -282,9 +286,9 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
         this.setLogEntry(logEntry);
         if (logEntry.matches(REGEX_FULL_GC)) {
             Pattern pattern = Pattern.compile(REGEX_FULL_GC);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                this.timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                this.timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 // If multiple triggers, use last one.
                 if (matcher.group(49) != null) {
                     this.trigger = matcher.group(49);
@@ -295,25 +299,25 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
                 } else if (matcher.group(13) != null) {
                     this.trigger = matcher.group(13);
                 }
-                this.old = kilobytes(matcher.group(69));
-                this.oldEnd = kilobytes(matcher.group(70));
-                this.oldAllocation = kilobytes(matcher.group(71));
-                this.young = kilobytes(matcher.group(94)).minus(this.old);
-                this.youngEnd = kilobytes(matcher.group(95)).minus(this.oldEnd);
-                this.youngAvailable = kilobytes(matcher.group(96)).minus(this.oldAllocation);
-                this.permGen = kilobytes(matcher.group(98));
-                this.permGenEnd = kilobytes(matcher.group(99));
-                this.permGenAllocation = kilobytes(matcher.group(100));
+                this.old = Long.parseLong(matcher.group(69));
+                this.oldEnd = Long.parseLong(matcher.group(70));
+                this.oldAllocation = Long.parseLong(matcher.group(71));
+                this.young = Long.parseLong(matcher.group(94)) - this.old;
+                this.youngEnd = Long.parseLong(matcher.group(95)) - this.oldEnd;
+                this.youngAvailable = Long.parseLong(matcher.group(96)) - this.oldAllocation;
+                this.permGen = Long.parseLong(matcher.group(98));
+                this.permGenEnd = Long.parseLong(matcher.group(99));
+                this.permGenAllocation = Long.parseLong(matcher.group(100));
                 if (matcher.group(101) != null) {
                     super.setIncrementalMode(true);
                 }
-                this.duration = JdkMath.convertSecsToMicros(matcher.group(102)).intValue();
+                this.duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(102), matcher.end(102));
             }
         } else if (logEntry.matches(REGEX_GC)) {
             Pattern pattern = Pattern.compile(REGEX_GC);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                this.timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                this.timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 // If multiple triggers, use last one.
                 if (matcher.group(71) != null) {
                     this.trigger = matcher.group(71);
@@ -325,43 +329,43 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
                     // assume promotion failure
                     this.trigger = JdkRegEx.TRIGGER_PROMOTION_FAILED;
                 }
-                this.young = kilobytes(matcher.group(29));
+                this.young = Long.parseLong(matcher.group(29));
                 // No data to determine young end size.
-                this.youngEnd = Memory.ZERO;
-                this.youngAvailable = kilobytes(matcher.group(31));
+                this.youngEnd = 0;
+                this.youngAvailable = Long.parseLong(matcher.group(31));
 
                 // use young block duration for truncated events
                 if (matcher.group(107) == null) {
-                    this.duration = JdkMath.convertSecsToMicros(matcher.group(32)).intValue();
+                    this.duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(32), matcher.end(32));
                 }
 
                 // old block after young
                 if (matcher.group(72) != null) {
-                    this.old = kilobytes(matcher.group(73));
-                    this.oldEnd = kilobytes(matcher.group(74));
-                    this.oldAllocation = kilobytes(matcher.group(75));
+                    this.old = Long.parseLong(matcher.group(73));
+                    this.oldEnd = Long.parseLong(matcher.group(74));
+                    this.oldAllocation = Long.parseLong(matcher.group(75));
                     if (matcher.group(101) != null) {
-                        this.youngEnd = kilobytes(matcher.group(100)).minus(this.oldEnd);
+                        this.youngEnd = Long.parseLong(matcher.group(100)) - this.oldEnd;
                     }
                 } else {
                     if (matcher.group(98) != null) {
-                        this.old = kilobytes(matcher.group(99)).minus(this.young);
+                        this.old = Long.parseLong(matcher.group(99)) - this.young;
                         // No data to determine old end size.
-                        this.oldEnd = Memory.ZERO;
-                        this.oldAllocation = kilobytes(matcher.group(101)).minus(this.youngAvailable);
+                        this.oldEnd = 0;
+                        this.oldAllocation = Long.parseLong(matcher.group(101)) - this.youngAvailable;
                     }
                 }
                 // perm/metaspace data
                 if (matcher.group(102) != null) {
-                    this.permGen = kilobytes(matcher.group(104));
-                    this.permGenEnd = kilobytes(matcher.group(105));
-                    this.permGenAllocation = kilobytes(matcher.group(106));
+                    this.permGen = Long.parseLong(matcher.group(104));
+                    this.permGenEnd = Long.parseLong(matcher.group(105));
+                    this.permGenAllocation = Long.parseLong(matcher.group(106));
                 }
                 if (matcher.group(107) != null) {
                     super.setIncrementalMode(true);
                 }
                 if (matcher.group(108) != null) {
-                    this.duration = JdkMath.convertSecsToMicros(matcher.group(108)).intValue();
+                    this.duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(108), matcher.end(108));
                 }
             }
         }
@@ -408,75 +412,75 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     protected void setYoungOccupancyInit(Memory young) {
-        this.young = young;
+        this.young = Memory.toKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     protected void setYoungOccupancyEnd(Memory youngEnd) {
-        this.youngEnd = youngEnd;
+        this.youngEnd = Memory.toKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     protected void setYoungSpace(Memory youngAvailable) {
-        this.youngAvailable = youngAvailable;
+        this.youngAvailable = Memory.toKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     protected void setOldOccupancyInit(Memory old) {
-        this.old = old;
+        this.old = Memory.toKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     protected void setOldOccupancyEnd(Memory oldEnd) {
-        this.oldEnd = oldEnd;
+        this.oldEnd = Memory.toKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     protected void setOldSpace(Memory oldAllocation) {
-        this.oldAllocation = oldAllocation;
+        this.oldAllocation = Memory.toKilobytes(oldAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -499,6 +503,7 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector implements Bl
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return REGEX_FULL_GC_PATTERN.matcher(logLine).matches() || REGEX_GC_PATTERN.matcher(logLine).matches();
+        return REGEX_FULL_GC_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_GC_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -13,6 +13,7 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
@@ -150,6 +151,12 @@ import java.util.regex.Pattern;
  */
 public class FooterHeapEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = {
+            "used", " - ", "eap", "region size", " regions", "cancelled", "Reserved region:", "Collection set:" };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -247,7 +254,7 @@ public class FooterHeapEvent implements ThrowAwayEvent {
         boolean match = false;
         for (int i = 0; i < REGEX_PATTERN_LIST.size(); i++) {
             Pattern pattern = REGEX_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 match = true;
                 break;
             }
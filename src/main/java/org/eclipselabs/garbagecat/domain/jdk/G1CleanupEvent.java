@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -69,6 +67,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class G1CleanupEvent extends G1Collector implements BlockingEvent, ParallelEvent, CombinedData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[GC cleanup" };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -97,17 +100,17 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory combined = Memory.ZERO;
+    private long combined = 0;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory combinedEnd = Memory.ZERO;
+    private long combinedEnd = 0;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory combinedAvailable = Memory.ZERO;
+    private long combinedAvailable = 0;
 
     /**
      * The time of all user (non-kernel) threads added together in centiseconds.
@@ -132,19 +135,22 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      */
     public G1CleanupEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             if (matcher.group(18) != null) {
-                combined = memory(matcher.group(18), matcher.group(20).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(21), matcher.group(23).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(24), matcher.group(26).charAt(0)).convertTo(KILOBYTES);
+                combined = Memory.toKilobytes(logEntry, matcher.start(18), matcher.end(18),
+                        logEntry.charAt(matcher.start(20)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(21), matcher.end(21),
+                        logEntry.charAt(matcher.start(23)));
+                combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(24), matcher.end(24),
+                        logEntry.charAt(matcher.start(26)));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(27)).intValue();
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(27), matcher.end(27));
             if (matcher.group(30) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(31)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(32)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(33)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(31), matcher.end(31));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(32), matcher.end(32));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(33), matcher.end(33));
             }
         }
     }
@@ -178,15 +184,15 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public String getName() {
@@ -217,6 +223,6 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -108,6 +109,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class G1ConcurrentEvent extends G1Collector implements LogEvent, ParallelEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[GC concurrent-" };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -141,10 +147,10 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
 
         if (logEntry.matches(REGEX)) {
             Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
                 if (matcher.group(25) != null) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(25)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(25), matcher.end(25));
                 }
             }
         }
@@ -170,6 +176,6 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
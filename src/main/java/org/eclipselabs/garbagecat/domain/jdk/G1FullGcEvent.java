@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -77,6 +75,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCollection, OldCollection,
         PermMetaspaceCollection, CombinedData, PermMetaspaceData, TriggerData, SerialCollection {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[Full GC" };
+
     /**
      * Regular expression standard format.
      */
@@ -121,32 +124,32 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
     /**
      * Combined size at beginning of GC event.
      */
-    private Memory combined = Memory.ZERO;
+    private long combined = 0;
 
     /**
      * Combined size at end of GC event.
      */
-    private Memory combinedEnd = Memory.ZERO;
+    private long combinedEnd = 0;
 
     /**
      * Combined available space.
      */
-    private Memory combinedAvailable = Memory.ZERO;
+    private long combinedAvailable = 0;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen = Memory.ZERO;
+    private long permGen = 0;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd = Memory.ZERO;
+    private long permGenEnd = 0;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation = Memory.ZERO;
+    private long permGenAllocation = 0;
 
     /**
      * The trigger for the GC event.
@@ -162,36 +165,45 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
     public G1FullGcEvent(String logEntry) {
         this.logEntry = logEntry;
         Matcher matcher;
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 if (matcher.group(13) != null) {
                     trigger = matcher.group(13);
                 }
-                combined = memory(matcher.group(15), matcher.group(17).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(18), matcher.group(20).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(21), matcher.group(23).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertSecsToMicros(matcher.group(24)).intValue();
+                combined = Memory.toKilobytes(logEntry, matcher.start(15), matcher.end(15),
+                        logEntry.charAt(matcher.start(17)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(18), matcher.end(18),
+                        logEntry.charAt(matcher.start(20)));
+                combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(21), matcher.end(21),
+                        logEntry.charAt(matcher.start(23)));
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(24), matcher.end(24));
             }
-        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 if (matcher.group(12) != null) {
                     if (matcher.group(12).matches(ClassHistogramEvent.REGEX_PREPROCESSED)) {
                         trigger = JdkRegEx.TRIGGER_CLASS_HISTOGRAM;
                     } else
                         trigger = matcher.group(13);
                 }
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(63), matcher.group(65).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(69), matcher.group(71).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(72), matcher.group(74).charAt(0));
-                duration = JdkMath.convertSecsToMicros(matcher.group(42)).intValue();
+                combined = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(63), matcher.end(63),
+                        logEntry.charAt(matcher.start(65)));
+                combinedEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(69), matcher.end(69),
+                        logEntry.charAt(matcher.start(71)));
+                combinedAvailable = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(72),
+                        matcher.end(72), logEntry.charAt(matcher.start(74)));
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(42), matcher.end(42));
                 if (matcher.group(75) != null) {
-                    permGen = memory(matcher.group(77), matcher.group(79).charAt(0)).convertTo(KILOBYTES);
-                    permGenEnd = memory(matcher.group(80), matcher.group(82).charAt(0)).convertTo(KILOBYTES);
-                    permGenAllocation = memory(matcher.group(83), matcher.group(85).charAt(0)).convertTo(KILOBYTES);
+                    permGen = Memory.toKilobytes(logEntry, matcher.start(77), matcher.end(77),
+                            logEntry.charAt(matcher.start(79)));
+                    permGenEnd = Memory.toKilobytes(logEntry, matcher.start(80), matcher.end(80),
+                            logEntry.charAt(matcher.start(82)));
+                    permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(83), matcher.end(83),
+                            logEntry.charAt(matcher.start(85)));
                 }
             }
         }
@@ -238,39 +250,39 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -289,6 +301,7 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+        return REGEX_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
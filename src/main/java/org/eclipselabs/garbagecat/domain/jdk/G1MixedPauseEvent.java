@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -80,6 +78,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class G1MixedPauseEvent extends G1Collector
         implements BlockingEvent, ParallelEvent, CombinedData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "(mixed)" };
+
     /**
      * Trigger(s) regular expression(s).
      */
@@ -128,17 +131,17 @@ public class G1MixedPauseEvent extends G1Collector
     /**
      * Combined generation size at beginning of GC event.
      */
-    private Memory combined;
+    private long combined = Memory.NO_KILOBYTES;
 
     /**
      * Combined generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in multiple generation.
      */
-    private Memory combinedAvailable;
+    private long combinedAvailable = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -169,41 +172,47 @@ public class G1MixedPauseEvent extends G1Collector
     public G1MixedPauseEvent(String logEntry) {
         this.logEntry = logEntry;
         Matcher matcher;
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // standard format
             matcher.reset();
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 trigger = matcher.group(13);
-                combined = memory(matcher.group(15), matcher.group(17).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(18), matcher.group(20).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(21), matcher.group(23).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertSecsToMicros(matcher.group(24)).intValue();
+                combined = Memory.toKilobytes(logEntry, matcher.start(15), matcher.end(15),
+                        logEntry.charAt(matcher.start(17)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(18), matcher.end(18),
+                        logEntry.charAt(matcher.start(20)));
+                combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(21), matcher.end(21),
+                        logEntry.charAt(matcher.start(23)));
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(24), matcher.end(24));
                 if (matcher.group(27) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(28)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(28), matcher.end(28));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(29), matcher.end(29));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(30), matcher.end(30));
                 }
             }
-        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // preprocessed format
             matcher.reset();
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 // use last trigger
                 if (matcher.group(15) != null) {
                     trigger = matcher.group(15);
                 } else if (matcher.group(13) != null) {
                     trigger = matcher.group(13);
                 }
-                duration = JdkMath.convertSecsToMicros(matcher.group(16)).intValue();
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(37), matcher.group(39).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(43), matcher.group(45).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(46), matcher.group(48).charAt(0));
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(16), matcher.end(16));
+                combined = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(37), matcher.end(37),
+                        logEntry.charAt(matcher.start(39)));
+                combinedEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(43), matcher.end(43),
+                        logEntry.charAt(matcher.start(45)));
+                combinedAvailable = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(46),
+                        matcher.end(46), logEntry.charAt(matcher.start(48)));
                 if (matcher.group(49) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(50)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(51)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(52)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(50), matcher.end(50));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(51), matcher.end(51));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(52), matcher.end(52));
                 }
             }
         }
@@ -238,15 +247,15 @@ public class G1MixedPauseEvent extends G1Collector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public String getName() {
@@ -281,6 +290,7 @@ public class G1MixedPauseEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+        return REGEX_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -62,6 +63,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  * 
  */
 public class G1RemarkEvent extends G1Collector implements BlockingEvent, ParallelEvent, TimesData {
+
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[GC remark" };
     /**
      * Regular expressions defining the logging.
      */
@@ -118,14 +124,14 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      */
     public G1RemarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
-            duration = JdkMath.convertSecsToMicros(matcher.group(122)).intValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(122), matcher.end(122));
             if (matcher.group(125) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(126)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(127)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(128)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(126), matcher.end(126));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(127), matcher.end(127));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(128), matcher.end(128));
             }
         }
     }
@@ -186,6 +192,6 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -70,6 +68,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class G1YoungInitialMarkEvent extends G1Collector
         implements BlockingEvent, CombinedData, TriggerData, ParallelEvent, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[GC pause " };
+
     /**
      * Regular expressions defining the logging.
      * 
@@ -122,17 +125,17 @@ public class G1YoungInitialMarkEvent extends G1Collector
     /**
      * Combined generation size at beginning of GC event.
      */
-    private Memory combined = Memory.ZERO;
+    private long combined = 0;
 
     /**
      * Combined generation size at end of GC event.
      */
-    private Memory combinedEnd = Memory.ZERO;
+    private long combinedEnd = 0;
 
     /**
      * Available space in multiple generation.
      */
-    private Memory combinedAvailable = Memory.ZERO;
+    private long combinedAvailable = 0;
 
     /**
      * The trigger for the GC event.
@@ -165,49 +168,55 @@ public class G1YoungInitialMarkEvent extends G1Collector
 
         Matcher matcher;
 
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // standard format
             matcher.reset();
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 trigger = matcher.group(13);
-                combined = memory(matcher.group(15), matcher.group(17).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(18), matcher.group(20).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(21), matcher.group(23).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertSecsToMicros(matcher.group(24)).intValue();
+                combined = Memory.toKilobytes(logEntry, matcher.start(15), matcher.end(15),
+                        logEntry.charAt(matcher.start(17)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(18), matcher.end(18),
+                        logEntry.charAt(matcher.start(20)));
+                combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(21), matcher.end(21),
+                        logEntry.charAt(matcher.start(23)));
+                duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(24), matcher.end(24));
                 if (matcher.group(27) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(28)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(28), matcher.end(28));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(29), matcher.end(29));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(30), matcher.end(30));
                 }
             }
-        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // preprocessed format
             matcher.reset();
             if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 if (matcher.group(13) != null) {
                     trigger = matcher.group(13);
                 } else if (matcher.group(17) != null) {
                     trigger = matcher.group(17);
                 }
                 if (matcher.group(18) != null) {
-                    duration = JdkMath.convertSecsToMicros(matcher.group(19)).intValue();
+                    duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(19), matcher.end(19));
                 } else {
                     if (matcher.group(53) != null) {
                         // Use Times block duration
-                        duration = JdkMath.convertSecsToMicros(matcher.group(55)).intValue();
+                        duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(55), matcher.end(55));
                     }
                 }
                 if (matcher.group(22) != null) {
-                    combined = JdkMath.convertSizeToKilobytes(matcher.group(41), matcher.group(43).charAt(0));
-                    combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(47), matcher.group(49).charAt(0));
-                    combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(50), matcher.group(52).charAt(0));
+                    combined = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(41), matcher.end(41),
+                            logEntry.charAt(matcher.start(43)));
+                    combinedEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(47), matcher.end(47),
+                            logEntry.charAt(matcher.start(49)));
+                    combinedAvailable = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(50),
+                            matcher.end(50), logEntry.charAt(matcher.start(52)));
                 }
                 if (matcher.group(53) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(54)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(55)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(56)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(54), matcher.end(54));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(55), matcher.end(55));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(56), matcher.end(56));
                 }
             }
         }
@@ -242,15 +251,15 @@ public class G1YoungInitialMarkEvent extends G1Collector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public String getName() {
@@ -285,6 +294,7 @@ public class G1YoungInitialMarkEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+        return REGEX_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,8 +22,10 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -74,6 +73,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  * 2.847: [GC pause (G1 Evacuation Pause) (young), 0.0414530 secs] [Eden: 112.0M(112.0M)-&gt;0.0B(112.0M) Survivors: 16.0M-&gt;16.0M Heap: 136.9M(30.0G)-&gt;70.9M(30.0G)]
  * </pre>
  *
+ * <p>
+ * Sizes are stored as whole kilobytes, rounded down in the standard and preprocessed formats and rounded half even in
+ * the details formats (e.g. 1536B is 1K in the standard format and 2K in the details formats).
+ * </p>
+ *
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * @author James Livingston
  *
@@ -81,6 +85,23 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class G1YoungPauseEvent extends G1Collector
         implements BlockingEvent, YoungCollection, ParallelEvent, CombinedData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[GC pause " };
+
+    /**
+     * Trigger literals for the scanner before "(young)", the same as {@link #REGEX_PREPROCESSED_DETAILS}.
+     */
+    private static final String[] TRIGGERS_PREPROCESSED_DETAILS = { JdkRegEx.TRIGGER_G1_EVACUATION_PAUSE,
+            JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC, JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION };
+
+    /**
+     * Trigger literals for the scanner after "(young)", the same as {@link #REGEX_PREPROCESSED_DETAILS}.
+     */
+    private static final String[] TRIGGERS_TO_SPACE = { JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED,
+            JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW };
+
     /**
      * Regular expression standard format.
      *
@@ -174,27 +195,27 @@ public class G1YoungPauseEvent extends G1Collector
     /**
      * Combined generation size at beginning of GC event.
      */
-    private Memory combined;
+    private long combined = Memory.NO_KILOBYTES;
 
     /**
      * Combined generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined generation size at beginning of GC event.
      */
-    private Memory eden;
+    private long eden = Memory.NO_KILOBYTES;
 
     /**
      * Combined generation size at end of GC event.
      */
-    private Memory edenEnd;
+    private long edenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in multiple generation.
      */
-    private Memory combinedAvailable;
+    private long combinedAvailable = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -223,79 +244,97 @@ public class G1YoungPauseEvent extends G1Collector
      *            The log entry for the event.
      */
     public G1YoungPauseEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     *
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private G1YoungPauseEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher;
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
-            matcher.reset();
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+        if (matcher == null) {
+            return;
+        }
+        if (matcher.pattern() == REGEX_PATTERN) {
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
+            trigger = matcher.group(13);
+            combined = Memory.toKilobytes(logEntry, matcher.start(15), matcher.end(15),
+                    logEntry.charAt(matcher.start(17)));
+            combinedEnd = Memory.toKilobytes(logEntry, matcher.start(18), matcher.end(18),
+                    logEntry.charAt(matcher.start(20)));
+            combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(21), matcher.end(21),
+                    logEntry.charAt(matcher.start(23)));
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(24), matcher.end(24));
+            if (matcher.group(27) != null) {
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(28), matcher.end(28));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(29), matcher.end(29));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(30), matcher.end(30));
+            }
+        } else if (matcher.pattern() == REGEX_PREPROCESSED_DETAILS_PATTERN) {
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
+            if (matcher.group(15) != null) {
+                // trigger after (young):
+                trigger = matcher.group(15);
+            } else {
+                // trigger before (young):
                 trigger = matcher.group(13);
-                combined = memory(matcher.group(15), matcher.group(17).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(18), matcher.group(20).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(21), matcher.group(23).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertSecsToMicros(matcher.group(24)).intValue();
-                if (matcher.group(27) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(28)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
-                }
             }
-        } else if ((matcher = REGEX_PREPROCESSED_DETAILS_PATTERN.matcher(logEntry)).matches()) {
-            matcher.reset();
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
-                if (matcher.group(15) != null) {
-                    // trigger after (young):
-                    trigger = matcher.group(15);
-                } else {
-                    // trigger before (young):
-                    trigger = matcher.group(13);
-                }
-                duration = JdkMath.convertSecsToMicros(matcher.group(16)).intValue();
-                eden = JdkMath.convertSizeToKilobytes(matcher.group(19), matcher.group(21).charAt(0));
-                edenEnd = JdkMath.convertSizeToKilobytes(matcher.group(25), matcher.group(27).charAt(0));
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(37), matcher.group(39).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(43), matcher.group(45).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(46), matcher.group(48).charAt(0));
-                if (matcher.group(49) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(50)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(51)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(52)).intValue();
-                }
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(16), matcher.end(16));
+            eden = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(19), matcher.end(19),
+                    logEntry.charAt(matcher.start(21)));
+            edenEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(25), matcher.end(25),
+                    logEntry.charAt(matcher.start(27)));
+            combined = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(37), matcher.end(37),
+                    logEntry.charAt(matcher.start(39)));
+            combinedEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(43), matcher.end(43),
+                    logEntry.charAt(matcher.start(45)));
+            combinedAvailable = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(46), matcher.end(46),
+                    logEntry.charAt(matcher.start(48)));
+            if (matcher.group(49) != null) {
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(50), matcher.end(50));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(51), matcher.end(51));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(52), matcher.end(52));
             }
-        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
-            matcher.reset();
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
-                duration = JdkMath.convertSecsToMicros(matcher.group(2)).intValue();
-                combined = memory(matcher.group(5), matcher.group(7).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(8), matcher.group(10).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(11), matcher.group(13).charAt(0)).convertTo(KILOBYTES);
-                if (matcher.group(14) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(15)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(16)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(17)).intValue();
-                }
+        } else if (matcher.pattern() == REGEX_PREPROCESSED_PATTERN) {
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(1), matcher.end(1));
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(2), matcher.end(2));
+            combined = Memory.toKilobytes(logEntry, matcher.start(5), matcher.end(5),
+                    logEntry.charAt(matcher.start(7)));
+            combinedEnd = Memory.toKilobytes(logEntry, matcher.start(8), matcher.end(8),
+                    logEntry.charAt(matcher.start(10)));
+            combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(11), matcher.end(11),
+                    logEntry.charAt(matcher.start(13)));
+            if (matcher.group(14) != null) {
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(15), matcher.end(15));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(16), matcher.end(16));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(17), matcher.end(17));
             }
-        } else if ((matcher = REGEX_PREPROCESSED_NO_DURATION_PATTERN.matcher(logEntry)).matches()) {
-            matcher.reset();
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
-                if (matcher.group(13) != null) {
-                    // trigger before (young):
-                    trigger = matcher.group(13);
-                }
-                // Get duration from times block
-                duration = JdkMath.convertSecsToMicros(matcher.group(47)).intValue();
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(32), matcher.group(34).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(38), matcher.group(40).charAt(0));
-                eden = JdkMath.convertSizeToKilobytes(matcher.group(14), matcher.group(16).charAt(0));
-                edenEnd = JdkMath.convertSizeToKilobytes(matcher.group(20), matcher.group(22).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(41), matcher.group(43).charAt(0));
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(45)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(46)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(47)).intValue();
+        } else if (matcher.pattern() == REGEX_PREPROCESSED_NO_DURATION_PATTERN) {
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
+            if (matcher.group(13) != null) {
+                // trigger before (young):
+                trigger = matcher.group(13);
             }
+            // Get duration from times block
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(47), matcher.end(47));
+            combined = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(32), matcher.end(32),
+                    logEntry.charAt(matcher.start(34)));
+            combinedEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(38), matcher.end(38),
+                    logEntry.charAt(matcher.start(40)));
+            eden = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(14), matcher.end(14),
+                    logEntry.charAt(matcher.start(16)));
+            edenEnd = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(20), matcher.end(20),
+                    logEntry.charAt(matcher.start(22)));
+            combinedAvailable = JdkMath.parseSizeToKilobytes(logEntry, matcher.start(41), matcher.end(41),
+                    logEntry.charAt(matcher.start(43)));
+            timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(45), matcher.end(45));
+            timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(46), matcher.end(46));
+            timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(47), matcher.end(47));
         }
     }
 
@@ -328,23 +367,23 @@ public class G1YoungPauseEvent extends G1Collector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getEdenOccupancyInit() {
-        return eden;
+        return Memory.fromKilobytes(eden);
     }
 
     public Memory getEdenOccupancyEnd() {
-        return edenEnd;
+        return Memory.fromKilobytes(edenEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public String getName() {
@@ -371,6 +410,82 @@ public class G1YoungPauseEvent extends G1Collector
         return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
     }
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the standard or preprocessed details format.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static final G1YoungPauseEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        if (scanner.datestamp() && !scanner.literal(": ")) {
+            return null;
+        }
+        long timestamp = scanner.timestamp();
+        if (timestamp == JdkScanner.NO_MATCH || !scanner.literal(": [GC pause ")) {
+            return null;
+        }
+        String trigger = null;
+        if (!scanner.literal("(young)") && (!scanner.character('(')
+                || (trigger = scanner.oneOf(TRIGGERS_PREPROCESSED_DETAILS)) == null || !scanner.literal(") (young)"))) {
+            return null;
+        }
+        G1YoungPauseEvent event = new G1YoungPauseEvent(logLine, (Matcher) null);
+        event.timestamp = timestamp;
+        long duration = JdkScanner.NO_MATCH;
+        boolean details = scanner.literal(", ");
+        if (!details && scanner.literal(" (")) {
+            if ((trigger = scanner.oneOf(TRIGGERS_TO_SPACE)) == null || !scanner.literal("), ")) {
+                return null;
+            }
+            details = true;
+        }
+        if (details) {
+            // [GC pause (G1 Evacuation Pause) (young), 0.0123456 secs][Eden: ...
+            if ((duration = scanner.duration()) == JdkScanner.NO_MATCH || !scanner.literal("][Eden: ")
+                    || (event.eden = scanner.sizeToKilobytes()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || scanner.sizeToKilobytes() == JdkScanner.NO_MATCH || !scanner.literal(")->")
+                    || (event.edenEnd = scanner.sizeToKilobytes()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || scanner.sizeToKilobytes() == JdkScanner.NO_MATCH || !scanner.literal(") Survivors: ")
+                    || scanner.sizeToKilobytes() == JdkScanner.NO_MATCH || !scanner.literal("->")
+                    || scanner.sizeToKilobytes() == JdkScanner.NO_MATCH || !scanner.literal(" Heap: ")
+                    || (event.combined = scanner.sizeToKilobytes()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || scanner.sizeToKilobytes() == JdkScanner.NO_MATCH || !scanner.literal(")->")
+                    || (event.combinedEnd = scanner.sizeToKilobytes()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || (event.combinedAvailable = scanner.sizeToKilobytes()) == JdkScanner.NO_MATCH
+                    || !scanner.literal(")]")) {
+                return null;
+            }
+        } else {
+            // [GC pause (G1 Evacuation Pause) (young) 12M->3M(64M), 0.0123456 secs]
+            if (JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION.equals(trigger)) {
+                return null;
+            }
+            scanner.character(' ');
+            if ((event.combined = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                    || (event.combinedEnd = scanner.size()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || (event.combinedAvailable = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("), ")
+                    || (duration = scanner.duration()) == JdkScanner.NO_MATCH || !scanner.character(']')) {
+                return null;
+            }
+        }
+        boolean times = scanner.times();
+        if (!scanner.end()) {
+            return null;
+        }
+        event.trigger = trigger;
+        event.duration = (int) duration;
+        if (times) {
+            event.timeUser = scanner.getTimeUser();
+            event.timeSys = scanner.getTimeSys();
+            event.timeReal = scanner.getTimeReal();
+        }
+        return event;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      *
@@ -379,9 +494,39 @@ public class G1YoungPauseEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() ||
-                REGEX_PREPROCESSED_DETAILS_PATTERN.matcher(logLine).matches() ||
-                REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches() ||
-                REGEX_PREPROCESSED_NO_DURATION_PATTERN.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern(s) for this event, running the matcher
+     * once.
+     *
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static final G1YoungPauseEvent tryParse(String logLine) {
+        G1YoungPauseEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new G1YoungPauseEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher;
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logLine))).matches()
+                || (matcher = REGEX_PREPROCESSED_DETAILS_PATTERN.matcher(RegExGuard.input(logLine))).matches()
+                || (matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine))).matches()
+                || (matcher = REGEX_PREPROCESSED_NO_DURATION_PATTERN.matcher(RegExGuard.input(logLine))).matches()) {
+            return matcher;
+        }
+        return null;
     }
 }
\ No newline at end of file
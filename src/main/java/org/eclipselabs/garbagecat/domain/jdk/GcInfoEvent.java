@@ -13,6 +13,7 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
@@ -100,6 +101,15 @@ import java.util.regex.Pattern;
  */
 public class GcInfoEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = {
+            "Humongous object threshold: ", "Max TLAB size: ", "GC threads: ", "Reference processing: ",
+            "Shenandoah GC mode: ", "Shenandoah heuristics: ", "Initialize Shenandoah heap", "Pacer for Idle",
+            "Safepointing mechanism: ", "Free: ", "Evacuation Reserve: ", "Regions: ",
+            "Heuristics ergonomically sets " };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -195,7 +205,7 @@ public class GcInfoEvent implements ThrowAwayEvent {
         boolean match = false;
         for (int i = 0; i < REGEX_PATTERN_LIST.size(); i++) {
             Pattern pattern = REGEX_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 match = true;
                 break;
             }
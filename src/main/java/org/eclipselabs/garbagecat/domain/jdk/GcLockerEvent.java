@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -44,6 +45,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class GcLockerEvent implements LogEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "GC locker: Trying a full collection because scavenge failed" };
+
     /**
      * Regular expression defining the logging.
      */
@@ -92,6 +98,6 @@ public class GcLockerEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+        return PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -63,6 +64,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class HeaderCommandLineFlagsEvent implements LogEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "CommandLine flags:", "  JAVA_OPTS:" };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -111,7 +117,7 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 
     /**
@@ -119,7 +125,7 @@ public class HeaderCommandLineFlagsEvent implements LogEvent {
      */
     public String getJvmOptions() {
         String jvmOptions = null;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             jvmOptions = matcher.group(2);
         }
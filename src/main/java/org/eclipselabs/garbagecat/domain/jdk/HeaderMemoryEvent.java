@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -50,6 +51,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class HeaderMemoryEvent implements LogEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Memory: " };
+
     /**
      * Regular expression for memory size.
      */
@@ -102,7 +108,7 @@ public class HeaderMemoryEvent implements LogEvent {
     public HeaderMemoryEvent(String logEntry) {
         this.logEntry = logEntry;
         this.timestamp = 0L;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             physicalMemory = Integer.parseInt(matcher.group(2));
             physicalMemoryFree = Integer.parseInt(matcher.group(3));
@@ -149,6 +155,6 @@ public class HeaderMemoryEvent implements LogEvent {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -13,6 +13,7 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -243,6 +244,12 @@ import java.util.regex.Pattern;
  */
 public class HeapAtGcEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = {
+            "total", "space ", "used ", "}", "Heap", "No shared spaces configured", "region size ", "the space" };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -329,7 +336,7 @@ public class HeapAtGcEvent implements ThrowAwayEvent {
         boolean isMatch = false;
         for (int i = 0; i < REGEX_LIST.size(); i++) {
             Pattern pattern = REGEX_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 isMatch = true;
                 break;
             }
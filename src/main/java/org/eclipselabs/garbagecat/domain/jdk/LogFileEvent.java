@@ -36,6 +36,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class LogFileEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " GC log file " };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,8 +23,10 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -114,6 +114,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class ParNewEvent extends CmsIncrementalModeCollector
         implements BlockingEvent, YoungCollection, ParallelEvent, YoungData, OldData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "GC" };
+
     /**
      * Trigger(s) regular expression(s).
      */
@@ -121,6 +126,12 @@ public class ParNewEvent extends CmsIncrementalModeCollector
             + JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC + "|" + JdkRegEx.TRIGGER_SYSTEM_GC + "|"
             + JdkRegEx.TRIGGER_CMS_FINAL_REMARK + ")";
 
+    /**
+     * Trigger literals for the scanner, the same as {@link #TRIGGER}.
+     */
+    private static final String[] TRIGGERS = { JdkRegEx.TRIGGER_ALLOCATION_FAILURE,
+            JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC, "System.gc()", "System", JdkRegEx.TRIGGER_CMS_FINAL_REMARK };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -152,32 +163,32 @@ public class ParNewEvent extends CmsIncrementalModeCollector
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -206,35 +217,46 @@ public class ParNewEvent extends CmsIncrementalModeCollector
      *            The log entry for the event.
      */
     public ParNewEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private ParNewEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        if (matcher != null) {
             if (matcher.group(13) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(12), matcher.end(12));
             } else {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(27)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(27), matcher.end(27));
             }
             if (matcher.group(48) != null) {
                 trigger = matcher.group(48);
             } else {
                 trigger = matcher.group(31);
             }
-            young = kilobytes(matcher.group(49));
-            youngEnd = kilobytes(matcher.group(50));
-            youngAvailable = kilobytes(matcher.group(51));
-            oldEnd = kilobytes(matcher.group(57)).minus(youngEnd);
-            old = matcher.group(55) == null ? oldEnd : kilobytes(matcher.group(56)).minus(young);
-            oldAllocation = kilobytes(matcher.group(58)).minus(youngAvailable);
-            duration = JdkMath.convertSecsToMicros(matcher.group(60)).intValue();
+            young = Long.parseLong(matcher.group(49));
+            youngEnd = Long.parseLong(matcher.group(50));
+            youngAvailable = Long.parseLong(matcher.group(51));
+            oldEnd = Long.parseLong(matcher.group(57)) - youngEnd;
+            old = matcher.group(55) == null ? oldEnd : Long.parseLong(matcher.group(56)) - young;
+            oldAllocation = Long.parseLong(matcher.group(58)) - youngAvailable;
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(60), matcher.end(60));
             if (matcher.group(59) != null) {
                 super.setIncrementalMode(true);
             } else {
                 super.setIncrementalMode(false);
             }
             if (matcher.group(63) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(64)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(65)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(66)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(64), matcher.end(64));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(65), matcher.end(65));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(66), matcher.end(66));
             }
         }
     }
@@ -268,27 +290,27 @@ public class ParNewEvent extends CmsIncrementalModeCollector
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public String getName() {
@@ -315,6 +337,75 @@ public class ParNewEvent extends CmsIncrementalModeCollector
         return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
     }
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the standard format.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static final ParNewEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        if (scanner.datestamp() && !scanner.literal(": ")) {
+            return null;
+        }
+        long timestamp = scanner.timestamp();
+        if (timestamp == JdkScanner.NO_MATCH || !scanner.literal(": [GC")) {
+            return null;
+        }
+        scanner.character(' ');
+        String trigger = null;
+        if (scanner.character('(') && ((trigger = scanner.oneOf(TRIGGERS)) == null || !scanner.character(')'))) {
+            return null;
+        }
+        scanner.character(' ');
+        if (scanner.datestamp() && !scanner.literal(": ")) {
+            return null;
+        }
+        if (scanner.timestamp() != JdkScanner.NO_MATCH && !scanner.literal(": ")) {
+            return null;
+        }
+        long young = JdkScanner.NO_MATCH;
+        long youngEnd = JdkScanner.NO_MATCH;
+        long youngAvailable = JdkScanner.NO_MATCH;
+        long combined = JdkScanner.NO_MATCH;
+        long combinedEnd = JdkScanner.NO_MATCH;
+        long combinedAvailable = JdkScanner.NO_MATCH;
+        long duration = JdkScanner.NO_MATCH;
+        if (!scanner.literal("[ParNew: ") || (young = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (youngEnd = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (youngAvailable = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("), ")
+                || scanner.duration() == JdkScanner.NO_MATCH || !scanner.literal("] ")
+                || (combined = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (combinedEnd = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (combinedAvailable = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("), ")
+                || (duration = scanner.duration()) == JdkScanner.NO_MATCH || !scanner.character(']')) {
+            return null;
+        }
+        boolean times = scanner.times();
+        if (!scanner.end()) {
+            return null;
+        }
+        ParNewEvent event = new ParNewEvent(logLine, (Matcher) null);
+        event.timestamp = timestamp;
+        event.trigger = trigger;
+        event.young = young;
+        event.youngEnd = youngEnd;
+        event.youngAvailable = youngAvailable;
+        event.old = combined - young;
+        event.oldEnd = combinedEnd - youngEnd;
+        event.oldAllocation = combinedAvailable - youngAvailable;
+        event.duration = (int) duration;
+        if (times) {
+            event.timeUser = scanner.getTimeUser();
+            event.timeSys = scanner.getTimeSys();
+            event.timeReal = scanner.getTimeReal();
+        }
+        return event;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -323,6 +414,33 @@ public class ParNewEvent extends CmsIncrementalModeCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern for this event, trying the scanner before
+     * running the matcher once.
+     * 
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static final ParNewEvent tryParse(String logLine) {
+        ParNewEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new ParNewEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher = pattern.matcher(RegExGuard.input(logLine));
+        return matcher.matches() ? matcher : null;
     }
 }
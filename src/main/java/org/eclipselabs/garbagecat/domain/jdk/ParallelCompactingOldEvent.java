@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -87,6 +86,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class ParallelCompactingOldEvent extends ParallelCollector implements BlockingEvent, OldCollection,
         PermMetaspaceCollection, ParallelEvent, YoungData, OldData, PermMetaspaceData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[ParOldGen: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -105,47 +109,47 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -195,25 +199,25 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      */
     public ParallelCompactingOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             trigger = matcher.group(13);
-            young = kilobytes(matcher.group(15));
-            youngEnd = kilobytes(matcher.group(16));
-            youngAvailable = kilobytes(matcher.group(17));
-            old = kilobytes(matcher.group(18));
-            oldEnd = kilobytes(matcher.group(19));
-            oldAllocation = kilobytes(matcher.group(20));
+            young = Long.parseLong(matcher.group(15));
+            youngEnd = Long.parseLong(matcher.group(16));
+            youngAvailable = Long.parseLong(matcher.group(17));
+            old = Long.parseLong(matcher.group(18));
+            oldEnd = Long.parseLong(matcher.group(19));
+            oldAllocation = Long.parseLong(matcher.group(20));
             // Do not need total begin/end/allocation, as these can be calculated.
-            permGen = kilobytes(matcher.group(26));
-            permGenEnd = kilobytes(matcher.group(27));
-            permGenAllocation = kilobytes(matcher.group(28));
-            duration = JdkMath.convertSecsToMicros(matcher.group(29)).intValue();
+            permGen = Long.parseLong(matcher.group(26));
+            permGenEnd = Long.parseLong(matcher.group(27));
+            permGenAllocation = Long.parseLong(matcher.group(28));
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(29), matcher.end(29));
             if (matcher.group(32) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(33)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(34)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(35)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(33), matcher.end(33));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(34), matcher.end(34));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(35), matcher.end(35));
             }
         }
     }
@@ -247,27 +251,27 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public String getName() {
@@ -275,15 +279,15 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     public String getTrigger() {
@@ -314,6 +318,6 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
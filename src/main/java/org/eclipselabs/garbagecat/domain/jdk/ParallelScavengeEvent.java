@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,8 +23,10 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -82,6 +82,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class ParallelScavengeEvent extends ParallelCollector
         implements BlockingEvent, YoungCollection, ParallelEvent, YoungData, OldData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[PSYoungGen: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -100,32 +105,32 @@ public class ParallelScavengeEvent extends ParallelCollector
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -154,6 +159,14 @@ public class ParallelScavengeEvent extends ParallelCollector
             + JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION + "|" + JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC + "|"
             + JdkRegEx.TRIGGER_SYSTEM_GC + "|" + JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC + ")";
 
+    /**
+     * Trigger literals for the scanner, the same as {@link #TRIGGER}.
+     */
+    private static final String[] TRIGGERS = { JdkRegEx.TRIGGER_METADATA_GC_THRESHOLD,
+            JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC, JdkRegEx.TRIGGER_ALLOCATION_FAILURE,
+            JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION, JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC, "System.gc()",
+            "System", JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -171,22 +184,33 @@ public class ParallelScavengeEvent extends ParallelCollector
      *            The log entry for the event.
      */
     public ParallelScavengeEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private ParallelScavengeEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+        if (matcher != null) {
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             trigger = matcher.group(14);
-            young = kilobytes((matcher.group(17)));
-            youngEnd = kilobytes((matcher.group(18)));
-            youngAvailable = kilobytes((matcher.group(19)));
-            old = kilobytes(matcher.group(20)).minus(young);
-            oldEnd = kilobytes(matcher.group(21)).minus(youngEnd);
-            oldAllocation = kilobytes(matcher.group(22)).minus(youngAvailable);
-            duration = JdkMath.convertSecsToMicros(matcher.group(23)).intValue();
+            young = Long.parseLong(matcher.group(17));
+            youngEnd = Long.parseLong(matcher.group(18));
+            youngAvailable = Long.parseLong(matcher.group(19));
+            old = Long.parseLong(matcher.group(20)) - young;
+            oldEnd = Long.parseLong(matcher.group(21)) - youngEnd;
+            oldAllocation = Long.parseLong(matcher.group(22)) - youngAvailable;
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(23), matcher.end(23));
             if (matcher.group(26) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(27)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(28)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(27), matcher.end(27));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(28), matcher.end(28));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(29), matcher.end(29));
             }
         }
     }
@@ -220,27 +244,27 @@ public class ParallelScavengeEvent extends ParallelCollector
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public String getName() {
@@ -267,6 +291,66 @@ public class ParallelScavengeEvent extends ParallelCollector
         return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
     }
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the standard format.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static final ParallelScavengeEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        if (scanner.datestamp() && !scanner.literal(": ")) {
+            return null;
+        }
+        long timestamp = scanner.timestamp();
+        if (timestamp == JdkScanner.NO_MATCH || !scanner.literal(": [GC ")) {
+            return null;
+        }
+        String trigger = null;
+        if (scanner.character('(') && ((trigger = scanner.oneOf(TRIGGERS)) == null || !scanner.literal(") "))) {
+            return null;
+        }
+        long young = JdkScanner.NO_MATCH;
+        long youngEnd = JdkScanner.NO_MATCH;
+        long youngAvailable = JdkScanner.NO_MATCH;
+        long combined = JdkScanner.NO_MATCH;
+        long combinedEnd = JdkScanner.NO_MATCH;
+        long combinedAvailable = JdkScanner.NO_MATCH;
+        long duration = JdkScanner.NO_MATCH;
+        if (!scanner.literal(LITERALS[0]) || (young = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (youngEnd = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (youngAvailable = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal(")] ")
+                || (combined = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (combinedEnd = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (combinedAvailable = scanner.sizeK()) == JdkScanner.NO_MATCH || !scanner.literal("), ")
+                || (duration = scanner.duration()) == JdkScanner.NO_MATCH || !scanner.character(']')) {
+            return null;
+        }
+        boolean times = scanner.times();
+        if (!scanner.end()) {
+            return null;
+        }
+        ParallelScavengeEvent event = new ParallelScavengeEvent(logLine, (Matcher) null);
+        event.timestamp = timestamp;
+        event.trigger = trigger;
+        event.young = young;
+        event.youngEnd = youngEnd;
+        event.youngAvailable = youngAvailable;
+        event.old = combined - young;
+        event.oldEnd = combinedEnd - youngEnd;
+        event.oldAllocation = combinedAvailable - youngAvailable;
+        event.duration = (int) duration;
+        if (times) {
+            event.timeUser = scanner.getTimeUser();
+            event.timeSys = scanner.getTimeSys();
+            event.timeReal = scanner.getTimeReal();
+        }
+        return event;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -275,6 +359,33 @@ public class ParallelScavengeEvent extends ParallelCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern for this event, trying the scanner before
+     * running the matcher once.
+     * 
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static final ParallelScavengeEvent tryParse(String logLine) {
+        ParallelScavengeEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new ParallelScavengeEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher = pattern.matcher(RegExGuard.input(logLine));
+        return matcher.matches() ? matcher : null;
     }
 }
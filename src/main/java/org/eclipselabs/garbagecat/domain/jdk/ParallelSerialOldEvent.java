@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +26,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -81,6 +80,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class ParallelSerialOldEvent extends ParallelCollector implements BlockingEvent, YoungCollection, OldCollection,
         PermMetaspaceCollection, YoungData, OldData, PermMetaspaceData, TriggerData, SerialCollection {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[PSOldGen: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -99,47 +103,47 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -171,26 +175,26 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      */
     public ParallelSerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            this.timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            this.timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
 
             if (matcher.group(13) != null) {
                 this.trigger = matcher.group(13);
             }
-            this.young = kilobytes(matcher.group(15));
-            this.youngEnd = kilobytes(matcher.group(16));
-            this.youngAvailable = kilobytes(matcher.group(17));
+            this.young = Long.parseLong(matcher.group(15));
+            this.youngEnd = Long.parseLong(matcher.group(16));
+            this.youngAvailable = Long.parseLong(matcher.group(17));
 
-            this.old = kilobytes(matcher.group(18));
-            this.oldEnd = kilobytes(matcher.group(19));
-            this.oldAllocation = kilobytes(matcher.group(20));
+            this.old = Long.parseLong(matcher.group(18));
+            this.oldEnd = Long.parseLong(matcher.group(19));
+            this.oldAllocation = Long.parseLong(matcher.group(20));
 
-            this.permGen = kilobytes(matcher.group(25));
-            this.permGenEnd = kilobytes(matcher.group(26));
-            this.permGenAllocation = kilobytes(matcher.group(27));
+            this.permGen = Long.parseLong(matcher.group(25));
+            this.permGenEnd = Long.parseLong(matcher.group(26));
+            this.permGenAllocation = Long.parseLong(matcher.group(27));
 
-            this.duration = JdkMath.convertSecsToMicros(matcher.group(28)).intValue();
+            this.duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(28), matcher.end(28));
         }
     }
 
@@ -235,75 +239,75 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     protected void setYoungOccupancyInit(Memory young) {
-        this.young = young;
+        this.young = Memory.toKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     protected void setYoungOccupancyEnd(Memory youngEnd) {
-        this.youngEnd = youngEnd;
+        this.youngEnd = Memory.toKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     protected void setYoungSpace(Memory youngAvailable) {
-        this.youngAvailable = youngAvailable;
+        this.youngAvailable = Memory.toKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     protected void setOldOccupancyInit(Memory old) {
-        this.old = old;
+        this.old = Memory.toKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     protected void setOldOccupancyEnd(Memory oldEnd) {
-        this.oldEnd = oldEnd;
+        this.oldEnd = Memory.toKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     protected void setOldSpace(Memory oldAllocation) {
-        this.oldAllocation = oldAllocation;
+        this.oldAllocation = Memory.toKilobytes(oldAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -326,6 +330,6 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
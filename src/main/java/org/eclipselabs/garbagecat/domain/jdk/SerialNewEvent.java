@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,6 +23,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -79,6 +78,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class SerialNewEvent extends SerialCollector
         implements BlockingEvent, YoungCollection, YoungData, OldData, TriggerData, SerialCollection {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[DefNew: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -97,32 +101,32 @@ public class SerialNewEvent extends SerialCollector
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -152,19 +156,19 @@ public class SerialNewEvent extends SerialCollector
      */
     public SerialNewEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             if (matcher.group(14) != null) {
                 trigger = matcher.group(14);
             }
-            young = kilobytes(matcher.group(27));
-            youngEnd = kilobytes(matcher.group(28));
-            youngAvailable = kilobytes(matcher.group(29));
-            old = kilobytes(matcher.group(33)).minus(young);
-            oldEnd = kilobytes(matcher.group(34)).minus(youngEnd);
-            oldAllocation = kilobytes(matcher.group(35)).minus(youngAvailable);
-            duration = JdkMath.convertSecsToMicros(matcher.group(36)).intValue();
+            young = Long.parseLong(matcher.group(27));
+            youngEnd = Long.parseLong(matcher.group(28));
+            youngAvailable = Long.parseLong(matcher.group(29));
+            old = Long.parseLong(matcher.group(33)) - young;
+            oldEnd = Long.parseLong(matcher.group(34)) - youngEnd;
+            oldAllocation = Long.parseLong(matcher.group(35)) - youngAvailable;
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(36), matcher.end(36));
         }
     }
 
@@ -197,27 +201,27 @@ public class SerialNewEvent extends SerialCollector
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public String getName() {
@@ -248,6 +252,6 @@ public class SerialNewEvent extends SerialCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -89,6 +90,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class SerialOldEvent extends SerialCollector implements BlockingEvent, YoungCollection, OldCollection,
         PermMetaspaceCollection, YoungData, OldData, PermMetaspaceData, TriggerData, SerialCollection {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[Tenured: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -107,47 +113,47 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -192,26 +198,26 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
      */
     public SerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             // Use last trigger
             if (matcher.group(29) != null) {
                 trigger = matcher.group(29);
             } else if (matcher.group(14) != null) {
                 trigger = matcher.group(14);
             }
-            old = kilobytes(matcher.group(48));
-            oldEnd = kilobytes(matcher.group(49));
-            oldAllocation = kilobytes(matcher.group(50));
-            young = kilobytes(matcher.group(54)).minus(getOldOccupancyInit());
-            youngEnd = kilobytes(matcher.group(55)).minus(getOldOccupancyEnd());
-            youngAvailable = kilobytes(matcher.group(56)).minus(getOldSpace());
+            old = Long.parseLong(matcher.group(48));
+            oldEnd = Long.parseLong(matcher.group(49));
+            oldAllocation = Long.parseLong(matcher.group(50));
+            young = Long.parseLong(matcher.group(54)) - old;
+            youngEnd = Long.parseLong(matcher.group(55)) - oldEnd;
+            youngAvailable = Long.parseLong(matcher.group(56)) - oldAllocation;
             // Do not need total begin/end/allocation, as these can be calculated.
-            permGen = kilobytes(matcher.group(58));
-            permGenEnd = kilobytes(matcher.group(59));
-            permGenAllocation = kilobytes(matcher.group(60));
-            duration = JdkMath.convertSecsToMicros(matcher.group(61)).intValue();
+            permGen = Long.parseLong(matcher.group(58));
+            permGenEnd = Long.parseLong(matcher.group(59));
+            permGenAllocation = Long.parseLong(matcher.group(60));
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(61), matcher.end(61));
         }
     }
 
@@ -256,75 +262,75 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     protected void setYoungOccupancyInit(Memory young) {
-        this.young = young;
+        this.young = Memory.toKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     protected void setYoungOccupancyEnd(Memory youngEnd) {
-        this.youngEnd = youngEnd;
+        this.youngEnd = Memory.toKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     protected void setYoungSpace(Memory youngAvailable) {
-        this.youngAvailable = youngAvailable;
+        this.youngAvailable = Memory.toKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     protected void setOldOccupancyInit(Memory old) {
-        this.old = old;
+        this.old = Memory.toKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     protected void setOldOccupancyEnd(Memory oldEnd) {
-        this.oldEnd = oldEnd;
+        this.oldEnd = Memory.toKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     protected void setOldSpace(Memory oldAllocation) {
-        this.oldAllocation = oldAllocation;
+        this.oldAllocation = Memory.toKilobytes(oldAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -347,6 +353,6 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
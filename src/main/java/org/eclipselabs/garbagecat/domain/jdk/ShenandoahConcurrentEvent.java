@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -140,6 +138,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class ShenandoahConcurrentEvent extends ShenandoahCollector
         implements LogEvent, ParallelEvent, CombinedData, PermMetaspaceData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Concurrent " };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -165,32 +168,32 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
     /**
      * Combined size at beginning of GC event.
      */
-    private Memory combined;
+    private long combined = Memory.NO_KILOBYTES;
 
     /**
      * Combined size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined available space.
      */
-    private Memory combinedAvailable;
+    private long combinedAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Create event from log entry.
@@ -202,11 +205,11 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
         this.logEntry = logEntry;
         if (logEntry.matches(REGEX)) {
             Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
                 int duration = 0;
                 if (matcher.group(50) != null) {
-                    duration = JdkMath.convertMillisToMicros(matcher.group(50)).intValue();
+                    duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(50), matcher.end(50));
                 }
 
                 if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
@@ -214,13 +217,13 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
                     if (matcher.group(12).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         endTimestamp = Long.parseLong(matcher.group(27));
                     } else if (matcher.group(12).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(22)).longValue();
+                        endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(22), matcher.end(22));
                     } else {
                         if (matcher.group(25) != null) {
                             if (matcher.group(25).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                                 endTimestamp = Long.parseLong(matcher.group(27));
                             } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(26)).longValue();
+                                endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(26), matcher.end(26));
                             }
                         } else {
                             // Datestamp only.
@@ -230,16 +233,22 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
                     timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
                 } else {
                     // JDK8
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 }
                 if (matcher.group(40) != null) {
-                    combined = memory(matcher.group(41), matcher.group(43).charAt(0)).convertTo(KILOBYTES);
-                    combinedEnd = memory(matcher.group(44), matcher.group(46).charAt(0)).convertTo(KILOBYTES);
-                    combinedAvailable = memory(matcher.group(47), matcher.group(49).charAt(0)).convertTo(KILOBYTES);
+                    combined = Memory.toKilobytes(logEntry, matcher.start(41), matcher.end(41),
+                            logEntry.charAt(matcher.start(43)));
+                    combinedEnd = Memory.toKilobytes(logEntry, matcher.start(44), matcher.end(44),
+                            logEntry.charAt(matcher.start(46)));
+                    combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(47), matcher.end(47),
+                            logEntry.charAt(matcher.start(49)));
                     if (matcher.group(51) != null) {
-                        permGen = memory(matcher.group(52), matcher.group(54).charAt(0)).convertTo(KILOBYTES);
-                        permGenEnd = memory(matcher.group(55), matcher.group(57).charAt(0)).convertTo(KILOBYTES);
-                        permGenAllocation = memory(matcher.group(58), matcher.group(60).charAt(0)).convertTo(KILOBYTES);
+                        permGen = Memory.toKilobytes(logEntry, matcher.start(52), matcher.end(52),
+                                logEntry.charAt(matcher.start(54)));
+                        permGenEnd = Memory.toKilobytes(logEntry, matcher.start(55), matcher.end(55),
+                                logEntry.charAt(matcher.start(57)));
+                        permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(58), matcher.end(58),
+                                logEntry.charAt(matcher.start(60)));
                     }
                 }
 
@@ -256,39 +265,39 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -303,6 +312,6 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
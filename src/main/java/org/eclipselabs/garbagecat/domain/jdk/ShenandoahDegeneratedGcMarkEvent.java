@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -72,6 +70,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
         implements BlockingEvent, ParallelEvent, CombinedData, PermMetaspaceData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Pause Degenerated GC (" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -90,32 +93,32 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
     /**
      * Combined size at beginning of GC event.
      */
-    private Memory combined;
+    private long combined = Memory.NO_KILOBYTES;
 
     /**
      * Combined size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined available space.
      */
-    private Memory combinedAvailable;
+    private long combinedAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Regular expressions defining the logging.
@@ -137,21 +140,21 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
     public ShenandoahDegeneratedGcMarkEvent(String logEntry) {
         this.logEntry = logEntry;
         if (logEntry.matches(REGEX)) {
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                duration = JdkMath.convertMillisToMicros(matcher.group(45)).intValue();
+                duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(45), matcher.end(45));
                 if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
                     long endTimestamp;
                     if (matcher.group(12).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         endTimestamp = Long.parseLong(matcher.group(23));
                     } else if (matcher.group(12).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(22)).longValue();
+                        endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(22), matcher.end(22));
                     } else {
                         if (matcher.group(25) != null) {
                             if (matcher.group(25).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                                 endTimestamp = Long.parseLong(matcher.group(27));
                             } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(26)).longValue();
+                                endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(26), matcher.end(26));
                             }
                         } else {
                             // Datestamp only.
@@ -160,15 +163,21 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
                     }
                     timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
                 } else {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 }
-                combined = memory(matcher.group(36), matcher.group(38).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(39), matcher.group(41).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(42), matcher.group(44).charAt(0)).convertTo(KILOBYTES);
+                combined = Memory.toKilobytes(logEntry, matcher.start(36), matcher.end(36),
+                        logEntry.charAt(matcher.start(38)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(39), matcher.end(39),
+                        logEntry.charAt(matcher.start(41)));
+                combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(42), matcher.end(42),
+                        logEntry.charAt(matcher.start(44)));
                 if (matcher.group(46) != null) {
-                    permGen = memory(matcher.group(47), matcher.group(49).charAt(0)).convertTo(KILOBYTES);
-                    permGenEnd = memory(matcher.group(50), matcher.group(52).charAt(0)).convertTo(KILOBYTES);
-                    permGenAllocation = memory(matcher.group(53), matcher.group(55).charAt(0)).convertTo(KILOBYTES);
+                    permGen = Memory.toKilobytes(logEntry, matcher.start(47), matcher.end(47),
+                            logEntry.charAt(matcher.start(49)));
+                    permGenEnd = Memory.toKilobytes(logEntry, matcher.start(50), matcher.end(50),
+                            logEntry.charAt(matcher.start(52)));
+                    permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(53), matcher.end(53),
+                            logEntry.charAt(matcher.start(55)));
                 }
             }
         }
@@ -203,39 +212,39 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -250,6 +259,6 @@ public class ShenandoahDegeneratedGcMarkEvent extends ShenandoahCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -59,6 +60,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
  */
 public class ShenandoahFinalUpdateEvent extends ShenandoahCollector implements BlockingEvent, ParallelEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Pause Final Update Refs" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -92,21 +98,21 @@ public class ShenandoahFinalUpdateEvent extends ShenandoahCollector implements B
         this.logEntry = logEntry;
         if (logEntry.matches(REGEX)) {
             Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                duration = JdkMath.convertMillisToMicros(matcher.group(35)).intValue();
+                duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(35), matcher.end(35));
                 if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
                     long endTimestamp;
                     if (matcher.group(12).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         endTimestamp = Long.parseLong(matcher.group(27));
                     } else if (matcher.group(12).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(22)).longValue();
+                        endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(22), matcher.end(22));
                     } else {
                         if (matcher.group(25) != null) {
                             if (matcher.group(25).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                                 endTimestamp = Long.parseLong(matcher.group(27));
                             } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(26)).longValue();
+                                endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(26), matcher.end(26));
                             }
                         } else {
                             // Datestamp only.
@@ -116,7 +122,7 @@ public class ShenandoahFinalUpdateEvent extends ShenandoahCollector implements B
                     timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
                 } else {
                     // JDK8
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 }
             }
         }
@@ -162,6 +168,6 @@ public class ShenandoahFinalUpdateEvent extends ShenandoahCollector implements B
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
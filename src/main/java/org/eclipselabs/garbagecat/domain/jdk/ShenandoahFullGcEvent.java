@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -23,6 +22,7 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -58,6 +58,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class ShenandoahFullGcEvent extends ShenandoahCollector
         implements BlockingEvent, ParallelEvent, CombinedData, PermMetaspaceData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Pause Full " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -76,32 +81,32 @@ public class ShenandoahFullGcEvent extends ShenandoahCollector
     /**
      * Combined size at beginning of GC event.
      */
-    private Memory combined;
+    private long combined = Memory.NO_KILOBYTES;
 
     /**
      * Combined size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined available space.
      */
-    private Memory combinedAvailable;
+    private long combinedAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Regular expressions defining the logging.
@@ -122,21 +127,21 @@ public class ShenandoahFullGcEvent extends ShenandoahCollector
     public ShenandoahFullGcEvent(String logEntry) {
         this.logEntry = logEntry;
         if (logEntry.matches(REGEX)) {
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
-                duration = JdkMath.convertMillisToMicros(matcher.group(44)).intValue();
+                duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(44), matcher.end(44));
                 if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
                     long endTimestamp;
                     if (matcher.group(12).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         endTimestamp = Long.parseLong(matcher.group(23));
                     } else if (matcher.group(12).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(22)).longValue();
+                        endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(22), matcher.end(22));
                     } else {
                         if (matcher.group(25) != null) {
                             if (matcher.group(25).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                                 endTimestamp = Long.parseLong(matcher.group(27));
                             } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(26)).longValue();
+                                endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(26), matcher.end(26));
                             }
                         } else {
                             // Datestamp only.
@@ -145,15 +150,21 @@ public class ShenandoahFullGcEvent extends ShenandoahCollector
                     }
                     timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
                 } else {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 }
-                combined = memory(matcher.group(35), matcher.group(37).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(38), matcher.group(40).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(41), matcher.group(43).charAt(0)).convertTo(KILOBYTES);
+                combined = Memory.toKilobytes(logEntry, matcher.start(35), matcher.end(35),
+                        logEntry.charAt(matcher.start(37)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(38), matcher.end(38),
+                        logEntry.charAt(matcher.start(40)));
+                combinedAvailable = Memory.toKilobytes(logEntry, matcher.start(41), matcher.end(41),
+                        logEntry.charAt(matcher.start(43)));
                 if (matcher.group(45) != null) {
-                    permGen = memory(matcher.group(46), matcher.group(48).charAt(0)).convertTo(KILOBYTES);
-                    permGenEnd = memory(matcher.group(49), matcher.group(51).charAt(0)).convertTo(KILOBYTES);
-                    permGenAllocation = memory(matcher.group(52), matcher.group(54).charAt(0)).convertTo(KILOBYTES);
+                    permGen = Memory.toKilobytes(logEntry, matcher.start(46), matcher.end(46),
+                            logEntry.charAt(matcher.start(48)));
+                    permGenEnd = Memory.toKilobytes(logEntry, matcher.start(49), matcher.end(49),
+                            logEntry.charAt(matcher.start(51)));
+                    permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(52), matcher.end(52),
+                            logEntry.charAt(matcher.start(54)));
                 }
             }
         }
@@ -188,39 +199,39 @@ public class ShenandoahFullGcEvent extends ShenandoahCollector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combined;
+        return Memory.fromKilobytes(combined);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAvailable;
+        return Memory.fromKilobytes(combinedAvailable);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -235,6 +246,6 @@ public class ShenandoahFullGcEvent extends ShenandoahCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
\ No newline at end of file
@@ -131,6 +131,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class TenuringDistributionEvent implements ThrowAwayEvent {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "Desired survivor size ", "- age" };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -177,7 +178,7 @@ public class ThreadDumpEvent implements ThrowAwayEvent {
      */
     public static final boolean match(String logLine) {
         for (int i = 0; i < PATTERN.length; i++) {
-            if (PATTERN[i].matcher(logLine).matches()) {
+            if (PATTERN[i].matcher(RegExGuard.input(logLine)).matches()) {
                 return true;
             }
         }
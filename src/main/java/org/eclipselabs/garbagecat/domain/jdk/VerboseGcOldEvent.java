@@ -12,10 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.OldCollection;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -64,6 +61,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class VerboseGcOldEvent extends UnknownCollector
         implements BlockingEvent, OldCollection, CombinedData, TriggerData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[Full GC" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -82,17 +84,17 @@ public class VerboseGcOldEvent extends UnknownCollector
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -124,26 +126,29 @@ public class VerboseGcOldEvent extends UnknownCollector
      */
     public VerboseGcOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             trigger = matcher.group(13);
             if (matcher.group(15).matches(JdkRegEx.SIZE_K)) {
-                combinedBegin = kilobytes(matcher.group(16));
+                combinedBegin = Long.parseLong(matcher.group(16));
             } else {
-                combinedBegin = memory(matcher.group(17), matcher.group(19).charAt(0)).convertTo(KILOBYTES);
+                combinedBegin = Memory.toKilobytes(logEntry, matcher.start(17), matcher.end(17),
+                        logEntry.charAt(matcher.start(19)));
             }
             if (matcher.group(20).matches(JdkRegEx.SIZE_K)) {
-                combinedEnd = kilobytes(matcher.group(21));
+                combinedEnd = Long.parseLong(matcher.group(21));
             } else {
-                combinedEnd = memory(matcher.group(22), matcher.group(24).charAt(0)).convertTo(KILOBYTES);
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(22), matcher.end(22),
+                        logEntry.charAt(matcher.start(24)));
             }
             if (matcher.group(25).matches(JdkRegEx.SIZE_K)) {
-                combinedAllocation = kilobytes(matcher.group(26));
+                combinedAllocation = Long.parseLong(matcher.group(26));
             } else {
-                combinedAllocation = memory(matcher.group(27), matcher.group(29).charAt(0)).convertTo(KILOBYTES);
+                combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(27), matcher.end(27),
+                        logEntry.charAt(matcher.start(29)));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(30)).intValue();
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(30), matcher.end(30));
         }
     }
 
@@ -180,15 +185,15 @@ public class VerboseGcOldEvent extends UnknownCollector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public String getTrigger() {
@@ -203,6 +208,6 @@ public class VerboseGcOldEvent extends UnknownCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -12,8 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -70,6 +69,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 public class VerboseGcYoungEvent extends UnknownCollector
         implements BlockingEvent, YoungCollection, CombinedData, TriggerData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { "[GC" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -88,17 +92,17 @@ public class VerboseGcYoungEvent extends UnknownCollector
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -130,19 +134,19 @@ public class VerboseGcYoungEvent extends UnknownCollector
      */
     public VerboseGcYoungEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             trigger = matcher.group(13);
             if (matcher.group(16) != null) {
-                combinedBegin = kilobytes(matcher.group(17));
+                combinedBegin = Long.parseLong(matcher.group(17));
             } else {
                 // set it to the end
-                combinedBegin = kilobytes(matcher.group(18));
+                combinedBegin = Long.parseLong(matcher.group(18));
             }
-            combinedEnd = kilobytes(matcher.group(18));
-            combinedAllocation = kilobytes(matcher.group(19));
-            duration = JdkMath.convertSecsToMicros(matcher.group(20)).intValue();
+            combinedEnd = Long.parseLong(matcher.group(18));
+            combinedAllocation = Long.parseLong(matcher.group(19));
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(20), matcher.end(20));
         }
     }
 
@@ -179,15 +183,15 @@ public class VerboseGcYoungEvent extends UnknownCollector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public String getTrigger() {
@@ -202,6 +206,6 @@ public class VerboseGcYoungEvent extends UnknownCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
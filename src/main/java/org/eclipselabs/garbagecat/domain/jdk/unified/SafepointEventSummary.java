@@ -42,6 +42,11 @@ public class SafepointEventSummary {
      */
     private int pauseMax;
 
+    /**
+     * Number of events by pause time.
+     */
+    private long[] pauseHistogram;
+
     /**
      * Default constructor.
      * 
@@ -55,10 +60,29 @@ public class SafepointEventSummary {
      *            Max pause time of events
      */
     public SafepointEventSummary(Trigger trigger, long count, long pauseTotal, int pauseMax) {
+        this(trigger, count, pauseTotal, pauseMax, new long[0]);
+    }
+
+    /**
+     * Constructor including the pause time histogram.
+     * 
+     * @param trigger
+     *            The <code>Trigger</code>.
+     * @param count
+     *            Number of events.
+     * @param pauseTotal
+     *            Total pause time of events
+     * @param pauseMax
+     *            Max pause time of events
+     * @param pauseHistogram
+     *            Number of events by pause time (see {@link #getPauseHistogram()}).
+     */
+    public SafepointEventSummary(Trigger trigger, long count, long pauseTotal, int pauseMax, long[] pauseHistogram) {
         this.trigger = trigger;
         this.count = count;
         this.pauseTotal = pauseTotal;
         this.pauseMax = pauseMax;
+        this.pauseHistogram = pauseHistogram;
     }
 
     public Trigger getTrigger() {
@@ -76,4 +100,13 @@ public class SafepointEventSummary {
     public long getPauseMax() {
         return pauseMax;
     }
+
+    /**
+     * @return Number of events by pause time. Bucket 0 is the number of events with a pause time less than 1
+     *         millisecond, and bucket n is the number of events with a pause time of at least 2^(n-1) and less than 2^n
+     *         milliseconds.
+     */
+    public long[] getPauseHistogram() {
+        return pauseHistogram;
+    }
 }
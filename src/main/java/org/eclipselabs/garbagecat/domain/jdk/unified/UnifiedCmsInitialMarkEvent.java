@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.jdk.CmsCollector;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -63,6 +64,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedCmsInitialMarkEvent extends CmsCollector
         implements UnifiedLogging, BlockingEvent, ParallelEvent, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Initial Mark " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -111,31 +117,31 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
         this.logEntry = logEntry;
         if (logEntry.matches(REGEX)) {
             Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.find()) {
                 long endTimestamp;
                 if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                     endTimestamp = Long.parseLong(matcher.group(12));
                 } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 } else {
                     if (matcher.group(14) != null) {
                         if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                             endTimestamp = Long.parseLong(matcher.group(16));
                         } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                            endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                         }
                     } else {
                         // Datestamp only.
                         endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                     }
                 }
-                duration = JdkMath.convertMillisToMicros(matcher.group(33)).intValue();
+                duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(33), matcher.end(33));
                 timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
                 if (matcher.group(34) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(35)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(37)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(35), matcher.end(35));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(36), matcher.end(36));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(37), matcher.end(37));
                 }
             }
         }
@@ -197,6 +203,6 @@ public class UnifiedCmsInitialMarkEvent extends CmsCollector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
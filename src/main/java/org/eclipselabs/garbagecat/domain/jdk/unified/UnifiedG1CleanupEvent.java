@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,6 +21,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -63,6 +61,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedG1CleanupEvent extends G1Collector
         implements UnifiedLogging, BlockingEvent, ParallelEvent, CombinedData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Cleanup " };
+
     /**
      * Regular expressions defining the logging.
      */
@@ -98,17 +101,17 @@ public class UnifiedG1CleanupEvent extends G1Collector
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The time of all user (non-kernel) threads added together in centiseconds.
@@ -136,61 +139,67 @@ public class UnifiedG1CleanupEvent extends G1Collector
 
         Matcher matcher;
 
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.find()) {
                 long endTimestamp;
                 if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                     endTimestamp = Long.parseLong(matcher.group(12));
                 } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 } else {
                     if (matcher.group(14) != null) {
                         if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                             endTimestamp = Long.parseLong(matcher.group(16));
                         } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                            endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                         }
                     } else {
                         // Datestamp only.
                         endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                     }
                 }
-                combinedBegin = memory(matcher.group(24), matcher.group(26).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(27), matcher.group(29).charAt(0)).convertTo(KILOBYTES);
-                combinedAllocation = memory(matcher.group(30), matcher.group(32).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.roundMillis(matcher.group(33)).intValue();
+                combinedBegin = Memory.toKilobytes(logEntry, matcher.start(24), matcher.end(24),
+                        logEntry.charAt(matcher.start(26)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(27), matcher.end(27),
+                        logEntry.charAt(matcher.start(29)));
+                combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(30), matcher.end(30),
+                        logEntry.charAt(matcher.start(32)));
+                duration = JdkMath.parseMillis(logEntry, matcher.start(33), matcher.end(33));
                 timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
                 timeUser = TimesData.NO_DATA;
                 timeReal = TimesData.NO_DATA;
             }
-        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.find()) {
                 if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                     timestamp = Long.parseLong(matcher.group(12));
                 } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 } else {
                     if (matcher.group(14) != null) {
                         if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                             timestamp = Long.parseLong(matcher.group(16));
                         } else {
-                            timestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                            timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                         }
                     } else {
                         // Datestamp only.
                         timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                     }
                 }
-                combinedBegin = memory(matcher.group(24), matcher.group(26).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(27), matcher.group(29).charAt(0)).convertTo(KILOBYTES);
-                combinedAllocation = memory(matcher.group(30), matcher.group(32).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.roundMillis(matcher.group(33)).intValue();
+                combinedBegin = Memory.toKilobytes(logEntry, matcher.start(24), matcher.end(24),
+                        logEntry.charAt(matcher.start(26)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(27), matcher.end(27),
+                        logEntry.charAt(matcher.start(29)));
+                combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(30), matcher.end(30),
+                        logEntry.charAt(matcher.start(32)));
+                duration = JdkMath.parseMillis(logEntry, matcher.start(33), matcher.end(33));
                 if (matcher.group(34) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(35)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(37)).intValue();
+                    timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(35), matcher.end(35));
+                    timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(36), matcher.end(36));
+                    timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(37), matcher.end(37));
                 } else {
                     timeUser = TimesData.NO_DATA;
                     timeReal = TimesData.NO_DATA;
@@ -232,15 +241,15 @@ public class UnifiedG1CleanupEvent extends G1Collector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public int getTimeUser() {
@@ -267,6 +276,7 @@ public class UnifiedG1CleanupEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+        return REGEX_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
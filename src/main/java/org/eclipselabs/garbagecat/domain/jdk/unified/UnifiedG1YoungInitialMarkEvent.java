@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,6 +23,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -58,6 +56,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedG1YoungInitialMarkEvent extends G1Collector
         implements UnifiedLogging, BlockingEvent, YoungCollection, ParallelEvent, CombinedData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Initial Mark (" };
+
     /**
      * Trigger(s) regular expression(s).
      */
@@ -90,17 +93,17 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -130,20 +133,20 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
     public UnifiedG1YoungInitialMarkEvent(String logEntry) {
         this.logEntry = logEntry;
         Matcher matcher;
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.find()) {
                 long endTimestamp;
                 if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                     endTimestamp = Long.parseLong(matcher.group(12));
                 } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                    endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
                 } else {
                     if (matcher.group(14) != null) {
                         if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                             endTimestamp = Long.parseLong(matcher.group(16));
                         } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                            endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                         }
                     } else {
                         // Datestamp only.
@@ -151,14 +154,17 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
                     }
                 }
                 trigger = matcher.group(24);
-                combinedBegin = memory(matcher.group(25), matcher.group(27).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(28), matcher.group(30).charAt(0)).convertTo(KILOBYTES);
-                combinedAllocation = memory(matcher.group(31), matcher.group(33).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertMillisToMicros(matcher.group(34)).intValue();
+                combinedBegin = Memory.toKilobytes(logEntry, matcher.start(25), matcher.end(25),
+                        logEntry.charAt(matcher.start(27)));
+                combinedEnd = Memory.toKilobytes(logEntry, matcher.start(28), matcher.end(28),
+                        logEntry.charAt(matcher.start(30)));
+                combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(31), matcher.end(31),
+                        logEntry.charAt(matcher.start(33)));
+                duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(34), matcher.end(34));
                 timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(37)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(38)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(36), matcher.end(36));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(37), matcher.end(37));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(38), matcher.end(38));
             }
         }
     }
@@ -196,15 +202,15 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public String getTrigger() {
@@ -235,6 +241,6 @@ public class UnifiedG1YoungInitialMarkEvent extends G1Collector
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches();
+        return REGEX_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,8 +24,10 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
@@ -79,6 +78,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogging, BlockingEvent, YoungCollection,
         ParallelEvent, PermMetaspaceData, CombinedData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Young " };
+
     /**
      * Trigger(s) regular expression(s).
      */
@@ -86,6 +90,13 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
             + JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC + "|" + JdkRegEx.TRIGGER_METADATA_GC_THRESHOLD + "|"
             + JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION + ")";
 
+    /**
+     * Trigger literals for the scanner, the same as {@link #TRIGGER}.
+     */
+    private static final String[] TRIGGERS = { JdkRegEx.TRIGGER_G1_EVACUATION_PAUSE,
+            JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC, JdkRegEx.TRIGGER_METADATA_GC_THRESHOLD,
+            JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION };
+
     /**
      * Regular expression defining standard logging (no details).
      */
@@ -126,32 +137,32 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -180,73 +191,90 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      *            The log entry for the event.
      */
     public UnifiedG1YoungPauseEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private UnifiedG1YoungPauseEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher;
-        if ((matcher = REGEX_PATTERN.matcher(logEntry)).matches()) {
-            matcher.reset();
-            if (matcher.find()) {
-                long endTimestamp;
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    endTimestamp = Long.parseLong(matcher.group(12));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    endTimestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
-                } else {
-                    if (matcher.group(14) != null) {
-                        if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            endTimestamp = Long.parseLong(matcher.group(16));
-                        } else {
-                            endTimestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
-                        }
+        if (matcher == null) {
+            return;
+        }
+        if (matcher.pattern() == REGEX_PATTERN) {
+            long endTimestamp;
+            if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                endTimestamp = Long.parseLong(matcher.group(12));
+            } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
+                endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
+            } else {
+                if (matcher.group(14) != null) {
+                    if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                        endTimestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        // Datestamp only.
-                        endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
+                        endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
+                } else {
+                    // Datestamp only.
+                    endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                 }
-                trigger = matcher.group(25);
-                combinedBegin = memory(matcher.group(26), matcher.group(28).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(29), matcher.group(31).charAt(0)).convertTo(KILOBYTES);
-                combinedAllocation = memory(matcher.group(32), matcher.group(34).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertMillisToMicros(matcher.group(35)).intValue();
-                timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                timeUser = TimesData.NO_DATA;
-                timeReal = TimesData.NO_DATA;
             }
-        } else if ((matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry)).matches()) {
-            matcher.reset();
-            if (matcher.find()) {
-                if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                    timestamp = Long.parseLong(matcher.group(12));
-                } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
-                } else {
-                    if (matcher.group(14) != null) {
-                        if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                            timestamp = Long.parseLong(matcher.group(16));
-                        } else {
-                            timestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
-                        }
+            trigger = matcher.group(25);
+            combinedBegin = Memory.toKilobytes(logEntry, matcher.start(26), matcher.end(26),
+                    logEntry.charAt(matcher.start(28)));
+            combinedEnd = Memory.toKilobytes(logEntry, matcher.start(29), matcher.end(29),
+                    logEntry.charAt(matcher.start(31)));
+            combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(32), matcher.end(32),
+                    logEntry.charAt(matcher.start(34)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(35), matcher.end(35));
+            timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
+            timeUser = TimesData.NO_DATA;
+            timeReal = TimesData.NO_DATA;
+        } else if (matcher.pattern() == REGEX_PREPROCESSED_PATTERN) {
+            if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                timestamp = Long.parseLong(matcher.group(12));
+            } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
+            } else {
+                if (matcher.group(14) != null) {
+                    if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                        timestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        // Datestamp only.
-                        timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
+                        timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
-                }
-                trigger = matcher.group(26);
-                permGen = memory(matcher.group(27), matcher.group(29).charAt(0)).convertTo(KILOBYTES);
-                permGenEnd = memory(matcher.group(30), matcher.group(32).charAt(0)).convertTo(KILOBYTES);
-                permGenAllocation = memory(matcher.group(33), matcher.group(35).charAt(0)).convertTo(KILOBYTES);
-                combinedBegin = memory(matcher.group(36), matcher.group(38).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(39), matcher.group(41).charAt(0)).convertTo(KILOBYTES);
-                combinedAllocation = memory(matcher.group(42), matcher.group(44).charAt(0)).convertTo(KILOBYTES);
-                duration = JdkMath.convertMillisToMicros(matcher.group(45)).intValue();
-                if (matcher.group(46) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(47)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(48)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(49)).intValue();
                 } else {
-                    timeUser = TimesData.NO_DATA;
-                    timeReal = TimesData.NO_DATA;
+                    // Datestamp only.
+                    timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(1));
                 }
             }
+            trigger = matcher.group(26);
+            permGen = Memory.toKilobytes(logEntry, matcher.start(27), matcher.end(27),
+                    logEntry.charAt(matcher.start(29)));
+            permGenEnd = Memory.toKilobytes(logEntry, matcher.start(30), matcher.end(30),
+                    logEntry.charAt(matcher.start(32)));
+            permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(33), matcher.end(33),
+                    logEntry.charAt(matcher.start(35)));
+            combinedBegin = Memory.toKilobytes(logEntry, matcher.start(36), matcher.end(36),
+                    logEntry.charAt(matcher.start(38)));
+            combinedEnd = Memory.toKilobytes(logEntry, matcher.start(39), matcher.end(39),
+                    logEntry.charAt(matcher.start(41)));
+            combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(42), matcher.end(42),
+                    logEntry.charAt(matcher.start(44)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(45), matcher.end(45));
+            if (matcher.group(46) != null) {
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(47), matcher.end(47));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(48), matcher.end(48));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(49), matcher.end(49));
+            } else {
+                timeUser = TimesData.NO_DATA;
+                timeReal = TimesData.NO_DATA;
+            }
         }
     }
 
@@ -279,39 +307,39 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getTrigger() {
@@ -338,6 +366,62 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
         return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
     }
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the standard or preprocessed format with an uptime decorator.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static final UnifiedG1YoungPauseEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        long uptime = scanner.decorator();
+        if (uptime == JdkScanner.NO_MATCH || !scanner.literal(" Pause Young ")) {
+            return null;
+        }
+        boolean type = scanner.literal("(Normal) ") || scanner.literal("(Concurrent Start) ");
+        String trigger = null;
+        if (!scanner.character('(') || (trigger = scanner.oneOf(TRIGGERS)) == null || !scanner.character(')')) {
+            return null;
+        }
+        UnifiedG1YoungPauseEvent event = new UnifiedG1YoungPauseEvent(logLine, (Matcher) null);
+        event.trigger = trigger;
+        long duration = JdkScanner.NO_MATCH;
+        if (scanner.literal(" Metaspace: ")) {
+            // Pause Young (Normal) (G1 Evacuation Pause) Metaspace: ... 12M->3M(64M) 1.234ms User=0.01s ...
+            if ((event.permGen = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                    || (event.permGenEnd = scanner.size()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || (event.permGenAllocation = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal(") ")
+                    || (event.combinedBegin = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                    || (event.combinedEnd = scanner.size()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                    || (event.combinedAllocation = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal(") ")
+                    || (duration = scanner.unifiedDuration()) == JdkScanner.NO_MATCH || !scanner.timesJdk9()
+                    || !scanner.end()) {
+                return null;
+            }
+            event.timestamp = uptime;
+            event.timeUser = scanner.getTimeUser();
+            event.timeSys = scanner.getTimeSys();
+            event.timeReal = scanner.getTimeReal();
+        } else {
+            // Pause Young (Normal) (G1 Evacuation Pause) 12M->3M(64M) 1.234ms
+            if (!type || !scanner.character(' ') || (event.combinedBegin = scanner.size()) == JdkScanner.NO_MATCH
+                    || !scanner.literal("->") || (event.combinedEnd = scanner.size()) == JdkScanner.NO_MATCH
+                    || !scanner.character('(') || (event.combinedAllocation = scanner.size()) == JdkScanner.NO_MATCH
+                    || !scanner.literal(") ") || (duration = scanner.unifiedDuration()) == JdkScanner.NO_MATCH
+                    || !scanner.end()) {
+                return null;
+            }
+            event.timestamp = uptime - duration / 1000;
+            event.timeUser = TimesData.NO_DATA;
+            event.timeReal = TimesData.NO_DATA;
+        }
+        event.duration = (int) duration;
+        return event;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -346,6 +430,37 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern(s) for this event, running the matcher
+     * once.
+     * 
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static final UnifiedG1YoungPauseEvent tryParse(String logLine) {
+        UnifiedG1YoungPauseEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new UnifiedG1YoungPauseEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher;
+        if ((matcher = REGEX_PATTERN.matcher(RegExGuard.input(logLine))).matches()
+                || (matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine))).matches()) {
+            return matcher;
+        }
+        return null;
     }
 }
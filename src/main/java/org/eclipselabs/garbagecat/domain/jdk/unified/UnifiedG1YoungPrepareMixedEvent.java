@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,6 +24,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -58,6 +56,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements UnifiedLogging, BlockingEvent,
         YoungCollection, ParallelEvent, PermMetaspaceData, CombinedData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Young (Prepare Mixed) (" };
+
     /**
      * Trigger(s) regular expression(s).
      */
@@ -91,32 +94,32 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -147,18 +150,18 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     public UnifiedG1YoungPrepareMixedEvent(String logEntry) {
         this.logEntry = logEntry;
 
-        Matcher matcher = REGEX_PREPROCESSED_PATTERN.matcher(logEntry);
+        Matcher matcher = REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                 timestamp = Long.parseLong(matcher.group(12));
             } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             } else {
                 if (matcher.group(14) != null) {
                     if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         timestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                        timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
                 } else {
                     // Datestamp only.
@@ -166,17 +169,23 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
                 }
             }
             trigger = matcher.group(24);
-            permGen = memory(matcher.group(25), matcher.group(27).charAt(0)).convertTo(KILOBYTES);
-            permGenEnd = memory(matcher.group(28), matcher.group(30).charAt(0)).convertTo(KILOBYTES);
-            permGenAllocation = memory(matcher.group(31), matcher.group(33).charAt(0)).convertTo(KILOBYTES);
-            combinedBegin = memory(matcher.group(34), matcher.group(36).charAt(0)).convertTo(KILOBYTES);
-            combinedEnd = memory(matcher.group(37), matcher.group(39).charAt(0)).convertTo(KILOBYTES);
-            combinedAllocation = memory(matcher.group(40), matcher.group(42).charAt(0)).convertTo(KILOBYTES);
-            duration = JdkMath.convertMillisToMicros(matcher.group(43)).intValue();
+            permGen = Memory.toKilobytes(logEntry, matcher.start(25), matcher.end(25),
+                    logEntry.charAt(matcher.start(27)));
+            permGenEnd = Memory.toKilobytes(logEntry, matcher.start(28), matcher.end(28),
+                    logEntry.charAt(matcher.start(30)));
+            permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(31), matcher.end(31),
+                    logEntry.charAt(matcher.start(33)));
+            combinedBegin = Memory.toKilobytes(logEntry, matcher.start(34), matcher.end(34),
+                    logEntry.charAt(matcher.start(36)));
+            combinedEnd = Memory.toKilobytes(logEntry, matcher.start(37), matcher.end(37),
+                    logEntry.charAt(matcher.start(39)));
+            combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(40), matcher.end(40),
+                    logEntry.charAt(matcher.start(42)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(43), matcher.end(43));
             if (matcher.group(44) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(45)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(46)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(47)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(45), matcher.end(45));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(46), matcher.end(46));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(47), matcher.end(47));
             } else {
                 timeUser = TimesData.NO_DATA;
                 timeReal = TimesData.NO_DATA;
@@ -217,39 +226,39 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public String getTrigger() {
@@ -280,6 +289,6 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+        return REGEX_PREPROCESSED_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.jdk.UnknownCollector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -74,6 +72,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging, BlockingEvent, OldCollection,
         PermMetaspaceCollection, PermMetaspaceData, CombinedData, TriggerData, ParallelEvent, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Full (" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -92,32 +95,32 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at beginning of GC event.
      */
-    private Memory combinedBegin;
+    private long combinedBegin = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation size at end of GC event.
      */
-    private Memory combinedEnd;
+    private long combinedEnd = Memory.NO_KILOBYTES;
 
     /**
      * Combined young + old generation allocation.
      */
-    private Memory combinedAllocation;
+    private long combinedAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -162,19 +165,19 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      */
     public UnifiedOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             long endTimestamp;
             if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                 endTimestamp = Long.parseLong(matcher.group(12));
             } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             } else {
                 if (matcher.group(14) != null) {
                     if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         endTimestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                        endTimestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
                 } else {
                     // Datestamp only.
@@ -183,19 +186,25 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
             }
             trigger = matcher.group(24);
             if (matcher.group(26) != null) {
-                permGen = memory(matcher.group(27), matcher.group(29).charAt(0)).convertTo(KILOBYTES);
-                permGenEnd = memory(matcher.group(30), matcher.group(32).charAt(0)).convertTo(KILOBYTES);
-                permGenAllocation = memory(matcher.group(33), matcher.group(35).charAt(0)).convertTo(KILOBYTES);
+                permGen = Memory.toKilobytes(logEntry, matcher.start(27), matcher.end(27),
+                        logEntry.charAt(matcher.start(29)));
+                permGenEnd = Memory.toKilobytes(logEntry, matcher.start(30), matcher.end(30),
+                        logEntry.charAt(matcher.start(32)));
+                permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(33), matcher.end(33),
+                        logEntry.charAt(matcher.start(35)));
             }
-            combinedBegin = memory(matcher.group(36), matcher.group(38).charAt(0)).convertTo(KILOBYTES);
-            combinedEnd = memory(matcher.group(39), matcher.group(41).charAt(0)).convertTo(KILOBYTES);
-            combinedAllocation = memory(matcher.group(42), matcher.group(44).charAt(0)).convertTo(KILOBYTES);
-            duration = JdkMath.convertMillisToMicros(matcher.group(45)).intValue();
+            combinedBegin = Memory.toKilobytes(logEntry, matcher.start(36), matcher.end(36),
+                    logEntry.charAt(matcher.start(38)));
+            combinedEnd = Memory.toKilobytes(logEntry, matcher.start(39), matcher.end(39),
+                    logEntry.charAt(matcher.start(41)));
+            combinedAllocation = Memory.toKilobytes(logEntry, matcher.start(42), matcher.end(42),
+                    logEntry.charAt(matcher.start(44)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(45), matcher.end(45));
             timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
             if (matcher.group(46) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(47)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(48)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(49)).intValue();
+                timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(47), matcher.end(47));
+                timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(48), matcher.end(48));
+                timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(49), matcher.end(49));
             }
         }
     }
@@ -233,39 +242,39 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public Memory getCombinedOccupancyInit() {
-        return combinedBegin;
+        return Memory.fromKilobytes(combinedBegin);
     }
 
     public Memory getCombinedOccupancyEnd() {
-        return combinedEnd;
+        return Memory.fromKilobytes(combinedEnd);
     }
 
     public Memory getCombinedSpace() {
-        return combinedAllocation;
+        return Memory.fromKilobytes(combinedAllocation);
     }
 
     public String getTrigger() {
@@ -296,6 +305,6 @@ public class UnifiedOldEvent extends UnknownCollector implements UnifiedLogging,
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
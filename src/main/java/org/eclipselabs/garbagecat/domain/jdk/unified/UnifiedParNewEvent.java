@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelCollector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -59,6 +57,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogging, BlockingEvent, YoungCollection,
         ParallelEvent, YoungData, OldData, PermMetaspaceData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " ParNew: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -77,47 +80,47 @@ public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogg
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -162,18 +165,18 @@ public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogg
      */
     public UnifiedParNewEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                 timestamp = Long.parseLong(matcher.group(12));
             } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             } else {
                 if (matcher.group(14) != null) {
                     if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         timestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                        timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
                 } else {
                     // Datestamp only.
@@ -181,19 +184,27 @@ public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogg
                 }
             }
             trigger = matcher.group(24);
-            young = memory(matcher.group(25), matcher.group(27).charAt(0)).convertTo(KILOBYTES);
-            youngEnd = memory(matcher.group(28), matcher.group(30).charAt(0)).convertTo(KILOBYTES);
-            youngAvailable = memory(matcher.group(31), matcher.group(33).charAt(0)).convertTo(KILOBYTES);
-            old = memory(matcher.group(34), matcher.group(36).charAt(0)).convertTo(KILOBYTES);
-            oldEnd = memory(matcher.group(37), matcher.group(39).charAt(0)).convertTo(KILOBYTES);
-            oldAllocation = memory(matcher.group(40), matcher.group(42).charAt(0)).convertTo(KILOBYTES);
-            permGen = memory(matcher.group(43), matcher.group(45).charAt(0)).convertTo(KILOBYTES);
-            permGenEnd = memory(matcher.group(46), matcher.group(48).charAt(0)).convertTo(KILOBYTES);
-            permGenAllocation = memory(matcher.group(49), matcher.group(51).charAt(0)).convertTo(KILOBYTES);
-            duration = JdkMath.convertMillisToMicros(matcher.group(61)).intValue();
-            timeUser = JdkMath.convertSecsToCentis(matcher.group(63)).intValue();
-            timeSys = JdkMath.convertSecsToCentis(matcher.group(64)).intValue();
-            timeReal = JdkMath.convertSecsToCentis(matcher.group(65)).intValue();
+            young = Memory.toKilobytes(logEntry, matcher.start(25), matcher.end(25),
+                    logEntry.charAt(matcher.start(27)));
+            youngEnd = Memory.toKilobytes(logEntry, matcher.start(28), matcher.end(28),
+                    logEntry.charAt(matcher.start(30)));
+            youngAvailable = Memory.toKilobytes(logEntry, matcher.start(31), matcher.end(31),
+                    logEntry.charAt(matcher.start(33)));
+            old = Memory.toKilobytes(logEntry, matcher.start(34), matcher.end(34), logEntry.charAt(matcher.start(36)));
+            oldEnd = Memory.toKilobytes(logEntry, matcher.start(37), matcher.end(37),
+                    logEntry.charAt(matcher.start(39)));
+            oldAllocation = Memory.toKilobytes(logEntry, matcher.start(40), matcher.end(40),
+                    logEntry.charAt(matcher.start(42)));
+            permGen = Memory.toKilobytes(logEntry, matcher.start(43), matcher.end(43),
+                    logEntry.charAt(matcher.start(45)));
+            permGenEnd = Memory.toKilobytes(logEntry, matcher.start(46), matcher.end(46),
+                    logEntry.charAt(matcher.start(48)));
+            permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(49), matcher.end(49),
+                    logEntry.charAt(matcher.start(51)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(61), matcher.end(61));
+            timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(63), matcher.end(63));
+            timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(64), matcher.end(64));
+            timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(65), matcher.end(65));
         }
     }
 
@@ -226,51 +237,51 @@ public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogg
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -309,6 +320,6 @@ public class UnifiedParNewEvent extends ParallelCollector implements UnifiedLogg
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
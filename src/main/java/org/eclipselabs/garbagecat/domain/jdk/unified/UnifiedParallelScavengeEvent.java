@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,8 +25,10 @@ import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelCollector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
@@ -71,6 +70,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedParallelScavengeEvent extends ParallelCollector implements UnifiedLogging, BlockingEvent,
         YoungCollection, ParallelEvent, YoungData, OldData, PermMetaspaceData, TriggerData, TimesData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " PSYoungGen: " };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -89,47 +93,47 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -156,6 +160,12 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
     private static final String TRIGGER = "(" + JdkRegEx.TRIGGER_ALLOCATION_FAILURE + "|"
             + JdkRegEx.TRIGGER_METADATA_GC_THRESHOLD + "|" + JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC + ")";
 
+    /**
+     * Trigger literals for the scanner, the same as {@link #TRIGGER}.
+     */
+    private static final String[] TRIGGERS = { JdkRegEx.TRIGGER_ALLOCATION_FAILURE,
+            JdkRegEx.TRIGGER_METADATA_GC_THRESHOLD, JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC };
+
     /**
      * Regular expression defining the logging.
      */
@@ -173,19 +183,30 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
      *            The log entry for the event.
      */
     public UnifiedParallelScavengeEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private UnifiedParallelScavengeEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        if (matcher != null) {
             if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                 timestamp = Long.parseLong(matcher.group(12));
             } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             } else {
                 if (matcher.group(14) != null) {
                     if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         timestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                        timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
                 } else {
                     // Datestamp only.
@@ -193,19 +214,27 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
                 }
             }
             trigger = matcher.group(24);
-            young = memory(matcher.group(25), matcher.group(27).charAt(0)).convertTo(KILOBYTES);
-            youngEnd = memory(matcher.group(28), matcher.group(30).charAt(0)).convertTo(KILOBYTES);
-            youngAvailable = memory(matcher.group(31), matcher.group(33).charAt(0)).convertTo(KILOBYTES);
-            old = memory(matcher.group(35), matcher.group(37).charAt(0)).convertTo(KILOBYTES);
-            oldEnd = memory(matcher.group(38), matcher.group(40).charAt(0)).convertTo(KILOBYTES);
-            oldAllocation = memory(matcher.group(41), matcher.group(43).charAt(0)).convertTo(KILOBYTES);
-            permGen = memory(matcher.group(44), matcher.group(46).charAt(0)).convertTo(KILOBYTES);
-            permGenEnd = memory(matcher.group(47), matcher.group(49).charAt(0)).convertTo(KILOBYTES);
-            permGenAllocation = memory(matcher.group(50), matcher.group(52).charAt(0)).convertTo(KILOBYTES);
-            duration = JdkMath.convertMillisToMicros(matcher.group(62)).intValue();
-            timeUser = JdkMath.convertSecsToCentis(matcher.group(64)).intValue();
-            timeSys = JdkMath.convertSecsToCentis(matcher.group(65)).intValue();
-            timeReal = JdkMath.convertSecsToCentis(matcher.group(66)).intValue();
+            young = Memory.toKilobytes(logEntry, matcher.start(25), matcher.end(25),
+                    logEntry.charAt(matcher.start(27)));
+            youngEnd = Memory.toKilobytes(logEntry, matcher.start(28), matcher.end(28),
+                    logEntry.charAt(matcher.start(30)));
+            youngAvailable = Memory.toKilobytes(logEntry, matcher.start(31), matcher.end(31),
+                    logEntry.charAt(matcher.start(33)));
+            old = Memory.toKilobytes(logEntry, matcher.start(35), matcher.end(35), logEntry.charAt(matcher.start(37)));
+            oldEnd = Memory.toKilobytes(logEntry, matcher.start(38), matcher.end(38),
+                    logEntry.charAt(matcher.start(40)));
+            oldAllocation = Memory.toKilobytes(logEntry, matcher.start(41), matcher.end(41),
+                    logEntry.charAt(matcher.start(43)));
+            permGen = Memory.toKilobytes(logEntry, matcher.start(44), matcher.end(44),
+                    logEntry.charAt(matcher.start(46)));
+            permGenEnd = Memory.toKilobytes(logEntry, matcher.start(47), matcher.end(47),
+                    logEntry.charAt(matcher.start(49)));
+            permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(50), matcher.end(50),
+                    logEntry.charAt(matcher.start(52)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(62), matcher.end(62));
+            timeUser = JdkMath.parseSecsToCentis(logEntry, matcher.start(64), matcher.end(64));
+            timeSys = JdkMath.parseSecsToCentis(logEntry, matcher.start(65), matcher.end(65));
+            timeReal = JdkMath.parseSecsToCentis(logEntry, matcher.start(66), matcher.end(66));
         }
     }
 
@@ -238,51 +267,51 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -313,6 +342,51 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
         return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
     }
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the preprocessed format with an uptime decorator.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static final UnifiedParallelScavengeEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        long uptime = scanner.decorator();
+        String trigger = null;
+        if (uptime == JdkScanner.NO_MATCH || !scanner.literal(" Pause Young (")
+                || (trigger = scanner.oneOf(TRIGGERS)) == null || !scanner.literal(")" + LITERALS[0])) {
+            return null;
+        }
+        UnifiedParallelScavengeEvent event = new UnifiedParallelScavengeEvent(logLine, (Matcher) null);
+        long duration = JdkScanner.NO_MATCH;
+        if ((event.young = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (event.youngEnd = scanner.size()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (event.youngAvailable = scanner.size()) == JdkScanner.NO_MATCH
+                || !(scanner.literal(") PSOldGen: ") || scanner.literal(") ParOldGen: "))
+                || (event.old = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (event.oldEnd = scanner.size()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (event.oldAllocation = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal(") Metaspace: ")
+                || (event.permGen = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || (event.permGenEnd = scanner.size()) == JdkScanner.NO_MATCH || !scanner.character('(')
+                || (event.permGenAllocation = scanner.size()) == JdkScanner.NO_MATCH || !scanner.literal(") ")
+                || scanner.size() == JdkScanner.NO_MATCH || !scanner.literal("->")
+                || scanner.size() == JdkScanner.NO_MATCH
+                || !scanner.character('(') || scanner.size() == JdkScanner.NO_MATCH || !scanner.literal(") ")
+                || (duration = scanner.unifiedDuration()) == JdkScanner.NO_MATCH || !scanner.timesJdk9()
+                || !scanner.end()) {
+            return null;
+        }
+        event.timestamp = uptime;
+        event.trigger = trigger;
+        event.duration = (int) duration;
+        event.timeUser = scanner.getTimeUser();
+        event.timeSys = scanner.getTimeSys();
+        event.timeReal = scanner.getTimeReal();
+        return event;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -321,6 +395,33 @@ public class UnifiedParallelScavengeEvent extends ParallelCollector implements U
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern for this event, trying the scanner before
+     * running the matcher once.
+     * 
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static final UnifiedParallelScavengeEvent tryParse(String logLine) {
+        UnifiedParallelScavengeEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new UnifiedParallelScavengeEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher = pattern.matcher(RegExGuard.input(logLine));
+        return matcher.matches() ? matcher : null;
     }
 }
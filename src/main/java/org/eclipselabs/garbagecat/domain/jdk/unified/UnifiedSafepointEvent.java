@@ -12,11 +12,15 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
@@ -79,6 +83,35 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
  */
 public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Entering safepoint region: " };
+
+    /**
+     * Triggers for the scanner, the same as <code>UnifiedSafepoint.triggerRegEx()</code>.
+     */
+    private static final Trigger[] SCAN_TRIGGERS;
+
+    /**
+     * The literal of each scanner trigger.
+     */
+    private static final String[] SCAN_TRIGGER_LITERALS;
+
+    static {
+        List<Trigger> triggers = new ArrayList<Trigger>();
+        for (Trigger trigger : Trigger.values()) {
+            if (trigger != Trigger.EXIT && trigger != Trigger.HALT && trigger != Trigger.UNKNOWN) {
+                triggers.add(trigger);
+            }
+        }
+        SCAN_TRIGGERS = triggers.toArray(new Trigger[triggers.size()]);
+        SCAN_TRIGGER_LITERALS = new String[SCAN_TRIGGERS.length];
+        for (int i = 0; i < SCAN_TRIGGERS.length; i++) {
+            SCAN_TRIGGER_LITERALS[i] = UnifiedSafepoint.getTriggerLiteral(SCAN_TRIGGERS[i]);
+        }
+    }
+
     /**
      * Regular expressions defining the logging.
      */
@@ -93,6 +126,52 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      */
     private static Pattern pattern = Pattern.compile(REGEX);
 
+    /**
+     * Create the event from the log line with a hand-written scanner instead of the regular expressions, if the log
+     * line is in the preprocessed format with uptime decorators.
+     * 
+     * @param logLine
+     *            The log line to scan.
+     * @return The event, or null if the log line is not in a format the scanner handles (it can still match the event
+     *         pattern).
+     */
+    public static final UnifiedSafepointEvent scan(String logLine) {
+        JdkScanner scanner = new JdkScanner(logLine);
+        if (scanner.decorator() == JdkScanner.NO_MATCH || !scanner.literal(LITERALS[0])) {
+            return null;
+        }
+        boolean datestamp = scanner.isDatestamp();
+        boolean uptimeMillis = scanner.isUptimeMillis();
+        Trigger trigger = null;
+        for (int i = 0; i < SCAN_TRIGGERS.length && trigger == null; i++) {
+            if (scanner.literal(SCAN_TRIGGER_LITERALS[i], '[')) {
+                trigger = SCAN_TRIGGERS[i];
+            }
+        }
+        if (trigger == null || scanner.decorator() == JdkScanner.NO_MATCH || scanner.isDatestamp() != datestamp
+                || !scanner.literal(" Leaving safepoint region")) {
+            return null;
+        }
+        long timestamp = scanner.decorator();
+        long stopped = JdkScanner.NO_MATCH;
+        long stopping = JdkScanner.NO_MATCH;
+        // The timestamp is the last uptime, unless the uptime units differ (not handled)
+        if (timestamp == JdkScanner.NO_MATCH || scanner.isDatestamp() != datestamp
+                || (!datestamp && scanner.isUptimeMillis() != uptimeMillis)
+                || !scanner.literal(" Total time for which application threads were stopped: ")
+                || (stopped = scanner.decimal(1, 4, 7, 7, 6)) == JdkScanner.NO_MATCH
+                || !scanner.literal(" seconds, Stopping threads took: ")
+                || (stopping = scanner.decimal(1, 4, 7, 7, 6)) == JdkScanner.NO_MATCH
+                || !scanner.literal(" seconds") || !scanner.end()) {
+            return null;
+        }
+        UnifiedSafepointEvent event = new UnifiedSafepointEvent(logLine, (Matcher) null);
+        event.trigger = trigger;
+        event.timestamp = timestamp;
+        event.duration = (int) (stopped + stopping);
+        return event;
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -101,7 +180,34 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return scan(logLine) != null || matcher(logLine) != null;
+    }
+
+    /**
+     * Create the event from the log line if it matches the logging pattern for this event, trying the scanner before
+     * running the matcher once.
+     * 
+     * @param logLine
+     *            The log line to parse.
+     * @return The event, or null if the log line does not match the event pattern.
+     */
+    public static final UnifiedSafepointEvent tryParse(String logLine) {
+        UnifiedSafepointEvent event = scan(logLine);
+        if (event == null) {
+            Matcher matcher = matcher(logLine);
+            event = matcher == null ? null : new UnifiedSafepointEvent(logLine, matcher);
+        }
+        return event;
+    }
+
+    /**
+     * @param logLine
+     *            The log line to match.
+     * @return The matcher of the logging pattern the log line matches, or null if it does not match the event pattern.
+     */
+    private static Matcher matcher(String logLine) {
+        Matcher matcher = pattern.matcher(RegExGuard.input(logLine));
+        return matcher.matches() ? matcher : null;
     }
 
     /**
@@ -130,28 +236,39 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      *            The log entry for the event.
      */
     public UnifiedSafepointEvent(String logEntry) {
+        this(logEntry, matcher(logEntry));
+    }
+
+    /**
+     * Create event from log entry and the matcher that matched it.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param matcher
+     *            The matcher that matched the log entry, or null if the log entry does not match the event.
+     */
+    private UnifiedSafepointEvent(String logEntry, Matcher matcher) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        if (matcher != null) {
             trigger = UnifiedSafepoint.getTrigger(matcher.group(24));
             if (matcher.group(48).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                 timestamp = Long.parseLong(matcher.group(59));
             } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(58)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(58), matcher.end(58));
             } else {
                 if (matcher.group(61) != null) {
                     if (matcher.group(61).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         timestamp = Long.parseLong(matcher.group(63));
                     } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(62)).longValue();
+                        timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(62), matcher.end(62));
                     }
                 } else {
                     // Datestamp only.
                     timestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(48));
                 }
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(71)).intValue()
-                    + JdkMath.convertSecsToMicros(matcher.group(72)).intValue();
+            duration = JdkMath.parseSecsToMicros(logEntry, matcher.start(71), matcher.end(71))
+                    + JdkMath.parseSecsToMicros(logEntry, matcher.start(72), matcher.end(72));
         }
     }
 
@@ -171,6 +288,23 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
         this.duration = duration;
     }
 
+    /**
+     * Alternate constructor. Create safepoint event from values, including the trigger.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     * @param timestamp
+     *            The time when the safepoint event started in milliseconds after JVM startup.
+     * @param duration
+     *            The elapsed clock time for the safepoint event in microseconds (rounded).
+     * @param trigger
+     *            The cause of the safepoint.
+     */
+    public UnifiedSafepointEvent(String logEntry, long timestamp, int duration, Trigger trigger) {
+        this(logEntry, timestamp, duration);
+        this.trigger = trigger;
+    }
+
     public int getDuration() {
         return duration;
     }
@@ -12,9 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk.unified;
 
-import static org.eclipselabs.garbagecat.util.Memory.memory;
-import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +27,7 @@ import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.SerialCollector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -65,6 +63,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLogging, BlockingEvent, YoungCollection,
         OldCollection, PermMetaspaceCollection, SerialCollection, YoungData, OldData, PermMetaspaceData, TriggerData {
 
+    /**
+     * Literal text, one of which is in every logging line for the event.
+     */
+    public static final String[] LITERALS = { " Pause Full (" };
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -83,47 +86,47 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
     /**
      * Young generation size at beginning of GC event.
      */
-    private Memory young;
+    private long young = Memory.NO_KILOBYTES;
 
     /**
      * Young generation size at end of GC event.
      */
-    private Memory youngEnd;
+    private long youngEnd = Memory.NO_KILOBYTES;
 
     /**
      * Available space in young generation. Equals young generation allocation minus one survivor space.
      */
-    private Memory youngAvailable;
+    private long youngAvailable = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at beginning of GC event.
      */
-    private Memory old;
+    private long old = Memory.NO_KILOBYTES;
 
     /**
      * Old generation size at end of GC event.
      */
-    private Memory oldEnd;
+    private long oldEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to old generation.
      */
-    private Memory oldAllocation;
+    private long oldAllocation = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at beginning of GC event.
      */
-    private Memory permGen;
+    private long permGen = Memory.NO_KILOBYTES;
 
     /**
      * Permanent generation size at end of GC event.
      */
-    private Memory permGenEnd;
+    private long permGenEnd = Memory.NO_KILOBYTES;
 
     /**
      * Space allocated to permanent generation.
      */
-    private Memory permGenAllocation;
+    private long permGenAllocation = Memory.NO_KILOBYTES;
 
     /**
      * The trigger for the GC event.
@@ -155,18 +158,18 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
      */
     public UnifiedSerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
+        Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             if (matcher.group(1).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                 timestamp = Long.parseLong(matcher.group(12));
             } else if (matcher.group(1).matches(UnifiedRegEx.UPTIME)) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(11)).longValue();
+                timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(11), matcher.end(11));
             } else {
                 if (matcher.group(14) != null) {
                     if (matcher.group(14).matches(UnifiedRegEx.UPTIMEMILLIS)) {
                         timestamp = Long.parseLong(matcher.group(16));
                     } else {
-                        timestamp = JdkMath.convertSecsToMillis(matcher.group(15)).longValue();
+                        timestamp = JdkMath.parseSecsToMillis(logEntry, matcher.start(15), matcher.end(15));
                     }
                 } else {
                     // Datestamp only.
@@ -174,16 +177,24 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
                 }
             }
             trigger = matcher.group(24);
-            young = memory(matcher.group(26), matcher.group(28).charAt(0)).convertTo(KILOBYTES);
-            youngEnd = memory(matcher.group(29), matcher.group(31).charAt(0)).convertTo(KILOBYTES);
-            youngAvailable = memory(matcher.group(32), matcher.group(34).charAt(0)).convertTo(KILOBYTES);
-            old = memory(matcher.group(36), matcher.group(38).charAt(0)).convertTo(KILOBYTES);
-            oldEnd = memory(matcher.group(39), matcher.group(41).charAt(0)).convertTo(KILOBYTES);
-            oldAllocation = memory(matcher.group(42), matcher.group(44).charAt(0)).convertTo(KILOBYTES);
-            permGen = memory(matcher.group(45), matcher.group(47).charAt(0)).convertTo(KILOBYTES);
-            permGenEnd = memory(matcher.group(48), matcher.group(50).charAt(0)).convertTo(KILOBYTES);
-            permGenAllocation = memory(matcher.group(51), matcher.group(53).charAt(0)).convertTo(KILOBYTES);
-            duration = JdkMath.convertMillisToMicros(matcher.group(63)).intValue();
+            young = Memory.toKilobytes(logEntry, matcher.start(26), matcher.end(26),
+                    logEntry.charAt(matcher.start(28)));
+            youngEnd = Memory.toKilobytes(logEntry, matcher.start(29), matcher.end(29),
+                    logEntry.charAt(matcher.start(31)));
+            youngAvailable = Memory.toKilobytes(logEntry, matcher.start(32), matcher.end(32),
+                    logEntry.charAt(matcher.start(34)));
+            old = Memory.toKilobytes(logEntry, matcher.start(36), matcher.end(36), logEntry.charAt(matcher.start(38)));
+            oldEnd = Memory.toKilobytes(logEntry, matcher.start(39), matcher.end(39),
+                    logEntry.charAt(matcher.start(41)));
+            oldAllocation = Memory.toKilobytes(logEntry, matcher.start(42), matcher.end(42),
+                    logEntry.charAt(matcher.start(44)));
+            permGen = Memory.toKilobytes(logEntry, matcher.start(45), matcher.end(45),
+                    logEntry.charAt(matcher.start(47)));
+            permGenEnd = Memory.toKilobytes(logEntry, matcher.start(48), matcher.end(48),
+                    logEntry.charAt(matcher.start(50)));
+            permGenAllocation = Memory.toKilobytes(logEntry, matcher.start(51), matcher.end(51),
+                    logEntry.charAt(matcher.start(53)));
+            duration = JdkMath.parseMillisToMicros(logEntry, matcher.start(63), matcher.end(63));
         }
     }
 
@@ -216,51 +227,51 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
     }
 
     public Memory getYoungOccupancyInit() {
-        return young;
+        return Memory.fromKilobytes(young);
     }
 
     public Memory getYoungOccupancyEnd() {
-        return youngEnd;
+        return Memory.fromKilobytes(youngEnd);
     }
 
     public Memory getYoungSpace() {
-        return youngAvailable;
+        return Memory.fromKilobytes(youngAvailable);
     }
 
     public Memory getOldOccupancyInit() {
-        return old;
+        return Memory.fromKilobytes(old);
     }
 
     public Memory getOldOccupancyEnd() {
-        return oldEnd;
+        return Memory.fromKilobytes(oldEnd);
     }
 
     public Memory getOldSpace() {
-        return oldAllocation;
+        return Memory.fromKilobytes(oldAllocation);
     }
 
     public Memory getPermOccupancyInit() {
-        return permGen;
+        return Memory.fromKilobytes(permGen);
     }
 
     protected void setPermOccupancyInit(Memory permGen) {
-        this.permGen = permGen;
+        this.permGen = Memory.toKilobytes(permGen);
     }
 
     public Memory getPermOccupancyEnd() {
-        return permGenEnd;
+        return Memory.fromKilobytes(permGenEnd);
     }
 
     protected void setPermOccupancyEnd(Memory permGenEnd) {
-        this.permGenEnd = permGenEnd;
+        this.permGenEnd = Memory.toKilobytes(permGenEnd);
     }
 
     public Memory getPermSpace() {
-        return permGenAllocation;
+        return Memory.fromKilobytes(permGenAllocation);
     }
 
     protected void setPermSpace(Memory permGenAllocation) {
-        this.permGenAllocation = permGenAllocation;
+        this.permGenAllocation = Memory.toKilobytes(permGenAllocation);
     }
 
     public String getName() {
@@ -283,6 +294,6 @@ public class UnifiedSerialOldEvent extends SerialCollector implements UnifiedLog
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+        return pattern.matcher(RegExGuard.input(logLine)).matches();
     }
 }
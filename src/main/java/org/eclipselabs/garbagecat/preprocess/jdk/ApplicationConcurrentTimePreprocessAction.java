@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -111,7 +112,7 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
     public ApplicationConcurrentTimePreprocessAction(String logEntry, Set<String> context) {
         if (logEntry.matches(REGEX_LINE1)) {
             Pattern pattern = Pattern.compile(REGEX_LINE1);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 // Split line1 logging apart
                 if (matcher.group(6) != null) {
@@ -132,7 +133,7 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
             context.add(TOKEN);
         } else if (logEntry.matches(REGEX_RETAIN_END)) {
             Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -117,7 +118,7 @@ public class ApplicationStoppedTimePreprocessAction implements PreprocessAction
      */
     public ApplicationStoppedTimePreprocessAction(String logEntry, Set<String> context) {
         Matcher matcher;
-        if ((matcher = REGEX_LINE1_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_LINE1_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 // Split line1 logging apart
@@ -133,7 +134,7 @@ public class ApplicationStoppedTimePreprocessAction implements PreprocessAction
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -165,8 +166,8 @@ public class ApplicationStoppedTimePreprocessAction implements PreprocessAction
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine) {
-        return REGEX_LINE1_PATTERN.matcher(logLine).matches()
-                || REGEX_LINE2_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches();
+        return REGEX_LINE1_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_LINE2_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
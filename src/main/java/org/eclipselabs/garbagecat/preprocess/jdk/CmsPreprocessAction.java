@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -591,7 +592,8 @@ public class CmsPreprocessAction implements PreprocessAction {
 
         Matcher matcher;
         // Beginning logging
-        if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Par_NEW mixed with CMS_CONCURRENT
             matcher.reset();
             if (matcher.matches()) {
@@ -601,7 +603,8 @@ public class CmsPreprocessAction implements PreprocessAction {
             this.logEntry = matcher.group(1);
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Par_NEW mixed with FLS_STATISTICS
             matcher.reset();
             if (matcher.matches()) {
@@ -610,7 +613,8 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // CMS_SERIAL_OLD mixed with CMS_CONCURRENT
             matcher.reset();
             if (matcher.matches()) {
@@ -621,21 +625,22 @@ public class CmsPreprocessAction implements PreprocessAction {
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
 
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Remove PrintHeapAtGC output
             matcher.reset();
             if (matcher.matches()) {
@@ -643,14 +648,16 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_BAILING_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_BAILING_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(logEntry))
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED_PATTERN
+                .matcher(RegExGuard.input(logEntry)))
                 .matches()) {
             matcher.reset();
             if (matcher.matches()) {
@@ -658,7 +665,8 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_BAILING_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARNEW_BAILING_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -666,7 +674,7 @@ public class CmsPreprocessAction implements PreprocessAction {
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
         } else if ((matcher = REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME_PATTERN
-                .matcher(logEntry)).matches()) {
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1) + matcher.group(23);
@@ -678,7 +686,7 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_CONCURRENT_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 if (!context.contains(TOKEN)) {
@@ -690,7 +698,8 @@ public class CmsPreprocessAction implements PreprocessAction {
                 }
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Output serial part, save concurrent to output later
             matcher.reset();
             if (matcher.matches()) {
@@ -698,7 +707,8 @@ public class CmsPreprocessAction implements PreprocessAction {
                 entangledLogLines.add(matcher.group(20));
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Output ParNew part, save concurrent to output later
             matcher.reset();
             if (matcher.matches()) {
@@ -706,46 +716,51 @@ public class CmsPreprocessAction implements PreprocessAction {
                 entangledLogLines.add(matcher.group(33));
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Output ParNew part minus FL stats
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Output serial part minus FL stats
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Remove PrintHeapAtGC output
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_CMS_REMARK_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_CMS_REMARK_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_DURATION_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_DURATION_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -755,8 +770,9 @@ public class CmsPreprocessAction implements PreprocessAction {
                 clearEntangledLines(entangledLogLines);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(logEntry)).matches()
-                && !REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN.matcher(priorLogEntry).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logEntry))).matches()
+                && !REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN
+                        .matcher(RegExGuard.input(priorLogEntry)).matches()) {
             // End of logging event
             matcher.reset();
             if (matcher.matches()) {
@@ -765,7 +781,7 @@ public class CmsPreprocessAction implements PreprocessAction {
             clearEntangledLines(entangledLogLines);
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.remove(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_END_PAR_NEW_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_PAR_NEW_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // End of logging event
             matcher.reset();
             if (matcher.matches()) {
@@ -773,14 +789,15 @@ public class CmsPreprocessAction implements PreprocessAction {
             }
             clearEntangledLines(entangledLogLines);
             if (context.contains(TOKEN)
-                    && !REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN.matcher(priorLogEntry).matches()) {
+                    && !REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN
+                            .matcher(RegExGuard.input(priorLogEntry)).matches()) {
                 // End of multi-line event or PAR_NEW truncated
                 context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             } else {
                 context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             }
             context.remove(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_PAR_NEW_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_PAR_NEW_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(4);
@@ -810,29 +827,31 @@ public class CmsPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
-        return REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_BAILING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARNEW_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARNEW_BAILING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CMS_REMARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PAR_NEW_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_DURATION_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_PAR_NEW_PATTERN.matcher(logLine).matches();
+        return REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SERIAL_BAILING_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED_PATTERN
+                        .matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SERIAL_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_PARNEW_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_PARNEW_BAILING_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME_PATTERN
+                        .matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_CMS_REMARK_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_PAR_NEW_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_DURATION_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_PAR_NEW_PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 
     /**
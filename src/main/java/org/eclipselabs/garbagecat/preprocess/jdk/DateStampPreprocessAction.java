@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -93,7 +94,7 @@ public class DateStampPreprocessAction implements PreprocessAction {
      *            The date and time the JVM was started.
      */
     public DateStampPreprocessAction(String logEntry, Date jvmStartDate) {
-        Matcher matcher = PATTERN.matcher(logEntry);
+        Matcher matcher = PATTERN.matcher(RegExGuard.input(logEntry));
         if (matcher.find()) {
             String logEntryMinusDateStamp = matcher.group(11);
             Date datestamp = GcUtil.parseDateStamp(matcher.group(1));
@@ -122,6 +123,6 @@ public class DateStampPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+        return PATTERN.matcher(RegExGuard.input(logLine)).matches();
     }
 }
@@ -21,6 +21,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -758,35 +759,38 @@ public class G1PreprocessAction implements PreprocessAction {
         Matcher matcher;
 
         // Beginning logging
-        if ((matcher = REGEX_RETAIN_BEGINNING_FULL_GC_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_RETAIN_BEGINNING_FULL_GC_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_CLEANUP_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_CLEANUP_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Handle concurrent mixed with young collections. See datasets 47-48 and 51-52, 54.
             matcher.reset();
             if (matcher.matches()) {
@@ -796,7 +800,8 @@ public class G1PreprocessAction implements PreprocessAction {
             this.logEntry = matcher.group(1);
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_FULL_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_FULL_CONCURRENT_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Handle concurrent mixed with full collections. See dataset 74.
             matcher.reset();
             int indexG1FullDatestamp = 11;
@@ -855,7 +860,8 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Strip out any leading colon
             matcher.reset();
             if (matcher.matches()) {
@@ -886,7 +892,8 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_PAUSE_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_PAUSE_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Strip out G1Ergonomics
             matcher.reset();
             if (matcher.matches()) {
@@ -894,14 +901,14 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_REMARK_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_REMARK_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1) + matcher.group(57);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_MIXED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_MIXED_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // Strip out G1Ergonomics
             matcher.reset();
             if (matcher.matches()) {
@@ -909,7 +916,8 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Strip out G1Ergonomics
             matcher.reset();
             if (matcher.matches()) {
@@ -917,39 +925,40 @@ public class G1PreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_YOUNG_PAUSE_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_YOUNG_PAUSE_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_FULL_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_FULL_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_DURATION_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_DURATION_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // End of logging event
             matcher.reset();
             if (matcher.matches()) {
@@ -958,7 +967,8 @@ public class G1PreprocessAction implements PreprocessAction {
             clearEntangledLines(entangledLogLines);
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.remove(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_END_CONCURRENT_YOUNG_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_CONCURRENT_YOUNG_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // End of logging event
             matcher.reset();
             if (matcher.matches()) {
@@ -991,30 +1001,31 @@ public class G1PreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
-        if ( REGEX_RETAIN_BEGINNING_YOUNG_PAUSE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_FULL_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_REMARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_MIXED_PATTERN.matcher(logLine).matches()
-                || (REGEX_RETAIN_BEGINNING_CLEANUP_PATTERN.matcher(logLine).matches() &&
-                        REGEX_RETAIN_END_PATTERN.matcher(nextLogLine).matches())
-                || REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_FULL_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_YOUNG_PAUSE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_FULL_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_DURATION_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_CONCURRENT_YOUNG_PATTERN.matcher(logLine).matches()) {
+        if ( REGEX_RETAIN_BEGINNING_YOUNG_PAUSE_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_FULL_GC_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_REMARK_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_MIXED_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || (REGEX_RETAIN_BEGINNING_CLEANUP_PATTERN
+                        .matcher(RegExGuard.input(logLine)).matches() && nextLogLine != null
+                        && REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(nextLogLine)).matches())
+                || REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_FULL_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_YOUNG_PAUSE_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_FULL_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_DURATION_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_CONCURRENT_YOUNG_PATTERN.matcher(RegExGuard.input(logLine)).matches()) {
             return true;
         }
         // TODO: Get rid of this and make them throwaway events?
         for (Pattern pattern : THROWAWAY_PATTERN_LIST) {
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 return true;
             }
         }
@@ -21,6 +21,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -213,15 +214,16 @@ public class ParallelPreprocessAction implements PreprocessAction {
 
         Matcher matcher;
         // Beginning logging
-        //(matcher = _PATTERN.matcher(logEntry)).matches()
-        if ((matcher = REGEX_BEGINNING_UNLOADING_CLASS_PATTERN.matcher(logEntry)).matches()) {
+        //(matcher = _PATTERN.matcher(RegExGuard.input(logEntry))).matches()
+        if ((matcher = REGEX_BEGINNING_UNLOADING_CLASS_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Remove GCTimeLimit output
             matcher.reset();
             if (matcher.matches()) {
@@ -230,7 +232,8 @@ public class ParallelPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Remove beginning PARALLEL_SCAVENGE output
             matcher.reset();
             if (matcher.matches()) {
@@ -238,7 +241,8 @@ public class ParallelPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SCAVENGE_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(logEntry))
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SCAVENGE_ADAPTIVE_SIZE_POLICY_PATTERN
+                .matcher(RegExGuard.input(logEntry)))
                 .matches()) {
             // Remove ending AdaptiveResizePolicy output
             matcher.reset();
@@ -247,7 +251,8 @@ public class ParallelPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_OLD_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_OLD_ADAPTIVE_SIZE_POLICY_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             // Remove ending AdaptiveResizePolicy output
             matcher.reset();
             if (matcher.matches()) {
@@ -255,7 +260,7 @@ public class ParallelPreprocessAction implements PreprocessAction {
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // End of logging event
             matcher.reset();
             if (matcher.matches()) {
@@ -308,18 +313,19 @@ public class ParallelPreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        if (REGEX_BEGINNING_UNLOADING_CLASS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SCAVENGE_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_OLD_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches()) {
+        if (REGEX_BEGINNING_UNLOADING_CLASS_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SCAVENGE_ADAPTIVE_SIZE_POLICY_PATTERN
+                        .matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_OLD_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_PATTERN.matcher(RegExGuard.input(logLine)).matches()) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY_LIST.size(); i++) {
                 Pattern pattern = REGEX_THROWAWAY_LIST.get(i);
-                if (pattern.matcher(logLine).matches()) {
+                if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                     match = true;
                     break;
                 }
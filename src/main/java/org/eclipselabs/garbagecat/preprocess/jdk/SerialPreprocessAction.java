@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -108,7 +109,7 @@ public class SerialPreprocessAction implements PreprocessAction {
         // Beginning logging
         if (logEntry.matches(REGEX_RETAIN_BEGINNING)) {
             Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -117,7 +118,7 @@ public class SerialPreprocessAction implements PreprocessAction {
         } else if (logEntry.matches(REGEX_RETAIN_END)) {
             // End of logging event
             Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
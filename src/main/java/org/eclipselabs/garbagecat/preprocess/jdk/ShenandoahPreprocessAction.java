@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
@@ -317,7 +318,7 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
         // Beginning logging
         if (logEntry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING)) {
             Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -325,7 +326,7 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
             context.add(TOKEN);
         } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP)) {
             Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -333,14 +334,14 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
             context.add(TOKEN);
         } else if (logEntry.matches(REGEX_RETAIN_METASPACE)) {
             Pattern pattern = Pattern.compile(REGEX_RETAIN_METASPACE);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
         } else if (logEntry.matches(REGEX_RETAIN_DURATION)) {
             Pattern pattern = Pattern.compile(REGEX_RETAIN_DURATION);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = pattern.matcher(RegExGuard.input(logEntry));
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -367,16 +368,16 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        if (REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_METASPACE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_DURATION_PATTERN.matcher(logLine).matches()) {
+        if (REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_METASPACE_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_DURATION_PATTERN.matcher(RegExGuard.input(logLine)).matches()) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY_LIST.size(); i++) {
                 Pattern pattern = REGEX_THROWAWAY_LIST.get(i);
-                if (pattern.matcher(logLine).matches()) {
+                if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                     match = true;
                     break;
                 }
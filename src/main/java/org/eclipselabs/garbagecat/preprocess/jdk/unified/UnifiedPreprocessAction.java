@@ -19,11 +19,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.TimesData;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedConcurrentEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 
@@ -705,71 +706,79 @@ public class UnifiedPreprocessAction implements PreprocessAction {
 
         Matcher matcher;
 
-        if ((matcher = REGEX_RETAIN_BEGINNING_UNIFIED_CONCURRENT_PATTERN.matcher(logEntry)).matches()) {
+        if ((matcher = REGEX_RETAIN_BEGINNING_UNIFIED_CONCURRENT_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_UNIFIED_CMS_INITIAL_MARK_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_UNIFIED_CMS_INITIAL_MARK_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_UNIFIED_REMARK_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_UNIFIED_REMARK_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             // Only report young collections that do not trigger an old collection
             if (nextLogEntry == null || !nextLogEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)) {
 
-                Matcher pauseMatcher = REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(logEntry);
+                Matcher pauseMatcher = REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(RegExGuard.input(logEntry));
                 if (pauseMatcher.matches()) {
                     this.logEntry = pauseMatcher.group(1);
                 }
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_OLD_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SERIAL_OLD_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_YOUNG_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_G1_CLEANUP_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_G1_CLEANUP_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.add(TOKEN);
-        } else if ((matcher = REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
-                if (nextLogEntry == null || REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(nextLogEntry).matches()) {
+                if (nextLogEntry == null || REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN
+                        .matcher(RegExGuard.input(nextLogEntry)).matches()) {
                     // Non GC safepoint
                     this.logEntry = matcher.group(1);
                     context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
@@ -779,13 +788,14 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 }
                 context.add(TOKEN);
             }
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_SPACE_DATA_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_SPACE_DATA_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(24);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 if (context.contains(TOKEN)) {
@@ -801,9 +811,11 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 }
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
-            if (nextLogEntry != null && REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(nextLogEntry).matches()) {
+            if (nextLogEntry != null && REGEX_RETAIN_END_TIMES_DATA_PATTERN
+                    .matcher(RegExGuard.input(nextLogEntry)).matches()) {
                 // Middle logging
                 if (matcher.matches()) {
                     this.logEntry = matcher.group(26);
@@ -818,9 +830,11 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 }
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA_PATTERN
+                .matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
-            if (nextLogEntry != null && REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(nextLogEntry).matches()) {
+            if (nextLogEntry != null && REGEX_RETAIN_END_TIMES_DATA_PATTERN
+                    .matcher(RegExGuard.input(nextLogEntry)).matches()) {
                 // Middle logging
                 if (matcher.matches()) {
                     this.logEntry = matcher.group(27);
@@ -835,9 +849,10 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                 }
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if ((matcher = REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
-            if (priorLogEntry != null && REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(priorLogEntry).matches()) {
+            if (priorLogEntry != null && REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN
+                    .matcher(RegExGuard.input(priorLogEntry)).matches()) {
                 this.logEntry = logEntry;
                 context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             } else {
@@ -856,7 +871,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
                     }
                 }
             }
-        } else if ((matcher = REGEX_RETAIN_END_SAFEPOINT_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_SAFEPOINT_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             matcher.reset();
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -864,7 +879,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
             context.remove(TOKEN);
             clearEntangledLines(entangledLogLines);
-        } else if ((matcher = REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(logEntry)).matches()) {
+        } else if ((matcher = REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(RegExGuard.input(logEntry))).matches()) {
             // End logging
             matcher.reset();
             if (matcher.matches()) {
@@ -874,11 +889,11 @@ public class UnifiedPreprocessAction implements PreprocessAction {
             if (!(entangledLogLines.size() == 1
                     && REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(entangledLogLines.get(0)).matches()
                     && (nextLogEntry == null
-                    || !REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(nextLogEntry).matches()))) {
+                    || !REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(RegExGuard.input(nextLogEntry)).matches()))) {
                 clearEntangledLines(entangledLogLines);
             }
             context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (JdkUtil.parseLogLine(logEntry) instanceof UnifiedConcurrentEvent && !isThrowaway(logEntry)) {
+        } else if (JdkUtil.identifyEventType(logEntry) == LogEventType.UNIFIED_CONCURRENT && !isThrowaway(logEntry)) {
             if (!context.contains(TOKEN)) {
                 // Stand alone event
                 this.logEntry = logEntry;
@@ -911,23 +926,23 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        if (REGEX_RETAIN_BEGINNING_UNIFIED_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_UNIFIED_CMS_INITIAL_MARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_UNIFIED_REMARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_OLD_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_YOUNG_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_G1_CLEANUP_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SPACE_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_SAFEPOINT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(logLine).matches()
-                || JdkUtil.parseLogLine(logLine) instanceof UnifiedConcurrentEvent) {
+        if (REGEX_RETAIN_BEGINNING_UNIFIED_CONCURRENT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_UNIFIED_CMS_INITIAL_MARK_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_UNIFIED_REMARK_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SERIAL_OLD_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_YOUNG_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_G1_CLEANUP_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_SPACE_DATA_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_SAFEPOINT_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(RegExGuard.input(logLine)).matches()
+                || JdkUtil.identifyEventType(logLine) == LogEventType.UNIFIED_CONCURRENT) {
             match = true;
         } else if (isThrowaway(logLine)) {
             match = true;
@@ -962,7 +977,7 @@ public class UnifiedPreprocessAction implements PreprocessAction {
         boolean throwaway = false;
         for (int i = 0; i < THROWAWAY_PATTERN_LIST.size(); i++) {
             Pattern pattern = THROWAWAY_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (pattern.matcher(RegExGuard.input(logLine)).matches()) {
                 throwaway = true;
                 break;
             }
@@ -0,0 +1,307 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.eclipselabs.garbagecat.service.DataStreams.readEnums;
+import static org.eclipselabs.garbagecat.service.DataStreams.readEvent;
+import static org.eclipselabs.garbagecat.service.DataStreams.readJvmDaoProperties;
+import static org.eclipselabs.garbagecat.service.DataStreams.readString;
+import static org.eclipselabs.garbagecat.service.DataStreams.readStrings;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeEnums;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeEvent;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeJvmDaoProperties;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeString;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeStrings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.eclipselabs.garbagecat.dao.JvmDao;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+
+/**
+ * <p>
+ * The state of processing a log file up to a file offset, saved to a file so a later run on the same log file (e.g.
+ * after more logging has been appended) can resume at the offset instead of processing the log file from the start.
+ * </p>
+ * 
+ * <p>
+ * The state is the preprocessing state, the preprocessed logging not yet stored, the last <code>BlockingEvent</code>
+ * stored, and the data store. The stored events and their aggregates are saved in binary form as stored (see
+ * {@link JvmDao#writeEvents(java.io.DataOutput)}), so no event is parsed when the checkpoint is read.
+ * </p>
+ * 
+ * <p>
+ * A checkpoint is only used for the log file it was saved from, identified by checksums of the logging at the start of
+ * the log file and just before the offset, and for the same processing options.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class Checkpoint {
+
+    /**
+     * The number of bytes at the start of the log file and just before the offset used to identify the log file.
+     */
+    private static final int CHECKSUM_LENGTH = 4096;
+
+    /**
+     * Identifies a checkpoint file.
+     */
+    private static final int MAGIC = 0x47434350;
+
+    /**
+     * The checkpoint file format version.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Checksum of a range of the log file.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param start
+     *            The file position (bytes) of the start of the range.
+     * @param end
+     *            The file position (bytes) of the end of the range (exclusive).
+     * @return The checksum.
+     * @throws IOException
+     *             if the log file cannot be read.
+     */
+    private static long checksum(File logFile, long start, long end) throws IOException {
+        byte[] bytes = new byte[(int) (end - start)];
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(logFile, "r")) {
+            randomAccessFile.seek(start);
+            randomAccessFile.readFully(bytes);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return crc32.getValue();
+    }
+
+    private static long headChecksum(File logFile, long offset) throws IOException {
+        return checksum(logFile, 0, Math.min(CHECKSUM_LENGTH, offset));
+    }
+
+    /**
+     * Read a checkpoint.
+     * 
+     * @param checkpointFile
+     *            The checkpoint file.
+     * @param logFile
+     *            The garbage collection log file being processed.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not the logging is preprocessed.
+     * @param reorder
+     *            Whether or not logging is allowed to be reordered by timestamp.
+     * @return The checkpoint, or null if there is no checkpoint file or the checkpoint is for a different log file or
+     *         processing options.
+     * @throws IOException
+     *             if the checkpoint file cannot be read.
+     */
+    static Checkpoint read(File checkpointFile, File logFile, Date jvmStartDate, boolean preprocess, boolean reorder)
+            throws IOException {
+        if (!checkpointFile.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(checkpointFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long offset = in.readLong();
+            long headChecksum = in.readLong();
+            long tailChecksum = in.readLong();
+            if (offset > logFile.length() || headChecksum != headChecksum(logFile, offset)
+                    || tailChecksum != tailChecksum(logFile, offset)) {
+                return null;
+            }
+            if (in.readBoolean() != preprocess || in.readBoolean() != reorder
+                    || in.readLong() != (jvmStartDate == null ? Long.MIN_VALUE : jvmStartDate.getTime())) {
+                return null;
+            }
+
+            Checkpoint checkpoint = new Checkpoint(offset);
+            checkpoint.preprocessState.currentLogLine = readString(in);
+            checkpoint.preprocessState.priorLogLine = readString(in);
+            checkpoint.preprocessState.priorLogEntry = readString(in);
+            checkpoint.preprocessState.logging = in.readBoolean();
+            readStrings(in, checkpoint.preprocessState.context);
+            readStrings(in, checkpoint.preprocessState.entangledLogLines);
+            readEnums(in, Analysis.class, checkpoint.preprocessAnalysis);
+            readStrings(in, checkpoint.logLines);
+            checkpoint.unterminatedLogging = readString(in);
+            checkpoint.priorEvent = (BlockingEvent) readEvent(in, BlockingEvent.class);
+            readJvmDao(in, checkpoint.jvmDao);
+            return checkpoint;
+        }
+    }
+
+    private static void readJvmDao(DataInputStream in, JvmDao jvmDao) throws IOException {
+        readJvmDaoProperties(in, jvmDao);
+        jvmDao.readEvents(in);
+    }
+
+    private static long tailChecksum(File logFile, long offset) throws IOException {
+        return checksum(logFile, Math.max(0, offset - CHECKSUM_LENGTH), offset);
+    }
+
+    /**
+     * Write a checkpoint. The checkpoint file is replaced atomically, so an interrupted write leaves the previous
+     * checkpoint.
+     * 
+     * @param checkpointFile
+     *            The checkpoint file.
+     * @param logFile
+     *            The garbage collection log file being processed.
+     * @param offset
+     *            The file position (bytes) of the logging not yet read.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not the logging is preprocessed.
+     * @param reorder
+     *            Whether or not logging is allowed to be reordered by timestamp.
+     * @param preprocessState
+     *            The preprocessing state.
+     * @param preprocessAnalysis
+     *            The analysis found during preprocessing.
+     * @param logLineWriter
+     *            The preprocessed logging not yet stored.
+     * @param priorEvent
+     *            The last <code>BlockingEvent</code> stored.
+     * @param jvmDao
+     *            The data store.
+     * @throws IOException
+     *             if the checkpoint file cannot be written.
+     */
+    static void write(File checkpointFile, File logFile, long offset, Date jvmStartDate, boolean preprocess,
+            boolean reorder, PreprocessState preprocessState, List<Analysis> preprocessAnalysis,
+            LogLineWriter logLineWriter, BlockingEvent priorEvent, JvmDao jvmDao) throws IOException {
+        File temporaryFile = new File(checkpointFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(offset);
+            out.writeLong(headChecksum(logFile, offset));
+            out.writeLong(tailChecksum(logFile, offset));
+            out.writeBoolean(preprocess);
+            out.writeBoolean(reorder);
+            out.writeLong(jvmStartDate == null ? Long.MIN_VALUE : jvmStartDate.getTime());
+
+            writeString(out, preprocessState.currentLogLine);
+            writeString(out, preprocessState.priorLogLine);
+            writeString(out, preprocessState.priorLogEntry);
+            out.writeBoolean(preprocessState.logging);
+            writeStrings(out, preprocessState.context);
+            writeStrings(out, preprocessState.entangledLogLines);
+            writeEnums(out, preprocessAnalysis);
+            writeStrings(out, logLineWriter.getLogLines());
+            writeString(out, logLineWriter.getUnterminatedLogging());
+            writeEvent(out, priorEvent);
+            writeJvmDao(out, jvmDao);
+        }
+        Files.move(temporaryFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeJvmDao(DataOutputStream out, JvmDao jvmDao) throws IOException {
+        writeJvmDaoProperties(out, jvmDao);
+        jvmDao.writeEvents(out);
+    }
+
+    /**
+     * The data store.
+     */
+    private final JvmDao jvmDao = new JvmDao();
+
+    /**
+     * Complete preprocessed log lines not yet stored.
+     */
+    private final List<String> logLines = new ArrayList<String>();
+
+    /**
+     * The file position (bytes) of the logging not yet read.
+     */
+    private final long offset;
+
+    /**
+     * The analysis found during preprocessing.
+     */
+    private final List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
+
+    /**
+     * The preprocessing state.
+     */
+    private final PreprocessState preprocessState = new PreprocessState();
+
+    /**
+     * The last <code>BlockingEvent</code> stored.
+     */
+    private BlockingEvent priorEvent;
+
+    /**
+     * Preprocessed logging not yet terminated by a line separator.
+     */
+    private String unterminatedLogging;
+
+    private Checkpoint(long offset) {
+        this.offset = offset;
+    }
+
+    JvmDao getJvmDao() {
+        return jvmDao;
+    }
+
+    List<String> getLogLines() {
+        return logLines;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    List<Analysis> getPreprocessAnalysis() {
+        return preprocessAnalysis;
+    }
+
+    PreprocessState getPreprocessState() {
+        return preprocessState;
+    }
+
+    BlockingEvent getPriorEvent() {
+        return priorEvent;
+    }
+
+    String getUnterminatedLogging() {
+        return unterminatedLogging;
+    }
+}
@@ -0,0 +1,176 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import org.eclipselabs.garbagecat.dao.JvmDao;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * Reading and writing the values saved in checkpoint and cache files.
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+final class DataStreams {
+
+    static <E extends Enum<E>> void readEnums(DataInputStream in, Class<E> enumClass, Collection<E> values)
+            throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            values.add(Enum.valueOf(enumClass, readString(in)));
+        }
+    }
+
+    /**
+     * Read an event saved as its log entry.
+     * 
+     * @param in
+     *            The input stream.
+     * @param eventClass
+     *            The expected type of event.
+     * @return The event, or null if no event was saved.
+     * @throws IOException
+     *             if the stream cannot be read or the log entry is not parsed as the expected type of event.
+     */
+    static LogEvent readEvent(DataInputStream in, Class<?> eventClass) throws IOException {
+        String logEntry = readString(in);
+        if (logEntry == null) {
+            return null;
+        }
+        LogEvent event = JdkUtil.parseLogLine(logEntry);
+        if (!eventClass.isInstance(event)) {
+            throw new IOException("Event not " + eventClass.getSimpleName() + ": " + logEntry);
+        }
+        return event;
+    }
+
+    /**
+     * Read the data store values other than the events.
+     * 
+     * @param in
+     *            The input stream.
+     * @param jvmDao
+     *            The data store.
+     * @throws IOException
+     *             if the stream cannot be read.
+     */
+    static void readJvmDaoProperties(DataInputStream in, JvmDao jvmDao) throws IOException {
+        readEnums(in, Analysis.class, jvmDao.getAnalysis());
+        readEnums(in, CollectorFamily.class, jvmDao.getCollectorFamilies());
+        readEnums(in, LogEventType.class, jvmDao.getEventTypes());
+        readStrings(in, jvmDao.getUnidentifiedLogLines());
+        jvmDao.setInvertedParallelismCount(in.readLong());
+        jvmDao.setMaxHeapOccupancyNonBlocking(in.readInt());
+        jvmDao.setMaxHeapSpaceNonBlocking(in.readInt());
+        jvmDao.setMaxPermOccupancyNonBlocking(in.readInt());
+        jvmDao.setMaxPermSpaceNonBlocking(in.readInt());
+        jvmDao.setMemory(readString(in));
+        jvmDao.setOptions(readString(in));
+        jvmDao.setParallelCount(in.readLong());
+        jvmDao.setPhysicalMemory(in.readLong());
+        jvmDao.setPhysicalMemoryFree(in.readLong());
+        jvmDao.setSwap(in.readLong());
+        jvmDao.setSwapFree(in.readLong());
+        jvmDao.setVersion(readString(in));
+        jvmDao.setWorstInvertedParallelismEvent(readEvent(in, LogEvent.class));
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void readStrings(DataInputStream in, Collection<String> strings) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(in));
+        }
+    }
+
+    static void writeEnums(DataOutputStream out, Collection<? extends Enum<?>> values) throws IOException {
+        out.writeInt(values.size());
+        for (Enum<?> value : values) {
+            writeString(out, value.name());
+        }
+    }
+
+    static void writeEvent(DataOutputStream out, LogEvent event) throws IOException {
+        writeString(out, event == null ? null : event.getLogEntry());
+    }
+
+    /**
+     * Write the data store values other than the events.
+     * 
+     * @param out
+     *            The output stream.
+     * @param jvmDao
+     *            The data store.
+     * @throws IOException
+     *             if the stream cannot be written.
+     */
+    static void writeJvmDaoProperties(DataOutputStream out, JvmDao jvmDao) throws IOException {
+        writeEnums(out, jvmDao.getAnalysis());
+        writeEnums(out, jvmDao.getCollectorFamilies());
+        writeEnums(out, jvmDao.getEventTypes());
+        writeStrings(out, jvmDao.getUnidentifiedLogLines());
+        out.writeLong(jvmDao.getInvertedParallelismCount());
+        out.writeInt(jvmDao.getMaxHeapOccupancyNonBlocking());
+        out.writeInt(jvmDao.getMaxHeapSpaceNonBlocking());
+        out.writeInt(jvmDao.getMaxPermOccupancyNonBlocking());
+        out.writeInt(jvmDao.getMaxPermSpaceNonBlocking());
+        writeString(out, jvmDao.getMemory());
+        writeString(out, jvmDao.getOptions());
+        out.writeLong(jvmDao.getParallelCount());
+        out.writeLong(jvmDao.getPhysicalMemory());
+        out.writeLong(jvmDao.getPhysicalMemoryFree());
+        out.writeLong(jvmDao.getSwap());
+        out.writeLong(jvmDao.getSwapFree());
+        writeString(out, jvmDao.getVersion());
+        writeEvent(out, jvmDao.getWorstInvertedParallelismEvent());
+    }
+
+    static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    private DataStreams() {
+    }
+}
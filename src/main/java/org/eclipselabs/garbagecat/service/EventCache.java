@@ -0,0 +1,753 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.eclipselabs.garbagecat.service.DataStreams.readJvmDaoProperties;
+import static org.eclipselabs.garbagecat.service.DataStreams.readString;
+import static org.eclipselabs.garbagecat.service.DataStreams.readStrings;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeJvmDaoProperties;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeString;
+import static org.eclipselabs.garbagecat.service.DataStreams.writeStrings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipselabs.garbagecat.dao.JvmDao;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
+import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * The parsed events and data store for a JVM run, saved to a file so the report can be created again with different
+ * report options (e.g. throughput threshold, output file) without parsing the logging again.
+ * </p>
+ * 
+ * <p>
+ * Events are saved in columns (e.g. all the timestamps, then all the durations), with strings that repeat (event
+ * names, triggers) saved once and referenced by index. Memory sizes are saved in bytes, the unit all sizes convert to
+ * exactly. Blocking events are loaded as events holding the saved values, with the same data interfaces as the parsed
+ * events for the analysis done when creating the report.
+ * </p>
+ * 
+ * <p>
+ * A cache is only used for the log files it was saved from, identified by the size, last modified time, and a checksum
+ * of the logging at the start and end of each log file, and for the same processing options.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class EventCache {
+
+    /**
+     * Blocking event loaded from the cache.
+     */
+    private static class CachedBlockingEvent implements BlockingEvent, YoungData, PermMetaspaceData, TimesData,
+            TriggerData {
+
+        private final int duration;
+
+        private final String logEntry;
+
+        private final Memory[] memory;
+
+        private final String name;
+
+        private final int timeReal;
+
+        private final int timeSys;
+
+        private final long timestamp;
+
+        private final int timeUser;
+
+        private final String trigger;
+
+        private CachedBlockingEvent(String name, String logEntry, long timestamp, int duration, Memory[] memory,
+                int timeUser, int timeSys, int timeReal, String trigger) {
+            this.name = name;
+            this.logEntry = logEntry;
+            this.timestamp = timestamp;
+            this.duration = duration;
+            this.memory = memory;
+            this.timeUser = timeUser;
+            this.timeSys = timeSys;
+            this.timeReal = timeReal;
+            this.trigger = trigger;
+        }
+
+        public int getDuration() {
+            return duration;
+        }
+
+        public String getLogEntry() {
+            return logEntry;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getParallelism() {
+            return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
+        }
+
+        public Memory getPermOccupancyEnd() {
+            return memory[PERM_OCCUPANCY_END];
+        }
+
+        public Memory getPermOccupancyInit() {
+            return memory[PERM_OCCUPANCY_INIT];
+        }
+
+        public Memory getPermSpace() {
+            return memory[PERM_SPACE];
+        }
+
+        public int getTimeReal() {
+            return timeReal;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public int getTimeSys() {
+            return timeSys;
+        }
+
+        public int getTimeUser() {
+            return timeUser;
+        }
+
+        public String getTrigger() {
+            return trigger;
+        }
+
+        public Memory getYoungOccupancyEnd() {
+            return memory[YOUNG_OCCUPANCY_END];
+        }
+
+        public Memory getYoungOccupancyInit() {
+            return memory[YOUNG_OCCUPANCY_INIT];
+        }
+
+        public Memory getYoungSpace() {
+            return memory[YOUNG_SPACE];
+        }
+    }
+
+    /**
+     * Blocking event with combined young and old generation data loaded from the cache.
+     */
+    private static class CachedCombinedEvent extends CachedBlockingEvent implements CombinedData {
+
+        private CachedCombinedEvent(String name, String logEntry, long timestamp, int duration, Memory[] memory,
+                int timeUser, int timeSys, int timeReal, String trigger) {
+            super(name, logEntry, timestamp, duration, memory, timeUser, timeSys, timeReal, trigger);
+        }
+
+        public Memory getCombinedOccupancyEnd() {
+            return super.memory[COMBINED_OCCUPANCY_END];
+        }
+
+        public Memory getCombinedOccupancyInit() {
+            return super.memory[COMBINED_OCCUPANCY_INIT];
+        }
+
+        public Memory getCombinedSpace() {
+            return super.memory[COMBINED_SPACE];
+        }
+    }
+
+    /**
+     * <code>G1YoungPauseEvent</code> loaded from the cache, a <code>G1YoungPauseEvent</code> for the allocation rate
+     * calculation.
+     */
+    private static class CachedG1YoungPauseEvent extends G1YoungPauseEvent {
+
+        private final Memory[] memory;
+
+        private final int timeReal;
+
+        private final int timeSys;
+
+        private final int timeUser;
+
+        private final String trigger;
+
+        private CachedG1YoungPauseEvent(String logEntry, long timestamp, int duration, Memory[] memory, int timeUser,
+                int timeSys, int timeReal, String trigger) {
+            super(logEntry, timestamp, duration);
+            this.memory = memory;
+            this.timeUser = timeUser;
+            this.timeSys = timeSys;
+            this.timeReal = timeReal;
+            this.trigger = trigger;
+        }
+
+        @Override
+        public Memory getCombinedOccupancyEnd() {
+            return memory[COMBINED_OCCUPANCY_END];
+        }
+
+        @Override
+        public Memory getCombinedOccupancyInit() {
+            return memory[COMBINED_OCCUPANCY_INIT];
+        }
+
+        @Override
+        public Memory getCombinedSpace() {
+            return memory[COMBINED_SPACE];
+        }
+
+        @Override
+        public Memory getEdenOccupancyEnd() {
+            return memory[EDEN_OCCUPANCY_END];
+        }
+
+        @Override
+        public Memory getEdenOccupancyInit() {
+            return memory[EDEN_OCCUPANCY_INIT];
+        }
+
+        @Override
+        public int getParallelism() {
+            return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
+        }
+
+        @Override
+        public int getTimeReal() {
+            return timeReal;
+        }
+
+        @Override
+        public int getTimeSys() {
+            return timeSys;
+        }
+
+        @Override
+        public int getTimeUser() {
+            return timeUser;
+        }
+
+        @Override
+        public String getTrigger() {
+            return trigger;
+        }
+    }
+
+    /**
+     * Blocking event with separate young and old generation data loaded from the cache.
+     */
+    private static class CachedOldEvent extends CachedBlockingEvent implements OldData {
+
+        private CachedOldEvent(String name, String logEntry, long timestamp, int duration, Memory[] memory,
+                int timeUser, int timeSys, int timeReal, String trigger) {
+            super(name, logEntry, timestamp, duration, memory, timeUser, timeSys, timeReal, trigger);
+        }
+
+        public Memory getOldOccupancyEnd() {
+            return super.memory[OLD_OCCUPANCY_END];
+        }
+
+        public Memory getOldOccupancyInit() {
+            return super.memory[OLD_OCCUPANCY_INIT];
+        }
+
+        public Memory getOldSpace() {
+            return super.memory[OLD_SPACE];
+        }
+    }
+
+    /**
+     * The number of bytes at the start and end of each log file used to identify the log file.
+     */
+    private static final int CHECKSUM_LENGTH = 1024 * 1024;
+
+    private static final int COMBINED_OCCUPANCY_END = 7;
+
+    private static final int COMBINED_OCCUPANCY_INIT = 6;
+
+    private static final int COMBINED_SPACE = 8;
+
+    private static final int EDEN_OCCUPANCY_END = 13;
+
+    private static final int EDEN_OCCUPANCY_INIT = 12;
+
+    /**
+     * Identifies a cache file.
+     */
+    private static final int MAGIC = 0x47434543;
+
+    /**
+     * The number of memory columns.
+     */
+    private static final int MEMORY_COLUMNS = 14;
+
+    /**
+     * Saved for a memory value that is null.
+     */
+    private static final long NULL_MEMORY = Long.MIN_VALUE;
+
+    private static final int OLD_OCCUPANCY_END = 4;
+
+    private static final int OLD_OCCUPANCY_INIT = 3;
+
+    private static final int OLD_SPACE = 5;
+
+    private static final int PERM_OCCUPANCY_END = 10;
+
+    private static final int PERM_OCCUPANCY_INIT = 9;
+
+    private static final int PERM_SPACE = 11;
+
+    /**
+     * Blocking event with combined young and old generation data.
+     */
+    private static final byte SHAPE_COMBINED = 1;
+
+    /**
+     * <code>G1YoungPauseEvent</code>.
+     */
+    private static final byte SHAPE_G1_YOUNG_PAUSE = 3;
+
+    /**
+     * Blocking event with separate young and old generation data.
+     */
+    private static final byte SHAPE_OLD = 2;
+
+    /**
+     * Blocking event with no young and old generation data.
+     */
+    private static final byte SHAPE_OTHER = 0;
+
+    /**
+     * The cache file format version.
+     */
+    private static final int VERSION = 1;
+
+    private static final int YOUNG_OCCUPANCY_END = 1;
+
+    private static final int YOUNG_OCCUPANCY_INIT = 0;
+
+    private static final int YOUNG_SPACE = 2;
+
+    /**
+     * Checksum of the logging at the start and end of a log file.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @return The checksum.
+     * @throws IOException
+     *             if the log file cannot be read.
+     */
+    private static long checksum(File logFile) throws IOException {
+        CRC32 crc32 = new CRC32();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(logFile, "r")) {
+            long length = randomAccessFile.length();
+            byte[] bytes = new byte[(int) Math.min(CHECKSUM_LENGTH, length)];
+            randomAccessFile.readFully(bytes);
+            crc32.update(bytes);
+            if (length > CHECKSUM_LENGTH) {
+                bytes = new byte[(int) Math.min(CHECKSUM_LENGTH, length - CHECKSUM_LENGTH)];
+                randomAccessFile.seek(length - bytes.length);
+                randomAccessFile.readFully(bytes);
+                crc32.update(bytes);
+            }
+        }
+        return crc32.getValue();
+    }
+
+    /**
+     * @param strings
+     *            The strings saved once, with their index.
+     * @param string
+     *            A string.
+     * @return The index of the string, or -1 if the string is null.
+     */
+    private static int index(Map<String, Integer> strings, String string) {
+        if (string == null) {
+            return -1;
+        }
+        Integer index = strings.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.put(string, index);
+        }
+        return index;
+    }
+
+    /**
+     * Read a cache.
+     * 
+     * @param cacheFile
+     *            The cache file.
+     * @param logFiles
+     *            The garbage collection log files being processed.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not the logging is preprocessed.
+     * @param reorder
+     *            Whether or not logging is allowed to be reordered by timestamp.
+     * @return The cache, or null if there is no cache file or the cache is for different log files or processing
+     *         options.
+     * @throws IOException
+     *             if the cache file cannot be read.
+     */
+    static EventCache read(File cacheFile, List<File> logFiles, Date jvmStartDate, boolean preprocess,
+            boolean reorder) throws IOException {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != logFiles.size()) {
+                return null;
+            }
+            for (File logFile : logFiles) {
+                if (in.readLong() != logFile.length() || in.readLong() != logFile.lastModified()
+                        || in.readLong() != checksum(logFile)) {
+                    return null;
+                }
+            }
+            if (in.readBoolean() != preprocess || in.readBoolean() != reorder
+                    || in.readLong() != (jvmStartDate == null ? Long.MIN_VALUE : jvmStartDate.getTime())) {
+                return null;
+            }
+
+            EventCache eventCache = new EventCache();
+            eventCache.lastLogLineUnprocessed = readString(in);
+            readJvmDaoProperties(in, eventCache.jvmDao);
+            readBlockingEvents(in, eventCache.jvmDao);
+
+            int size = in.readInt();
+            long[] timestamps = readLongs(in, size);
+            int[] durations = readInts(in, size);
+            for (int i = 0; i < size; i++) {
+                eventCache.jvmDao.addStoppedTimeEvent(
+                        new ApplicationStoppedTimeEvent(readString(in), timestamps[i], durations[i]));
+            }
+
+            size = in.readInt();
+            timestamps = readLongs(in, size);
+            durations = readInts(in, size);
+            List<String> triggers = new ArrayList<String>();
+            readStrings(in, triggers);
+            int[] triggerIndexes = readInts(in, size);
+            for (int i = 0; i < size; i++) {
+                Trigger trigger = triggerIndexes[i] < 0 ? null : Trigger.valueOf(triggers.get(triggerIndexes[i]));
+                eventCache.jvmDao.addSafepointEvent(
+                        new UnifiedSafepointEvent(readString(in), timestamps[i], durations[i], trigger));
+            }
+            return eventCache;
+        }
+    }
+
+    private static void readBlockingEvents(DataInputStream in, JvmDao jvmDao) throws IOException {
+        int size = in.readInt();
+        List<String> names = new ArrayList<String>();
+        readStrings(in, names);
+        int[] nameIndexes = readInts(in, size);
+        byte[] shapes = new byte[size];
+        in.readFully(shapes);
+        long[] timestamps = readLongs(in, size);
+        int[] durations = readInts(in, size);
+        long[][] memoryColumns = new long[MEMORY_COLUMNS][];
+        for (int column = 0; column < MEMORY_COLUMNS; column++) {
+            memoryColumns[column] = readLongs(in, size);
+        }
+        int[] timeUsers = readInts(in, size);
+        int[] timeSyses = readInts(in, size);
+        int[] timeReals = readInts(in, size);
+        List<String> triggers = new ArrayList<String>();
+        readStrings(in, triggers);
+        int[] triggerIndexes = readInts(in, size);
+
+        for (int i = 0; i < size; i++) {
+            Memory[] memory = new Memory[MEMORY_COLUMNS];
+            for (int column = 0; column < MEMORY_COLUMNS; column++) {
+                long bytes = memoryColumns[column][i];
+                memory[column] = bytes == NULL_MEMORY ? null : Memory.bytes(bytes);
+            }
+            String name = names.get(nameIndexes[i]);
+            String trigger = triggerIndexes[i] < 0 ? null : triggers.get(triggerIndexes[i]);
+            String logEntry = readString(in);
+            BlockingEvent event;
+            switch (shapes[i]) {
+            case SHAPE_G1_YOUNG_PAUSE:
+                event = new CachedG1YoungPauseEvent(logEntry, timestamps[i], durations[i], memory, timeUsers[i],
+                        timeSyses[i], timeReals[i], trigger);
+                break;
+            case SHAPE_OLD:
+                event = new CachedOldEvent(name, logEntry, timestamps[i], durations[i], memory, timeUsers[i],
+                        timeSyses[i], timeReals[i], trigger);
+                break;
+            case SHAPE_COMBINED:
+                event = new CachedCombinedEvent(name, logEntry, timestamps[i], durations[i], memory, timeUsers[i],
+                        timeSyses[i], timeReals[i], trigger);
+                break;
+            case SHAPE_OTHER:
+                event = new CachedBlockingEvent(name, logEntry, timestamps[i], durations[i], memory, timeUsers[i],
+                        timeSyses[i], timeReals[i], trigger);
+                break;
+            default:
+                throw new IOException("Unexpected event shape: " + shapes[i]);
+            }
+            jvmDao.addBlockingEvent(event);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, int size) throws IOException {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static long[] readLongs(DataInputStream in, int size) throws IOException {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    /**
+     * Write a cache. The cache file is replaced atomically, so an interrupted write leaves the previous cache.
+     * 
+     * @param cacheFile
+     *            The cache file.
+     * @param logFiles
+     *            The garbage collection log files processed.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not the logging is preprocessed.
+     * @param reorder
+     *            Whether or not logging is allowed to be reordered by timestamp.
+     * @param lastLogLineUnprocessed
+     *            The last log line, unprocessed.
+     * @param jvmDao
+     *            The data store.
+     * @throws IOException
+     *             if the cache file cannot be written.
+     */
+    static void write(File cacheFile, List<File> logFiles, Date jvmStartDate, boolean preprocess, boolean reorder,
+            String lastLogLineUnprocessed, JvmDao jvmDao) throws IOException {
+        File temporaryFile = new File(cacheFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(logFiles.size());
+            for (File logFile : logFiles) {
+                out.writeLong(logFile.length());
+                out.writeLong(logFile.lastModified());
+                out.writeLong(checksum(logFile));
+            }
+            out.writeBoolean(preprocess);
+            out.writeBoolean(reorder);
+            out.writeLong(jvmStartDate == null ? Long.MIN_VALUE : jvmStartDate.getTime());
+
+            writeString(out, lastLogLineUnprocessed);
+            writeJvmDaoProperties(out, jvmDao);
+            writeBlockingEvents(out, jvmDao.getParsedBlockingEvents());
+
+            List<ApplicationStoppedTimeEvent> stoppedTimeEvents = jvmDao.getStoppedTimeEvents();
+            out.writeInt(stoppedTimeEvents.size());
+            for (ApplicationStoppedTimeEvent event : stoppedTimeEvents) {
+                out.writeLong(event.getTimestamp());
+            }
+            for (ApplicationStoppedTimeEvent event : stoppedTimeEvents) {
+                out.writeInt(event.getDuration());
+            }
+            for (ApplicationStoppedTimeEvent event : stoppedTimeEvents) {
+                writeString(out, event.getLogEntry());
+            }
+
+            List<UnifiedSafepointEvent> safepointEvents = jvmDao.getUnifiedSafepointEvents();
+            out.writeInt(safepointEvents.size());
+            for (UnifiedSafepointEvent event : safepointEvents) {
+                out.writeLong(event.getTimestamp());
+            }
+            for (UnifiedSafepointEvent event : safepointEvents) {
+                out.writeInt(event.getDuration());
+            }
+            Map<String, Integer> triggers = new LinkedHashMap<String, Integer>();
+            int[] triggerIndexes = new int[safepointEvents.size()];
+            for (int i = 0; i < safepointEvents.size(); i++) {
+                Trigger trigger = safepointEvents.get(i).getTrigger();
+                triggerIndexes[i] = index(triggers, trigger == null ? null : trigger.name());
+            }
+            writeStrings(out, triggers.keySet());
+            for (int triggerIndex : triggerIndexes) {
+                out.writeInt(triggerIndex);
+            }
+            for (UnifiedSafepointEvent event : safepointEvents) {
+                writeString(out, event.getLogEntry());
+            }
+        }
+        Files.move(temporaryFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeBlockingEvents(DataOutputStream out, List<BlockingEvent> events) throws IOException {
+        int size = events.size();
+        Map<String, Integer> names = new LinkedHashMap<String, Integer>();
+        int[] nameIndexes = new int[size];
+        byte[] shapes = new byte[size];
+        long[][] memoryColumns = new long[MEMORY_COLUMNS][size];
+        int[][] timesColumns = new int[3][size];
+        Map<String, Integer> triggers = new LinkedHashMap<String, Integer>();
+        int[] triggerIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            BlockingEvent event = events.get(i);
+            nameIndexes[i] = index(names, event.getName());
+            Memory[] memory = new Memory[MEMORY_COLUMNS];
+            if (event instanceof YoungData) {
+                YoungData young = (YoungData) event;
+                memory[YOUNG_OCCUPANCY_INIT] = young.getYoungOccupancyInit();
+                memory[YOUNG_OCCUPANCY_END] = young.getYoungOccupancyEnd();
+                memory[YOUNG_SPACE] = young.getYoungSpace();
+            }
+            if (event instanceof OldData) {
+                OldData old = (OldData) event;
+                memory[YOUNG_OCCUPANCY_INIT] = old.getYoungOccupancyInit();
+                memory[YOUNG_OCCUPANCY_END] = old.getYoungOccupancyEnd();
+                memory[YOUNG_SPACE] = old.getYoungSpace();
+                memory[OLD_OCCUPANCY_INIT] = old.getOldOccupancyInit();
+                memory[OLD_OCCUPANCY_END] = old.getOldOccupancyEnd();
+                memory[OLD_SPACE] = old.getOldSpace();
+            }
+            if (event instanceof CombinedData) {
+                CombinedData combined = (CombinedData) event;
+                memory[COMBINED_OCCUPANCY_INIT] = combined.getCombinedOccupancyInit();
+                memory[COMBINED_OCCUPANCY_END] = combined.getCombinedOccupancyEnd();
+                memory[COMBINED_SPACE] = combined.getCombinedSpace();
+            }
+            if (event instanceof PermMetaspaceData) {
+                PermMetaspaceData perm = (PermMetaspaceData) event;
+                memory[PERM_OCCUPANCY_INIT] = perm.getPermOccupancyInit();
+                memory[PERM_OCCUPANCY_END] = perm.getPermOccupancyEnd();
+                memory[PERM_SPACE] = perm.getPermSpace();
+            }
+            if (event instanceof G1YoungPauseEvent) {
+                G1YoungPauseEvent g1YoungPause = (G1YoungPauseEvent) event;
+                memory[EDEN_OCCUPANCY_INIT] = g1YoungPause.getEdenOccupancyInit();
+                memory[EDEN_OCCUPANCY_END] = g1YoungPause.getEdenOccupancyEnd();
+                shapes[i] = SHAPE_G1_YOUNG_PAUSE;
+            } else if (event instanceof OldData) {
+                shapes[i] = SHAPE_OLD;
+            } else if (event instanceof CombinedData) {
+                shapes[i] = SHAPE_COMBINED;
+            } else {
+                shapes[i] = SHAPE_OTHER;
+            }
+            for (int column = 0; column < MEMORY_COLUMNS; column++) {
+                memoryColumns[column][i] = memory[column] == null ? NULL_MEMORY
+                        : memory[column].getValue(Memory.Unit.BYTES);
+            }
+            if (event instanceof TimesData) {
+                TimesData times = (TimesData) event;
+                timesColumns[0][i] = times.getTimeUser();
+                timesColumns[1][i] = times.getTimeSys();
+                timesColumns[2][i] = times.getTimeReal();
+            } else {
+                timesColumns[0][i] = TimesData.NO_DATA;
+                timesColumns[1][i] = TimesData.NO_DATA;
+                timesColumns[2][i] = TimesData.NO_DATA;
+            }
+            triggerIndexes[i] = index(triggers,
+                    event instanceof TriggerData ? ((TriggerData) event).getTrigger() : null);
+        }
+
+        out.writeInt(size);
+        writeStrings(out, names.keySet());
+        for (int nameIndex : nameIndexes) {
+            out.writeInt(nameIndex);
+        }
+        out.write(shapes);
+        for (BlockingEvent event : events) {
+            out.writeLong(event.getTimestamp());
+        }
+        for (BlockingEvent event : events) {
+            out.writeInt(event.getDuration());
+        }
+        for (long[] memoryColumn : memoryColumns) {
+            for (long bytes : memoryColumn) {
+                out.writeLong(bytes);
+            }
+        }
+        for (int[] timesColumn : timesColumns) {
+            for (int time : timesColumn) {
+                out.writeInt(time);
+            }
+        }
+        writeStrings(out, triggers.keySet());
+        for (int triggerIndex : triggerIndexes) {
+            out.writeInt(triggerIndex);
+        }
+        for (BlockingEvent event : events) {
+            writeString(out, event.getLogEntry());
+        }
+    }
+
+    /**
+     * The data store.
+     */
+    private final JvmDao jvmDao = new JvmDao();
+
+    /**
+     * The last log line, unprocessed.
+     */
+    private String lastLogLineUnprocessed;
+
+    private EventCache() {
+    }
+
+    JvmDao getJvmDao() {
+        return jvmDao;
+    }
+
+    String getLastLogLineUnprocessed() {
+        return lastLogLineUnprocessed;
+    }
+}
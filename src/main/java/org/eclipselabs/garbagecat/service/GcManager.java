@@ -16,21 +16,29 @@ import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.BYTES;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
 
 import org.eclipselabs.garbagecat.Main;
+import org.eclipselabs.garbagecat.dao.BlockingEventStore;
 import org.eclipselabs.garbagecat.dao.JvmDao;
 import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
@@ -40,7 +48,6 @@ import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
 import org.eclipselabs.garbagecat.domain.SerialCollection;
-import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
@@ -57,7 +64,6 @@ import org.eclipselabs.garbagecat.domain.jdk.FlsStatisticsEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.domain.jdk.G1FullGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcLockerEvent;
 import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
@@ -81,15 +87,25 @@ import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.BufferedLogLineReader;
+import org.eclipselabs.garbagecat.util.FollowLogLineReader;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.GzipLogLineReader;
+import org.eclipselabs.garbagecat.util.LogLineReader;
+import org.eclipselabs.garbagecat.util.MappedLogLineReader;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.CollectorFamilyClassifier;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.PreprocessActionType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
 
 /**
@@ -103,6 +119,22 @@ import org.eclipselabs.garbagecat.util.jdk.Jvm;
  */
 public class GcManager {
 
+    /**
+     * The number of log lines parsed together before being stored.
+     */
+    static final int BATCH_SIZE = 8192;
+
+    /**
+     * Pool used to parse log lines in parallel, or null to parse log lines on the calling thread.
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * Event type identification narrowed to the collector family and logging format of the JVM run, observing the
+     * stored events in log order. Log lines are parsed with a snapshot taken for each batch.
+     */
+    private CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+
     /**
      * The JVM data access object.
      */
@@ -118,6 +150,16 @@ public class GcManager {
      */
     private String lastLogLineUnprocessed;
 
+    /**
+     * The last <code>BlockingEvent</code> stored, used to verify logging is in timestamp order.
+     */
+    private BlockingEvent priorEvent;
+
+    /**
+     * Statistics for each stage of the last ingest pipeline run.
+     */
+    private List<StageStatistics> stageStatistics = new ArrayList<StageStatistics>();
+
     /**
      * Default constructor.
      */
@@ -125,6 +167,23 @@ public class GcManager {
         this.jvmDao = new JvmDao();
     }
 
+    /**
+     * @param scratchDirectory
+     *            The directory for the memory-mapped scratch files the events are stored in, so the heap needed does
+     *            not grow with the number of events, or null to store the events on the heap (the default). Events
+     *            loaded from a checkpoint or event cache are stored on the heap.
+     * @throws IllegalStateException
+     *             if logging has already been stored.
+     */
+    public void setScratchDirectory(File scratchDirectory) {
+        if (jvmDao.getBlockingEventCount() > 0 || jvmDao.getStoppedTimeEventCount() > 0
+                || jvmDao.getUnifiedSafepointEventCount() > 0 || !jvmDao.getUnidentifiedLogLines().isEmpty()) {
+            throw new IllegalStateException("Logging already stored.");
+        }
+        jvmDao.cleanup();
+        this.jvmDao = new JvmDao(scratchDirectory);
+    }
+
     public boolean isPreprocessed() {
         return preprocessed;
     }
@@ -133,6 +192,30 @@ public class GcManager {
         return lastLogLineUnprocessed;
     }
 
+    /**
+     * @return Statistics for each stage of the last ingest pipeline run, or an empty <code>List</code> if the logging
+     *         was not ingested through the pipeline.
+     */
+    public List<StageStatistics> getStageStatistics() {
+        return stageStatistics;
+    }
+
+    /**
+     * @param parallelism
+     *            The number of threads used to parse log lines. Log lines are parsed in parallel and stored in log
+     *            order, so the results are the same as parsing on a single thread. A parallelism greater than 1 also
+     *            runs reading, preprocessing, parsing, and storing as concurrent stages (see {@link IngestPipeline}).
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism < 1: " + parallelism);
+        }
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+        forkJoinPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
     private static final Date jvmStartDate = GcUtil.parseStartDateTime("2000-01-01 00:00:00.000");
 
     /**
@@ -150,94 +233,211 @@ public class GcManager {
 
         File preprocessFile = new File(logFile.getPath() + ".pp");
 
-        BufferedReader bufferedReader = null;
+        LogLineReader logLineReader = null;
         BufferedWriter bufferedWriter = null;
+        List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
 
         try {
-            String currentLogLine = "";
-            String priorLogLine = "";
-            String preprocessedLogLine = "";
-
-            bufferedReader = new BufferedReader(new FileReader(logFile));
+            logLineReader = openLogLineReader(logFile);
             bufferedWriter = new BufferedWriter(new FileWriter(preprocessFile));
+            lastLogLineUnprocessed = preprocess(logLineReader, bufferedWriter, jvmStartDate, preprocessAnalysis);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
 
-            // Used for detangling intermingled logging events that span multiple lines
-            List<String> entangledLogLines = new ArrayList<String>();
-            // Used to provide context for preprocessing decisions
-            Set<String> context = new HashSet<String>();
-
-            String priorLogEntry = Constants.LINE_SEPARATOR;
-
-            String nextLogLine = bufferedReader.readLine();
-            while (nextLogLine != null) {
-                preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                        entangledLogLines, context);
-                if (preprocessedLogLine != null) {
-                    if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                            && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                        bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                    } else {
-                        bufferedWriter.write(preprocessedLogLine);
-                    }
-                    priorLogEntry = preprocessedLogLine;
-                }
-
-                priorLogLine = currentLogLine;
-                currentLogLine = nextLogLine;
-                nextLogLine = bufferedReader.readLine();
-
-                if (nextLogLine == null) {
-                    lastLogLineUnprocessed = currentLogLine;
+            // Close streams
+            if (logLineReader != null) {
+                try {
+                    logLineReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
                 }
             }
 
-            // Process last line
-            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                    entangledLogLines, context);
-            if (preprocessedLogLine != null) {
-                if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                        && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                } else {
-                    bufferedWriter.write(preprocessedLogLine);
+            if (bufferedWriter != null) {
+                try {
+                    bufferedWriter.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
                 }
             }
+            addPreprocessAnalysis(preprocessAnalysis);
+            preprocessed = true;
+        }
 
-            // output entangled log lines
-            if (!entangledLogLines.isEmpty()) {
-                for (String logLine : entangledLogLines) {
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + logLine);
-                }
-                // Reset entangled log lines
-                entangledLogLines.clear();
-            }
+        return preprocessFile;
+    }
 
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
+    /**
+     * Preprocess and store the log file in a single pass. The preprocessed logging is handed directly to the parsing
+     * and analysis done by {@link #store(File, boolean)} instead of being written to an intermediate ".pp" file and
+     * read back in.
+     * 
+     * @param logFile
+     *            Raw garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void preprocessAndStore(File logFile, Date jvmStartDate, boolean reorder) {
+        if (logFile == null)
+            throw new IllegalArgumentException("logFile == null!!");
+
+        LogLineReader logLineReader = null;
+        List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
+
+        try {
+            logLineReader = openLogLineReader(logFile);
+            priorEvent = null;
+            if (forkJoinPool != null) {
+                IngestPipeline pipeline = new IngestPipeline(this);
+                stageStatistics = pipeline.getStageStatistics();
+                pipeline.run(logLineReader, true, jvmStartDate, reorder, preprocessAnalysis);
+                lastLogLineUnprocessed = pipeline.getLastLogLineUnprocessed();
+            } else {
+                LogLineWriter logLineWriter = new LogLineWriter(BATCH_SIZE,
+                        (logLines, lastBatch) -> store(logLines, reorder, lastBatch));
+                lastLogLineUnprocessed = preprocess(logLineReader, logLineWriter, jvmStartDate, preprocessAnalysis);
+                // Closing stores the last log line
+                logLineWriter.close();
+            }
         } catch (IOException e) {
             e.printStackTrace();
         } finally {
 
             // Close streams
-            if (bufferedReader != null) {
+            if (logLineReader != null) {
                 try {
-                    bufferedReader.close();
+                    logLineReader.close();
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
             }
+            addPreprocessAnalysis(preprocessAnalysis);
+            preprocessed = true;
+        }
+    }
 
-            if (bufferedWriter != null) {
-                try {
-                    bufferedWriter.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
+    /**
+     * Add the analysis found during preprocessing to the data store ahead of the analysis found during storing, the
+     * same order as when the logging is preprocessed before it is stored.
+     * 
+     * @param preprocessAnalysis
+     *            The analysis found during preprocessing.
+     */
+    private void addPreprocessAnalysis(List<Analysis> preprocessAnalysis) {
+        List<Analysis> analysis = jvmDao.getAnalysis();
+        for (int i = preprocessAnalysis.size() - 1; i >= 0; i--) {
+            Analysis item = preprocessAnalysis.get(i);
+            if (!analysis.contains(item)) {
+                analysis.add(0, item);
+            }
+        }
+    }
+
+    /**
+     * Preprocess logging read from the given reader and write the preprocessed logging to the given writer.
+     * 
+     * @param logLineReader
+     *            Raw garbage collection logging.
+     * @param writer
+     *            The destination of the preprocessed logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param analysis
+     *            The analysis found during preprocessing. Kept separate from the analysis in the data store, since
+     *            preprocessing can run concurrently with storing.
+     * @return The last log line, unprocessed, or null if there is no logging.
+     * @throws IOException
+     *             if there is an error reading or writing the logging.
+     */
+    String preprocess(LogLineReader logLineReader, Writer writer, Date jvmStartDate, List<Analysis> analysis)
+            throws IOException {
+        PreprocessState state = new PreprocessState();
+        preprocess(logLineReader, writer, jvmStartDate, analysis, state);
+        return finishPreprocess(writer, jvmStartDate, analysis, state);
+    }
+
+    /**
+     * Preprocess the logging read from the given reader, up to the last log line. The last log line is kept in the
+     * state until the next log line is read or preprocessing is finished, so preprocessing can be resumed when there is
+     * more logging.
+     * 
+     * @param logLineReader
+     *            Raw garbage collection logging.
+     * @param writer
+     *            The destination of the preprocessed logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param analysis
+     *            The analysis found during preprocessing.
+     * @param state
+     *            The preprocessing state.
+     * @throws IOException
+     *             if there is an error reading or writing the logging.
+     */
+    void preprocess(LogLineReader logLineReader, Writer writer, Date jvmStartDate, List<Analysis> analysis,
+            PreprocessState state) throws IOException {
+        String nextLogLine = logLineReader.readLine();
+        while (nextLogLine != null) {
+            String preprocessedLogLine = getPreprocessedLogEntry(state.currentLogLine, state.priorLogLine, nextLogLine,
+                    jvmStartDate, state.entangledLogLines, state.context, analysis, state.classifier);
+            if (preprocessedLogLine != null) {
+                if (state.context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
+                        && !state.priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                    writer.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
+                } else {
+                    writer.write(preprocessedLogLine);
                 }
+                state.priorLogEntry = preprocessedLogLine;
             }
-            preprocessed = true;
+
+            state.priorLogLine = state.currentLogLine;
+            state.currentLogLine = nextLogLine;
+            state.logging = true;
+            nextLogLine = logLineReader.readLine();
         }
+    }
 
-        return preprocessFile;
+    /**
+     * Finish preprocessing at the end of the logging: preprocess the last log line and write any entangled log lines.
+     * 
+     * @param writer
+     *            The destination of the preprocessed logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param analysis
+     *            The analysis found during preprocessing.
+     * @param state
+     *            The preprocessing state.
+     * @return The last log line, unprocessed, or null if there is no logging.
+     * @throws IOException
+     *             if there is an error writing the logging.
+     */
+    private String finishPreprocess(Writer writer, Date jvmStartDate, List<Analysis> analysis, PreprocessState state)
+            throws IOException {
+        // Process last line
+        String preprocessedLogLine = getPreprocessedLogEntry(state.currentLogLine, state.priorLogLine, null,
+                jvmStartDate, state.entangledLogLines, state.context, analysis, state.classifier);
+        if (preprocessedLogLine != null) {
+            if (state.context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
+                    && !state.priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                writer.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
+            } else {
+                writer.write(preprocessedLogLine);
+            }
+        }
+
+        // output entangled log lines
+        if (!state.entangledLogLines.isEmpty()) {
+            for (String logLine : state.entangledLogLines) {
+                writer.write(Constants.LINE_SEPARATOR + logLine);
+            }
+            // Reset entangled log lines
+            state.entangledLogLines.clear();
+        }
+        return state.logging ? state.currentLogLine : null;
     }
 
     /**
@@ -263,10 +463,77 @@ public class GcManager {
      *            Log lines mixed in with other logging events.
      * @param context
      *            Information to make preprocessing decisions.
+     * @param analysis
+     *            The analysis found during preprocessing.
+     * @param classifier
+     *            The event type identification of the logging being preprocessed.
      * @return The preprocessed log line, or null if it was thrown away.
      */
     private String getPreprocessedLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
-            Date jvmStartDate, List<String> entangledLogLines, Set<String> context) {
+            Date jvmStartDate, PreprocessState.EntangledLogLines entangledLogLines, PreprocessState.Context context,
+            List<Analysis> analysis, CollectorFamilyClassifier classifier) {
+        // A log line that is too long or exceeds the regular expression budget is left as is and is unidentified
+        if (RegExGuard.isTooLong(currentLogLine)) {
+            return getUnpreprocessedLogEntry(currentLogLine, entangledLogLines, context);
+        }
+        return preprocessWithinBudget(
+                () -> preprocessLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate, entangledLogLines,
+                        context, analysis, classifier),
+                () -> getUnpreprocessedLogEntry(currentLogLine, entangledLogLines, context), entangledLogLines,
+                context);
+    }
+
+    /**
+     * Preprocess a log line within the regular expression budget (see <code>RegExGuard</code>). Preprocessing actions
+     * update the entangled log lines and context as they match, so if the budget is exceeded partway through, the
+     * changes are undone. The changes are recorded as they are made, so nothing is copied for a log line that stays
+     * within the budget.
+     * 
+     * @param preprocessing
+     *            Preprocess the log line.
+     * @param exceeded
+     *            The preprocessed log line if the budget is exceeded.
+     * @param entangledLogLines
+     *            Log lines mixed in with other logging events.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @return The preprocessed log line, or null if it was thrown away.
+     */
+    static String preprocessWithinBudget(Supplier<String> preprocessing, Supplier<String> exceeded,
+            PreprocessState.EntangledLogLines entangledLogLines, PreprocessState.Context context) {
+        entangledLogLines.mark();
+        context.mark();
+        return RegExGuard.evaluate(preprocessing, () -> {
+            entangledLogLines.undo();
+            context.undo();
+            return exceeded.get();
+        });
+    }
+
+    /**
+     * Preprocess the current log line within the regular expression budget (see <code>RegExGuard</code>).
+     * 
+     * @param currentLogLine
+     *            The current log line.
+     * @param priorLogLine
+     *            The previous log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param entangledLogLines
+     *            Log lines mixed in with other logging events.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @param analysis
+     *            The analysis found during preprocessing.
+     * @param classifier
+     *            The event type identification of the logging being preprocessed.
+     * @return The preprocessed log line, or null if it was thrown away.
+     */
+    private String preprocessLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
+            Date jvmStartDate, List<String> entangledLogLines, Set<String> context, List<Analysis> analysis,
+            CollectorFamilyClassifier classifier) {
 
         String preprocessedLogLine = null;
 
@@ -287,56 +554,94 @@ public class GcManager {
          * , 0.0209631 secs]
          */
 
-        if (isThrowawayEvent(currentLogLine)) {
+        if (isThrowawayEvent(currentLogLine, classifier)) {
             // Analysis
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
+            if (!analysis.contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
                 if (ClassUnloadingEvent.match(currentLogLine)
-                        && !jvmDao.getAnalysis().contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_TRACE_CLASS_UNLOADING);
+                        && !analysis.contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
+                    analysis.add(Analysis.WARN_TRACE_CLASS_UNLOADING);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_HEAP_AT_GC)) {
+            if (!analysis.contains(Analysis.WARN_PRINT_HEAP_AT_GC)) {
                 // Only match initial line, as FooterHeapEvent and HeatAtGcEvent share patterns
                 if (currentLogLine.matches("^.+Heap (after|before) (gc|GC) invocations.+$")) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_HEAP_AT_GC);
+                    analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_CLASS_HISTOGRAM)) {
+            if (!analysis.contains(Analysis.WARN_CLASS_HISTOGRAM)) {
                 if (ClassHistogramEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_CLASS_HISTOGRAM);
+                    analysis.add(Analysis.WARN_CLASS_HISTOGRAM);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.INFO_PRINT_FLS_STATISTICS)) {
+            if (!analysis.contains(Analysis.INFO_PRINT_FLS_STATISTICS)) {
                 if (FlsStatisticsEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.INFO_PRINT_FLS_STATISTICS);
+                    analysis.add(Analysis.INFO_PRINT_FLS_STATISTICS);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_TENURING_DISTRIBUTION)) {
+            if (!analysis.contains(Analysis.WARN_PRINT_TENURING_DISTRIBUTION)) {
                 if (TenuringDistributionEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_TENURING_DISTRIBUTION);
+                    analysis.add(Analysis.WARN_PRINT_TENURING_DISTRIBUTION);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME)) {
+            if (!analysis.contains(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME)) {
                 if (ApplicationConcurrentTimeEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
+                    analysis.add(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_APPLICATION_LOGGING)) {
+            if (!analysis.contains(Analysis.WARN_APPLICATION_LOGGING)) {
                 if (ApplicationLoggingEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_APPLICATION_LOGGING);
+                    analysis.add(Analysis.WARN_APPLICATION_LOGGING);
                 }
             }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED)) {
+            if (!analysis.contains(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED)) {
                 if (ReferenceGcEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED);
+                    analysis.add(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED);
                 }
             }
             currentLogLine = null;
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
+        } else {
+            EnumSet<PreprocessActionType> actions = classifier.getPreprocessActions();
+            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, entangledLogLines,
+                    context, analysis, actions, EnumSet.complementOf(actions));
+        }
+
+        return preprocessedLogLine;
+    }
+
+    /**
+     * Determine the preprocessed log entry of a log line that is not thrown away, trying the given preprocessing
+     * actions.
+     * 
+     * @param currentLogLine
+     *            The current log line.
+     * @param priorLogLine
+     *            The previous log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param entangledLogLines
+     *            Log lines mixed in with other logging events.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @param analysis
+     *            The analysis found during preprocessing.
+     * @param actions
+     *            The preprocessing actions to try.
+     * @param fallbackActions
+     *            The preprocessing actions to try if none of <code>actions</code> match.
+     * @return The preprocessed log line.
+     */
+    private String getPreprocessedLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
+            List<String> entangledLogLines, Set<String> context, List<Analysis> analysis,
+            EnumSet<PreprocessActionType> actions, EnumSet<PreprocessActionType> fallbackActions) {
+
+        String preprocessedLogLine = null;
+
+        if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
                 && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
                 && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
                 && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
                 && !context.contains(UnifiedPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.SHENANDOAH)
                 && ShenandoahPreprocessAction.match(currentLogLine)) {
             ShenandoahPreprocessAction action = new ShenandoahPreprocessAction(priorLogLine, currentLogLine,
                     nextLogLine, entangledLogLines, context);
@@ -348,6 +653,7 @@ public class GcManager {
                 && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
                 && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
                 && !context.contains(ShenandoahPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.UNIFIED)
                 && UnifiedPreprocessAction.match(currentLogLine)) {
             UnifiedPreprocessAction action = new UnifiedPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
@@ -358,6 +664,7 @@ public class GcManager {
                 && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
                 && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
                 && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(UnifiedPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.PARALLEL)
                 && ParallelPreprocessAction.match(currentLogLine)) {
             ParallelPreprocessAction action = new ParallelPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
@@ -369,11 +676,12 @@ public class GcManager {
                 && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
                 && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
                 && !context.contains(UnifiedPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.CMS)
                 && CmsPreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_HEAP_AT_GC)) {
+            if (!analysis.contains(Analysis.WARN_PRINT_HEAP_AT_GC)) {
                 // Only match initial line, as FooterHeapEvent and HeatAtGcEvent share patterns
                 if (currentLogLine.matches("^.+Heap (after|before) (gc|GC) invocations.+$")) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_HEAP_AT_GC);
+                    analysis.add(Analysis.WARN_PRINT_HEAP_AT_GC);
                 }
             }
             CmsPreprocessAction action = new CmsPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
@@ -386,6 +694,7 @@ public class GcManager {
                 && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
                 && !context.contains(ShenandoahPreprocessAction.TOKEN)
                 && !context.contains(UnifiedPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.APPLICATION_CONCURRENT_TIME)
                 && ApplicationConcurrentTimePreprocessAction.match(currentLogLine, priorLogLine)) {
             ApplicationConcurrentTimePreprocessAction action = new ApplicationConcurrentTimePreprocessAction(
                     currentLogLine, context);
@@ -396,6 +705,7 @@ public class GcManager {
                 && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
                 && !context.contains(CmsPreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
                 && !context.contains(UnifiedPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.APPLICATION_STOPPED_TIME)
                 && ApplicationStoppedTimePreprocessAction.match(currentLogLine, priorLogLine)) {
             ApplicationStoppedTimePreprocessAction action = new ApplicationStoppedTimePreprocessAction(currentLogLine,
                     context);
@@ -407,6 +717,7 @@ public class GcManager {
                 && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
                 && !context.contains(CmsPreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
                 && !context.contains(UnifiedPreprocessAction.TOKEN)
+                && actions.contains(PreprocessActionType.G1)
                 && G1PreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
             G1PreprocessAction action = new G1PreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
@@ -417,33 +728,57 @@ public class GcManager {
                 && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
                 && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
                 && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN) && SerialPreprocessAction.match(currentLogLine)) {
+                && !context.contains(UnifiedPreprocessAction.TOKEN) && actions.contains(PreprocessActionType.SERIAL)
+                && SerialPreprocessAction.match(currentLogLine)) {
             SerialPreprocessAction action = new SerialPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
+        } else if (!fallbackActions.isEmpty()) {
+            // Not recognized by the preprocessing actions of the collector family and logging format
+            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, entangledLogLines,
+                    context, analysis, fallbackActions, EnumSet.noneOf(PreprocessActionType.class));
         } else {
-            // Output any entangled log lines
-            if (entangledLogLines != null && !entangledLogLines.isEmpty()) {
-                for (String logLine : entangledLogLines) {
-                    if (preprocessedLogLine == null) {
-                        preprocessedLogLine = logLine;
-                    } else {
-                        preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + logLine;
-                    }
+            preprocessedLogLine = getUnpreprocessedLogEntry(currentLogLine, entangledLogLines, context);
+        }
+
+        return preprocessedLogLine;
+    }
+
+    /**
+     * Determine the log entry of a log line no preprocessing action recognizes: the log line as is, at the beginning
+     * of an event, after any entangled log lines.
+     * 
+     * @param currentLogLine
+     *            The current log line.
+     * @param entangledLogLines
+     *            Log lines mixed in with other logging events.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @return The log entry.
+     */
+    private String getUnpreprocessedLogEntry(String currentLogLine, List<String> entangledLogLines,
+            Set<String> context) {
+        String preprocessedLogLine = null;
+        // Output any entangled log lines
+        if (entangledLogLines != null && !entangledLogLines.isEmpty()) {
+            for (String logLine : entangledLogLines) {
+                if (preprocessedLogLine == null) {
+                    preprocessedLogLine = logLine;
+                } else {
+                    preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + logLine;
                 }
-                // Reset entangled log lines
-                entangledLogLines.clear();
-            }
-            if (preprocessedLogLine == null) {
-                preprocessedLogLine = currentLogLine;
-            } else {
-                preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + currentLogLine;
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+            // Reset entangled log lines
+            entangledLogLines.clear();
         }
-
+        if (preprocessedLogLine == null) {
+            preprocessedLogLine = currentLogLine;
+        } else {
+            preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + currentLogLine;
+        }
+        context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
         return preprocessedLogLine;
     }
 
@@ -462,397 +797,984 @@ public class GcManager {
         }
 
         // Parse gc log file
-        BufferedReader bufferedReader = null;
+        LogLineReader logLineReader = null;
         try {
-            bufferedReader = new BufferedReader(new FileReader(logFile));
-            String logLine = bufferedReader.readLine();
-            BlockingEvent priorEvent = null;
-            while (logLine != null) {
-                // If event has no timestamp, use most recent blocking timestamp.
-                LogEvent event = JdkUtil.parseLogLine(logLine);
-                if (event instanceof BlockingEvent) {
-
-                    // Verify logging in correct order. If overridden, logging will be stored and reordered by timestamp
-                    // for analysis.
-                    if (!reorder && priorEvent != null && event.getTimestamp() < priorEvent.getTimestamp()) {
-                        throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
-                                + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
-                    }
-
-                    jvmDao.addBlockingEvent((BlockingEvent) event);
-
-                    // Analysis
-
-                    // 1) Explicit GC
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)) {
-                            CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-
-                            switch (collectorFamily) {
-                            case G1:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
-                                        && event instanceof G1FullGcEvent) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
-                                } else if (!jvmDao.getAnalysis()
-                                        .contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
-                                        && event instanceof G1YoungInitialMarkEvent) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
-                                }
-                                break;
-                            case CMS:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
-                                }
-                                break;
-                            case PARALLEL:
-                                if (event instanceof ParallelSerialOldEvent) {
-                                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
-                                    }
-                                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                                    }
-                                } else if (event instanceof ParallelCompactingOldEvent) {
-                                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
-                                    }
-                                }
-                                break;
-                            case SERIAL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
-                                }
-                                break;
-                            case SHENANDOAH:
-                                break;
-                            case UNKNOWN:
-                                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
-                                }
-                                break;
-                            default:
-                                break;
-                            }
-                        }
-                    }
-
-                    // 2) Serial collections not caused by explicit GC
-                    if (event instanceof SerialCollection) {
-                        String trigger = null;
-                        if (event instanceof TriggerData) {
-                            trigger = ((TriggerData) event).getTrigger();
-                        }
-                        CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-
-                        if (trigger == null || (!trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
-                            switch (collectorFamily) {
-                            case G1:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
-                                }
-                                break;
-                            case CMS:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
-                                }
-                                break;
-                            case PARALLEL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                                }
-                                break;
-                            case SERIAL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC);
-                                }
-                                break;
-                            case UNKNOWN:
-                                break;
-                            default:
-                                break;
-                            }
-                        }
+            logLineReader = openLogLineReader(logFile);
+            priorEvent = null;
+            if (forkJoinPool != null) {
+                IngestPipeline pipeline = new IngestPipeline(this);
+                stageStatistics = pipeline.getStageStatistics();
+                pipeline.run(logLineReader, false, null, reorder, null);
+            } else {
+                List<String> logLines = new ArrayList<String>(BATCH_SIZE);
+                String logLine = logLineReader.readLine();
+                while (logLine != null) {
+                    logLines.add(logLine);
+                    logLine = logLineReader.readLine();
+                    if (logLines.size() == BATCH_SIZE || logLine == null) {
+                        store(logLines, reorder, logLine == null);
+                        logLines.clear();
                     }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            // Close streams
+            if (logLineReader != null) {
+                try {
+                    logLineReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
 
-                    // 3) CMS concurrent mode failure
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
-                        if (event instanceof CmsSerialOldEvent) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
-                            }
-                        }
-                    }
+    }
 
-                    // 4) CMS concurrent mode interrupted
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
-                        if (event instanceof CmsSerialOldEvent) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
-                            }
-                        }
-                    }
+    /**
+     * Parse the garbage collection logging for the JVM run and store the data in the data store, resuming from a
+     * checkpoint of an earlier run on the same log file (e.g. a log file that has had more logging appended since), so
+     * only the logging after the checkpoint is read. A new checkpoint is written at the end of the logging. The log
+     * file is processed from the start if there is no checkpoint for the log file and processing options, or it is not
+     * an uncompressed regular file.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param checkpointFile
+     *            The checkpoint file.
+     */
+    public void store(File logFile, Date jvmStartDate, boolean preprocess, boolean reorder, File checkpointFile) {
+        if (logFile == null)
+            throw new IllegalArgumentException("logFile == null!!");
 
-                    // 5) CMS incremental mode
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INCREMENTAL_MODE)) {
-                        if (event instanceof CmsIncrementalModeCollector) {
-                            if (((CmsIncrementalModeCollector) event).isIncrementalMode()) {
-                                jvmDao.addAnalysis(Analysis.WARN_CMS_INCREMENTAL_MODE);
-                            }
-                        }
-                    }
+        MappedLogLineReader logLineReader = null;
+        List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
+        try {
+            if (!logFile.isFile() || GzipLogLineReader.isGzip(logFile)) {
+                store(Collections.singletonList(logFile), jvmStartDate, preprocess, reorder);
+                return;
+            }
+            Checkpoint checkpoint = null;
+            try {
+                checkpoint = Checkpoint.read(checkpointFile, logFile, jvmStartDate, preprocess, reorder);
+            } catch (IOException e) {
+                // Process the log file from the start
+                e.printStackTrace();
+            }
+            PreprocessState state = new PreprocessState();
+            LogLineWriter logLineWriter = new LogLineWriter(BATCH_SIZE,
+                    (logLines, lastBatch) -> store(logLines, reorder, lastBatch));
+            long offset = 0;
+            priorEvent = null;
+            if (checkpoint != null) {
+                jvmDao.cleanup();
+                jvmDao = checkpoint.getJvmDao();
+                state = checkpoint.getPreprocessState();
+                preprocessAnalysis.addAll(checkpoint.getPreprocessAnalysis());
+                priorEvent = checkpoint.getPriorEvent();
+                for (String logLine : checkpoint.getLogLines()) {
+                    logLineWriter.write(logLine + Constants.LINE_SEPARATOR);
+                }
+                logLineWriter.write(checkpoint.getUnterminatedLogging());
+                offset = checkpoint.getOffset();
+            }
 
-                    // 6) Heap dump initiated gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
-                            }
-                        }
-                    }
+            logLineReader = new MappedLogLineReader(logFile, MappedLogLineReader.DEFAULT_WINDOW_SIZE, offset);
+            if (preprocess) {
+                preprocess(logLineReader, logLineWriter, jvmStartDate, preprocessAnalysis, state);
+            } else {
+                String logLine = logLineReader.readLine();
+                while (logLine != null) {
+                    logLineWriter.write(logLine + Constants.LINE_SEPARATOR);
+                    logLine = logLineReader.readLine();
+                }
+            }
 
-                    // 7) Heap inspection initiated gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
-                            }
-                        }
-                    }
+            // Checkpoint before the last log line is processed, when the last log line is complete
+            if (endsWithLineFeed(logFile, logLineReader.getOffset())) {
+                Checkpoint.write(checkpointFile, logFile, logLineReader.getOffset(), jvmStartDate, preprocess, reorder,
+                        state, preprocessAnalysis, logLineWriter, priorEvent, jvmDao);
+            }
 
-                    // 8) Metaspace allocation failure
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
-                            }
-                        }
-                    }
+            if (preprocess) {
+                lastLogLineUnprocessed = finishPreprocess(logLineWriter, jvmStartDate, preprocessAnalysis, state);
+            }
+            // Closing stores the last log line
+            logLineWriter.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (logLineReader != null) {
+                try {
+                    logLineReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (preprocess) {
+                addPreprocessAnalysis(preprocessAnalysis);
+                preprocessed = true;
+            }
+        }
+    }
 
-                    // 9) JVM TI explicit gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null
-                                    && trigger.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
-                            }
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @param offset
+     *            A file position (bytes).
+     * @return true if the offset is the start of the log file or follows a line feed, false otherwise.
+     * @throws IOException
+     *             if the log file cannot be read.
+     */
+    private static boolean endsWithLineFeed(File logFile, long offset) throws IOException {
+        if (offset == 0) {
+            return true;
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(logFile, "r")) {
+            randomAccessFile.seek(offset - 1);
+            return randomAccessFile.read() == '\n';
+        }
+    }
+
+    /**
+     * Parse the garbage collection logging in a set of log files from a single JVM run (e.g. files written with
+     * <code>-XX:+UseGCLogFileRotation</code>) and store the data in the data store as one JVM run. Log files are
+     * stored in the order of the first timestamp in each file, so they can be given in any order, and log files
+     * without a timestamp are stored last. The first timestamps are found concurrently if a parallelism greater than 1
+     * is set. Then, if a parallelism greater than 1 is set, up to that many log files are read, preprocessed, and
+     * parsed concurrently in bounded batches (see {@link IngestPipeline}), otherwise one log file at a time. Batches
+     * are always stored in log file order, and each log file is preprocessed on its own, so the result does not depend
+     * on the parallelism.
+     * 
+     * <p>
+     * Because each log file is preprocessed on its own, an event split across a rotation boundary (e.g. multi-line
+     * detail logging started at the end of one log file and finished at the start of the next) is not put back
+     * together and is not stored.
+     * </p>
+     * 
+     * @param logFiles
+     *            The garbage collection log files.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void store(List<File> logFiles, Date jvmStartDate, boolean preprocess, boolean reorder) {
+        if (logFiles == null || logFiles.isEmpty()) {
+            return;
+        }
+        if (logFiles.size() == 1) {
+            if (preprocess) {
+                preprocessAndStore(logFiles.get(0), jvmStartDate, reorder);
+            } else {
+                store(logFiles.get(0), reorder);
+            }
+            return;
+        }
+
+        long[] firstTimestamps = new long[logFiles.size()];
+        try {
+            if (forkJoinPool != null) {
+                List<ForkJoinTask<Long>> tasks = new ArrayList<ForkJoinTask<Long>>();
+                for (File logFile : logFiles) {
+                    tasks.add(forkJoinPool.submit(() -> getFirstTimestamp(logFile)));
+                }
+                for (int i = 0; i < tasks.size(); i++) {
+                    firstTimestamps[i] = tasks.get(i).get();
+                }
+            } else {
+                for (int i = 0; i < logFiles.size(); i++) {
+                    firstTimestamps[i] = getFirstTimestamp(logFiles.get(i));
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            e.getCause().printStackTrace();
+            return;
+        }
+
+        // Stable sort, so log files without timestamps are stored last, in the order given
+        List<Integer> order = new ArrayList<Integer>(logFiles.size());
+        for (int i = 0; i < logFiles.size(); i++) {
+            order.add(i);
+        }
+        Collections.sort(order, Comparator.comparingLong(i -> firstTimestamps[i]));
+
+        List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
+        priorEvent = null;
+        try {
+            if (forkJoinPool != null) {
+                List<File> sortedLogFiles = new ArrayList<File>(order.size());
+                for (int i : order) {
+                    sortedLogFiles.add(logFiles.get(i));
+                }
+                IngestPipeline pipeline = new IngestPipeline(this);
+                stageStatistics = pipeline.getStageStatistics();
+                pipeline.run(sortedLogFiles, forkJoinPool.getParallelism(), preprocess, jvmStartDate, reorder,
+                        preprocessAnalysis);
+                lastLogLineUnprocessed = pipeline.getLastLogLineUnprocessed();
+            } else {
+                for (int i = 0; i < order.size(); i++) {
+                    List<Analysis> logFileAnalysis = new ArrayList<Analysis>();
+                    storeLogFile(logFiles.get(order.get(i)), jvmStartDate, preprocess, reorder,
+                            i == order.size() - 1, logFileAnalysis);
+                    for (Analysis analysis : logFileAnalysis) {
+                        if (!preprocessAnalysis.contains(analysis)) {
+                            preprocessAnalysis.add(analysis);
                         }
                     }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (preprocess) {
+            addPreprocessAnalysis(preprocessAnalysis);
+            preprocessed = true;
+        }
+    }
 
-                    // 10) G1 evacuation failure
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && (trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
-                                || trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
-                            }
-                        }
+    /**
+     * Follow the garbage collection logging in a log file as it is written, storing the data in the data store as it
+     * arrives. The preprocessing state and data store are kept across waits for more logging, so logging is only read
+     * once. Following stops when the calling thread is interrupted.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param reportInterval
+     *            The minimum time (milliseconds) between reports.
+     * @param report
+     *            Called on the calling thread when all the logging written so far has been stored and the report
+     *            interval has elapsed since the last report (e.g. to create a report from
+     *            {@link #getJvmRun(Jvm, int)}).
+     */
+    public void follow(File logFile, Date jvmStartDate, boolean preprocess, boolean reorder, final long reportInterval,
+            final Runnable report) {
+        if (logFile == null)
+            throw new IllegalArgumentException("logFile == null!!");
+
+        final List<Analysis> preprocessAnalysis = new ArrayList<Analysis>();
+        final LogLineWriter logLineWriter = new LogLineWriter(BATCH_SIZE,
+                (logLines, lastBatch) -> store(logLines, reorder, lastBatch));
+        Runnable idleHandler = new Runnable() {
+
+            private long lastReport = System.currentTimeMillis();
+
+            @Override
+            public void run() {
+                try {
+                    logLineWriter.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastReport >= reportInterval) {
+                    addPreprocessAnalysis(preprocessAnalysis);
+                    report.run();
+                    lastReport = now;
+                }
+            }
+        };
+
+        LogLineReader logLineReader = null;
+        try {
+            logLineReader = new FollowLogLineReader(logFile, FollowLogLineReader.DEFAULT_POLL_INTERVAL, idleHandler);
+            priorEvent = null;
+            preprocessed = preprocess;
+            if (preprocess) {
+                lastLogLineUnprocessed = preprocess(logLineReader, logLineWriter, jvmStartDate, preprocessAnalysis);
+            } else {
+                String logLine = logLineReader.readLine();
+                while (logLine != null) {
+                    logLineWriter.write(logLine + Constants.LINE_SEPARATOR);
+                    logLine = logLineReader.readLine();
+                }
+            }
+            logLineWriter.close();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        } finally {
+            if (logLineReader != null) {
+                try {
+                    logLineReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            addPreprocessAnalysis(preprocessAnalysis);
+        }
+    }
+
+    /**
+     * Load the data store from an event cache saved by {@link #saveEventCache(File, List, Date, boolean, boolean)}
+     * for the same log files and processing options, instead of parsing the logging.
+     * 
+     * @param cacheFile
+     *            The event cache file.
+     * @param logFiles
+     *            The garbage collection log files.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @return true if the data store was loaded from the event cache, false if there is no event cache for the log
+     *         files and processing options.
+     */
+    public boolean loadEventCache(File cacheFile, List<File> logFiles, Date jvmStartDate, boolean preprocess,
+            boolean reorder) {
+        EventCache eventCache = null;
+        try {
+            eventCache = EventCache.read(cacheFile, logFiles, jvmStartDate, preprocess, reorder);
+        } catch (IOException | IllegalArgumentException e) {
+            // Parse the logging
+            e.printStackTrace();
+        }
+        if (eventCache == null) {
+            return false;
+        }
+        jvmDao.cleanup();
+        jvmDao = eventCache.getJvmDao();
+        lastLogLineUnprocessed = eventCache.getLastLogLineUnprocessed();
+        preprocessed = preprocess;
+        return true;
+    }
+
+    /**
+     * Save the data store to an event cache, so the report can be created again with different report options without
+     * parsing the logging.
+     * 
+     * @param cacheFile
+     *            The event cache file.
+     * @param logFiles
+     *            The garbage collection log files stored.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not the logging was preprocessed.
+     * @param reorder
+     *            Whether or not logging was allowed to be reordered by timestamp.
+     */
+    public void saveEventCache(File cacheFile, List<File> logFiles, Date jvmStartDate, boolean preprocess,
+            boolean reorder) {
+        try {
+            EventCache.write(cacheFile, logFiles, jvmStartDate, preprocess, reorder, lastLogLineUnprocessed, jvmDao);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Find the first timestamp in one log file in a set of log files, used to order the log files. The log file is read
+     * only up to the first log line that starts with a timestamp, and the log lines are neither preprocessed nor
+     * parsed, so the timestamp is found even when no single log line is an event (e.g. multi-line detail logging).
+     * Nothing is stored, so log files can be checked concurrently.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @return The first timestamp, or <code>Long.MAX_VALUE</code> if there is none.
+     * @throws IOException
+     *             if there is an error reading the log file.
+     */
+    private long getFirstTimestamp(File logFile) throws IOException {
+        LogLineReader logLineReader = openLogLineReader(logFile);
+        try {
+            String logLine = logLineReader.readLine();
+            while (logLine != null) {
+                long timestamp = getLogLineTimestamp(logLine);
+                if (timestamp != Long.MAX_VALUE) {
+                    return timestamp;
+                }
+                logLine = logLineReader.readLine();
+            }
+        } finally {
+            logLineReader.close();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * The timestamp a log line starts with, after any leading spaces: the timestamp (e.g. "44620.073: "), optionally
+     * after a datestamp (e.g. "2016-02-18T02:01:28.575-0500: 44620.073: "), or the unified logging uptime (e.g.
+     * "[0.370s]", "[2019-05-09T01:39:00.821+0000][5413ms]"). A datestamp without a timestamp or uptime is converted to
+     * milliseconds since the epoch.
+     * 
+     * @param logLine
+     *            The log line.
+     * @return The timestamp in milliseconds, or <code>Long.MAX_VALUE</code> if the log line does not start with one.
+     */
+    static long getLogLineTimestamp(String logLine) {
+        int position = 0;
+        while (position < logLine.length() && logLine.charAt(position) == ' ') {
+            position++;
+        }
+        JdkScanner scanner = new JdkScanner(logLine.substring(position));
+        boolean unified = scanner.character('[');
+        boolean datestamp = scanner.datestamp();
+        if (unified) {
+            if (datestamp && !(scanner.character(']') && scanner.character('['))) {
+                return getDateStampTimestamp(logLine, position, datestamp);
+            }
+            long uptime = scanner.decimal(0, 12, 3, 3, 3);
+            if (uptime != JdkScanner.NO_MATCH && scanner.literal("s]")) {
+                return uptime;
+            }
+            uptime = scanner.integer(1, 15);
+            if (uptime != JdkScanner.NO_MATCH && scanner.literal("ms]")) {
+                return uptime;
+            }
+            return getDateStampTimestamp(logLine, position + 1, datestamp);
+        }
+        if (datestamp && !scanner.literal(": ")) {
+            return Long.MAX_VALUE;
+        }
+        long timestamp = scanner.timestamp();
+        if (timestamp != JdkScanner.NO_MATCH && scanner.literal(": ")) {
+            return timestamp;
+        }
+        return getDateStampTimestamp(logLine, position, datestamp);
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param position
+     *            The position of the datestamp in the log line.
+     * @param datestamp
+     *            Whether there is a datestamp at the position.
+     * @return The datestamp in milliseconds since the epoch, or <code>Long.MAX_VALUE</code> if there is no datestamp.
+     */
+    private static long getDateStampTimestamp(String logLine, int position, boolean datestamp) {
+        if (!datestamp) {
+            return Long.MAX_VALUE;
+        }
+        return GcUtil.parseDateStamp(logLine.substring(position, position + 28)).getTime();
+    }
+
+    /**
+     * Preprocess, parse, and store one log file in a set of log files, in batches.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param lastLogFile
+     *            Whether or not the log file is the end of the logging.
+     * @param preprocessAnalysis
+     *            Where the analysis found during preprocessing is added.
+     * @throws IOException
+     *             if there is an error reading the log file.
+     */
+    private void storeLogFile(File logFile, Date jvmStartDate, boolean preprocess, boolean reorder,
+            boolean lastLogFile, List<Analysis> preprocessAnalysis) throws IOException {
+        LogLineReader logLineReader = openLogLineReader(logFile);
+        try {
+            if (preprocess) {
+                LogLineWriter logLineWriter = new LogLineWriter(BATCH_SIZE,
+                        (logLines, lastBatch) -> store(logLines, reorder, lastLogFile && lastBatch));
+                lastLogLineUnprocessed = preprocess(logLineReader, logLineWriter, jvmStartDate, preprocessAnalysis);
+                // Closing stores the last log line
+                logLineWriter.close();
+            } else {
+                List<String> logLines = new ArrayList<String>(BATCH_SIZE);
+                String logLine = logLineReader.readLine();
+                while (logLine != null) {
+                    logLines.add(logLine);
+                    logLine = logLineReader.readLine();
+                    if (logLines.size() == BATCH_SIZE || logLine == null) {
+                        store(logLines, reorder, lastLogFile && logLine == null);
+                        logLines.clear();
                     }
+                }
+            }
+        } finally {
+            logLineReader.close();
+        }
+    }
+
+    /**
+     * Parse a batch of preprocessed garbage collection log lines and store the data in the data store. Parsing is done
+     * in parallel if a parallelism greater than 1 is set. Storing is always done in log order, since order matters for
+     * the timestamp checks and analysis.
+     * 
+     * @param logLines
+     *            The log lines.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param lastBatch
+     *            Whether or not the log lines are the end of the logging.
+     */
+    private void store(List<String> logLines, boolean reorder, boolean lastBatch) {
+        CollectorFamilyClassifier snapshot = getClassifierSnapshot();
+        store(logLines, parse(logLines, snapshot), snapshot, reorder, lastBatch);
+    }
+
+    /**
+     * @return A read-only snapshot of the event type narrowing to parse a batch of log lines with, so every log line in
+     *         the batch is parsed with the same narrowing while prior batches are stored.
+     */
+    CollectorFamilyClassifier getClassifierSnapshot() {
+        return classifier.snapshot();
+    }
+
+    /**
+     * Parse a batch of preprocessed garbage collection log lines. Parsing is done in parallel if a parallelism greater
+     * than 1 is set.
+     * 
+     * @param logLines
+     *            The log lines.
+     * @param snapshot
+     *            The snapshot of the event type narrowing to parse the log lines with.
+     * @return The <code>LogEvent</code>s parsed from the log lines, in log order.
+     */
+    LogEvent[] parse(List<String> logLines, CollectorFamilyClassifier snapshot) {
+        LogEvent[] events = new LogEvent[logLines.size()];
+        if (forkJoinPool != null) {
+            forkJoinPool.invoke(new ParseTask(snapshot, logLines, events, 0, events.length));
+        } else {
+            for (int i = 0; i < events.length; i++) {
+                events[i] = snapshot.parseLogLine(logLines.get(i));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Store a batch of parsed garbage collection log lines in the data store, in log order. The log lines are parsed
+     * again if the narrowing changed after the snapshot they were parsed with was taken, so every batch is parsed with
+     * the narrowing observed from the prior batches, the same as parsing each batch after storing the prior batch.
+     * 
+     * @param logLines
+     *            The log lines.
+     * @param events
+     *            The <code>LogEvent</code>s parsed from the log lines.
+     * @param snapshot
+     *            The snapshot of the event type narrowing the log lines were parsed with.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param lastBatch
+     *            Whether or not the log lines are the end of the logging.
+     */
+    void store(List<String> logLines, LogEvent[] events, CollectorFamilyClassifier snapshot, boolean reorder,
+            boolean lastBatch) {
+        if (!snapshot.isCurrent()) {
+            events = parse(logLines, getClassifierSnapshot());
+        }
+        for (int i = 0; i < events.length; i++) {
+            store(events[i], logLines.get(i), reorder, lastBatch && i == events.length - 1);
+        }
+    }
+
+    /**
+     * Store a single parsed line of preprocessed garbage collection logging in the data store.
+     * 
+     * @param event
+     *            The <code>LogEvent</code> parsed from the log line.
+     * @param logLine
+     *            The log line.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param lastLogLine
+     *            Whether or not the log line is the last line of logging.
+     */
+    private void store(LogEvent event, String logLine, boolean reorder, boolean lastLogLine) {
+        classifier.observe(EventTypeRegistry.getEventType(event));
+        if (event instanceof BlockingEvent) {
+
+            // Verify logging in correct order. If overridden, logging will be stored and reordered by timestamp
+            // for analysis.
+            if (!reorder && priorEvent != null && event.getTimestamp() < priorEvent.getTimestamp()) {
+                throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
+                        + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
+            }
 
-                    // 11) CMS promotion failure
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
-                            CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
-                                    && collectorFamily.equals(CollectorFamily.CMS)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
+            jvmDao.addBlockingEvent((BlockingEvent) event);
+
+            // Analysis
+
+            // 1) Explicit GC
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)) {
+                    CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+
+                    switch (collectorFamily) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
+                                && event instanceof G1FullGcEvent) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
+                        } else if (!jvmDao.getAnalysis()
+                                .contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
+                                && event instanceof G1YoungInitialMarkEvent) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
+                        }
+                        break;
+                    case CMS:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
+                        }
+                        break;
+                    case PARALLEL:
+                        if (event instanceof ParallelSerialOldEvent) {
+                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
+                            }
+                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
                             }
+                        } else if (event instanceof ParallelCompactingOldEvent) {
+                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
+                            }
+                        }
+                        break;
+                    case SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
+                        }
+                        break;
+                    case SHENANDOAH:
+                        break;
+                    case UNKNOWN:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
                         }
+                        break;
+                    default:
+                        break;
                     }
+                }
+            }
 
-                    // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
-                    if (event instanceof G1FullGcEvent) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == null) {
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
-                                jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
-                            }
+            // 2) Serial collections not caused by explicit GC
+            if (event instanceof SerialCollection) {
+                String trigger = null;
+                if (event instanceof TriggerData) {
+                    trigger = ((TriggerData) event).getTrigger();
+                }
+                CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+
+                if (trigger == null || (!trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)
+                        && !trigger.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
+                        && !trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
+                        && !trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
+                    switch (collectorFamily) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
+                        }
+                        break;
+                    case CMS:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
+                        }
+                        break;
+                    case PARALLEL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
+                        }
+                        break;
+                    case SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC);
                         }
+                        break;
+                    case UNKNOWN:
+                        break;
+                    default:
+                        break;
                     }
+                }
+            }
 
-                    // 13) CMS_REMARK class unloading
-                    if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
-                            && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
-                        jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            // 3) CMS concurrent mode failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
                     }
+                }
+            }
 
-                    // 14) Humongous allocation
-                    if (event instanceof G1Collector && event instanceof TriggerData
-                            && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
-                            jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
-                        }
+            // 4) CMS concurrent mode interrupted
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
                     }
+                }
+            }
 
-                    // 15) Inverted parallelism
-                    if (event instanceof ParallelEvent && event instanceof TimesData) {
-                        if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
-                                && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
-                            jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
-                            if (event instanceof TimesData && ((TimesData) event).getTimeUser() > 0
-                                    && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
-                                jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
-                                if (jvmDao.getWorstInvertedParallelismEvent() == null) {
-                                    jvmDao.setWorstInvertedParallelismEvent(event);
-                                } else {
-                                    if (((TimesData) event)
-                                            .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
-                                                    .getParallelism()) {
-                                        // Update lowest "low"
-                                        jvmDao.setWorstInvertedParallelismEvent(event);
-                                    }
-                                }
-                            }
-                        }
+            // 5) CMS incremental mode
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INCREMENTAL_MODE)) {
+                if (event instanceof CmsIncrementalModeCollector) {
+                    if (((CmsIncrementalModeCollector) event).isIncrementalMode()) {
+                        jvmDao.addAnalysis(Analysis.WARN_CMS_INCREMENTAL_MODE);
                     }
+                }
+            }
 
-                    // 16) Check for CMS initial mark low parallelism
-                    if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
-                            && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
-                            jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
-                        }
+            // 6) Heap dump initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
                     }
+                }
+            }
 
-                    // 17) Check for CMS remark low parallelism
-                    if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
-                            && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
-                            jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
-                        }
+            // 7) Heap inspection initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
                     }
+                }
+            }
 
-                    // 18) Check for old JDKs using perm gen
-                    if (event instanceof PermMetaspaceData && event.getLogEntry() != null
-                            && event.getLogEntry().matches("^.*Perm.*$")) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
-                            jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
-                        }
+            // 8) Metaspace allocation failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
                     }
+                }
+            }
 
-                    // 19) Shenandoah Full GC
-                    if (event instanceof ShenandoahFullGcEvent) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHENANDOAH_FULL_GC)) {
-                            jvmDao.addAnalysis(Analysis.ERROR_SHENANDOAH_FULL_GC);
-                        }
+            // 9) JVM TI explicit gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && trigger.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
+                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
                     }
+                }
+            }
 
-                    priorEvent = (BlockingEvent) event;
-
-                } else if (event instanceof ApplicationStoppedTimeEvent) {
-                    jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
-                } else if (event instanceof UnifiedSafepointEvent) {
-                    jvmDao.addSafepointEvent((UnifiedSafepointEvent) event);
-                } else if (event instanceof HeaderCommandLineFlagsEvent) {
-                    jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
-                } else if (event instanceof HeaderMemoryEvent) {
-                    jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
-                    jvmDao.setPhysicalMemory((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemory()));
-                    jvmDao.setPhysicalMemoryFree(
-                            (long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemoryFree()));
-                    jvmDao.setSwap((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwap()));
-                    jvmDao.setSwapFree((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwapFree()));
-                } else if (event instanceof HeaderVersionEvent) {
-                    jvmDao.setVersion(((HeaderVersionEvent) event).getLogEntry());
-                } else if (event instanceof GcOverheadLimitEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
-                        jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
-                    }
-                } else if (event instanceof GcLockerEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
-                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
-                    }
-                } else if (event instanceof ShenandoahConcurrentEvent) {
-                    if (greater(((CombinedData) event).getCombinedOccupancyInit(),
-                            jvmDao.getMaxHeapOccupancyNonBlocking())) {
-                        jvmDao.setMaxHeapOccupancyNonBlocking(
-                                (int) ((CombinedData) event).getCombinedOccupancyInit().getValue(KILOBYTES));
+            // 10) G1 evacuation failure
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && (trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
+                        || trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
                     }
-                    if (greater(((CombinedData) event).getCombinedSpace(), jvmDao.getMaxHeapSpaceNonBlocking())) {
-                        jvmDao.setMaxHeapSpaceNonBlocking(
-                                (int) ((CombinedData) event).getCombinedSpace().getValue(KILOBYTES));
-                    }
-                    if (greater(((PermMetaspaceData) event).getPermOccupancyInit(),
-                            jvmDao.getMaxPermOccupancyNonBlocking())) {
-                        jvmDao.setMaxPermOccupancyNonBlocking(
-                                (int) ((PermMetaspaceData) event).getPermOccupancyInit().getValue(KILOBYTES));
+                }
+            }
+
+            // 11) CMS promotion failure
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
+                    CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
+                            && collectorFamily.equals(CollectorFamily.CMS)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
                     }
-                    if (greater(((PermMetaspaceData) event).getPermSpace(), jvmDao.getMaxPermSpaceNonBlocking())) {
-                        jvmDao.setMaxPermSpaceNonBlocking(
-                                (int) ((PermMetaspaceData) event).getPermSpace().getValue(KILOBYTES));
+                }
+            }
+
+            // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
+            if (event instanceof G1FullGcEvent) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger == null) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
+                        jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
                     }
-                } else if (event instanceof UnknownEvent) {
-                    // Don't count reportable events with datestamp only as unidentified
-                    DateStampPreprocessAction preprocessAction = new DateStampPreprocessAction(logLine, jvmStartDate);
-                    LogEvent preprocessedEvent = null;
-                    if (preprocessAction.getLogEntry() != null) {
-                        preprocessedEvent = JdkUtil.parseLogLine(preprocessAction.getLogEntry());
-                    } //
-                    if (preprocessedEvent != null
-                            && JdkUtil.isReportable(LogEventType.valueOf(preprocessedEvent.getName()))) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP)) {
-                            jvmDao.getAnalysis().add(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP);
-                        }
-                    } else {
-                        if (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT) {
-                            jvmDao.getUnidentifiedLogLines().add(logLine);
+                }
+            }
+
+            // 13) CMS_REMARK class unloading
+            if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
+                    && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
+                jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            }
+
+            // 14) Humongous allocation
+            if (event instanceof G1Collector && event instanceof TriggerData
+                    && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
+                    jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
+                }
+            }
+
+            // 15) Inverted parallelism
+            if (event instanceof ParallelEvent && event instanceof TimesData) {
+                if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
+                    jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
+                    if (event instanceof TimesData && ((TimesData) event).getTimeUser() > 0
+                            && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
+                        jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
+                        if (jvmDao.getWorstInvertedParallelismEvent() == null) {
+                            jvmDao.setWorstInvertedParallelismEvent(event);
+                        } else {
+                            if (((TimesData) event)
+                                    .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
+                                            .getParallelism()) {
+                                // Update lowest "low"
+                                jvmDao.setWorstInvertedParallelismEvent(event);
+                            }
                         }
                     }
                 }
+            }
 
-                // Populate events list.
-                List<JdkUtil.LogEventType> eventTypes = jvmDao.getEventTypes();
-                JdkUtil.LogEventType eventType = JdkUtil.determineEventType(event.getName());
-                if (!eventTypes.contains(eventType)) {
-                    eventTypes.add(eventType);
+            // 16) Check for CMS initial mark low parallelism
+            if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
                 }
+            }
 
-                // Populate collector type list.
-                if (event instanceof GcEvent) {
-                    List<JdkUtil.CollectorFamily> collectorFamilies = jvmDao.getCollectorFamilies();
-                    if (!collectorFamilies.contains(((GcEvent) event).getCollectorFamily())) {
-                        collectorFamilies.add(((GcEvent) event).getCollectorFamily());
-                    }
+            // 17) Check for CMS remark low parallelism
+            if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
                 }
+            }
 
-                logLine = bufferedReader.readLine();
+            // 18) Check for old JDKs using perm gen
+            if (event instanceof PermMetaspaceData && event.getLogEntry() != null
+                    && event.getLogEntry().matches("^.*Perm.*$")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
+                    jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
+                }
+            }
 
-                // Check for partial last line
-                if (logLine == null) {
-                    if (event instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
-                        jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
-                    }
+            // 19) Shenandoah Full GC
+            if (event instanceof ShenandoahFullGcEvent) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHENANDOAH_FULL_GC)) {
+                    jvmDao.addAnalysis(Analysis.ERROR_SHENANDOAH_FULL_GC);
                 }
             }
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            // Close streams
-            if (bufferedReader != null) {
-                try {
-                    bufferedReader.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
+
+            priorEvent = (BlockingEvent) event;
+
+        } else if (event instanceof ApplicationStoppedTimeEvent) {
+            jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
+        } else if (event instanceof UnifiedSafepointEvent) {
+            jvmDao.addSafepointEvent((UnifiedSafepointEvent) event);
+        } else if (event instanceof HeaderCommandLineFlagsEvent) {
+            jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
+        } else if (event instanceof HeaderMemoryEvent) {
+            jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
+            jvmDao.setPhysicalMemory((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemory()));
+            jvmDao.setPhysicalMemoryFree(
+                    (long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemoryFree()));
+            jvmDao.setSwap((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwap()));
+            jvmDao.setSwapFree((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwapFree()));
+        } else if (event instanceof HeaderVersionEvent) {
+            jvmDao.setVersion(((HeaderVersionEvent) event).getLogEntry());
+        } else if (event instanceof GcOverheadLimitEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
+                jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
+            }
+        } else if (event instanceof GcLockerEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
+                jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
+            }
+        } else if (event instanceof ShenandoahConcurrentEvent) {
+            if (greater(((CombinedData) event).getCombinedOccupancyInit(),
+                    jvmDao.getMaxHeapOccupancyNonBlocking())) {
+                jvmDao.setMaxHeapOccupancyNonBlocking(
+                        (int) ((CombinedData) event).getCombinedOccupancyInit().getValue(KILOBYTES));
+            }
+            if (greater(((CombinedData) event).getCombinedSpace(), jvmDao.getMaxHeapSpaceNonBlocking())) {
+                jvmDao.setMaxHeapSpaceNonBlocking(
+                        (int) ((CombinedData) event).getCombinedSpace().getValue(KILOBYTES));
+            }
+            if (greater(((PermMetaspaceData) event).getPermOccupancyInit(),
+                    jvmDao.getMaxPermOccupancyNonBlocking())) {
+                jvmDao.setMaxPermOccupancyNonBlocking(
+                        (int) ((PermMetaspaceData) event).getPermOccupancyInit().getValue(KILOBYTES));
+            }
+            if (greater(((PermMetaspaceData) event).getPermSpace(), jvmDao.getMaxPermSpaceNonBlocking())) {
+                jvmDao.setMaxPermSpaceNonBlocking(
+                        (int) ((PermMetaspaceData) event).getPermSpace().getValue(KILOBYTES));
+            }
+        } else if (event instanceof UnknownEvent) {
+            // Don't count reportable events with datestamp only as unidentified
+            DateStampPreprocessAction preprocessAction = new DateStampPreprocessAction(logLine, jvmStartDate);
+            LogEvent preprocessedEvent = null;
+            if (preprocessAction.getLogEntry() != null) {
+                preprocessedEvent = classifier.parseLogLine(preprocessAction.getLogEntry());
+            } //
+            if (preprocessedEvent != null
+                    && JdkUtil.isReportable(EventTypeRegistry.getEventType(preprocessedEvent))) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP)) {
+                    jvmDao.getAnalysis().add(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP);
+                }
+            } else {
+                if (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT) {
+                    jvmDao.getUnidentifiedLogLines().add(logLine);
                 }
             }
         }
 
+        // Populate events list.
+        List<JdkUtil.LogEventType> eventTypes = jvmDao.getEventTypes();
+        JdkUtil.LogEventType eventType = EventTypeRegistry.getEventType(event);
+        if (!eventTypes.contains(eventType)) {
+            eventTypes.add(eventType);
+        }
+
+        // Populate collector type list.
+        if (event instanceof GcEvent) {
+            List<JdkUtil.CollectorFamily> collectorFamilies = jvmDao.getCollectorFamilies();
+            if (!collectorFamilies.contains(((GcEvent) event).getCollectorFamily())) {
+                collectorFamilies.add(((GcEvent) event).getCollectorFamily());
+            }
+        }
+
+        // Check for partial last line
+        if (lastLogLine) {
+            if (event instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
+                jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
+            }
+        }
     }
 
     private static boolean greater(Memory memory, int value) {
@@ -864,35 +1786,15 @@ public class GcManager {
      * @param jvm
      */
     private BigDecimal getAllocationRate(Jvm jvm) {
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents(LogEventType.G1_YOUNG_PAUSE);
-        
-        if (blockingEvents.isEmpty())
+        // The allocation prior to the first young pause is not known, since it might not be a complete JVM run, so the
+        // allocation is from the end of the first young pause to the beginning of the last
+        long durationMs = jvmDao.getBlockingEventStore().getElapsedTime(LogEventType.G1_YOUNG_PAUSE);
+        if (durationMs <= 0)
             return BigDecimal.ZERO;
 
-        long allocatedKb = 0;
-        G1YoungPauseEvent prior = null;
-        long firstEventTs = 0;
-        for (BlockingEvent event : blockingEvents) {
-            G1YoungPauseEvent young = (G1YoungPauseEvent) event;
-            if (prior == null) {
-                // skip the first event since we don't know if this is a complete JVM run
-                // and therefore can't accurately calculate allocation rate prior to the first log
-                // youngGc pause event
-                prior = young;
-                firstEventTs = prior.getTimestamp();
-                continue;
-            }
-            allocatedKb += young.getEdenOccupancyInit().minus(prior.getEdenOccupancyEnd()).getValue(KILOBYTES);
-            prior = young;
-        }
+        long allocatedKb = jvmDao.getBlockingEventStore().getEdenAllocation(LogEventType.G1_YOUNG_PAUSE);
 
-        BigDecimal durationMs = BigDecimal.valueOf(prior.getTimestamp() - firstEventTs);
-        if (durationMs.longValue() <= 0)
-            return BigDecimal.ZERO;
-
-        Memory allocated = Memory.kilobytes(allocatedKb);
-
-        BigDecimal kilobytesPerSec = BigDecimal.valueOf(allocated.getValue(KILOBYTES) / durationMs.longValue());
+        BigDecimal kilobytesPerSec = BigDecimal.valueOf(allocatedKb / durationMs);
 
         return kilobytesPerSec.multiply(BigDecimal.valueOf(1000));
     }
@@ -909,49 +1811,51 @@ public class GcManager {
      */
     private List<String> getBottlenecks(Jvm jvm, int throughputThreshold) {
         List<String> bottlenecks = new ArrayList<String>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents();
-        BlockingEvent priorEvent = null;
-        for (BlockingEvent event : blockingEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
+        BlockingEventStore blockingEvents = jvmDao.getBlockingEventStore();
+        for (int row = 1; row < blockingEvents.size(); row++) {
+            int priorRow = row - 1;
+            int eventRow = row;
+            if (JdkUtil.isBottleneck(blockingEvents.getTimestamp(row), blockingEvents.getDuration(row),
+                    blockingEvents.getTimestamp(priorRow), blockingEvents.getDuration(priorRow), throughputThreshold,
+                    () -> blockingEvents.getLogEntry(priorRow) + Constants.LINE_SEPARATOR
+                            + blockingEvents.getLogEntry(eventRow))) {
+                String priorLogEntry = blockingEvents.getLogEntry(priorRow);
+                String logEntry = blockingEvents.getLogEntry(row);
                 if (bottlenecks.isEmpty()) {
                     // Add current and prior event
                     if (jvm.getStartDate() != null) {
                         // Convert timestamps to date/time
-                        bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                jvm.getStartDate()));
                         bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvm.getStartDate()));
+                                JdkUtil.convertLogEntryTimestampsToDateStamp(priorLogEntry, jvm.getStartDate()));
+                        bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, jvm.getStartDate()));
                     } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
+                        bottlenecks.add(priorLogEntry);
+                        bottlenecks.add(logEntry);
                     }
                 } else {
                     if (jvm.getStartDate() != null) {
                         // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvm.getStartDate())
+                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorLogEntry, jvm.getStartDate())
                                 .equals(bottlenecks.get(bottlenecks.size() - 1))) {
                             bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvm.getStartDate()));
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
+                            bottlenecks.add(
+                                    JdkUtil.convertLogEntryTimestampsToDateStamp(priorLogEntry, jvm.getStartDate()));
+                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, jvm.getStartDate()));
                         } else {
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(),
-                                    jvm.getStartDate()));
+                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, jvm.getStartDate()));
                         }
                     } else {
                         // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
+                        if (!priorLogEntry.equals(bottlenecks.get(bottlenecks.size() - 1))) {
                             bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
+                            bottlenecks.add(priorLogEntry);
+                            bottlenecks.add(logEntry);
                         } else {
-                            bottlenecks.add(event.getLogEntry());
+                            bottlenecks.add(logEntry);
                         }
                     }
                 }
             }
-            priorEvent = event;
         }
         return bottlenecks;
     }
@@ -1004,7 +1908,8 @@ public class GcManager {
         jvmRun.setUnidentifiedLogLines(jvmDao.getUnidentifiedLogLines());
         jvmRun.setEventTypes(jvmDao.getEventTypes());
         jvmRun.setCollectorFamilies(jvmDao.getCollectorFamilies());
-        jvmRun.setAnalysis(jvmDao.getAnalysis());
+        // Copy, since JvmRun analysis is done on the list, and the data store can be added to after (e.g. following)
+        jvmRun.setAnalysis(new ArrayList<Analysis>(jvmDao.getAnalysis()));
         jvmRun.setBottlenecks(getBottlenecks(jvm, throughputThreshold));
         jvmRun.setAllocationRate(getAllocationRate(jvm));
         jvmRun.setParallelCount(jvmDao.getParallelCount());
@@ -1018,14 +1923,83 @@ public class GcManager {
         return jvmRun;
     }
 
+    /**
+     * Open a log file for reading log lines. Gzip compressed files are decompressed as they are read. Other regular
+     * files are memory mapped. Anything else (e.g. a named pipe) is read through a <code>BufferedReader</code>.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @return The <code>LogLineReader</code> for the log file.
+     * @throws IOException
+     *             if the log file cannot be opened for reading.
+     */
+    LogLineReader openLogLineReader(File logFile) throws IOException {
+        if (GzipLogLineReader.isGzip(logFile)) {
+            return new GzipLogLineReader(logFile);
+        } else if (logFile.isFile()) {
+            return new MappedLogLineReader(logFile);
+        } else {
+            return new BufferedLogLineReader(logFile);
+        }
+    }
+
     /**
      * Determine whether or not the logging line is essential for GC analysis.
      * 
      * @param logLine
      *            The log line to test.
+     * @param classifier
+     *            The event type identification of the logging being preprocessed, which observes the log line.
      * @return True if the logging event can be thrown away, false if it should be kept.
      */
-    private boolean isThrowawayEvent(String logLine) {
-        return JdkUtil.parseLogLine(logLine) instanceof ThrowAwayEvent;
+    private boolean isThrowawayEvent(String logLine, CollectorFamilyClassifier classifier) {
+        LogEventType eventType = classifier.identifyEventType(logLine);
+        classifier.observe(eventType);
+        return JdkUtil.isThrowAway(eventType);
+    }
+
+    /**
+     * Parse a range of log lines, splitting the range in half until it is small enough to parse directly.
+     */
+    private static class ParseTask extends RecursiveAction {
+
+        /**
+         * The number of log lines small enough to parse directly.
+         */
+        private static final int THRESHOLD = 256;
+
+        private static final long serialVersionUID = 1L;
+
+        private final CollectorFamilyClassifier classifier;
+
+        private final int end;
+
+        private final LogEvent[] events;
+
+        private final List<String> logLines;
+
+        private final int start;
+
+        private ParseTask(CollectorFamilyClassifier classifier, List<String> logLines, LogEvent[] events, int start,
+                int end) {
+            this.classifier = classifier;
+            this.logLines = logLines;
+            this.events = events;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    events[i] = classifier.parseLogLine(logLines.get(i));
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new ParseTask(classifier, logLines, events, start, middle),
+                        new ParseTask(classifier, logLines, events, middle, end));
+            }
+        }
     }
 }
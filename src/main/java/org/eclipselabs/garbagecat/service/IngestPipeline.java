@@ -0,0 +1,509 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.LogLineReader;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.CollectorFamilyClassifier;
+
+/**
+ * <p>
+ * Ingest garbage collection logging in stages running on separate threads, connected by bounded queues of log line
+ * batches:
+ * </p>
+ * 
+ * <ol>
+ * <li>read: Read raw log lines.</li>
+ * <li>preprocess (optional): Preprocess log lines. Preprocessing is sequential, since preprocessing decisions depend on
+ * the context and entangled log lines of prior log lines.</li>
+ * <li>parse: Parse log lines into <code>LogEvent</code>s, with a snapshot of the event type narrowing taken for each
+ * batch. A batch is parsed again when it is stored if the narrowing changed in the meantime, so the events are the same
+ * as without the pipeline.</li>
+ * <li>store: Store <code>LogEvent</code>s and do analysis, in log order. This stage runs on the calling thread.</li>
+ * </ol>
+ * 
+ * <p>
+ * A set of log files from a single JVM run is ingested with one stage per log file that reads, preprocesses, and parses
+ * the log file, up to the parallelism at a time, and a store stage that takes the batches of each log file in turn.
+ * Each log file is preprocessed on its own, the same as without the pipeline.
+ * </p>
+ * 
+ * <p>
+ * A full queue blocks the upstream stage until the downstream stage catches up, so memory use is bounded regardless of
+ * log size. The first stage failure stops the pipeline and is rethrown on the calling thread.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class IngestPipeline {
+
+    /**
+     * Log lines handed from one stage to the next.
+     */
+    private static class Batch {
+
+        /**
+         * The <code>LogEvent</code>s parsed from the log lines, or null if not parsed yet.
+         */
+        private LogEvent[] events;
+
+        /**
+         * The snapshot of the event type narrowing the log lines were parsed with, or null if not parsed yet.
+         */
+        private CollectorFamilyClassifier snapshot;
+
+        /**
+         * Whether or not the log lines are the end of the logging.
+         */
+        private final boolean last;
+
+        private final List<String> logLines;
+
+        private Batch(List<String> logLines, boolean last) {
+            this.logLines = logLines;
+            this.last = last;
+        }
+    }
+
+    /**
+     * <code>LogLineReader</code> that reads log lines from the batches in a queue.
+     */
+    private static class QueueLogLineReader implements LogLineReader {
+
+        private Batch batch;
+
+        private int index;
+
+        private final BlockingQueue<Batch> queue;
+
+        private final StageStatistics statistics;
+
+        private QueueLogLineReader(BlockingQueue<Batch> queue, StageStatistics statistics) {
+            this.queue = queue;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void close() {
+            batch = null;
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            while (batch == null || index == batch.logLines.size()) {
+                if (batch != null && batch.last) {
+                    return null;
+                }
+                try {
+                    batch = statistics.take(queue);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                if (batch == FAILED) {
+                    throw new IOException("Upstream stage failed.");
+                }
+                index = 0;
+                statistics.addLogLines(batch.logLines.size());
+            }
+            return batch.logLines.get(index++);
+        }
+    }
+
+    /**
+     * The work done by a stage.
+     */
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * Marker put on a queue when a stage fails.
+     */
+    private static final Batch FAILED = new Batch(Collections.<String> emptyList(), true);
+
+    /**
+     * The number of batches each queue can hold.
+     */
+    static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * The first stage failure.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    private final GcManager gcManager;
+
+    /**
+     * The last log line, unprocessed, when the logging is preprocessed.
+     */
+    private String lastLogLineUnprocessed;
+
+    /**
+     * Statistics for each stage, in stage order.
+     */
+    private final List<StageStatistics> stageStatistics = new ArrayList<StageStatistics>();
+
+    /**
+     * @param gcManager
+     *            The <code>GcManager</code> doing the preprocessing, parsing, and storing.
+     */
+    IngestPipeline(GcManager gcManager) {
+        this.gcManager = gcManager;
+    }
+
+    /**
+     * @return The last log line, unprocessed, or null if the logging was not preprocessed.
+     */
+    String getLastLogLineUnprocessed() {
+        return lastLogLineUnprocessed;
+    }
+
+    /**
+     * @return Statistics for each stage, in stage order.
+     */
+    List<StageStatistics> getStageStatistics() {
+        return stageStatistics;
+    }
+
+    /**
+     * Read, preprocess, and parse one log file in a set of log files, in batches, the same batches as storing the log
+     * file without the pipeline.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param analysis
+     *            Where the analysis found during preprocessing is added.
+     * @param output
+     *            The queue the parsed batches are put on.
+     * @param statistics
+     *            The statistics of the log file stage.
+     * @param lastLogLines
+     *            Where the last log line, unprocessed, is set when the logging is preprocessed, before the last batch
+     *            is put on the queue.
+     * @param index
+     *            The index of the log file in the set of log files.
+     * @throws IOException
+     *             if there is an error reading the log file.
+     * @throws InterruptedException
+     *             if the pipeline is stopped.
+     */
+    private void ingest(File logFile, boolean preprocess, Date jvmStartDate, List<Analysis> analysis,
+            final BlockingQueue<Batch> output, final StageStatistics statistics, String[] lastLogLines, int index)
+            throws IOException, InterruptedException {
+        LogLineReader logLineReader = gcManager.openLogLineReader(logFile);
+        try {
+            if (preprocess) {
+                LogLineWriter logLineWriter = new LogLineWriter(GcManager.BATCH_SIZE, (logLines, lastBatch) -> {
+                    Batch batch = new Batch(logLines, lastBatch);
+                    parse(batch);
+                    statistics.addLogLines(logLines.size());
+                    try {
+                        statistics.put(output, batch);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                });
+                lastLogLines[index] = gcManager.preprocess(logLineReader, logLineWriter, jvmStartDate, analysis);
+                logLineWriter.close();
+            } else {
+                List<String> logLines = new ArrayList<String>(GcManager.BATCH_SIZE);
+                String logLine = logLineReader.readLine();
+                if (logLine == null) {
+                    // Empty log file
+                    statistics.put(output, new Batch(logLines, true));
+                }
+                while (logLine != null) {
+                    logLines.add(logLine);
+                    logLine = logLineReader.readLine();
+                    if (logLines.size() == GcManager.BATCH_SIZE || logLine == null) {
+                        Batch batch = new Batch(logLines, logLine == null);
+                        parse(batch);
+                        statistics.addLogLines(logLines.size());
+                        statistics.put(output, batch);
+                        logLines = new ArrayList<String>(GcManager.BATCH_SIZE);
+                    }
+                }
+            }
+        } finally {
+            logLineReader.close();
+        }
+    }
+
+    /**
+     * Parse a batch with a snapshot of the event type narrowing.
+     * 
+     * @param batch
+     *            The batch.
+     */
+    private void parse(Batch batch) {
+        batch.snapshot = gcManager.getClassifierSnapshot();
+        batch.events = gcManager.parse(batch.logLines, batch.snapshot);
+    }
+
+    private void parse(BlockingQueue<Batch> input, BlockingQueue<Batch> output, StageStatistics statistics)
+            throws InterruptedException {
+        while (true) {
+            Batch batch = statistics.take(input);
+            if (batch == FAILED) {
+                statistics.put(output, FAILED);
+                return;
+            }
+            parse(batch);
+            statistics.addLogLines(batch.logLines.size());
+            statistics.put(output, batch);
+            if (batch.last) {
+                return;
+            }
+        }
+    }
+
+    private void preprocess(BlockingQueue<Batch> input, final BlockingQueue<Batch> output,
+            final StageStatistics statistics, Date jvmStartDate, List<Analysis> analysis) throws IOException {
+        LogLineWriter logLineWriter = new LogLineWriter(GcManager.BATCH_SIZE, (logLines, lastBatch) -> {
+            try {
+                statistics.put(output, new Batch(logLines, lastBatch));
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        });
+        lastLogLineUnprocessed = gcManager.preprocess(new QueueLogLineReader(input, statistics), logLineWriter,
+                jvmStartDate, analysis);
+        logLineWriter.close();
+    }
+
+    private void read(LogLineReader logLineReader, BlockingQueue<Batch> output, StageStatistics statistics)
+            throws IOException, InterruptedException {
+        List<String> logLines = new ArrayList<String>(GcManager.BATCH_SIZE);
+        String logLine = logLineReader.readLine();
+        while (logLine != null) {
+            logLines.add(logLine);
+            logLine = logLineReader.readLine();
+            if (logLines.size() == GcManager.BATCH_SIZE && logLine != null) {
+                statistics.addLogLines(logLines.size());
+                statistics.put(output, new Batch(logLines, false));
+                logLines = new ArrayList<String>(GcManager.BATCH_SIZE);
+            }
+        }
+        statistics.addLogLines(logLines.size());
+        statistics.put(output, new Batch(logLines, true));
+    }
+
+    /**
+     * Run the pipeline to completion.
+     * 
+     * @param logLineReader
+     *            The raw garbage collection logging.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param preprocessAnalysis
+     *            Where the analysis found during preprocessing is added.
+     * @throws IOException
+     *             if there is an error reading the logging.
+     */
+    void run(final LogLineReader logLineReader, boolean preprocess, final Date jvmStartDate, boolean reorder,
+            final List<Analysis> preprocessAnalysis) throws IOException {
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "garbagecat-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final StageStatistics readStatistics = new StageStatistics("read");
+            final BlockingQueue<Batch> readQueue = new ArrayBlockingQueue<Batch>(QUEUE_CAPACITY);
+            stageStatistics.add(readStatistics);
+            executor.execute(stage(readStatistics, readQueue, () -> read(logLineReader, readQueue, readStatistics)));
+
+            BlockingQueue<Batch> parseInput = readQueue;
+            if (preprocess) {
+                final StageStatistics preprocessStatistics = new StageStatistics("preprocess");
+                final BlockingQueue<Batch> preprocessQueue = new ArrayBlockingQueue<Batch>(QUEUE_CAPACITY);
+                stageStatistics.add(preprocessStatistics);
+                executor.execute(stage(preprocessStatistics, preprocessQueue,
+                        () -> preprocess(readQueue, preprocessQueue, preprocessStatistics, jvmStartDate,
+                                preprocessAnalysis)));
+                parseInput = preprocessQueue;
+            }
+
+            final BlockingQueue<Batch> parseQueueInput = parseInput;
+            final StageStatistics parseStatistics = new StageStatistics("parse");
+            final BlockingQueue<Batch> parseQueue = new ArrayBlockingQueue<Batch>(QUEUE_CAPACITY);
+            stageStatistics.add(parseStatistics);
+            executor.execute(
+                    stage(parseStatistics, parseQueue, () -> parse(parseQueueInput, parseQueue, parseStatistics)));
+
+            StageStatistics storeStatistics = new StageStatistics("store");
+            stageStatistics.add(storeStatistics);
+            store(Collections.singletonList(parseQueue), storeStatistics, reorder);
+        } finally {
+            executor.shutdownNow();
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Run the pipeline to completion on a set of log files from a single JVM run. Each log file is read, preprocessed,
+     * and parsed by its own stage, up to the given number of log files at a time, and the batches are stored in log
+     * file order. Log files are started in order, so the log file being stored is always being read.
+     * 
+     * @param logFiles
+     *            The garbage collection log files, in the order to store them.
+     * @param parallelism
+     *            The maximum number of log files read at a time.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param preprocessAnalysis
+     *            Where the analysis found during preprocessing is added, in log file order.
+     * @throws IOException
+     *             if there is an error reading the logging.
+     */
+    void run(final List<File> logFiles, int parallelism, final boolean preprocess, final Date jvmStartDate,
+            boolean reorder, List<Analysis> preprocessAnalysis) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, logFiles.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "garbagecat-ingest");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        final String[] lastLogLines = new String[logFiles.size()];
+        List<List<Analysis>> logFileAnalyses = new ArrayList<List<Analysis>>();
+        try {
+            List<BlockingQueue<Batch>> queues = new ArrayList<BlockingQueue<Batch>>();
+            for (int i = 0; i < logFiles.size(); i++) {
+                final int index = i;
+                final File logFile = logFiles.get(i);
+                final List<Analysis> logFileAnalysis = new ArrayList<Analysis>();
+                final BlockingQueue<Batch> queue = new ArrayBlockingQueue<Batch>(QUEUE_CAPACITY);
+                final StageStatistics statistics = new StageStatistics(logFile.getName());
+                logFileAnalyses.add(logFileAnalysis);
+                queues.add(queue);
+                stageStatistics.add(statistics);
+                executor.execute(stage(statistics, queue, () -> ingest(logFile, preprocess, jvmStartDate,
+                        logFileAnalysis, queue, statistics, lastLogLines, index)));
+            }
+
+            StageStatistics storeStatistics = new StageStatistics("store");
+            stageStatistics.add(storeStatistics);
+            store(queues, storeStatistics, reorder);
+        } finally {
+            executor.shutdownNow();
+        }
+        rethrowFailure();
+
+        lastLogLineUnprocessed = lastLogLines[lastLogLines.length - 1];
+        for (List<Analysis> logFileAnalysis : logFileAnalyses) {
+            for (Analysis analysis : logFileAnalysis) {
+                if (!preprocessAnalysis.contains(analysis)) {
+                    preprocessAnalysis.add(analysis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rethrow the first stage failure, if any, on the calling thread.
+     * 
+     * @throws IOException
+     *             if the first stage failure was an <code>IOException</code>.
+     */
+    private void rethrowFailure() throws IOException {
+        Throwable t = failure.get();
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t != null) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Wrap the work done by a stage to record statistics and failure.
+     */
+    private Runnable stage(final StageStatistics statistics, final BlockingQueue<Batch> output, final Stage stage) {
+        return () -> {
+            statistics.start();
+            try {
+                stage.run();
+            } catch (InterruptedException | InterruptedIOException e) {
+                // Pipeline stopped
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                try {
+                    output.put(FAILED);
+                } catch (InterruptedException e) {
+                    // Pipeline stopped
+                }
+            } finally {
+                statistics.stop();
+            }
+        };
+    }
+
+    /**
+     * Store the batches from each input queue in turn, each until its last batch.
+     */
+    private void store(List<BlockingQueue<Batch>> inputs, StageStatistics statistics, boolean reorder)
+            throws InterruptedIOException {
+        statistics.start();
+        try {
+            for (int i = 0; i < inputs.size(); i++) {
+                boolean lastInput = i == inputs.size() - 1;
+                while (true) {
+                    Batch batch = statistics.take(inputs.get(i));
+                    if (batch == FAILED) {
+                        return;
+                    }
+                    gcManager.store(batch.logLines, batch.events, batch.snapshot, reorder, lastInput && batch.last);
+                    statistics.addLogLines(batch.logLines.size());
+                    if (batch.last) {
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            statistics.stop();
+        }
+    }
+}
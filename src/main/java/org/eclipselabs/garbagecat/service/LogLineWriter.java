@@ -0,0 +1,177 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.LogLineReader;
+
+/**
+ * <p>
+ * Receives preprocessed logging and hands off complete log lines in batches as they become available, so preprocessed
+ * logging can be stored without an intermediate file.
+ * </p>
+ * 
+ * <p>
+ * Line terminators are handled the same as {@link LogLineReader#readLine()}. A full batch is held back until the next
+ * log line is complete so the last batch can be identified. The last batch is always handed off on
+ * {@link #close()}, even if it is empty.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class LogLineWriter extends Writer {
+
+    /**
+     * Handles batches of complete log lines.
+     */
+    interface BatchHandler {
+
+        /**
+         * @param logLines
+         *            The log lines. The handler takes ownership of the <code>List</code>.
+         * @param lastBatch
+         *            Whether or not the log lines are the end of the logging.
+         * @throws IOException
+         *             if the log lines cannot be handled.
+         */
+        void handle(List<String> logLines, boolean lastBatch) throws IOException;
+    }
+
+    /**
+     * The number of log lines in a full batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Preprocessed logging not yet terminated by a line separator.
+     */
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * Whether or not the writer has been closed.
+     */
+    private boolean closed;
+
+    private final BatchHandler handler;
+
+    /**
+     * Complete log lines not yet handed off.
+     */
+    private List<String> logLines;
+
+    /**
+     * @param batchSize
+     *            The number of log lines in a full batch.
+     * @param handler
+     *            Handles batches of complete log lines.
+     */
+    LogLineWriter(int batchSize, BatchHandler handler) {
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.logLines = new ArrayList<String>(batchSize);
+    }
+
+    /**
+     * @return Complete log lines not yet handed off.
+     */
+    List<String> getLogLines() {
+        return logLines;
+    }
+
+    /**
+     * @return Logging not yet terminated by a line separator.
+     */
+    String getUnterminatedLogging() {
+        return buffer.toString();
+    }
+
+    private void add(String logLine) throws IOException {
+        if (logLines.size() == batchSize) {
+            handler.handle(logLines, false);
+            logLines = new ArrayList<String>(batchSize);
+        }
+        logLines.add(logLine);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            drain(true);
+            handler.handle(logLines, true);
+            logLines = null;
+        }
+    }
+
+    /**
+     * Hand off complete log lines in the buffer.
+     * 
+     * @param endOfLogging
+     *            Whether or not there is no more logging, in which case any remaining logging is a log line.
+     * @throws IOException
+     *             if the log lines cannot be handled.
+     */
+    private void drain(boolean endOfLogging) throws IOException {
+        int lineStart = 0;
+        int i = 0;
+        while (i < buffer.length()) {
+            char c = buffer.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 == buffer.length() && !endOfLogging) {
+                    // Wait for the next write to see if the carriage return is followed by a line feed
+                    break;
+                }
+                add(buffer.substring(lineStart, i));
+                if (c == '\r' && i + 1 < buffer.length() && buffer.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+            i++;
+        }
+        if (endOfLogging && lineStart < buffer.length()) {
+            add(buffer.substring(lineStart));
+            lineStart = buffer.length();
+        }
+        buffer.delete(0, lineStart);
+    }
+
+    /**
+     * Hand off the complete log lines not yet handed off, without waiting for a full batch (e.g. when following logging
+     * that is still being written). Logging not yet terminated by a line separator is kept.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!closed && !logLines.isEmpty()) {
+            handler.handle(logLines, false);
+            logLines = new ArrayList<String>(batchSize);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        buffer.append(cbuf, off, len);
+        drain(false);
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        buffer.append(str);
+        drain(false);
+    }
+}
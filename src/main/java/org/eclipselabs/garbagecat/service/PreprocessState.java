@@ -0,0 +1,276 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.CollectorFamilyClassifier;
+
+/**
+ * <p>
+ * The state carried from one log line to the next while preprocessing. Preprocessing decisions depend on the log lines
+ * around the current log line and on what has been seen before, so the state is kept together to allow preprocessing
+ * to stop at the end of the logging read so far and resume when there is more logging.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class PreprocessState {
+
+    /**
+     * Event type identification of the logging being preprocessed, observing the log lines in log order.
+     * Preprocessing runs ahead of storing, so it has its own narrowing, which does not depend on how far storing has
+     * gotten.
+     */
+    final CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+
+    /**
+     * Information to make preprocessing decisions.
+     */
+    final Context context = new Context();
+
+    /**
+     * The log line being preprocessed, which waits for the next log line to be read.
+     */
+    String currentLogLine = "";
+
+    /**
+     * Log lines mixed in with other logging events, used for detangling intermingled logging events that span multiple
+     * lines.
+     */
+    final EntangledLogLines entangledLogLines = new EntangledLogLines();
+
+    /**
+     * Whether or not any log lines have been read.
+     */
+    boolean logging;
+
+    /**
+     * The last preprocessed log entry written.
+     */
+    String priorLogEntry = Constants.LINE_SEPARATOR;
+
+    /**
+     * The log line before the current log line.
+     */
+    String priorLogLine = "";
+
+    /**
+     * Log lines mixed in with other logging events, which keep what is needed to undo the changes made since
+     * {@link #mark()}: the number of log lines at the mark, and a copy of the log lines at the mark only if one of
+     * them is removed or replaced (e.g. the log lines are cleared).
+     */
+    static final class EntangledLogLines extends AbstractList<String> implements RandomAccess {
+
+        /**
+         * The log lines.
+         */
+        private final List<String> logLines = new ArrayList<String>();
+
+        /**
+         * The log lines at the mark, or null if they have not been removed or replaced since the mark.
+         */
+        private List<String> markedLogLines;
+
+        /**
+         * The number of log lines at the mark.
+         */
+        private int markedSize;
+
+        /**
+         * Start recording changes, discarding the changes recorded so far.
+         */
+        void mark() {
+            markedSize = logLines.size();
+            markedLogLines = null;
+        }
+
+        /**
+         * Undo the changes made since the mark.
+         */
+        void undo() {
+            if (markedLogLines != null) {
+                logLines.clear();
+                logLines.addAll(markedLogLines);
+            } else {
+                logLines.subList(markedSize, logLines.size()).clear();
+            }
+            modCount++;
+            mark();
+        }
+
+        /**
+         * Copy the log lines at the mark before a change at the given index, unless the change only adds log lines
+         * after them.
+         * 
+         * @param index
+         *            The index of the change.
+         */
+        private void change(int index) {
+            if (markedLogLines == null && index < markedSize) {
+                markedLogLines = new ArrayList<String>(logLines.subList(0, markedSize));
+            }
+        }
+
+        @Override
+        public String get(int index) {
+            return logLines.get(index);
+        }
+
+        @Override
+        public int size() {
+            return logLines.size();
+        }
+
+        @Override
+        public void add(int index, String logLine) {
+            change(index);
+            logLines.add(index, logLine);
+            modCount++;
+        }
+
+        @Override
+        public String set(int index, String logLine) {
+            change(index);
+            return logLines.set(index, logLine);
+        }
+
+        @Override
+        public String remove(int index) {
+            change(index);
+            modCount++;
+            return logLines.remove(index);
+        }
+
+        @Override
+        public void clear() {
+            change(0);
+            logLines.clear();
+            modCount++;
+        }
+    }
+
+    /**
+     * Information to make preprocessing decisions, which keeps the tokens added and removed since {@link #mark()} to
+     * undo the changes.
+     */
+    static final class Context extends AbstractSet<String> {
+
+        /**
+         * The tokens.
+         */
+        private final Set<String> tokens = new HashSet<String>();
+
+        /**
+         * Tokens added since the mark that were not there at the mark.
+         */
+        private final List<String> added = new ArrayList<String>();
+
+        /**
+         * Tokens removed since the mark that were there at the mark.
+         */
+        private final List<String> removed = new ArrayList<String>();
+
+        /**
+         * Start recording changes, discarding the changes recorded so far.
+         */
+        void mark() {
+            added.clear();
+            removed.clear();
+        }
+
+        /**
+         * Undo the changes made since the mark.
+         */
+        void undo() {
+            tokens.removeAll(added);
+            tokens.addAll(removed);
+            mark();
+        }
+
+        @Override
+        public boolean add(String token) {
+            if (!tokens.add(token)) {
+                return false;
+            }
+            if (!removed.remove(token)) {
+                added.add(token);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object token) {
+            return tokens.contains(token);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<String> iterator = tokens.iterator();
+            return new Iterator<String>() {
+
+                private String token;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    token = iterator.next();
+                    return token;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    removed(token);
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(Object token) {
+            if (!tokens.remove(token)) {
+                return false;
+            }
+            removed((String) token);
+            return true;
+        }
+
+        /**
+         * @param token
+         *            A token removed.
+         */
+        private void removed(String token) {
+            if (!added.remove(token)) {
+                removed.add(token);
+            }
+        }
+
+        @Override
+        public int size() {
+            return tokens.size();
+        }
+    }
+}
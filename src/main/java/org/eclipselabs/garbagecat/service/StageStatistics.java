@@ -0,0 +1,187 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.BlockingQueue;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+
+/**
+ * <p>
+ * Throughput and input queue depth for an ingestion pipeline stage, used to identify which stage is the bottleneck.
+ * </p>
+ * 
+ * <p>
+ * Time spent blocked waiting on the input queue (nothing to do) or output queue (downstream stage is behind) is not
+ * counted as busy time. The stage with the highest busy time and full input queue is the bottleneck.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class StageStatistics {
+
+    /**
+     * The number of batches taken from the input queue.
+     */
+    private long batches;
+
+    /**
+     * Time the stage ended (nanoseconds).
+     */
+    private long endTime;
+
+    /**
+     * The number of log lines processed.
+     */
+    private long logLines;
+
+    /**
+     * The maximum number of batches waiting in the input queue when a batch was taken.
+     */
+    private int maxQueueDepth;
+
+    /**
+     * The stage name.
+     */
+    private final String name;
+
+    /**
+     * Time the stage started (nanoseconds).
+     */
+    private long startTime;
+
+    /**
+     * The sum of the number of batches waiting in the input queue when a batch was taken.
+     */
+    private long totalQueueDepth;
+
+    /**
+     * Time spent blocked on the input or output queue (nanoseconds).
+     */
+    private long waitTime;
+
+    /**
+     * @param name
+     *            The stage name.
+     */
+    public StageStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param logLines
+     *            The number of log lines processed.
+     */
+    synchronized void addLogLines(int logLines) {
+        this.logLines += logLines;
+    }
+
+    /**
+     * @return The average number of batches waiting in the input queue when a batch was taken.
+     */
+    public synchronized BigDecimal getAverageQueueDepth() {
+        if (batches == 0) {
+            return BigDecimal.ZERO;
+        }
+        return new BigDecimal(totalQueueDepth).divide(new BigDecimal(batches), 1, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @return The time the stage was not blocked on a queue (milliseconds).
+     */
+    public synchronized long getBusyTime() {
+        return (endTime - startTime - waitTime) / 1000000;
+    }
+
+    /**
+     * @return The number of log lines processed.
+     */
+    public synchronized long getLogLines() {
+        return logLines;
+    }
+
+    /**
+     * @return The maximum number of batches waiting in the input queue when a batch was taken.
+     */
+    public synchronized int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * @return The stage name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of log lines processed per second of busy time.
+     */
+    public synchronized long getThroughput() {
+        long busyTime = getBusyTime();
+        return busyTime == 0 ? logLines * 1000 : logLines * 1000 / busyTime;
+    }
+
+    /**
+     * Put a batch on the output queue, waiting if the queue is full.
+     */
+    <T> void put(BlockingQueue<T> queue, T batch) throws InterruptedException {
+        long start = System.nanoTime();
+        queue.put(batch);
+        waited(System.nanoTime() - start);
+    }
+
+    /**
+     * Mark the start of the stage.
+     */
+    synchronized void start() {
+        startTime = System.nanoTime();
+        endTime = startTime;
+    }
+
+    /**
+     * Mark the end of the stage.
+     */
+    synchronized void stop() {
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Take a batch from the input queue, waiting if the queue is empty.
+     */
+    <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+        int queueDepth = queue.size();
+        long start = System.nanoTime();
+        T batch = queue.take();
+        waited(System.nanoTime() - start);
+        synchronized (this) {
+            batches++;
+            totalQueueDepth += queueDepth;
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        }
+        return batch;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return name + ": " + logLines + " lines, " + JdkMath.convertMillisToSecs(getBusyTime()) + " secs busy, "
+                + getThroughput() + " lines/sec, queue depth max " + maxQueueDepth + " avg " + getAverageQueueDepth();
+    }
+
+    private synchronized void waited(long time) {
+        waitTime += time;
+    }
+}
@@ -0,0 +1,60 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * <code>LogLineReader</code> backed by a <code>BufferedReader</code>. Used for logging that cannot be memory mapped
+ * (e.g. pipes).
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class BufferedLogLineReader implements LogLineReader {
+
+    private final BufferedReader bufferedReader;
+
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @throws FileNotFoundException
+     *             if the log file cannot be opened for reading.
+     */
+    public BufferedLogLineReader(File logFile) throws FileNotFoundException {
+        this(new FileReader(logFile));
+    }
+
+    /**
+     * @param reader
+     *            The garbage collection logging.
+     */
+    public BufferedLogLineReader(Reader reader) {
+        this.bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public void close() throws IOException {
+        bufferedReader.close();
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        return bufferedReader.readLine();
+    }
+}
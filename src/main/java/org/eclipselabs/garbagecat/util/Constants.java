@@ -58,6 +58,46 @@ public class Constants {
      */
     public static final String OPTION_HELP_SHORT = "h";
 
+    /**
+     * Batch command line long option.
+     */
+    public static final String OPTION_BATCH_LONG = "batch";
+
+    /**
+     * Batch command line short option.
+     */
+    public static final String OPTION_BATCH_SHORT = "b";
+
+    /**
+     * Checkpoint command line long option.
+     */
+    public static final String OPTION_CHECKPOINT_LONG = "checkpoint";
+
+    /**
+     * Checkpoint command line short option.
+     */
+    public static final String OPTION_CHECKPOINT_SHORT = "c";
+
+    /**
+     * Event cache command line long option.
+     */
+    public static final String OPTION_EVENT_CACHE_LONG = "eventcache";
+
+    /**
+     * Event cache command line short option.
+     */
+    public static final String OPTION_EVENT_CACHE_SHORT = "e";
+
+    /**
+     * Follow command line long option.
+     */
+    public static final String OPTION_FOLLOW_LONG = "follow";
+
+    /**
+     * Follow command line short option.
+     */
+    public static final String OPTION_FOLLOW_SHORT = "f";
+
     /**
      * JVM options command line long option.
      */
@@ -78,6 +118,16 @@ public class Constants {
      */
     public static final String OPTION_LATEST_VERSION_SHORT = "l";
 
+    /**
+     * Off-heap (directory of event storage scratch files) command line long option.
+     */
+    public static final String OPTION_OFF_HEAP_LONG = "offheap";
+
+    /**
+     * Off-heap (directory of event storage scratch files) command line short option.
+     */
+    public static final String OPTION_OFF_HEAP_SHORT = "x";
+
     /**
      * Output (name of report file) command line long option.
      */
@@ -108,6 +158,16 @@ public class Constants {
      */
     public static final String OPTION_REORDER_SHORT = "r";
 
+    /**
+     * Stages (print ingest stage statistics) command line long option.
+     */
+    public static final String OPTION_STAGES_LONG = "stages";
+
+    /**
+     * Stages (print ingest stage statistics) command line short option.
+     */
+    public static final String OPTION_STAGES_SHORT = "g";
+
     /**
      * JVM start datetime command line long option.
      */
@@ -118,6 +178,16 @@ public class Constants {
      */
     public static final String OPTION_STARTDATETIME_SHORT = "s";
 
+    /**
+     * Threads command line long option.
+     */
+    public static final String OPTION_THREADS_LONG = "threads";
+
+    /**
+     * Threads command line short option.
+     */
+    public static final String OPTION_THREADS_SHORT = "n";
+
     /**
      * Threshold command line long option.
      */
@@ -0,0 +1,143 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * <code>LogLineReader</code> that follows a log file as it is written, like <code>tail -f</code>. At the end of the
+ * logging written so far, the reader waits for more logging instead of returning the end of the logging. A log line is
+ * only returned once it is terminated by a line feed, so a log line being written is not split.
+ * </p>
+ * 
+ * <p>
+ * Following stops (the end of the logging is returned) when the reading thread is interrupted. If the log file is
+ * truncated (e.g. by <code>copytruncate</code> log rotation), reading continues from the start of the log file. Log
+ * lines are decoded with the default charset, the same as <code>FileReader</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class FollowLogLineReader implements LogLineReader {
+
+    /**
+     * The default time (milliseconds) to wait before checking for more logging.
+     */
+    public static final long DEFAULT_POLL_INTERVAL = 1000;
+
+    /**
+     * Bytes read from the log file not yet returned in a log line.
+     */
+    private final byte[] buffer = new byte[64 * 1024];
+
+    /**
+     * The position of the next byte to read in the buffer.
+     */
+    private int bufferPosition;
+
+    /**
+     * The number of bytes in the buffer.
+     */
+    private int bufferLength;
+
+    /**
+     * Charset used to decode log lines.
+     */
+    private final Charset charset = Charset.defaultCharset();
+
+    /**
+     * Called each time the end of the logging written so far is reached, before waiting for more logging.
+     */
+    private final Runnable idleHandler;
+
+    /**
+     * Reusable log line buffer. Log lines are copied here so a log line can span reads.
+     */
+    private byte[] line = new byte[512];
+
+    /**
+     * The number of bytes in the log line buffer.
+     */
+    private int lineLength;
+
+    /**
+     * The time (milliseconds) to wait before checking for more logging.
+     */
+    private final long pollInterval;
+
+    private final RandomAccessFile randomAccessFile;
+
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @param pollInterval
+     *            The time (milliseconds) to wait before checking for more logging.
+     * @param idleHandler
+     *            Called each time the end of the logging written so far is reached, before waiting for more logging,
+     *            or null.
+     * @throws IOException
+     *             if the log file cannot be opened for reading.
+     */
+    public FollowLogLineReader(File logFile, long pollInterval, Runnable idleHandler) throws IOException {
+        this.randomAccessFile = new RandomAccessFile(logFile, "r");
+        this.pollInterval = pollInterval;
+        this.idleHandler = idleHandler;
+    }
+
+    @Override
+    public void close() throws IOException {
+        randomAccessFile.close();
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        while (true) {
+            while (bufferPosition < bufferLength) {
+                byte b = buffer[bufferPosition++];
+                if (b == '\n') {
+                    int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                    lineLength = 0;
+                    return new String(line, 0, length, charset);
+                }
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+            }
+            if (randomAccessFile.length() < randomAccessFile.getFilePointer()) {
+                // Truncated
+                randomAccessFile.seek(0);
+                lineLength = 0;
+            }
+            bufferPosition = 0;
+            bufferLength = Math.max(randomAccessFile.read(buffer), 0);
+            if (bufferLength == 0) {
+                if (idleHandler != null) {
+                    idleHandler.run();
+                }
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>
+ * <code>LogLineReader</code> for gzip compressed logging. The logging is decompressed as a stream, without writing the
+ * uncompressed logging to disk.
+ * </p>
+ * 
+ * <p>
+ * Decompression is done on a separate thread that hands off chunks of uncompressed logging through a bounded queue, so
+ * decompression overlaps with the processing of the log lines already read. Log lines are decoded with the default
+ * charset, the same as <code>FileReader</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class GzipLogLineReader implements LogLineReader {
+
+    /**
+     * <code>InputStream</code> over the chunks of uncompressed logging handed off by the decompression thread.
+     */
+    private class ChunkInputStream extends InputStream {
+
+        /**
+         * The chunk being read.
+         */
+        private byte[] chunk = new byte[0];
+
+        /**
+         * The position of the next byte to read in the chunk.
+         */
+        private int position;
+
+        /**
+         * Get the next chunk if the current chunk has been read.
+         * 
+         * @return True if there is a chunk to read, false at the end of the logging.
+         * @throws IOException
+         *             if decompression failed.
+         */
+        private boolean nextChunk() throws IOException {
+            if (chunk == END) {
+                return false;
+            }
+            if (position == chunk.length) {
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                position = 0;
+                if (chunk == END) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextChunk() ? chunk[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+
+    /**
+     * The size (bytes) of the chunks of uncompressed logging handed off by the decompression thread.
+     */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Marker for the end of the uncompressed logging.
+     */
+    private static final byte[] END = new byte[0];
+
+    /**
+     * The number of chunks decompressed ahead of the log lines being read.
+     */
+    private static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * Determine whether or not a file is gzip compressed by checking for the gzip magic number.
+     * 
+     * @param logFile
+     *            The garbage collection log file.
+     * @return True if the file is a regular file that is gzip compressed, false otherwise.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    public static boolean isGzip(File logFile) throws IOException {
+        if (!logFile.isFile()) {
+            return false;
+        }
+        try (InputStream inputStream = new FileInputStream(logFile)) {
+            return inputStream.read() == 0x1f && inputStream.read() == 0x8b;
+        }
+    }
+
+    private final BufferedReader bufferedReader;
+
+    /**
+     * Chunks of uncompressed logging, in logging order.
+     */
+    private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<byte[]>(QUEUE_CAPACITY);
+
+    /**
+     * The decompression failure, if any.
+     */
+    private volatile IOException failure;
+
+    /**
+     * The decompression thread.
+     */
+    private final Thread inflater;
+
+    /**
+     * @param logFile
+     *            The gzip compressed garbage collection log file.
+     * @throws IOException
+     *             if the log file cannot be opened for reading or is not gzip compressed.
+     */
+    public GzipLogLineReader(File logFile) throws IOException {
+        final InputStream inputStream = new GZIPInputStream(new FileInputStream(logFile), CHUNK_SIZE);
+        inflater = new Thread(() -> inflate(inputStream), "garbagecat-inflate");
+        inflater.setDaemon(true);
+        inflater.start();
+        bufferedReader = new BufferedReader(new InputStreamReader(new ChunkInputStream()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.interrupt();
+        bufferedReader.close();
+    }
+
+    /**
+     * Decompress the logging and hand off full chunks until the end of the logging is reached, decompression fails, or
+     * the reader is closed.
+     * 
+     * @param inputStream
+     *            The decompressing <code>InputStream</code>.
+     */
+    private void inflate(InputStream inputStream) {
+        try {
+            int length;
+            do {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                length = 0;
+                int n;
+                while (length < CHUNK_SIZE && (n = inputStream.read(chunk, length, CHUNK_SIZE - length)) != -1) {
+                    length += n;
+                }
+                if (length > 0) {
+                    chunks.put(length == CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, length));
+                }
+            } while (length == CHUNK_SIZE);
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            // Reader closed
+            return;
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // The logging already decompressed is not affected
+            }
+        }
+        try {
+            chunks.put(END);
+        } catch (InterruptedException e) {
+            // Reader closed
+        }
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        return bufferedReader.readLine();
+    }
+}
@@ -0,0 +1,200 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+
+/**
+ * <p>
+ * Multi-pattern literal matcher used to narrow down which keys (e.g. event types) can match a line before running the
+ * regular expressions of each key.
+ * </p>
+ *
+ * <p>
+ * Each key has literal text, one of which is in every line the key matches. The literals of all keys are compiled
+ * once into a single Aho-Corasick automaton, so a line is scanned once, character by character, no matter how many
+ * literals there are. A key without literals is a candidate for every line.
+ * </p>
+ *
+ * <p>
+ * Literals are limited to ASCII characters. Other characters in a line never match a literal.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ * @param <E>
+ *            The key type.
+ */
+public final class LiteralIndex<E extends Enum<E>> {
+
+    /**
+     * Number of characters handled by the automaton. Other characters share the "no literal" character class.
+     */
+    private static final int ASCII = 128;
+
+    /**
+     * The character class of each ASCII character. 0 is the class of characters not in any literal.
+     */
+    private final int[] characterClasses = new int[ASCII];
+
+    /**
+     * The number of character classes.
+     */
+    private final int characterClassCount;
+
+    /**
+     * The keys that are candidates for every line.
+     */
+    private final EnumSet<E> alwaysCandidates;
+
+    /**
+     * Automaton transitions, indexed by state * <code>characterClassCount</code> + character class.
+     */
+    private final int[] transitions;
+
+    /**
+     * The keys with a literal ending at each state, or null if none.
+     */
+    private final Object[][] matches;
+
+    /**
+     * @param keyType
+     *            The key type.
+     * @param literals
+     *            The literals for each key. A key that is not in the map, or has no literals, is always a candidate.
+     */
+    public LiteralIndex(Class<E> keyType, Map<E, String[]> literals) {
+        alwaysCandidates = EnumSet.allOf(keyType);
+        int classCount = 1;
+        for (Entry<E, String[]> entry : literals.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().length == 0) {
+                continue;
+            }
+            alwaysCandidates.remove(entry.getKey());
+            for (String literal : entry.getValue()) {
+                if (literal.isEmpty()) {
+                    throw new IllegalArgumentException("Empty literal: " + entry.getKey());
+                }
+                for (int i = 0; i < literal.length(); i++) {
+                    char c = literal.charAt(i);
+                    if (c >= ASCII) {
+                        throw new IllegalArgumentException("Literal not ASCII: " + literal);
+                    }
+                    if (characterClasses[c] == 0) {
+                        characterClasses[c] = classCount++;
+                    }
+                }
+            }
+        }
+        characterClassCount = classCount;
+
+        // Trie of the literals
+        List<int[]> trie = new ArrayList<int[]>();
+        List<EnumSet<E>> stateMatches = new ArrayList<EnumSet<E>>();
+        trie.add(newState());
+        stateMatches.add(EnumSet.noneOf(keyType));
+        for (Entry<E, String[]> entry : literals.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            for (String literal : entry.getValue()) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    int characterClass = characterClasses[literal.charAt(i)];
+                    if (trie.get(state)[characterClass] < 0) {
+                        trie.get(state)[characterClass] = trie.size();
+                        trie.add(newState());
+                        stateMatches.add(EnumSet.noneOf(keyType));
+                    }
+                    state = trie.get(state)[characterClass];
+                }
+                stateMatches.get(state).add(entry.getKey());
+            }
+        }
+
+        // Add the failure transitions breadth first, so each state also matches the literals that are its suffixes
+        int stateCount = trie.size();
+        transitions = new int[stateCount * characterClassCount];
+        int[] failures = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<Integer>();
+        for (int characterClass = 0; characterClass < characterClassCount; characterClass++) {
+            int next = trie.get(0)[characterClass];
+            if (next < 0) {
+                transitions[characterClass] = 0;
+            } else {
+                transitions[characterClass] = next;
+                failures[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            stateMatches.get(state).addAll(stateMatches.get(failures[state]));
+            for (int characterClass = 0; characterClass < characterClassCount; characterClass++) {
+                int next = trie.get(state)[characterClass];
+                int failure = transitions[failures[state] * characterClassCount + characterClass];
+                if (next < 0) {
+                    transitions[state * characterClassCount + characterClass] = failure;
+                } else {
+                    transitions[state * characterClassCount + characterClass] = next;
+                    failures[next] = failure;
+                    queue.add(next);
+                }
+            }
+        }
+
+        matches = new Object[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            if (!stateMatches.get(state).isEmpty()) {
+                matches[state] = stateMatches.get(state).toArray();
+            }
+        }
+    }
+
+    /**
+     * @return A trie state with no transitions.
+     */
+    private int[] newState() {
+        int[] state = new int[characterClassCount];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * @param line
+     *            The line to scan.
+     * @return The keys that can match the line: the keys with a literal in the line, and the keys without literals.
+     */
+    @SuppressWarnings("unchecked")
+    public EnumSet<E> candidates(String line) {
+        EnumSet<E> candidates = alwaysCandidates.clone();
+        int state = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            state = transitions[state * characterClassCount + (c < ASCII ? characterClasses[c] : 0)];
+            if (matches[state] != null) {
+                for (Object key : matches[state]) {
+                    candidates.add((E) key);
+                }
+            }
+        }
+        return candidates;
+    }
+}
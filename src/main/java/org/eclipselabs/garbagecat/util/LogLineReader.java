@@ -0,0 +1,36 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of garbage collection log lines.
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public interface LogLineReader extends Closeable {
+
+    /**
+     * Read the next log line. A line is terminated by a line feed ('\n'), a carriage return ('\r'), or a carriage
+     * return followed immediately by a line feed, the same as {@link java.io.BufferedReader#readLine()}.
+     * 
+     * @return The log line, not including any line termination characters, or null if the end of the logging has been
+     *         reached.
+     * @throws IOException
+     *             if there is an error reading the logging.
+     */
+    String readLine() throws IOException;
+}
@@ -0,0 +1,237 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * <code>LogLineReader</code> backed by a memory mapped file.
+ * </p>
+ * 
+ * <p>
+ * The file is mapped in windows, so files larger than the 2 GB <code>MappedByteBuffer</code> limit can be read. GC
+ * logging is almost always ASCII, so bytes are copied directly into the log line without going through a charset
+ * decoder. A log line with non-ASCII bytes (e.g. application logging mixed in with GC logging) is decoded with the
+ * default charset, the same as <code>FileReader</code>.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class MappedLogLineReader implements LogLineReader {
+
+    /**
+     * The default size (bytes) of the file window mapped into memory.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The file channel being mapped.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Charset used to decode log lines with non-ASCII bytes.
+     */
+    private final Charset charset = Charset.defaultCharset();
+
+    /**
+     * Reusable log line buffer. Log lines are copied here so a log line can span windows.
+     */
+    private byte[] line = new byte[512];
+
+    /**
+     * The number of bytes in the log line buffer.
+     */
+    private int lineLength;
+
+    /**
+     * Whether or not the log line buffer has only ASCII bytes.
+     */
+    private boolean lineAscii;
+
+    /**
+     * The file size (bytes) when the file was opened.
+     */
+    private final long size;
+
+    /**
+     * Whether or not the previous log line ended with a carriage return, in which case a line feed at the start of
+     * the next log line is part of the line termination.
+     */
+    private boolean skipLineFeed;
+
+    /**
+     * The current memory mapped window.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * The file position of the next window.
+     */
+    private long windowPosition;
+
+    /**
+     * The window size (bytes).
+     */
+    private final int windowSize;
+
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @throws IOException
+     *             if the log file cannot be opened for reading.
+     */
+    public MappedLogLineReader(File logFile) throws IOException {
+        this(logFile, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @param windowSize
+     *            The size (bytes) of the file window mapped into memory.
+     * @throws IOException
+     *             if the log file cannot be opened for reading.
+     */
+    public MappedLogLineReader(File logFile, int windowSize) throws IOException {
+        this(logFile, windowSize, 0);
+    }
+
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @param windowSize
+     *            The size (bytes) of the file window mapped into memory.
+     * @param offset
+     *            The file position (bytes) to start reading at (e.g. the offset of logging already processed).
+     * @throws IOException
+     *             if the log file cannot be opened for reading.
+     */
+    public MappedLogLineReader(File logFile, int windowSize, long offset) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize <= 0: " + windowSize);
+        }
+        this.channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+        if (offset < 0 || offset > size) {
+            channel.close();
+            throw new IllegalArgumentException("offset not in file: " + offset);
+        }
+        this.windowSize = windowSize;
+        this.windowPosition = offset;
+    }
+
+    /**
+     * Append bytes from the current window to the log line buffer.
+     * 
+     * @param length
+     *            The number of bytes to append.
+     */
+    private void append(int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        window.get(line, lineLength, length);
+        lineLength += length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * @return The file position (bytes) of the next byte to be read.
+     */
+    public long getOffset() {
+        return window == null ? windowPosition : windowPosition - window.remaining();
+    }
+
+    /**
+     * Map the next window of the file into memory.
+     * 
+     * @return true if a window was mapped, false if the end of the file has been reached.
+     * @throws IOException
+     *             if there is an error mapping the file.
+     */
+    private boolean nextWindow() throws IOException {
+        if (windowPosition >= size) {
+            return false;
+        }
+        long length = Math.min(windowSize, size - windowPosition);
+        window = channel.map(MapMode.READ_ONLY, windowPosition, length);
+        windowPosition += length;
+        return true;
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        lineLength = 0;
+        lineAscii = true;
+        boolean lineStarted = false;
+        while (true) {
+            if (window == null || !window.hasRemaining()) {
+                if (!nextWindow()) {
+                    return lineStarted ? toLogLine() : null;
+                }
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (window.get(window.position()) == '\n') {
+                    window.position(window.position() + 1);
+                    continue;
+                }
+            }
+            lineStarted = true;
+            int start = window.position();
+            int limit = window.limit();
+            int i = start;
+            byte b = 0;
+            while (i < limit) {
+                b = window.get(i);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b < 0) {
+                    lineAscii = false;
+                }
+                i++;
+            }
+            append(i - start);
+            if (i < limit) {
+                // Skip line termination
+                window.position(i + 1);
+                skipLineFeed = b == '\r';
+                return toLogLine();
+            }
+        }
+    }
+
+    /**
+     * @return The log line in the log line buffer.
+     */
+    private String toLogLine() {
+        return new String(line, 0, lineLength, lineAscii ? StandardCharsets.ISO_8859_1 : charset);
+    }
+}
@@ -177,6 +177,33 @@ public class Memory implements Comparable<Memory> {
 
     public static final Memory ZERO = new Memory(0, BYTES);
 
+    /**
+     * Packed size (see {@link #toKilobytes(Memory)}) of no size.
+     */
+    public static final long NO_KILOBYTES = Long.MIN_VALUE;
+
+    /**
+     * Pack a size into a primitive number of kilobytes, to store it without a <code>Memory</code> object.
+     * 
+     * @param memory
+     *            The size, or null.
+     * @return The size in kilobytes, rounded down to a whole number, or {@link #NO_KILOBYTES} if null.
+     */
+    public static long toKilobytes(Memory memory) {
+        return memory == null ? NO_KILOBYTES : memory.getValue(KILOBYTES);
+    }
+
+    /**
+     * Materialize a size packed with {@link #toKilobytes(Memory)}.
+     * 
+     * @param kilobytes
+     *            The size in kilobytes, or {@link #NO_KILOBYTES}.
+     * @return The size, or null if {@link #NO_KILOBYTES}.
+     */
+    public static Memory fromKilobytes(long kilobytes) {
+        return kilobytes == NO_KILOBYTES ? null : new Memory(kilobytes, KILOBYTES);
+    }
+
     public static Memory memory(long value, Unit unit) {
         return value == 0 ? ZERO : new Memory(value, unit);
     }
@@ -190,6 +217,49 @@ public class Memory implements Comparable<Memory> {
         return memory(Long.parseLong(value), forUnit(unit));
     }
 
+    /**
+     * Parse a size to kilobytes, the same as <code>memory(value, unit).convertTo(KILOBYTES)</code> without creating
+     * objects.
+     * 
+     * @param size
+     *            Characters with the size as a whole number.
+     * @param start
+     *            The index of the first character of the size.
+     * @param end
+     *            The index after the last character of the size.
+     * @param unit
+     *            The units (e.g. 'M').
+     * @return The size in kilobytes, rounded down to a whole number.
+     */
+    public static long toKilobytes(CharSequence size, int start, int end, char unit) {
+        long value = 0;
+        int i = start;
+        while (i < end && i - start < 12 && size.charAt(i) >= '0' && size.charAt(i) <= '9') {
+            value = value * 10 + (size.charAt(i) - '0');
+            i++;
+        }
+        if (i == start || i != end) {
+            // Not a plain whole number, or too big to convert gigabytes
+            return memory(size.subSequence(start, end).toString(), unit).getValue(KILOBYTES);
+        }
+        switch (unit) {
+        case 'b':
+        case 'B':
+            return value / Unit.K;
+        case 'k':
+        case 'K':
+            return value;
+        case 'm':
+        case 'M':
+            return value * Unit.K;
+        case 'g':
+        case 'G':
+            return value * Unit.K * Unit.K;
+        default:
+            return memory(size.subSequence(start, end).toString(), unit).getValue(KILOBYTES);
+        }
+    }
+
     public static Memory bytes(long value) {
         return memory(value, BYTES);
     }
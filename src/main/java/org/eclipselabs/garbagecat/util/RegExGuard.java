@@ -0,0 +1,210 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Guard against regular expressions backtracking catastrophically on a log line (e.g. a truncated log line,
+ * application logging mixed into the gc logging, class histogram rows).
+ * </p>
+ *
+ * <p>
+ * Log lines longer than {@link #MAX_LINE_LENGTH} are not evaluated. Otherwise the evaluation of a log line gets a
+ * budget of {@link #MAX_STEPS} characters read by the regular expressions and {@link #MAX_NANOS} nanoseconds. The
+ * budget is enforced by matching the <code>CharSequence</code> returned by {@link #input(String)} instead of the log
+ * line, which interrupts the matcher when the budget is exceeded.
+ * </p>
+ *
+ * <p>
+ * The budget is per thread, so log lines can be evaluated concurrently. Log lines matched outside of an evaluation
+ * (e.g. events created directly from a log line) are not guarded.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public final class RegExGuard {
+
+    /**
+     * Maximum log line length evaluated with regular expressions. Longer log lines are not gc logging.
+     */
+    public static final int MAX_LINE_LENGTH = 8192;
+
+    /**
+     * Maximum number of characters the regular expressions read evaluating a log line.
+     */
+    public static final long MAX_STEPS = 10000000L;
+
+    /**
+     * Maximum time evaluating a log line.
+     */
+    public static final long MAX_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Number of steps between checks of the elapsed time.
+     */
+    private static final int STEPS_PER_TIME_CHECK = 1 << 16;
+
+    /**
+     * The budget of the evaluation in progress on each thread.
+     */
+    private static final ThreadLocal<Budget> BUDGET = new ThreadLocal<Budget>();
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private RegExGuard() {
+        super();
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return True if the log line is too long to evaluate with regular expressions, false otherwise.
+     */
+    public static boolean isTooLong(String logLine) {
+        return logLine != null && logLine.length() > MAX_LINE_LENGTH;
+    }
+
+    /**
+     * Evaluate a log line with a budget. The budget of any evaluation in progress on the thread is restored
+     * afterwards.
+     *
+     * @param <T>
+     *            The result type.
+     * @param evaluation
+     *            The evaluation, matching the log line with {@link #input(String)}.
+     * @param exceeded
+     *            The result if the budget is exceeded.
+     * @return The result of the evaluation, or the <code>exceeded</code> result if the budget is exceeded.
+     */
+    public static <T> T evaluate(Supplier<T> evaluation, Supplier<T> exceeded) {
+        return evaluate(evaluation, exceeded, MAX_STEPS, MAX_NANOS);
+    }
+
+    /**
+     * Evaluate a log line with the given budget.
+     *
+     * @param <T>
+     *            The result type.
+     * @param evaluation
+     *            The evaluation, matching the log line with {@link #input(String)}.
+     * @param exceeded
+     *            The result if the budget is exceeded.
+     * @param maxSteps
+     *            The maximum number of characters read.
+     * @param maxNanos
+     *            The maximum time in nanoseconds.
+     * @return The result of the evaluation, or the <code>exceeded</code> result if the budget is exceeded.
+     */
+    static <T> T evaluate(Supplier<T> evaluation, Supplier<T> exceeded, long maxSteps, long maxNanos) {
+        Budget outer = BUDGET.get();
+        BUDGET.set(new Budget(maxSteps, maxNanos));
+        try {
+            return evaluation.get();
+        } catch (BudgetExceededException e) {
+            return exceeded.get();
+        } finally {
+            if (outer == null) {
+                BUDGET.remove();
+            } else {
+                BUDGET.set(outer);
+            }
+        }
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return The input to match the log line with: a <code>CharSequence</code> that enforces the budget of the
+     *         evaluation in progress on the thread, or the log line if there is none.
+     */
+    public static CharSequence input(String logLine) {
+        Budget budget = BUDGET.get();
+        return budget == null || logLine == null ? logLine : new GuardedCharSequence(logLine, budget);
+    }
+
+    /**
+     * The characters and time left to evaluate a log line.
+     */
+    private static final class Budget {
+
+        private final long deadline;
+
+        private long steps;
+
+        private Budget(long maxSteps, long maxNanos) {
+            steps = maxSteps;
+            deadline = System.nanoTime() + maxNanos;
+        }
+
+        /**
+         * Take a step.
+         *
+         * @throws BudgetExceededException
+         *             if the budget is exceeded.
+         */
+        private void step() {
+            if (--steps < 0 || (steps % STEPS_PER_TIME_CHECK == 0 && System.nanoTime() - deadline > 0)) {
+                throw new BudgetExceededException();
+            }
+        }
+    }
+
+    /**
+     * Log line that takes a step of the budget for each character read.
+     */
+    private static final class GuardedCharSequence implements CharSequence {
+
+        private final Budget budget;
+
+        private final String logLine;
+
+        private GuardedCharSequence(String logLine, Budget budget) {
+            this.logLine = logLine;
+            this.budget = budget;
+        }
+
+        public char charAt(int index) {
+            budget.step();
+            return logLine.charAt(index);
+        }
+
+        public int length() {
+            return logLine.length();
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return logLine.subSequence(start, end);
+        }
+
+        public String toString() {
+            return logLine;
+        }
+    }
+
+    /**
+     * Thrown to interrupt the matcher when the budget is exceeded.
+     */
+    private static final class BudgetExceededException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,508 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.UnknownEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.PreprocessActionType;
+
+/**
+ * <p>
+ * Adaptive event type identification for the logging of a single JVM run. The logging almost always comes from one
+ * collector family in one logging format (unified or legacy), so once they are established the event types and
+ * preprocessing actions of the other collector families and logging format are not checked.
+ * </p>
+ *
+ * <p>
+ * The collector family is established by a "Using" header (e.g. <code>UsingG1Event</code>) or by
+ * {@link #ESTABLISHING_EVENTS} garbage collection events of the same collector family in a row. The logging format is
+ * established by a header only logged in one format (e.g. <code>HeaderVersionEvent</code> for legacy logging) or by
+ * {@link #ESTABLISHING_EVENTS} events only logged in the same format in a row.
+ * </p>
+ *
+ * <p>
+ * A log line that is not identified by the narrowed event types falls back to the excluded event types. If one of them
+ * matches, observing it adds its collector family to the established collector families (e.g. CMS with serial young
+ * collections), or the logging format is no longer narrowed.
+ * </p>
+ *
+ * <p>
+ * Narrowing changes the identification of a log line matched by more than one event type: once the collector families
+ * and logging format are established, it is identified as the first matching event type that is not excluded, even if
+ * an excluded event type is matched first without narrowing (see <code>JdkUtil#identifyEventType(String)</code>).
+ * </p>
+ *
+ * <p>
+ * Event types are cached for the JVM run (see <code>EventTypeCache</code>), so a log line with the same shape as a
+ * prior log line is checked against the prior event type first, unless it is excluded, and a log line with the same
+ * unidentified shape as a prior unidentified log line (e.g. only differing in its timestamp) is not checked again.
+ * </p>
+ *
+ * <p>
+ * Log lines are identified with a regular expression budget (see <code>RegExGuard</code>). A log line that is too long
+ * or exceeds the budget is unidentified. Exceeding the budget only affects that log line: it is not cached.
+ * </p>
+ *
+ * <p>
+ * Identification only reads the narrowing. It is updated by {@link #observe(LogEventType)} with the event types of the
+ * logging in log order, so the narrowing does not depend on the order log lines are identified in. Identification is
+ * thread safe, so log lines can be parsed in parallel, with a {@link #snapshot()} so every log line in a batch is
+ * identified with the same narrowing while the event types of prior batches are observed.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class CollectorFamilyClassifier {
+
+    /**
+     * The number of events in a row that establish the collector family or logging format.
+     */
+    static final int ESTABLISHING_EVENTS = 3;
+
+    /**
+     * The event types only logged by each collector family (see <code>EventTypeRegistry</code>).
+     */
+    private static final Map<CollectorFamily, EnumSet<LogEventType>> FAMILY_EVENT_TYPES;
+
+    /**
+     * The event types only logged with unified logging.
+     */
+    private static final EnumSet<LogEventType> UNIFIED_EVENT_TYPES;
+
+    /**
+     * The event types only logged with legacy logging.
+     */
+    private static final EnumSet<LogEventType> LEGACY_EVENT_TYPES;
+
+    /**
+     * The preprocessing actions only for each collector family.
+     */
+    private static final Map<CollectorFamily, EnumSet<PreprocessActionType>> FAMILY_PREPROCESS_ACTIONS;
+
+    static {
+        FAMILY_EVENT_TYPES = new EnumMap<CollectorFamily, EnumSet<LogEventType>>(CollectorFamily.class);
+        for (CollectorFamily family : CollectorFamily.values()) {
+            if (family != CollectorFamily.UNKNOWN) {
+                FAMILY_EVENT_TYPES.put(family, EventTypeRegistry.getEventTypes(family));
+            }
+        }
+
+        UNIFIED_EVENT_TYPES = EnumSet.of(LogEventType.G1_FULL_GC_PARALLEL, LogEventType.HEAP_ADDRESS,
+                LogEventType.HEAP_REGION_SIZE, LogEventType.UNIFIED_CMS_INITIAL_MARK, LogEventType.UNIFIED_CONCURRENT,
+                LogEventType.UNIFIED_G1_CLEANUP, LogEventType.UNIFIED_G1_INFO, LogEventType.UNIFIED_G1_MIXED_PAUSE,
+                LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK, LogEventType.UNIFIED_G1_YOUNG_PAUSE,
+                LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, LogEventType.UNIFIED_OLD, LogEventType.UNIFIED_PAR_NEW,
+                LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD, LogEventType.UNIFIED_PARALLEL_SCAVENGE,
+                LogEventType.UNIFIED_REMARK, LogEventType.UNIFIED_SAFEPOINT, LogEventType.UNIFIED_SERIAL_NEW,
+                LogEventType.UNIFIED_SERIAL_OLD, LogEventType.UNIFIED_YOUNG, LogEventType.USING_CMS,
+                LogEventType.USING_G1, LogEventType.USING_PARALLEL, LogEventType.USING_SERIAL,
+                LogEventType.USING_SHENANDOAH);
+        LEGACY_EVENT_TYPES = EnumSet.of(LogEventType.CMS_CONCURRENT, LogEventType.CMS_INITIAL_MARK,
+                LogEventType.CMS_REMARK, LogEventType.CMS_SERIAL_OLD, LogEventType.G1_CLEANUP,
+                LogEventType.G1_CONCURRENT, LogEventType.G1_FULL_GC_SERIAL, LogEventType.G1_MIXED_PAUSE,
+                LogEventType.G1_REMARK, LogEventType.G1_YOUNG_INITIAL_MARK, LogEventType.G1_YOUNG_PAUSE,
+                LogEventType.HEADER_VERSION, LogEventType.PAR_NEW, LogEventType.PARALLEL_COMPACTING_OLD,
+                LogEventType.PARALLEL_SCAVENGE, LogEventType.PARALLEL_SERIAL_OLD, LogEventType.SERIAL_NEW,
+                LogEventType.SERIAL_OLD);
+
+        FAMILY_PREPROCESS_ACTIONS = new EnumMap<CollectorFamily, EnumSet<PreprocessActionType>>(
+                CollectorFamily.class);
+        FAMILY_PREPROCESS_ACTIONS.put(CollectorFamily.SERIAL, EnumSet.of(PreprocessActionType.SERIAL));
+        FAMILY_PREPROCESS_ACTIONS.put(CollectorFamily.PARALLEL, EnumSet.of(PreprocessActionType.PARALLEL));
+        FAMILY_PREPROCESS_ACTIONS.put(CollectorFamily.CMS, EnumSet.of(PreprocessActionType.CMS));
+        FAMILY_PREPROCESS_ACTIONS.put(CollectorFamily.G1,
+                EnumSet.of(PreprocessActionType.G1, PreprocessActionType.UNIFIED_G1));
+        FAMILY_PREPROCESS_ACTIONS.put(CollectorFamily.SHENANDOAH, EnumSet.of(PreprocessActionType.SHENANDOAH));
+    }
+
+    /**
+     * The preprocessing actions only for legacy logging.
+     */
+    private static final EnumSet<PreprocessActionType> LEGACY_PREPROCESS_ACTIONS = EnumSet.of(PreprocessActionType.CMS,
+            PreprocessActionType.G1, PreprocessActionType.PARALLEL, PreprocessActionType.SERIAL);
+
+    /**
+     * The preprocessing actions only for unified logging.
+     */
+    private static final EnumSet<PreprocessActionType> UNIFIED_PREPROCESS_ACTIONS = EnumSet
+            .of(PreprocessActionType.UNIFIED, PreprocessActionType.UNIFIED_G1);
+
+    /**
+     * The event types of the log lines of the JVM run, shared with snapshots.
+     */
+    private final EventTypeCache cache;
+
+    /**
+     * The classifier a snapshot was taken of, or null if not a snapshot.
+     */
+    private final CollectorFamilyClassifier source;
+
+    /**
+     * The number of times the narrowing has changed.
+     */
+    private volatile int narrowings;
+
+    /**
+     * The established collector families, or empty if not established.
+     */
+    private final EnumSet<CollectorFamily> families;
+
+    /**
+     * True if unified logging is established, false if legacy logging is established, null if not established.
+     */
+    private Boolean unified;
+
+    /**
+     * Whether or not both logging formats are in the logging, so the logging format is never established.
+     */
+    private boolean mixedFormat;
+
+    /**
+     * The collector family of the last garbage collection event, or null if none.
+     */
+    private CollectorFamily lastFamily;
+
+    /**
+     * The number of garbage collection events in a row of the last collector family.
+     */
+    private int lastFamilyEvents;
+
+    /**
+     * The logging format of the last event only logged in one format (true for unified), or null if none.
+     */
+    private Boolean lastUnified;
+
+    /**
+     * The number of events in a row of the last logging format.
+     */
+    private int lastUnifiedEvents;
+
+    /**
+     * Whether or not the collector families and logging format are established.
+     */
+    private volatile boolean settled;
+
+    /**
+     * The event types not checked unless a log line is not identified by the other event types.
+     */
+    private volatile EnumSet<LogEventType> excludedEventTypes = EnumSet.noneOf(LogEventType.class);
+
+    /**
+     * The preprocessing actions checked before the others.
+     */
+    private volatile EnumSet<PreprocessActionType> preprocessActions = EnumSet.allOf(PreprocessActionType.class);
+
+    public CollectorFamilyClassifier() {
+        cache = new EventTypeCache();
+        source = null;
+        families = EnumSet.noneOf(CollectorFamily.class);
+    }
+
+    /**
+     * @param classifier
+     *            The classifier to take a snapshot of.
+     */
+    private CollectorFamilyClassifier(CollectorFamilyClassifier classifier) {
+        cache = classifier.cache;
+        source = classifier;
+        synchronized (classifier) {
+            narrowings = classifier.narrowings;
+            families = EnumSet.copyOf(classifier.families);
+            unified = classifier.unified;
+            mixedFormat = classifier.mixedFormat;
+            settled = classifier.settled;
+            excludedEventTypes = classifier.excludedEventTypes;
+            preprocessActions = classifier.preprocessActions;
+        }
+    }
+
+    /**
+     * Identify the log line garbage collection event.
+     *
+     * @param logLine
+     *            The log entry.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public LogEventType identifyEventType(String logLine) {
+        if (RegExGuard.isTooLong(logLine)) {
+            return LogEventType.UNKNOWN;
+        }
+        String shape = JdkUtil.getShape(logLine);
+        return RegExGuard.evaluate(() -> identifyEventType(logLine, shape), () -> LogEventType.UNKNOWN);
+    }
+
+    /**
+     * Identify the log line garbage collection event.
+     *
+     * @param logLine
+     *            The log entry.
+     * @param shape
+     *            The shape of the log entry.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    private LogEventType identifyEventType(String logLine, String shape) {
+        EnumSet<LogEventType> excluded = excludedEventTypes;
+        LogEventType eventType = JdkUtil.identifyCachedEventType(cache, logLine, shape, excluded);
+        if (eventType != null) {
+            return eventType;
+        }
+        EnumSet<LogEventType> candidates = JdkUtil.candidates(logLine);
+        EnumSet<LogEventType> excludedCandidates = split(candidates, excluded);
+        eventType = JdkUtil.identifyEventType(logLine, candidates);
+        if (eventType == LogEventType.UNKNOWN && excludedCandidates != null) {
+            eventType = JdkUtil.identifyEventType(logLine, excludedCandidates);
+        }
+        cache.put(logLine, shape, eventType);
+        return eventType;
+    }
+
+    /**
+     * Create <code>LogEvent</code> from GC log line.
+     *
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    public LogEvent parseLogLine(String logLine) {
+        if (RegExGuard.isTooLong(logLine)) {
+            return new UnknownEvent(logLine);
+        }
+        String shape = JdkUtil.getShape(logLine);
+        return RegExGuard.evaluate(() -> parseLogLine(logLine, shape), () -> new UnknownEvent(logLine));
+    }
+
+    /**
+     * Create <code>LogEvent</code> from GC log line.
+     *
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param shape
+     *            The shape of the log line.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    private LogEvent parseLogLine(String logLine, String shape) {
+        EnumSet<LogEventType> excluded = excludedEventTypes;
+        LogEvent event = JdkUtil.parseCachedLogLine(cache, logLine, shape, excluded);
+        if (event != null) {
+            return event;
+        }
+        EnumSet<LogEventType> candidates = JdkUtil.candidates(logLine);
+        EnumSet<LogEventType> excludedCandidates = split(candidates, excluded);
+        event = JdkUtil.parseLogLine(logLine, candidates);
+        if (event instanceof UnknownEvent && excludedCandidates != null) {
+            LogEvent excludedEvent = JdkUtil.parseLogLine(logLine, excludedCandidates);
+            if (!(excludedEvent instanceof UnknownEvent)) {
+                event = excludedEvent;
+            }
+        }
+        cache.put(logLine, shape, EventTypeRegistry.getEventType(event));
+        return event;
+    }
+
+    /**
+     * Remove the excluded event types from the candidates.
+     *
+     * @param candidates
+     *            The event types that can match a log line.
+     * @param excluded
+     *            The excluded event types.
+     * @return The excluded event types that were candidates, or null if none.
+     */
+    private static EnumSet<LogEventType> split(EnumSet<LogEventType> candidates, EnumSet<LogEventType> excluded) {
+        if (excluded.isEmpty()) {
+            return null;
+        }
+        EnumSet<LogEventType> excludedCandidates = EnumSet.copyOf(candidates);
+        excludedCandidates.retainAll(excluded);
+        if (excludedCandidates.isEmpty()) {
+            return null;
+        }
+        candidates.removeAll(excluded);
+        return excludedCandidates;
+    }
+
+    /**
+     * @return The preprocessing actions checked before the others, all of them if the collector families and logging
+     *         format are not established.
+     */
+    public EnumSet<PreprocessActionType> getPreprocessActions() {
+        return preprocessActions;
+    }
+
+    /**
+     * @return The established collector families, empty if not established.
+     */
+    public synchronized EnumSet<CollectorFamily> getCollectorFamilies() {
+        return EnumSet.copyOf(families);
+    }
+
+    /**
+     * @return True if unified logging is established, false if legacy logging is established, null if not
+     *         established.
+     */
+    public synchronized Boolean isUnified() {
+        return unified;
+    }
+
+    /**
+     * @return True if the narrowing has not changed since the snapshot was taken, or if this is not a snapshot.
+     */
+    public boolean isCurrent() {
+        return source == null || source.narrowings == narrowings;
+    }
+
+    /**
+     * Update the established collector families and logging format with the event type of the next event in the
+     * logging. Event types must be observed in log order by one thread at a time.
+     *
+     * @param eventType
+     *            The identified event type.
+     * @throws UnsupportedOperationException
+     *             if this is a snapshot.
+     */
+    public void observe(LogEventType eventType) {
+        if (source != null) {
+            throw new UnsupportedOperationException("Snapshot is read only.");
+        }
+        if (!settled || excludedEventTypes.contains(eventType)) {
+            update(eventType);
+        }
+    }
+
+    /**
+     * @return A read-only copy of the narrowing, sharing the event type cache, to identify log lines with while
+     *         event types are observed.
+     */
+    public CollectorFamilyClassifier snapshot() {
+        return new CollectorFamilyClassifier(this);
+    }
+
+    /**
+     * Update the established collector families and logging format with an identified event type.
+     *
+     * @param eventType
+     *            The identified event type.
+     */
+    private synchronized void update(LogEventType eventType) {
+        boolean changed = false;
+        CollectorFamily family = getCollectorFamily(eventType);
+        if (family != null) {
+            if (family == lastFamily) {
+                lastFamilyEvents++;
+            } else {
+                lastFamily = family;
+                lastFamilyEvents = 1;
+            }
+            if (!families.contains(family) && (!families.isEmpty() || isHeader(eventType)
+                    || lastFamilyEvents >= ESTABLISHING_EVENTS)) {
+                // Add a collector family found by falling back to the excluded event types
+                families.add(family);
+                changed = true;
+            }
+        }
+        Boolean format = UNIFIED_EVENT_TYPES.contains(eventType) ? Boolean.TRUE
+                : LEGACY_EVENT_TYPES.contains(eventType) ? Boolean.FALSE : null;
+        if (format != null && !mixedFormat) {
+            if (format.equals(lastUnified)) {
+                lastUnifiedEvents++;
+            } else {
+                lastUnified = format;
+                lastUnifiedEvents = 1;
+            }
+            if (unified == null) {
+                if (isHeader(eventType) || lastUnifiedEvents >= ESTABLISHING_EVENTS) {
+                    unified = format;
+                    changed = true;
+                }
+            } else if (!unified.equals(format)) {
+                // Both logging formats
+                unified = null;
+                mixedFormat = true;
+                changed = true;
+            }
+        }
+        if (changed) {
+            narrow();
+        }
+    }
+
+    /**
+     * Update the excluded event types and preprocessing actions from the established collector families and logging
+     * format.
+     */
+    private void narrow() {
+        EnumSet<LogEventType> excluded = EnumSet.noneOf(LogEventType.class);
+        EnumSet<PreprocessActionType> actions = EnumSet.allOf(PreprocessActionType.class);
+        if (!families.isEmpty()) {
+            for (Entry<CollectorFamily, EnumSet<LogEventType>> entry : FAMILY_EVENT_TYPES.entrySet()) {
+                if (!families.contains(entry.getKey())) {
+                    excluded.addAll(entry.getValue());
+                    actions.removeAll(FAMILY_PREPROCESS_ACTIONS.get(entry.getKey()));
+                }
+            }
+        }
+        if (Boolean.TRUE.equals(unified)) {
+            excluded.addAll(LEGACY_EVENT_TYPES);
+            actions.removeAll(LEGACY_PREPROCESS_ACTIONS);
+        } else if (Boolean.FALSE.equals(unified)) {
+            excluded.addAll(UNIFIED_EVENT_TYPES);
+            actions.removeAll(UNIFIED_PREPROCESS_ACTIONS);
+        }
+        excludedEventTypes = excluded;
+        preprocessActions = actions;
+        settled = !families.isEmpty() && (unified != null || mixedFormat);
+        narrowings++;
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return The collector family that only it is logged by, or null if it is logged by more than one.
+     */
+    private static CollectorFamily getCollectorFamily(LogEventType eventType) {
+        for (Entry<CollectorFamily, EnumSet<LogEventType>> entry : FAMILY_EVENT_TYPES.entrySet()) {
+            if (entry.getValue().contains(eventType)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return True if the event type is a header that establishes the collector family or logging format by itself.
+     */
+    private static boolean isHeader(LogEventType eventType) {
+        switch (eventType) {
+        case HEADER_VERSION:
+        case USING_CMS:
+        case USING_G1:
+        case USING_PARALLEL:
+        case USING_SERIAL:
+        case USING_SHENANDOAH:
+            return true;
+        default:
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry.Registration;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Event type cache for the logging of a single JVM run (see <code>CollectorFamilyClassifier</code>).
+ * </p>
+ *
+ * <p>
+ * The event type of each log line shape is cached (see <code>JdkUtil.getShape</code>), so a log line with the same
+ * shape as a prior log line is checked against the prior event type first. A cached event type is only a hint: the log
+ * line is still matched against it, and identified with all the candidate event types if it does not match.
+ * </p>
+ *
+ * <p>
+ * Unidentified log lines are cached by their unidentified shape (see <code>JdkUtil.getUnidentifiedShape</code>), which
+ * only masks the numbers no event type matches a specific value of (e.g. timestamps, sizes, durations), since a log
+ * line with the same shape can match (e.g. an event type that matches a specific number). Identifying a log line is
+ * deterministic, so a log line with the same unidentified shape as an unidentified log line (e.g. repeated application
+ * logging with a timestamp) is not checked again. A log line that exceeds the regular expression budget (see
+ * <code>RegExGuard</code>) is not cached.
+ * </p>
+ *
+ * <p>
+ * The cache is cleared when an event type is registered (see <code>EventTypeRegistry.register</code>).
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+final class EventTypeCache {
+
+    /**
+     * Maximum number of log line shapes and of unidentified shapes cached.
+     */
+    private static final int SIZE = 2048;
+
+    /**
+     * @return A least recently used map with at most {@link #SIZE} entries.
+     */
+    private static <V> Map<String, V> lruMap() {
+        return new LinkedHashMap<String, V>(SIZE, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > SIZE;
+            }
+        };
+    }
+
+    /**
+     * The registrations the cached event types were identified with.
+     */
+    private Registration[] registrations = EventTypeRegistry.getRegistrations();
+
+    /**
+     * The event type of each log line shape.
+     */
+    private final Map<String, LogEventType> shapes = lruMap();
+
+    /**
+     * Unidentified shapes.
+     */
+    private final Map<String, Boolean> unidentified = lruMap();
+
+    /**
+     * @param logLine
+     *            The log entry.
+     * @param shape
+     *            The shape of the log entry.
+     * @return <code>LogEventType.UNKNOWN</code> if the unidentified shape of the log entry is cached, the cached event
+     *         type of the log entry shape to check first, or null if neither is cached.
+     */
+    synchronized LogEventType get(String logLine, String shape) {
+        if (registrations != EventTypeRegistry.getRegistrations()) {
+            registrations = EventTypeRegistry.getRegistrations();
+            shapes.clear();
+            unidentified.clear();
+            return null;
+        }
+        if (!unidentified.isEmpty() && unidentified.get(JdkUtil.getUnidentifiedShape(logLine)) != null) {
+            return LogEventType.UNKNOWN;
+        }
+        return shapes.get(shape);
+    }
+
+    /**
+     * @param logLine
+     *            The log entry.
+     * @param shape
+     *            The shape of the log entry.
+     * @param eventType
+     *            The <code>LogEventType</code> of the log entry.
+     */
+    synchronized void put(String logLine, String shape, LogEventType eventType) {
+        if (eventType == LogEventType.UNKNOWN) {
+            unidentified.put(JdkUtil.getUnidentifiedShape(logLine), Boolean.TRUE);
+        } else {
+            shapes.put(shape, eventType);
+        }
+    }
+}
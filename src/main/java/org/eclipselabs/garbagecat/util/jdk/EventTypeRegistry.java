@@ -0,0 +1,683 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
+import org.eclipselabs.garbagecat.domain.BlankLineEvent;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.UnknownEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationConcurrentTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ClassHistogramEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ClassUnloadingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsInitialMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsRemarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsSerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.FlsStatisticsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.FooterHeapEvent;
+import org.eclipselabs.garbagecat.domain.jdk.FooterStatsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1CleanupEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1ConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1FullGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1MixedPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1RemarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.GcInfoEvent;
+import org.eclipselabs.garbagecat.domain.jdk.GcLockerEvent;
+import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeaderCommandLineFlagsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeaderMemoryEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeaderVersionEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeapAtGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.LogFileEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelCompactingOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelSerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ReferenceGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.SerialNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahCancellingGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConsiderClassUnloadingConcMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahDegeneratedGcMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFinalEvacEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFinalMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFinalUpdateEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFullGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahInitMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahInitUpdateEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahStatsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ShenandoahTriggerEvent;
+import org.eclipselabs.garbagecat.domain.jdk.TenuringDistributionEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ThreadDumpEvent;
+import org.eclipselabs.garbagecat.domain.jdk.VerboseGcOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.VerboseGcYoungEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.HeapAddressEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.HeapRegionSizeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedBlankLineEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedCmsInitialMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1CleanupEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1FullGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1InfoEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1MixedPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungInitialMarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPrepareMixedEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParallelCompactingOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParallelScavengeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedRemarkEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSerialNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedYoungEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UsingCmsEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UsingG1Event;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UsingParallelEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UsingSerialEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UsingShenandoahEvent;
+import org.eclipselabs.garbagecat.util.LiteralIndex;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * Registry of the logging event types: how each <code>LogEventType</code> is matched and created, its collector
+ * family, whether it is blocking, reportable, or thrown away, and the literal text in its logging.
+ * </p>
+ *
+ * <p>
+ * Log lines are identified by trying the registrations in order. Event type metadata is looked up by ordinal.
+ * </p>
+ *
+ * <p>
+ * Additional registrations (e.g. for the logging of a custom platform) are added with
+ * {@link #register(Registration)} before the logging is analyzed. They are tried before the built in registrations,
+ * and replace the metadata of their event type.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public final class EventTypeRegistry {
+
+    /**
+     * Creates a <code>BlockingEvent</code> from values.
+     */
+    @FunctionalInterface
+    public interface BlockingEventFactory {
+
+        /**
+         * @param logEntry
+         *            The log entry.
+         * @param timestamp
+         *            The log entry timestamp.
+         * @param duration
+         *            The duration of the log event.
+         * @return The <code>BlockingEvent</code> for the given event values.
+         */
+        BlockingEvent create(String logEntry, long timestamp, int duration);
+    }
+
+    /**
+     * How an event type is matched and created, and its metadata.
+     */
+    public static final class Registration {
+
+        private final LogEventType eventType;
+
+        private final Predicate<String> match;
+
+        private final Function<String, ? extends LogEvent> factory;
+
+        private Function<String, ? extends LogEvent> tryParse;
+
+        private String[] literals;
+
+        private BlockingEventFactory blockingEventFactory;
+
+        private CollectorFamily family;
+
+        private boolean reportable = true;
+
+        private boolean throwAway;
+
+        /**
+         * @param eventType
+         *            The event type.
+         * @param match
+         *            Whether or not a log line is the event type, or null if the event type is not identified from log
+         *            lines.
+         * @param factory
+         *            Creates the event from a log line.
+         */
+        public Registration(LogEventType eventType, Predicate<String> match,
+                Function<String, ? extends LogEvent> factory) {
+            this.eventType = eventType;
+            this.match = match;
+            this.factory = factory;
+        }
+
+        /**
+         * @param tryParse
+         *            Creates the event from a log line with a single matcher run, returning null if the log line is not
+         *            the event type.
+         * @return This registration.
+         */
+        public Registration tryParse(Function<String, ? extends LogEvent> tryParse) {
+            this.tryParse = tryParse;
+            return this;
+        }
+
+        /**
+         * @param literals
+         *            Literal text, one of which is in every log line of the event type.
+         * @return This registration.
+         */
+        public Registration literals(String... literals) {
+            this.literals = literals;
+            return this;
+        }
+
+        /**
+         * @param blockingEventFactory
+         *            Creates the blocking event from values.
+         * @return This registration.
+         */
+        public Registration blocking(BlockingEventFactory blockingEventFactory) {
+            this.blockingEventFactory = blockingEventFactory;
+            return this;
+        }
+
+        /**
+         * @param family
+         *            The collector family that is the only one to log the event type.
+         * @return This registration.
+         */
+        public Registration family(CollectorFamily family) {
+            this.family = family;
+            return this;
+        }
+
+        /**
+         * The event type is not included in the report event list.
+         * 
+         * @return This registration.
+         */
+        public Registration notReportable() {
+            this.reportable = false;
+            return this;
+        }
+
+        /**
+         * The event type is a <code>ThrowAwayEvent</code> that is not needed for analysis.
+         * 
+         * @return This registration.
+         */
+        public Registration throwAway() {
+            this.throwAway = true;
+            return this;
+        }
+
+        public LogEventType getEventType() {
+            return eventType;
+        }
+
+        public CollectorFamily getFamily() {
+            return family;
+        }
+
+        public boolean isBlocking() {
+            return blockingEventFactory != null;
+        }
+
+        public boolean isReportable() {
+            return reportable;
+        }
+
+        public boolean isThrowAway() {
+            return throwAway;
+        }
+
+        /**
+         * @param logLine
+         *            The log line.
+         * @param parsed
+         *            Holder for the event created while matching the log line, or null to only match the log line.
+         * @return true if the log line is the event type, false otherwise.
+         */
+        boolean matches(String logLine, LogEvent[] parsed) {
+            if (match == null) {
+                return false;
+            }
+            if (parsed == null || tryParse == null) {
+                return match.test(logLine);
+            }
+            parsed[0] = tryParse.apply(logLine);
+            return parsed[0] != null;
+        }
+
+        /**
+         * @param logLine
+         *            The log line.
+         * @return The event created from the log line.
+         */
+        LogEvent createLogEvent(String logLine) {
+            return factory.apply(logLine);
+        }
+
+        /**
+         * @param logEntry
+         *            The log entry.
+         * @param timestamp
+         *            The log entry timestamp.
+         * @param duration
+         *            The duration of the log event.
+         * @return The <code>BlockingEvent</code> for the given event values.
+         */
+        BlockingEvent createBlockingEvent(String logEntry, long timestamp, int duration) {
+            if (blockingEventFactory == null) {
+                throw new AssertionError("Unexpected event type value: " + eventType + ": " + logEntry);
+            }
+            return blockingEventFactory.create(logEntry, timestamp, duration);
+        }
+    }
+
+    /**
+     * The registrations, in the order log lines are matched.
+     */
+    private static volatile Registration[] registrations = new Registration[0];
+
+    /**
+     * The last registration of each event type, by ordinal.
+     */
+    private static final Registration[] EVENT_TYPE_REGISTRATIONS = new Registration[LogEventType.values().length];
+
+    /**
+     * Index of the literal text in each event type's logging, so a log line is only matched against the event types
+     * that can match it.
+     */
+    private static volatile LiteralIndex<LogEventType> literalIndex;
+
+    /**
+     * The event type of each name.
+     */
+    private static final Map<String, LogEventType> NAME_EVENT_TYPES = new HashMap<String, LogEventType>();
+
+    /**
+     * The event type of each event class, so events are classified without comparing names.
+     */
+    private static final Map<Class<?>, LogEventType> CLASS_EVENT_TYPES //
+            = new ConcurrentHashMap<Class<?>, LogEventType>();
+
+    static {
+        for (LogEventType eventType : LogEventType.values()) {
+            NAME_EVENT_TYPES.put(eventType.toString(), eventType);
+        }
+
+        // Unified
+        add(new Registration(LogEventType.FOOTER_HEAP, FooterHeapEvent::match, FooterHeapEvent::new)
+                .literals(FooterHeapEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.HEAP_ADDRESS, HeapAddressEvent::match, HeapAddressEvent::new)
+                .literals(HeapAddressEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.HEAP_REGION_SIZE, HeapRegionSizeEvent::match, HeapRegionSizeEvent::new)
+                .literals(HeapRegionSizeEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.UNIFIED_SAFEPOINT, UnifiedSafepointEvent::match,
+                UnifiedSafepointEvent::new).tryParse(UnifiedSafepointEvent::tryParse)
+                .literals(UnifiedSafepointEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.UNIFIED_BLANK_LINE,
+                logLine -> UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine),
+                UnifiedBlankLineEvent::new).notReportable().throwAway());
+        add(new Registration(LogEventType.UNIFIED_CMS_INITIAL_MARK, UnifiedCmsInitialMarkEvent::match,
+                UnifiedCmsInitialMarkEvent::new).literals(UnifiedCmsInitialMarkEvent.LITERALS)
+                .blocking(UnifiedCmsInitialMarkEvent::new).family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.UNIFIED_CONCURRENT, UnifiedConcurrentEvent::match,
+                logLine -> new UnifiedConcurrentEvent()).literals(UnifiedConcurrentEvent.LITERALS));
+        add(new Registration(LogEventType.UNIFIED_G1_CLEANUP, UnifiedG1CleanupEvent::match,
+                UnifiedG1CleanupEvent::new).literals(UnifiedG1CleanupEvent.LITERALS)
+                .blocking(UnifiedG1CleanupEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_FULL_GC_PARALLEL, UnifiedG1FullGcEvent::match,
+                UnifiedG1FullGcEvent::new).literals(UnifiedG1FullGcEvent.LITERALS).blocking(UnifiedG1FullGcEvent::new)
+                .family(CollectorFamily.G1));
+        add(new Registration(LogEventType.UNIFIED_G1_INFO, UnifiedG1InfoEvent::match, UnifiedG1InfoEvent::new)
+                .literals(UnifiedG1InfoEvent.LITERALS).family(CollectorFamily.G1).notReportable().throwAway());
+        add(new Registration(LogEventType.UNIFIED_G1_MIXED_PAUSE, UnifiedG1MixedPauseEvent::match,
+                UnifiedG1MixedPauseEvent::new).literals(UnifiedG1MixedPauseEvent.LITERALS)
+                .blocking(UnifiedG1MixedPauseEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK, UnifiedG1YoungInitialMarkEvent::match,
+                UnifiedG1YoungInitialMarkEvent::new).literals(UnifiedG1YoungInitialMarkEvent.LITERALS)
+                .blocking(UnifiedG1YoungInitialMarkEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.UNIFIED_G1_YOUNG_PAUSE, UnifiedG1YoungPauseEvent::match,
+                UnifiedG1YoungPauseEvent::new).tryParse(UnifiedG1YoungPauseEvent::tryParse)
+                .literals(UnifiedG1YoungPauseEvent.LITERALS).blocking(UnifiedG1YoungPauseEvent::new)
+                .family(CollectorFamily.G1));
+        add(new Registration(LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, UnifiedG1YoungPrepareMixedEvent::match,
+                UnifiedG1YoungPrepareMixedEvent::new).literals(UnifiedG1YoungPrepareMixedEvent.LITERALS)
+                .blocking(UnifiedG1YoungPrepareMixedEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.UNIFIED_OLD, UnifiedOldEvent::match, UnifiedOldEvent::new)
+                .literals(UnifiedOldEvent.LITERALS).blocking(UnifiedOldEvent::new));
+        add(new Registration(LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD,
+                UnifiedParallelCompactingOldEvent::match, UnifiedParallelCompactingOldEvent::new)
+                .literals(UnifiedParallelCompactingOldEvent.LITERALS).blocking(UnifiedParallelCompactingOldEvent::new)
+                .family(CollectorFamily.PARALLEL));
+        add(new Registration(LogEventType.UNIFIED_PARALLEL_SCAVENGE, UnifiedParallelScavengeEvent::match,
+                UnifiedParallelScavengeEvent::new).tryParse(UnifiedParallelScavengeEvent::tryParse)
+                .literals(UnifiedParallelScavengeEvent.LITERALS).blocking(UnifiedParallelScavengeEvent::new)
+                .family(CollectorFamily.PARALLEL));
+        add(new Registration(LogEventType.UNIFIED_PAR_NEW, UnifiedParNewEvent::match, UnifiedParNewEvent::new)
+                .literals(UnifiedParNewEvent.LITERALS).blocking(UnifiedParNewEvent::new).family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.UNIFIED_REMARK, UnifiedRemarkEvent::match, UnifiedRemarkEvent::new)
+                .literals(UnifiedRemarkEvent.LITERALS).blocking(UnifiedRemarkEvent::new));
+        add(new Registration(LogEventType.UNIFIED_SERIAL_NEW, UnifiedSerialNewEvent::match,
+                UnifiedSerialNewEvent::new).literals(UnifiedSerialNewEvent.LITERALS)
+                .blocking(UnifiedSerialNewEvent::new).family(CollectorFamily.SERIAL));
+        add(new Registration(LogEventType.UNIFIED_SERIAL_OLD, UnifiedSerialOldEvent::match,
+                UnifiedSerialOldEvent::new).literals(UnifiedSerialOldEvent.LITERALS)
+                .blocking(UnifiedSerialOldEvent::new).family(CollectorFamily.SERIAL));
+        add(new Registration(LogEventType.UNIFIED_YOUNG, UnifiedYoungEvent::match, UnifiedYoungEvent::new)
+                .literals(UnifiedYoungEvent.LITERALS).blocking(UnifiedYoungEvent::new));
+        add(new Registration(LogEventType.USING_CMS, UsingCmsEvent::match, UsingCmsEvent::new)
+                .literals(UsingCmsEvent.LITERALS).family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.USING_G1, UsingG1Event::match, UsingG1Event::new)
+                .literals(UsingG1Event.LITERALS).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.USING_PARALLEL, UsingParallelEvent::match, UsingParallelEvent::new)
+                .literals(UsingParallelEvent.LITERALS).family(CollectorFamily.PARALLEL));
+        add(new Registration(LogEventType.USING_SERIAL, UsingSerialEvent::match, UsingSerialEvent::new)
+                .literals(UsingSerialEvent.LITERALS).family(CollectorFamily.SERIAL));
+        add(new Registration(LogEventType.USING_SHENANDOAH, UsingShenandoahEvent::match, UsingShenandoahEvent::new)
+                .literals(UsingShenandoahEvent.LITERALS).family(CollectorFamily.SHENANDOAH));
+
+        // Unknown
+        add(new Registration(LogEventType.VERBOSE_GC_YOUNG, VerboseGcYoungEvent::match, VerboseGcYoungEvent::new)
+                .literals(VerboseGcYoungEvent.LITERALS).blocking(VerboseGcYoungEvent::new));
+        add(new Registration(LogEventType.VERBOSE_GC_OLD, VerboseGcOldEvent::match, VerboseGcOldEvent::new)
+                .literals(VerboseGcOldEvent.LITERALS).blocking(VerboseGcOldEvent::new));
+
+        // G1
+        add(new Registration(LogEventType.G1_YOUNG_PAUSE, G1YoungPauseEvent::match, G1YoungPauseEvent::new)
+                .tryParse(G1YoungPauseEvent::tryParse).literals(G1YoungPauseEvent.LITERALS)
+                .blocking(G1YoungPauseEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_MIXED_PAUSE, G1MixedPauseEvent::match, G1MixedPauseEvent::new)
+                .literals(G1MixedPauseEvent.LITERALS).blocking(G1MixedPauseEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_CONCURRENT, G1ConcurrentEvent::match, G1ConcurrentEvent::new)
+                .literals(G1ConcurrentEvent.LITERALS).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_YOUNG_INITIAL_MARK, G1YoungInitialMarkEvent::match,
+                G1YoungInitialMarkEvent::new).literals(G1YoungInitialMarkEvent.LITERALS)
+                .blocking(G1YoungInitialMarkEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_REMARK, G1RemarkEvent::match, G1RemarkEvent::new)
+                .literals(G1RemarkEvent.LITERALS).blocking(G1RemarkEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_FULL_GC_SERIAL, G1FullGcEvent::match, G1FullGcEvent::new)
+                .literals(G1FullGcEvent.LITERALS).blocking(G1FullGcEvent::new).family(CollectorFamily.G1));
+        add(new Registration(LogEventType.G1_CLEANUP, G1CleanupEvent::match, G1CleanupEvent::new)
+                .literals(G1CleanupEvent.LITERALS).blocking(G1CleanupEvent::new).family(CollectorFamily.G1));
+
+        // CMS
+        add(new Registration(LogEventType.PAR_NEW, ParNewEvent::match, ParNewEvent::new)
+                .tryParse(ParNewEvent::tryParse).literals(ParNewEvent.LITERALS).blocking(ParNewEvent::new)
+                .family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.CMS_SERIAL_OLD, CmsSerialOldEvent::match, CmsSerialOldEvent::new)
+                .literals(CmsSerialOldEvent.LITERALS).blocking(CmsSerialOldEvent::new).family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.CMS_INITIAL_MARK, CmsInitialMarkEvent::match, CmsInitialMarkEvent::new)
+                .literals(CmsInitialMarkEvent.LITERALS).blocking(CmsInitialMarkEvent::new).family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.CMS_REMARK, CmsRemarkEvent::match, CmsRemarkEvent::new)
+                .literals(CmsRemarkEvent.LITERALS).blocking(CmsRemarkEvent::new).family(CollectorFamily.CMS));
+        add(new Registration(LogEventType.CMS_CONCURRENT, CmsConcurrentEvent::match,
+                logLine -> new CmsConcurrentEvent()).literals(CmsConcurrentEvent.LITERALS).family(CollectorFamily.CMS));
+
+        // Parallel
+        add(new Registration(LogEventType.PARALLEL_SCAVENGE, ParallelScavengeEvent::match,
+                ParallelScavengeEvent::new).tryParse(ParallelScavengeEvent::tryParse)
+                .literals(ParallelScavengeEvent.LITERALS).blocking(ParallelScavengeEvent::new)
+                .family(CollectorFamily.PARALLEL));
+        add(new Registration(LogEventType.PARALLEL_SERIAL_OLD, ParallelSerialOldEvent::match,
+                ParallelSerialOldEvent::new).literals(ParallelSerialOldEvent.LITERALS)
+                .blocking(ParallelSerialOldEvent::new).family(CollectorFamily.PARALLEL));
+        add(new Registration(LogEventType.PARALLEL_COMPACTING_OLD, ParallelCompactingOldEvent::match,
+                ParallelCompactingOldEvent::new).literals(ParallelCompactingOldEvent.LITERALS)
+                .blocking(ParallelCompactingOldEvent::new).family(CollectorFamily.PARALLEL));
+
+        // Serial
+        add(new Registration(LogEventType.SERIAL_OLD, SerialOldEvent::match, SerialOldEvent::new)
+                .literals(SerialOldEvent.LITERALS).blocking(SerialOldEvent::new).family(CollectorFamily.SERIAL));
+        add(new Registration(LogEventType.SERIAL_NEW, SerialNewEvent::match, SerialNewEvent::new)
+                .literals(SerialNewEvent.LITERALS).blocking(SerialNewEvent::new).family(CollectorFamily.SERIAL));
+
+        // Shenandoah
+        add(new Registration(LogEventType.SHENANDOAH_CANCELLING_GC, ShenandoahCancellingGcEvent::match,
+                logLine -> new ShenandoahCancellingGcEvent()).literals(ShenandoahCancellingGcEvent.LITERALS)
+                .family(CollectorFamily.SHENANDOAH).notReportable().throwAway());
+        add(new Registration(LogEventType.SHENANDOAH_CONCURRENT, ShenandoahConcurrentEvent::match,
+                ShenandoahConcurrentEvent::new).literals(ShenandoahConcurrentEvent.LITERALS)
+                .family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK,
+                ShenandoahConsiderClassUnloadingConcMarkEvent::match,
+                ShenandoahConsiderClassUnloadingConcMarkEvent::new)
+                .literals(ShenandoahConsiderClassUnloadingConcMarkEvent.LITERALS).family(CollectorFamily.SHENANDOAH)
+                .notReportable().throwAway());
+        add(new Registration(LogEventType.SHENANDOAH_DEGENERATED_GC_MARK, ShenandoahDegeneratedGcMarkEvent::match,
+                ShenandoahDegeneratedGcMarkEvent::new).literals(ShenandoahDegeneratedGcMarkEvent.LITERALS)
+                .blocking(ShenandoahDegeneratedGcMarkEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_FINAL_EVAC, ShenandoahFinalEvacEvent::match,
+                ShenandoahFinalEvacEvent::new).literals(ShenandoahFinalEvacEvent.LITERALS)
+                .blocking(ShenandoahFinalEvacEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_FINAL_MARK, ShenandoahFinalMarkEvent::match,
+                ShenandoahFinalMarkEvent::new).literals(ShenandoahFinalMarkEvent.LITERALS)
+                .blocking(ShenandoahFinalMarkEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_FINAL_UPDATE, ShenandoahFinalUpdateEvent::match,
+                ShenandoahFinalUpdateEvent::new).literals(ShenandoahFinalUpdateEvent.LITERALS)
+                .blocking(ShenandoahFinalUpdateEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_FULL_GC, ShenandoahFullGcEvent::match,
+                ShenandoahFullGcEvent::new).literals(ShenandoahFullGcEvent.LITERALS)
+                .blocking(ShenandoahFullGcEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_INIT_MARK, ShenandoahInitMarkEvent::match,
+                ShenandoahInitMarkEvent::new).literals(ShenandoahInitMarkEvent.LITERALS)
+                .blocking(ShenandoahInitMarkEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_INIT_UPDATE, ShenandoahInitUpdateEvent::match,
+                ShenandoahInitUpdateEvent::new).literals(ShenandoahInitUpdateEvent.LITERALS)
+                .blocking(ShenandoahInitUpdateEvent::new).family(CollectorFamily.SHENANDOAH));
+        add(new Registration(LogEventType.SHENANDOAH_STATS, ShenandoahStatsEvent::match,
+                logLine -> new ShenandoahStatsEvent()).family(CollectorFamily.SHENANDOAH).notReportable().throwAway());
+        add(new Registration(LogEventType.SHENANDOAH_TRIGGER, ShenandoahTriggerEvent::match,
+                logLine -> new ShenandoahTriggerEvent()).literals(ShenandoahTriggerEvent.LITERALS)
+                .family(CollectorFamily.SHENANDOAH).notReportable().throwAway());
+
+        // Other
+        add(new Registration(LogEventType.APPLICATION_CONCURRENT_TIME, ApplicationConcurrentTimeEvent::match,
+                logLine -> new ApplicationConcurrentTimeEvent()).literals(ApplicationConcurrentTimeEvent.LITERALS)
+                .notReportable().throwAway());
+        add(new Registration(LogEventType.APPLICATION_STOPPED_TIME, ApplicationStoppedTimeEvent::match,
+                ApplicationStoppedTimeEvent::new).tryParse(ApplicationStoppedTimeEvent::tryParse)
+                .literals(ApplicationStoppedTimeEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.CLASS_UNLOADING, ClassUnloadingEvent::match, ClassUnloadingEvent::new)
+                .literals(ClassUnloadingEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.FOOTER_STATS, FooterStatsEvent::match, FooterStatsEvent::new)
+                .notReportable().throwAway());
+        add(new Registration(LogEventType.GC_INFO, GcInfoEvent::match, GcInfoEvent::new)
+                .literals(GcInfoEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.HEAP_AT_GC, HeapAtGcEvent::match, HeapAtGcEvent::new)
+                .literals(HeapAtGcEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.TENURING_DISTRIBUTION, TenuringDistributionEvent::match,
+                TenuringDistributionEvent::new).literals(TenuringDistributionEvent.LITERALS).throwAway());
+        add(new Registration(LogEventType.CLASS_HISTOGRAM, ClassHistogramEvent::match, ClassHistogramEvent::new)
+                .literals(ClassHistogramEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.APPLICATION_LOGGING, ApplicationLoggingEvent::match,
+                ApplicationLoggingEvent::new).notReportable().throwAway());
+        add(new Registration(LogEventType.THREAD_DUMP, ThreadDumpEvent::match, ThreadDumpEvent::new).throwAway());
+        add(new Registration(LogEventType.LOG_FILE, LogFileEvent::match, LogFileEvent::new)
+                .literals(LogFileEvent.LITERALS).notReportable().throwAway());
+        add(new Registration(LogEventType.BLANK_LINE, BlankLineEvent::match, BlankLineEvent::new).notReportable()
+                .throwAway());
+        add(new Registration(LogEventType.GC_OVERHEAD_LIMIT, GcOverheadLimitEvent::match,
+                GcOverheadLimitEvent::new).literals(GcOverheadLimitEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.FLS_STATISTICS, FlsStatisticsEvent::match, FlsStatisticsEvent::new)
+                .notReportable().throwAway());
+        add(new Registration(LogEventType.GC_LOCKER, GcLockerEvent::match, GcLockerEvent::new)
+                .literals(GcLockerEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.HEADER_COMMAND_LINE_FLAGS, HeaderCommandLineFlagsEvent::match,
+                HeaderCommandLineFlagsEvent::new).literals(HeaderCommandLineFlagsEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.HEADER_MEMORY, HeaderMemoryEvent::match, HeaderMemoryEvent::new)
+                .literals(HeaderMemoryEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.HEADER_VERSION, HeaderVersionEvent::match, HeaderVersionEvent::new)
+                .literals(HeaderVersionEvent.LITERALS).notReportable());
+        add(new Registration(LogEventType.REFERENCE_GC, ReferenceGcEvent::match, ReferenceGcEvent::new)
+                .literals(ReferenceGcEvent.LITERALS).notReportable().throwAway());
+
+        // No idea what event is
+        add(new Registration(LogEventType.UNKNOWN, null, UnknownEvent::new).notReportable());
+        literalIndex = createLiteralIndex();
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private EventTypeRegistry() {
+        super();
+    }
+
+    /**
+     * Add a built in registration, tried after the prior registrations.
+     * 
+     * @param registration
+     *            The registration.
+     */
+    private static void add(Registration registration) {
+        Registration[] added = Arrays.copyOf(registrations, registrations.length + 1);
+        added[registrations.length] = registration;
+        registrations = added;
+        EVENT_TYPE_REGISTRATIONS[registration.getEventType().ordinal()] = registration;
+    }
+
+    /**
+     * Register an event type, tried before the prior registrations. The registration replaces the metadata (e.g.
+     * whether or not it is blocking) of its event type.
+     * 
+     * @param registration
+     *            The registration.
+     */
+    public static synchronized void register(Registration registration) {
+        Registration[] registered = new Registration[registrations.length + 1];
+        registered[0] = registration;
+        System.arraycopy(registrations, 0, registered, 1, registrations.length);
+        registrations = registered;
+        EVENT_TYPE_REGISTRATIONS[registration.getEventType().ordinal()] = registration;
+        literalIndex = createLiteralIndex();
+    }
+
+    /**
+     * @return The literal index of the registrations. An event type with a registration without literals is a
+     *         candidate for every log line.
+     */
+    private static LiteralIndex<LogEventType> createLiteralIndex() {
+        Map<LogEventType, List<String>> literals = new EnumMap<LogEventType, List<String>>(LogEventType.class);
+        EnumSet<LogEventType> alwaysCandidates = EnumSet.noneOf(LogEventType.class);
+        for (Registration registration : registrations) {
+            if (registration.literals == null || registration.literals.length == 0) {
+                alwaysCandidates.add(registration.getEventType());
+            } else {
+                literals.computeIfAbsent(registration.getEventType(), eventType -> new ArrayList<String>())
+                        .addAll(Arrays.asList(registration.literals));
+            }
+        }
+        Map<LogEventType, String[]> index = new EnumMap<LogEventType, String[]>(LogEventType.class);
+        for (Map.Entry<LogEventType, List<String>> entry : literals.entrySet()) {
+            if (!alwaysCandidates.contains(entry.getKey())) {
+                index.put(entry.getKey(), entry.getValue().toArray(new String[entry.getValue().size()]));
+            }
+        }
+        return new LiteralIndex<LogEventType>(LogEventType.class, index);
+    }
+
+    /**
+     * @return The registrations, in the order log lines are matched.
+     */
+    static Registration[] getRegistrations() {
+        return registrations;
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return The last registration of the event type.
+     */
+    static Registration getRegistration(LogEventType eventType) {
+        return EVENT_TYPE_REGISTRATIONS[eventType.ordinal()];
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return The event types with literal text in the log line, and the event types without literal text, the only
+     *         event types that can match the log line.
+     */
+    static EnumSet<LogEventType> candidates(String logLine) {
+        return literalIndex.candidates(logLine);
+    }
+
+    /**
+     * @param family
+     *            The collector family.
+     * @return The event types only logged by the collector family.
+     */
+    public static EnumSet<LogEventType> getEventTypes(CollectorFamily family) {
+        EnumSet<LogEventType> eventTypes = EnumSet.noneOf(LogEventType.class);
+        for (Registration registration : EVENT_TYPE_REGISTRATIONS) {
+            if (registration != null && registration.getFamily() == family) {
+                eventTypes.add(registration.getEventType());
+            }
+        }
+        return eventTypes;
+    }
+
+    /**
+     * @param name
+     *            The event type name.
+     * @return The event type with the name, or null if none.
+     */
+    public static LogEventType getEventType(String name) {
+        return NAME_EVENT_TYPES.get(name);
+    }
+
+    /**
+     * @param event
+     *            The event.
+     * @return The event type of the event, or null if none. The event type is looked up by the event class, since
+     *         every event of a class has the same name.
+     */
+    public static LogEventType getEventType(LogEvent event) {
+        LogEventType eventType = CLASS_EVENT_TYPES.get(event.getClass());
+        if (eventType == null) {
+            eventType = getEventType(event.getName());
+            if (eventType != null) {
+                CLASS_EVENT_TYPES.put(event.getClass(), eventType);
+            }
+        }
+        return eventType;
+    }
+}
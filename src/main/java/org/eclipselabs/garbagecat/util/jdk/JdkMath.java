@@ -27,6 +27,16 @@ import org.eclipselabs.garbagecat.util.Memory.Unit;
  */
 public final class JdkMath {
 
+    /**
+     * Maximum digits in a number parsed to a <code>long</code>.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Maximum digits in a size parsed to a <code>long</code> number of kilobytes, leaving room to convert gigabytes.
+     */
+    private static final int MAX_SIZE_DIGITS = 12;
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -138,6 +148,132 @@ public final class JdkMath {
         return duration.setScale(0, RoundingMode.DOWN);
     }
 
+    /**
+     * Parse seconds to milliseconds, the same as {@link #convertSecsToMillis(String)} without creating objects.
+     * 
+     * @param secs
+     *            Characters with seconds as a whole number or decimal (e.g. 0.0225213, 0,0225213).
+     * @param start
+     *            The index of the first character of the seconds.
+     * @param end
+     *            The index after the last character of the seconds.
+     * @return Milliseconds rounded down to a whole number.
+     */
+    public static long parseSecsToMillis(CharSequence secs, int start, int end) {
+        return parseDecimal(secs, start, end, 3);
+    }
+
+    /**
+     * Parse seconds to microseconds, the same as {@link #convertSecsToMicros(String)} without creating objects.
+     * 
+     * @param secs
+     *            Characters with seconds as a whole number or decimal.
+     * @param start
+     *            The index of the first character of the seconds.
+     * @param end
+     *            The index after the last character of the seconds.
+     * @return Microseconds rounded down to a whole number.
+     */
+    public static int parseSecsToMicros(CharSequence secs, int start, int end) {
+        return (int) parseDecimal(secs, start, end, 6);
+    }
+
+    /**
+     * Parse seconds to centiseconds, the same as {@link #convertSecsToCentis(String)} without creating objects.
+     * 
+     * @param secs
+     *            Characters with seconds as a number with 2 decimal places.
+     * @param start
+     *            The index of the first character of the seconds.
+     * @param end
+     *            The index after the last character of the seconds.
+     * @return Centiseconds.
+     */
+    public static int parseSecsToCentis(CharSequence secs, int start, int end) {
+        return (int) parseDecimal(secs, start, end, 2);
+    }
+
+    /**
+     * Parse milliseconds to microseconds, the same as {@link #convertMillisToMicros(String)} without creating objects.
+     * 
+     * @param millis
+     *            Characters with milliseconds as a whole number or decimal.
+     * @param start
+     *            The index of the first character of the milliseconds.
+     * @param end
+     *            The index after the last character of the milliseconds.
+     * @return Microseconds rounded down to a whole number.
+     */
+    public static int parseMillisToMicros(CharSequence millis, int start, int end) {
+        return (int) parseDecimal(millis, start, end, 3);
+    }
+
+    /**
+     * Parse milliseconds rounded to a whole number, the same as {@link #roundMillis(String)} without creating objects.
+     * 
+     * @param millis
+     *            Characters with milliseconds with decimal places.
+     * @param start
+     *            The index of the first character of the milliseconds.
+     * @param end
+     *            The index after the last character of the milliseconds.
+     * @return Milliseconds rounded down to a whole number.
+     */
+    public static int parseMillis(CharSequence millis, int start, int end) {
+        return (int) parseDecimal(millis, start, end, 0);
+    }
+
+    /**
+     * Parse a decimal number with a decimal period or comma moved <code>scale</code> places right and rounded down to
+     * a whole number, the same as <code>BigDecimal</code>. Numbers with too many digits for a <code>long</code> are
+     * parsed with <code>BigDecimal</code>.
+     * 
+     * @param number
+     *            Characters with a whole number or decimal.
+     * @param start
+     *            The index of the first character of the number.
+     * @param end
+     *            The index after the last character of the number.
+     * @param scale
+     *            The number of places to move the decimal point right.
+     * @return The number moved <code>scale</code> places right and rounded down.
+     */
+    private static long parseDecimal(CharSequence number, int start, int end, int scale) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (number.charAt(i) == '-' || number.charAt(i) == '+')) {
+            negative = number.charAt(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (i < end && number.charAt(i) >= '0' && number.charAt(i) <= '9') {
+            value = value * 10 + (number.charAt(i) - '0');
+            digits++;
+            i++;
+        }
+        int fractionDigits = 0;
+        if (i < end && (number.charAt(i) == '.' || number.charAt(i) == ',')) {
+            i++;
+            while (i < end && number.charAt(i) >= '0' && number.charAt(i) <= '9') {
+                if (fractionDigits < scale) {
+                    value = value * 10 + (number.charAt(i) - '0');
+                }
+                fractionDigits++;
+                i++;
+            }
+        }
+        if (i != end || digits + fractionDigits == 0 || digits + scale > MAX_LONG_DIGITS) {
+            // Not a plain decimal number, or too big for a long
+            BigDecimal decimal = new BigDecimal(number.subSequence(start, end).toString().replace(",", "."));
+            return decimal.movePointRight(scale).setScale(0, RoundingMode.DOWN).longValue();
+        }
+        for (int places = fractionDigits; places < scale; places++) {
+            value = value * 10;
+        }
+        return negative ? -value : value;
+    }
+
     /**
      * Add together an array of durations and convert seconds to milliseconds.
      * 
@@ -196,10 +332,96 @@ public final class JdkMath {
         return convertSizeToKilobytes(Double.parseDouble(size.replace(",", ".")), units);
     }
 
+    /**
+     * Parse a size to kilobytes, the same as {@link #convertSizeToKilobytes(String, char)} without creating objects.
+     * 
+     * @param size
+     *            Characters with the size (e.g. '128.0', 306,0).
+     * @param start
+     *            The index of the first character of the size.
+     * @param end
+     *            The index after the last character of the size.
+     * @param units
+     *            The units (e.g. 'G').
+     * @return The size in kilobytes, rounded half even to a whole number.
+     */
+    public static long parseSizeToKilobytes(CharSequence size, int start, int end, char units) {
+        long multiplier;
+        long divisor;
+        switch (units) {
+        case 'b':
+        case 'B':
+            multiplier = 1;
+            divisor = 1024;
+            break;
+        case 'k':
+        case 'K':
+            multiplier = 1;
+            divisor = 1;
+            break;
+        case 'm':
+        case 'M':
+            multiplier = 1024;
+            divisor = 1;
+            break;
+        case 'g':
+        case 'G':
+            multiplier = 1024 * 1024;
+            divisor = 1;
+            break;
+        default:
+            return convertSizeToKilobytes(size.subSequence(start, end).toString(), units).getValue(Unit.KILOBYTES);
+        }
+        int i = start;
+        boolean negative = false;
+        if (i < end && (size.charAt(i) == '-' || size.charAt(i) == '+')) {
+            negative = size.charAt(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (i < end && size.charAt(i) >= '0' && size.charAt(i) <= '9') {
+            value = value * 10 + (size.charAt(i) - '0');
+            digits++;
+            i++;
+        }
+        if (i < end && (size.charAt(i) == '.' || size.charAt(i) == ',')) {
+            i++;
+            while (i < end && size.charAt(i) >= '0' && size.charAt(i) <= '9') {
+                value = value * 10 + (size.charAt(i) - '0');
+                divisor = divisor * 10;
+                digits++;
+                i++;
+            }
+        }
+        if (i != end || digits == 0 || digits > MAX_SIZE_DIGITS) {
+            // Not a plain decimal number, or too precise for a long
+            return convertSizeToKilobytes(size.subSequence(start, end).toString(), units).getValue(Unit.KILOBYTES);
+        }
+        long numerator = value * multiplier;
+        long kilobytes = numerator / divisor;
+        long remainder = (numerator % divisor) * 2;
+        if (remainder > divisor || (remainder == divisor && kilobytes % 2 != 0)) {
+            kilobytes++;
+        }
+        return negative ? -kilobytes : kilobytes;
+    }
+
     public static Memory convertSizeToKilobytes(double size, char units) {
-        return new Memory(BigDecimal.valueOf(Unit.forUnit(units).toKiloBytes(size)).setScale(0, RoundingMode.HALF_EVEN)
-                .longValue(), Unit.KILOBYTES);
+        return convertSizeToKilobytes(size, Unit.forUnit(units));
+    }
 
+    /**
+     * Convert size to kilobytes, rounding half even to a whole number.
+     * 
+     * @param size
+     *            The size.
+     * @param units
+     *            The units.
+     * @return The size in Kilobytes.
+     */
+    public static Memory convertSizeToKilobytes(double size, Unit units) {
+        return new Memory((long) Math.rint(units.toKiloBytes(size)), Unit.KILOBYTES);
     }
 
     /**
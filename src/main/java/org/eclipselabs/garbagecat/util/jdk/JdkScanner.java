@@ -0,0 +1,575 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import org.eclipselabs.garbagecat.util.Memory.Unit;
+
+/**
+ * <p>
+ * Hand-written character scanner for the building blocks of the most common logging (e.g. {@link JdkRegEx#TIMESTAMP},
+ * {@link JdkRegEx#SIZE_K}, <code>UnifiedRegEx.DECORATOR</code>). It is the fast path of the event types that make up
+ * most of a gc log (e.g. <code>G1YoungPauseEvent.scan</code>), tried before their regular expressions.
+ * </p>
+ *
+ * <p>
+ * Each method matches a building block at the current position and moves past it. If the building block does not
+ * match, the method returns false, null, or {@link #NO_MATCH}, and the log line is parsed with the regular expressions
+ * instead. The scanner only accepts logging the regular expressions accept, but not all of it (e.g. sizes with
+ * decimal places where the regular expressions convert them as whole numbers), so it never changes how a log line is
+ * parsed.
+ * </p>
+ *
+ * <p>
+ * Numbers are converted directly from the characters, without intermediate <code>String</code> or
+ * <code>BigDecimal</code> objects, rounding down like the <code>JdkMath</code> conversions.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public final class JdkScanner {
+
+    /**
+     * Returned by the number methods when the number does not match.
+     */
+    public static final long NO_MATCH = Long.MIN_VALUE;
+
+    /**
+     * Unified logging levels and tags (<code>UnifiedRegEx.DECORATOR</code>).
+     */
+    private static final String[] UNIFIED_TAGS = { "gc", "safepoint" };
+
+    /**
+     * Unified logging first sub-tags (<code>UnifiedRegEx.DECORATOR</code>).
+     */
+    private static final String[] UNIFIED_SUB_TAGS = { "cds", "cpu", "ergo", "heap", "init", "marking", "metaspace",
+            "mmu", "phases", "stats", "start", "stringtable", "task" };
+
+    /**
+     * Unified logging second sub-tags (<code>UnifiedRegEx.DECORATOR</code>).
+     */
+    private static final String[] UNIFIED_SECOND_SUB_TAGS = { "coops", "exit", "start" };
+
+    /**
+     * Powers of 10 used to scale decimal places.
+     */
+    private static final long[] POWERS_OF_10 = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L };
+
+    /**
+     * The log line.
+     */
+    private final String line;
+
+    /**
+     * The current position in the log line.
+     */
+    private int position;
+
+    /**
+     * Whether the last unified decorator starts with a datestamp (e.g. "[2019-05-09T01:39:00.821+0000][5413ms]").
+     */
+    private boolean datestamp;
+
+    /**
+     * Whether the last unified decorator timestamp is uptime in milliseconds (e.g. "[5413ms]"), not seconds (e.g.
+     * "[0.370s]").
+     */
+    private boolean uptimeMillis;
+
+    /**
+     * The last times block user time in centiseconds.
+     */
+    private int timeUser;
+
+    /**
+     * The last times block sys time in centiseconds.
+     */
+    private int timeSys;
+
+    /**
+     * The last times block real time in centiseconds.
+     */
+    private int timeReal;
+
+    /**
+     * @param line
+     *            The log line to scan.
+     */
+    public JdkScanner(String line) {
+        this.line = line;
+    }
+
+    /**
+     * @param literal
+     *            The literal text.
+     * @return True if the literal text is at the current position, false otherwise.
+     */
+    public boolean literal(String literal) {
+        if (line.startsWith(literal, position)) {
+            position += literal.length();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param literal
+     *            The literal text.
+     * @param next
+     *            The character after the literal text, which is not matched.
+     * @return True if the literal text followed by the character is at the current position, false otherwise.
+     */
+    public boolean literal(String literal, char next) {
+        int end = position + literal.length();
+        if (end < line.length() && line.charAt(end) == next && line.startsWith(literal, position)) {
+            position = end;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param literals
+     *            The literal alternatives, longer alternatives before their prefixes.
+     * @return The first literal at the current position (the literal itself, not a copy of the log line), or null if
+     *         none is.
+     */
+    public String oneOf(String[] literals) {
+        for (String literal : literals) {
+            if (literal(literal)) {
+                return literal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param c
+     *            The character.
+     * @return True if the character is at the current position, false otherwise.
+     */
+    public boolean character(char c) {
+        if (position < line.length() && line.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Trailing spaces and the end of the log line (<code>[ ]*$</code>).
+     *
+     * @return True if only spaces are left, false otherwise.
+     */
+    public boolean end() {
+        while (character(' ')) {
+            // skip trailing spaces
+        }
+        return position == line.length();
+    }
+
+    /**
+     * @return True if the current position is the end of the log line, false otherwise.
+     */
+    public boolean isEnd() {
+        return position == line.length();
+    }
+
+    /**
+     * A whole number (<code>\d{min,max}</code>).
+     *
+     * @param minDigits
+     *            The minimum number of digits.
+     * @param maxDigits
+     *            The maximum number of digits.
+     * @return The number, or {@link #NO_MATCH} if there are too few or too many digits.
+     */
+    public long integer(int minDigits, int maxDigits) {
+        int start = position;
+        long value = 0;
+        while (position < line.length() && isDigit(line.charAt(position))) {
+            if (position - start == maxDigits) {
+                position = start;
+                return NO_MATCH;
+            }
+            value = value * 10 + (line.charAt(position) - '0');
+            position++;
+        }
+        if (position - start < minDigits) {
+            position = start;
+            return NO_MATCH;
+        }
+        return value;
+    }
+
+    /**
+     * A decimal number with a decimal point or comma (e.g. <code>\d{1,4}[\.\,]\d{7}</code>).
+     *
+     * @param minIntegerDigits
+     *            The minimum number of whole number digits.
+     * @param maxIntegerDigits
+     *            The maximum number of whole number digits.
+     * @param minFractionDigits
+     *            The minimum number of decimal places.
+     * @param maxFractionDigits
+     *            The maximum number of decimal places.
+     * @param scale
+     *            The number of decimal places of the result.
+     * @return The number with the decimal point moved right <code>scale</code> places, rounded down, or
+     *         {@link #NO_MATCH} if the number does not match.
+     */
+    public long decimal(int minIntegerDigits, int maxIntegerDigits, int minFractionDigits, int maxFractionDigits,
+            int scale) {
+        int start = position;
+        long integer = integer(minIntegerDigits, maxIntegerDigits);
+        if (integer == NO_MATCH || !(character('.') || character(','))) {
+            position = start;
+            return NO_MATCH;
+        }
+        int fractionStart = position;
+        long fraction = integer(minFractionDigits, maxFractionDigits);
+        if (fraction == NO_MATCH) {
+            position = start;
+            return NO_MATCH;
+        }
+        int fractionDigits = position - fractionStart;
+        if (fractionDigits > scale) {
+            fraction /= POWERS_OF_10[fractionDigits - scale];
+        } else {
+            fraction *= POWERS_OF_10[scale - fractionDigits];
+        }
+        return integer * POWERS_OF_10[scale] + fraction;
+    }
+
+    /**
+     * {@link JdkRegEx#TIMESTAMP}.
+     *
+     * @return The timestamp in milliseconds, or {@link #NO_MATCH}.
+     */
+    public long timestamp() {
+        return decimal(0, 12, 3, 3, 3);
+    }
+
+    /**
+     * {@link JdkRegEx#DURATION}, including the optional " sec" and "s".
+     *
+     * @return The duration in microseconds, or {@link #NO_MATCH}.
+     */
+    public long duration() {
+        long duration = decimal(1, 4, 7, 8, 6);
+        if (duration != NO_MATCH) {
+            literal(" sec");
+            character('s');
+        }
+        return duration;
+    }
+
+    /**
+     * {@link JdkRegEx#DATESTAMP}, which is skipped.
+     *
+     * @return True if a datestamp is at the current position, false otherwise.
+     */
+    public boolean datestamp() {
+        int start = position;
+        if (integer(4, 4) != NO_MATCH && character('-') && integer(2, 2) != NO_MATCH && character('-')
+                && integer(2, 2) != NO_MATCH && character('T') && integer(2, 2) != NO_MATCH && character(':')
+                && integer(2, 2) != NO_MATCH && character(':') && integer(2, 2) != NO_MATCH && character('.')
+                && integer(3, 3) != NO_MATCH && (character('-') || character('+')) && integer(4, 4) != NO_MATCH) {
+            return true;
+        }
+        position = start;
+        return false;
+    }
+
+    /**
+     * {@link JdkRegEx#SIZE_K}.
+     *
+     * @return The size in kilobytes, or {@link #NO_MATCH} if there is no size at the current position.
+     */
+    public long sizeK() {
+        int start = position;
+        long size = integer(1, 9);
+        if (size != NO_MATCH) {
+            character(' ');
+            if (character('K')) {
+                return size;
+            }
+        }
+        position = start;
+        return NO_MATCH;
+    }
+
+    /**
+     * {@link JdkRegEx#SIZE} without decimal places, converted the same as <code>memory(value, unit)</code>.
+     *
+     * @return The size in kilobytes, or {@link #NO_MATCH} if there is no whole number size at the current position.
+     */
+    public long size() {
+        int start = position;
+        long size = integer(1, 8);
+        Unit unit = size == NO_MATCH ? null : unit();
+        if (unit == null) {
+            position = start;
+            return NO_MATCH;
+        }
+        return (long) unit.toKiloBytes(size);
+    }
+
+    /**
+     * {@link JdkRegEx#SIZE}, converted the same as <code>JdkMath.convertSizeToKilobytes</code>.
+     *
+     * @return The size in kilobytes, or {@link #NO_MATCH} if there is no size at the current position.
+     */
+    public long sizeToKilobytes() {
+        int start = position;
+        long size = integer(1, 8);
+        if (size != NO_MATCH) {
+            long tenths = -1;
+            if (character('.') || character(',')) {
+                tenths = integer(1, 1);
+            }
+            Unit unit = tenths == NO_MATCH ? null : unit();
+            if (unit != null) {
+                return (long) Math.rint(unit.toKiloBytes(tenths < 0 ? size : (size * 10 + tenths) / 10.0));
+            }
+        }
+        position = start;
+        return NO_MATCH;
+    }
+
+    /**
+     * @return The {@link JdkRegEx#SIZE} unit at the current position, or null if there is none.
+     */
+    private Unit unit() {
+        if (position < line.length()) {
+            Unit unit;
+            switch (line.charAt(position)) {
+            case 'B':
+                unit = Unit.BYTES;
+                break;
+            case 'K':
+                unit = Unit.KILOBYTES;
+                break;
+            case 'M':
+                unit = Unit.MEGABYTES;
+                break;
+            case 'G':
+                unit = Unit.GIGABYTES;
+                break;
+            default:
+                return null;
+            }
+            position++;
+            return unit;
+        }
+        return null;
+    }
+
+    /**
+     * <code>TimesData.REGEX</code> (e.g. " [Times: user=0.02 sys=0.01, real=0.01 secs]"). The times are available
+     * from {@link #getTimeUser()}, {@link #getTimeSys()}, and {@link #getTimeReal()}.
+     *
+     * @return True if a times block is at the current position, false otherwise.
+     */
+    public boolean times() {
+        int start = position;
+        long user = NO_MATCH;
+        long sys = NO_MATCH;
+        long real = NO_MATCH;
+        if (literal(" [Times: user=") && (user = decimal(1, 5, 2, 2, 2)) != NO_MATCH && literal(" sys=")
+                && (sys = decimal(1, 5, 2, 2, 2)) != NO_MATCH && literal(", real=")
+                && (real = decimal(1, 5, 2, 2, 2)) != NO_MATCH && literal(" secs]")) {
+            setTimes(user, sys, real);
+            return true;
+        }
+        position = start;
+        return false;
+    }
+
+    /**
+     * <code>TimesData.REGEX_JDK9</code> (e.g. " User=0.02s Sys=0.00s Real=0.01s"). The times are available from
+     * {@link #getTimeUser()}, {@link #getTimeSys()}, and {@link #getTimeReal()}.
+     *
+     * @return True if a times block is at the current position, false otherwise.
+     */
+    public boolean timesJdk9() {
+        int start = position;
+        long user = NO_MATCH;
+        long sys = NO_MATCH;
+        long real = NO_MATCH;
+        if (literal(" User=") && (user = decimal(1, 5, 2, 2, 2)) != NO_MATCH && literal("s Sys=")
+                && (sys = decimal(1, 5, 2, 2, 2)) != NO_MATCH && literal("s Real=")
+                && (real = decimal(1, 5, 2, 2, 2)) != NO_MATCH && character('s')) {
+            setTimes(user, sys, real);
+            return true;
+        }
+        position = start;
+        return false;
+    }
+
+    private void setTimes(long user, long sys, long real) {
+        timeUser = (int) user;
+        timeSys = (int) sys;
+        timeReal = (int) real;
+    }
+
+    /**
+     * <code>UnifiedRegEx.DECORATOR</code> starting with uptime (e.g. "[0.370s][info][gc,start ] GC(6)"), or with a
+     * datestamp followed by uptime (e.g. "[2019-05-09T01:39:00.821+0000][5413ms] GC(0)"). Whether the uptime is in
+     * milliseconds is available from {@link #isUptimeMillis()}.
+     *
+     * @return The uptime in milliseconds, or {@link #NO_MATCH} if there is no decorator at the current position.
+     */
+    public long decorator() {
+        int start = position;
+        long uptime = NO_MATCH;
+        datestamp = false;
+        if (character('[')) {
+            if (datestamp()) {
+                datestamp = true;
+                if (character(']') && character('[')) {
+                    uptime = uptime();
+                }
+            } else {
+                uptime = uptime();
+                // optional uptime in the other unit
+                int second = position;
+                boolean firstUptimeMillis = uptimeMillis;
+                if (uptime != NO_MATCH && !(character('[') && uptime() != NO_MATCH)) {
+                    position = second;
+                }
+                uptimeMillis = firstUptimeMillis;
+            }
+        }
+        if (uptime == NO_MATCH || !tags() || !gcEventNumber()) {
+            position = start;
+            return NO_MATCH;
+        }
+        return uptime;
+    }
+
+    /**
+     * <code>UnifiedRegEx.UPTIME</code> or <code>UnifiedRegEx.UPTIMEMILLIS</code>, followed by "]".
+     *
+     * @return The uptime in milliseconds, or {@link #NO_MATCH}.
+     */
+    private long uptime() {
+        int start = position;
+        long uptime = decimal(0, 12, 3, 3, 3);
+        if (uptime != NO_MATCH && literal("s]")) {
+            uptimeMillis = false;
+            return uptime;
+        }
+        uptime = integer(1, 15);
+        if (uptime != NO_MATCH && literal("ms]")) {
+            uptimeMillis = true;
+            return uptime;
+        }
+        position = start;
+        return NO_MATCH;
+    }
+
+    /**
+     * The optional level and tags of the unified logging decorator (e.g. "[info][gc,start ]").
+     *
+     * @return True if the tags match or there are none, false otherwise.
+     */
+    private boolean tags() {
+        if (!literal("[info][")) {
+            return !literal("[");
+        }
+        if (oneOf(UNIFIED_TAGS) == null) {
+            return false;
+        }
+        if (character(',')) {
+            if (oneOf(UNIFIED_SUB_TAGS) != null) {
+                if (character(',') && oneOf(UNIFIED_SECOND_SUB_TAGS) == null) {
+                    return false;
+                }
+            } else if (oneOf(UNIFIED_SECOND_SUB_TAGS) == null) {
+                return false;
+            }
+        }
+        int spaces = 0;
+        while (character(' ')) {
+            spaces++;
+        }
+        return spaces <= 13 && character(']');
+    }
+
+    /**
+     * The optional unified logging garbage collection event number (<code>UnifiedRegEx.GC_EVENT_NUMBER</code>).
+     *
+     * @return True if the event number matches or there is none, false otherwise.
+     */
+    private boolean gcEventNumber() {
+        int start = position;
+        if (!literal(" GC(")) {
+            return true;
+        }
+        if (integer(1, 7) != NO_MATCH && character(')')) {
+            return true;
+        }
+        position = start;
+        return false;
+    }
+
+    /**
+     * <code>UnifiedRegEx.DURATION</code>.
+     *
+     * @return The duration in microseconds, or {@link #NO_MATCH}.
+     */
+    public long unifiedDuration() {
+        int start = position;
+        long duration = decimal(1, 7, 1, 3, 3);
+        if (duration != NO_MATCH) {
+            character(' ');
+            if (literal("ms")) {
+                return duration;
+            }
+        }
+        position = start;
+        return NO_MATCH;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return True if the last unified decorator starts with a datestamp, false if it starts with uptime.
+     */
+    public boolean isDatestamp() {
+        return datestamp;
+    }
+
+    /**
+     * @return True if the last unified decorator uptime is in milliseconds, false if in seconds.
+     */
+    public boolean isUptimeMillis() {
+        return uptimeMillis;
+    }
+
+    public int getTimeUser() {
+        return timeUser;
+    }
+
+    public int getTimeSys() {
+        return timeSys;
+    }
+
+    public int getTimeReal() {
+        return timeReal;
+    }
+}
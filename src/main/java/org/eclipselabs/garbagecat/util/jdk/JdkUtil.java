@@ -16,92 +16,19 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
-import org.eclipselabs.garbagecat.domain.BlankLineEvent;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.UnknownEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ApplicationConcurrentTimeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ClassHistogramEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ClassUnloadingEvent;
-import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
-import org.eclipselabs.garbagecat.domain.jdk.CmsInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.CmsRemarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.CmsSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.FlsStatisticsEvent;
-import org.eclipselabs.garbagecat.domain.jdk.FooterHeapEvent;
-import org.eclipselabs.garbagecat.domain.jdk.FooterStatsEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1CleanupEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1ConcurrentEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1FullGcEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1MixedPauseEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1RemarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
-import org.eclipselabs.garbagecat.domain.jdk.GcInfoEvent;
-import org.eclipselabs.garbagecat.domain.jdk.GcLockerEvent;
-import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
-import org.eclipselabs.garbagecat.domain.jdk.HeaderCommandLineFlagsEvent;
-import org.eclipselabs.garbagecat.domain.jdk.HeaderMemoryEvent;
-import org.eclipselabs.garbagecat.domain.jdk.HeaderVersionEvent;
-import org.eclipselabs.garbagecat.domain.jdk.HeapAtGcEvent;
-import org.eclipselabs.garbagecat.domain.jdk.LogFileEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ParallelCompactingOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ParallelSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ReferenceGcEvent;
-import org.eclipselabs.garbagecat.domain.jdk.SerialNewEvent;
-import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahCancellingGcEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConcurrentEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConsiderClassUnloadingConcMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahDegeneratedGcMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFinalEvacEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFinalMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFinalUpdateEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFullGcEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahInitMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahInitUpdateEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahStatsEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ShenandoahTriggerEvent;
-import org.eclipselabs.garbagecat.domain.jdk.TenuringDistributionEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ThreadDumpEvent;
-import org.eclipselabs.garbagecat.domain.jdk.VerboseGcOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.VerboseGcYoungEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.HeapAddressEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.HeapRegionSizeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedBlankLineEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedCmsInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedConcurrentEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1CleanupEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1FullGcEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1InfoEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1MixedPauseEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungInitialMarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPrepareMixedEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParNewEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParallelCompactingOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParallelScavengeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedRemarkEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSerialNewEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedYoungEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UsingCmsEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UsingG1Event;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UsingParallelEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UsingSerialEvent;
-import org.eclipselabs.garbagecat.domain.jdk.unified.UsingShenandoahEvent;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.RegExGuard;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry.Registration;
 
 /**
  * <p>
@@ -197,189 +124,206 @@ public final class JdkUtil {
      * @return The <code>LogEventType</code> of the log entry.
      */
     public static final LogEventType identifyEventType(String logLine) {
+        if (RegExGuard.isTooLong(logLine)) {
+            return LogEventType.UNKNOWN;
+        }
+        return RegExGuard.evaluate(() -> identifyEventType(logLine, EventTypeRegistry.candidates(logLine)),
+                () -> LogEventType.UNKNOWN);
+    }
+
+    /**
+     * The shape of a log line: the log line with the digits of each number masked, so log lines that only differ in
+     * their numbers (e.g. timestamps, sizes, durations) have the same shape. The number of digits is kept, since event
+     * types match a specific number of digits (e.g. the 3 decimal places of a timestamp), and digits right after a
+     * letter are kept, since they are part of a name (e.g. "G1", "UseG1GC").
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The shape of the log entry.
+     */
+    static final String getShape(String logLine) {
+        char[] shape = null;
+        boolean name = false;
+        for (int i = 0; i < logLine.length(); i++) {
+            char c = logLine.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (!name && c != '0') {
+                    if (shape == null) {
+                        shape = logLine.toCharArray();
+                    }
+                    shape[i] = '0';
+                }
+            } else {
+                name = Character.isLetter(c);
+            }
+        }
+        return shape == null ? logLine : new String(shape);
+    }
+
+    /**
+     * The layout of a datestamp (<code>JdkRegEx.DATESTAMP</code>), with '0' for a digit and '+' for a sign.
+     */
+    private static final String DATESTAMP_SHAPE = "0000-00-00T00:00:00.000+0000";
+
+    /**
+     * The shape of an unidentified log line: the log line with only the digits of timestamps, datestamps, sizes,
+     * durations, and unified logging event numbers masked (e.g. "12.345", "2016-02-18T02:01:28.575-0500", "1024K",
+     * "12ms", "GC(6)"). Unlike {@link #getShape(String)}, other numbers are kept, since event types match specific
+     * values of them (e.g. "GCTimeLimit of 98%", "[1 CMS-remark"), so log lines with the same unidentified shape are
+     * unidentified. The number of digits is kept, and digits right after a letter are kept.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The unidentified shape of the log entry.
+     */
+    static final String getUnidentifiedShape(String logLine) {
+        char[] shape = null;
+        boolean name = false;
+        int length = logLine.length();
+        int i = 0;
+        while (i < length) {
+            char c = logLine.charAt(i);
+            if (c < '0' || c > '9') {
+                name = Character.isLetter(c);
+                i++;
+                continue;
+            }
+            int end = skipDigits(logLine, i);
+            if (name) {
+                i = end;
+                continue;
+            }
+            boolean masked = true;
+            if (logLine.startsWith("-", end) && isDatestamp(logLine, i)) {
+                end = i + DATESTAMP_SHAPE.length();
+            } else if (end + 1 < length && (logLine.charAt(end) == '.' || logLine.charAt(end) == ',')
+                    && Character.isDigit(logLine.charAt(end + 1))) {
+                end = skipDigits(logLine, end + 1);
+            } else if (!(end < length && "BKMG".indexOf(logLine.charAt(end)) >= 0) && !logLine.startsWith("ms", end)
+                    && !(i >= 3 && logLine.startsWith("GC(", i - 3) && logLine.startsWith(")", end))) {
+                masked = false;
+            }
+            if (masked) {
+                for (int j = i; j < end; j++) {
+                    if (logLine.charAt(j) > '0' && logLine.charAt(j) <= '9') {
+                        if (shape == null) {
+                            shape = logLine.toCharArray();
+                        }
+                        shape[j] = '0';
+                    }
+                }
+            }
+            i = end;
+        }
+        return shape == null ? logLine : new String(shape);
+    }
+
+    /**
+     * @param logLine
+     *            The log entry.
+     * @param start
+     *            The position of a digit.
+     * @return The position after the digits starting at the position.
+     */
+    private static int skipDigits(String logLine, int start) {
+        int end = start;
+        while (end < logLine.length() && logLine.charAt(end) >= '0' && logLine.charAt(end) <= '9') {
+            end++;
+        }
+        return end;
+    }
 
-        // Unified (alphabetical)
-        if (FooterHeapEvent.match(logLine))
-            return LogEventType.FOOTER_HEAP;
-        if (HeapAddressEvent.match(logLine))
-            return LogEventType.HEAP_ADDRESS;
-        if (HeapRegionSizeEvent.match(logLine))
-            return LogEventType.HEAP_REGION_SIZE;
-        if (UnifiedSafepointEvent.match(logLine))
-            return LogEventType.UNIFIED_SAFEPOINT;
-        if (UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine))
-            return LogEventType.UNIFIED_BLANK_LINE;
-        if (UnifiedCmsInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_CMS_INITIAL_MARK;
-        if (UnifiedConcurrentEvent.match(logLine))
-            return LogEventType.UNIFIED_CONCURRENT;
-        if (UnifiedG1CleanupEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_CLEANUP;
-        if (UnifiedG1FullGcEvent.match(logLine))
-            return LogEventType.G1_FULL_GC_PARALLEL;
-        if (UnifiedG1InfoEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_INFO;
-        if (UnifiedG1MixedPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_MIXED_PAUSE;
-        if (UnifiedG1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK;
-        if (UnifiedG1YoungPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PAUSE;
-        if (UnifiedG1YoungPrepareMixedEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED;
-        if (UnifiedOldEvent.match(logLine))
-            return LogEventType.UNIFIED_OLD;
-        if (UnifiedParallelCompactingOldEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD;
-        if (UnifiedParallelScavengeEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_SCAVENGE;
-        if (UnifiedParNewEvent.match(logLine))
-            return LogEventType.UNIFIED_PAR_NEW;
-        if (UnifiedRemarkEvent.match(logLine))
-            return LogEventType.UNIFIED_REMARK;
-        if (UnifiedSerialNewEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_NEW;
-        if (UnifiedSerialOldEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_OLD;
-        if (UnifiedYoungEvent.match(logLine))
-            return LogEventType.UNIFIED_YOUNG;
-        if (UsingCmsEvent.match(logLine))
-            return LogEventType.USING_CMS;
-        if (UsingG1Event.match(logLine))
-            return LogEventType.USING_G1;
-        if (UsingParallelEvent.match(logLine))
-            return LogEventType.USING_PARALLEL;
-        if (UsingSerialEvent.match(logLine))
-            return LogEventType.USING_SERIAL;
-        if (UsingShenandoahEvent.match(logLine))
-            return LogEventType.USING_SHENANDOAH;
-
-        // Unknown
-        if (VerboseGcYoungEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_YOUNG;
-        if (VerboseGcOldEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_OLD;
-
-        // In order of most common events to limit checking
-
-        // G1
-        if (UsingG1Event.match(logLine))
-            return LogEventType.USING_G1;
-        if (G1YoungPauseEvent.match(logLine))
-            return LogEventType.G1_YOUNG_PAUSE;
-        if (G1MixedPauseEvent.match(logLine))
-            return LogEventType.G1_MIXED_PAUSE;
-        if (G1ConcurrentEvent.match(logLine))
-            return LogEventType.G1_CONCURRENT;
-        if (G1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.G1_YOUNG_INITIAL_MARK;
-        if (G1RemarkEvent.match(logLine))
-            return LogEventType.G1_REMARK;
-        if (G1FullGcEvent.match(logLine))
-            return LogEventType.G1_FULL_GC_SERIAL;
-        if (G1CleanupEvent.match(logLine))
-            return LogEventType.G1_CLEANUP;
-
-        // CMS
-        if (UsingCmsEvent.match(logLine))
-            return LogEventType.USING_CMS;
-        if (ParNewEvent.match(logLine))
-            return LogEventType.PAR_NEW;
-        if (CmsSerialOldEvent.match(logLine))
-            return LogEventType.CMS_SERIAL_OLD;
-        if (CmsInitialMarkEvent.match(logLine))
-            return LogEventType.CMS_INITIAL_MARK;
-        if (CmsRemarkEvent.match(logLine))
-            return LogEventType.CMS_REMARK;
-        if (CmsConcurrentEvent.match(logLine))
-            return LogEventType.CMS_CONCURRENT;
-
-        // Parallel
-        if (UsingParallelEvent.match(logLine))
-            return LogEventType.USING_PARALLEL;
-        if (ParallelScavengeEvent.match(logLine))
-            return LogEventType.PARALLEL_SCAVENGE;
-        if (ParallelSerialOldEvent.match(logLine))
-            return LogEventType.PARALLEL_SERIAL_OLD;
-        if (ParallelCompactingOldEvent.match(logLine))
-            return LogEventType.PARALLEL_COMPACTING_OLD;
-
-        // Serial
-        if (UsingSerialEvent.match(logLine))
-            return LogEventType.USING_SERIAL;
-        if (SerialOldEvent.match(logLine))
-            return LogEventType.SERIAL_OLD;
-        if (SerialNewEvent.match(logLine))
-            return LogEventType.SERIAL_NEW;
-
-        // Shenandoah
-        if (ShenandoahCancellingGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CANCELLING_GC;
-        if (ShenandoahConcurrentEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONCURRENT;
-        if (ShenandoahConsiderClassUnloadingConcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK;
-        if (ShenandoahDegeneratedGcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_DEGENERATED_GC_MARK;
-        if (ShenandoahFinalEvacEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_EVAC;
-        if (ShenandoahFinalMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_MARK;
-        if (ShenandoahFinalUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_UPDATE;
-        if (ShenandoahFullGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FULL_GC;
-        if (ShenandoahInitMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_MARK;
-        if (ShenandoahInitUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_UPDATE;
-        if (ShenandoahStatsEvent.match(logLine))
-            return LogEventType.SHENANDOAH_STATS;
-        if (ShenandoahTriggerEvent.match(logLine))
-            return LogEventType.SHENANDOAH_TRIGGER;
-
-        // Other
-        if (ApplicationConcurrentTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_CONCURRENT_TIME;
-        if (ApplicationStoppedTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_STOPPED_TIME;
-        if (ClassUnloadingEvent.match(logLine))
-            return LogEventType.CLASS_UNLOADING;
-        if (FooterStatsEvent.match(logLine))
-            return LogEventType.FOOTER_STATS;
-        if (GcInfoEvent.match(logLine))
-            return LogEventType.GC_INFO;
-        if (HeapAtGcEvent.match(logLine))
-            return LogEventType.HEAP_AT_GC;
-        if (TenuringDistributionEvent.match(logLine))
-            return LogEventType.TENURING_DISTRIBUTION;
-        if (ClassHistogramEvent.match(logLine))
-            return LogEventType.CLASS_HISTOGRAM;
-        if (ApplicationLoggingEvent.match(logLine))
-            return LogEventType.APPLICATION_LOGGING;
-        if (ThreadDumpEvent.match(logLine))
-            return LogEventType.THREAD_DUMP;
-        if (LogFileEvent.match(logLine))
-            return LogEventType.LOG_FILE;
-        if (BlankLineEvent.match(logLine))
-            return LogEventType.BLANK_LINE;
-        if (GcOverheadLimitEvent.match(logLine))
-            return LogEventType.GC_OVERHEAD_LIMIT;
-        if (FlsStatisticsEvent.match(logLine))
-            return LogEventType.FLS_STATISTICS;
-        if (GcLockerEvent.match(logLine))
-            return LogEventType.GC_LOCKER;
-        if (HeaderCommandLineFlagsEvent.match(logLine))
-            return LogEventType.HEADER_COMMAND_LINE_FLAGS;
-        if (HeaderMemoryEvent.match(logLine))
-            return LogEventType.HEADER_MEMORY;
-        if (HeaderVersionEvent.match(logLine))
-            return LogEventType.HEADER_VERSION;
-        if (ReferenceGcEvent.match(logLine))
-            return LogEventType.REFERENCE_GC;
-
-        // no idea what event is
-        return LogEventType.UNKNOWN;
+    /**
+     * @param logLine
+     *            The log entry.
+     * @param start
+     *            A position in the log entry.
+     * @return True if a datestamp starts at the position, false otherwise.
+     */
+    private static boolean isDatestamp(String logLine, int start) {
+        if (start + DATESTAMP_SHAPE.length() > logLine.length()) {
+            return false;
+        }
+        for (int i = 0; i < DATESTAMP_SHAPE.length(); i++) {
+            char expected = DATESTAMP_SHAPE.charAt(i);
+            char c = logLine.charAt(start + i);
+            if (expected == '0' ? c < '0' || c > '9' : expected == '+' ? c != '+' && c != '-' : c != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param cache
+     *            The event type cache.
+     * @param logLine
+     *            The log entry.
+     * @param shape
+     *            The shape of the log entry.
+     * @param excluded
+     *            The event types not checked first, even if cached.
+     * @return The cached <code>LogEventType</code> of the log entry if it matches it, or null if the log entry is not
+     *         cached, the cached event type of its shape is excluded, or it does not match the cached event type.
+     */
+    static final LogEventType identifyCachedEventType(EventTypeCache cache, String logLine, String shape,
+            EnumSet<LogEventType> excluded) {
+        LogEventType eventType = cache.get(logLine, shape);
+        if (eventType == null || eventType == LogEventType.UNKNOWN) {
+            return eventType;
+        }
+        if (excluded.contains(eventType)) {
+            return null;
+        }
+        Registration registration = identify(logLine, EnumSet.of(eventType), null);
+        return registration != null && registration.getEventType() == eventType ? eventType : null;
+    }
+
+    /**
+     * @param logLine
+     *            The log entry.
+     * @return The event types with literal text in the log entry, and the event types without literal text, the only
+     *         event types that can match the log entry.
+     */
+    static final EnumSet<LogEventType> candidates(String logLine) {
+        return EventTypeRegistry.candidates(logLine);
+    }
+
+    /**
+     * Identify the log line garbage collection event, checking only the candidate event types.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param candidates
+     *            The event types that can match the log entry.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    static final LogEventType identifyEventType(String logLine, EnumSet<LogEventType> candidates) {
+        Registration registration = identify(logLine, candidates, null);
+        return registration == null ? LogEventType.UNKNOWN : registration.getEventType();
+    }
+
+    /**
+     * Identify the log line garbage collection event, checking only the candidate event types, in registration order
+     * (see <code>EventTypeRegistry</code>). Event types that can classify and extract fields with a single matcher run
+     * (e.g. <code>G1YoungPauseEvent.tryParse</code>) are parsed while identifying them when <code>parsed</code> is not
+     * null.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param candidates
+     *            The event types that can match the log entry.
+     * @param parsed
+     *            Holder for the event parsed while identifying the log entry, or null to only identify the log entry.
+     * @return The <code>Registration</code> the log entry matches, or null if none.
+     */
+    private static final Registration identify(String logLine, EnumSet<LogEventType> candidates, LogEvent[] parsed) {
+        for (Registration registration : EventTypeRegistry.getRegistrations()) {
+            if (candidates.contains(registration.getEventType()) && registration.matches(logLine, parsed)) {
+                return registration;
+            }
+        }
+        return null;
     }
 
     /**
@@ -390,180 +334,71 @@ public final class JdkUtil {
      * @return The <code>LogEvent</code> corresponding to the log line.
      */
     public static final LogEvent parseLogLine(String logLine) {
-        LogEventType eventType = identifyEventType(logLine);
-        switch (eventType) {
-        // Unified (order of appearance)
-        case HEAP_ADDRESS:
-            return new HeapAddressEvent(logLine);
-        case HEAP_REGION_SIZE:
-            return new HeapRegionSizeEvent(logLine);
-        case UNIFIED_SAFEPOINT:
-            return new UnifiedSafepointEvent(logLine);
-        case UNIFIED_BLANK_LINE:
-            return new UnifiedBlankLineEvent(logLine);
-        case UNIFIED_CONCURRENT:
-            return new UnifiedConcurrentEvent();
-        case UNIFIED_CMS_INITIAL_MARK:
-            return new UnifiedCmsInitialMarkEvent(logLine);
-        case UNIFIED_G1_CLEANUP:
-            return new UnifiedG1CleanupEvent(logLine);
-        case G1_FULL_GC_PARALLEL:
-            return new UnifiedG1FullGcEvent(logLine);
-        case UNIFIED_G1_INFO:
-            return new UnifiedG1InfoEvent(logLine);
-        case UNIFIED_G1_MIXED_PAUSE:
-            return new UnifiedG1MixedPauseEvent(logLine);
-        case UNIFIED_G1_YOUNG_INITIAL_MARK:
-            return new UnifiedG1YoungInitialMarkEvent(logLine);
-        case UNIFIED_G1_YOUNG_PAUSE:
-            return new UnifiedG1YoungPauseEvent(logLine);
-        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
-            return new UnifiedG1YoungPrepareMixedEvent(logLine);
-        case UNIFIED_OLD:
-            return new UnifiedOldEvent(logLine);
-        case UNIFIED_PARALLEL_COMPACTING_OLD:
-            return new UnifiedParallelCompactingOldEvent(logLine);
-        case UNIFIED_PARALLEL_SCAVENGE:
-            return new UnifiedParallelScavengeEvent(logLine);
-        case UNIFIED_PAR_NEW:
-            return new UnifiedParNewEvent(logLine);
-        case UNIFIED_REMARK:
-            return new UnifiedRemarkEvent(logLine);
-        case UNIFIED_SERIAL_NEW:
-            return new UnifiedSerialNewEvent(logLine);
-        case UNIFIED_SERIAL_OLD:
-            return new UnifiedSerialOldEvent(logLine);
-        case UNIFIED_YOUNG:
-            return new UnifiedYoungEvent(logLine);
-        case USING_CMS:
-            return new UsingCmsEvent(logLine);
-        case USING_G1:
-            return new UsingG1Event(logLine);
-        case USING_SHENANDOAH:
-            return new UsingShenandoahEvent(logLine);
-        case FOOTER_HEAP:
-            return new FooterHeapEvent(logLine);
-        case FOOTER_STATS:
-            return new FooterStatsEvent(logLine);
-        case USING_PARALLEL:
-            return new UsingParallelEvent(logLine);
-        case USING_SERIAL:
-            return new UsingSerialEvent(logLine);
-
-        // G1
-        case G1_CLEANUP:
-            return new G1CleanupEvent(logLine);
-        case G1_CONCURRENT:
-            return new G1ConcurrentEvent(logLine);
-        case G1_FULL_GC_SERIAL:
-            return new G1FullGcEvent(logLine);
-        case G1_MIXED_PAUSE:
-            return new G1MixedPauseEvent(logLine);
-        case G1_REMARK:
-            return new G1RemarkEvent(logLine);
-        case G1_YOUNG_INITIAL_MARK:
-            return new G1YoungInitialMarkEvent(logLine);
-        case G1_YOUNG_PAUSE:
-            return new G1YoungPauseEvent(logLine);
-
-        // Shenandoah
-        case SHENANDOAH_CANCELLING_GC:
-            return new ShenandoahCancellingGcEvent();
-        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
-            return new ShenandoahConsiderClassUnloadingConcMarkEvent(logLine);
-        case SHENANDOAH_CONCURRENT:
-            return new ShenandoahConcurrentEvent(logLine);
-        case SHENANDOAH_DEGENERATED_GC_MARK:
-            return new ShenandoahDegeneratedGcMarkEvent(logLine);
-        case SHENANDOAH_FINAL_EVAC:
-            return new ShenandoahFinalEvacEvent(logLine);
-        case SHENANDOAH_FINAL_MARK:
-            return new ShenandoahFinalMarkEvent(logLine);
-        case SHENANDOAH_FINAL_UPDATE:
-            return new ShenandoahFinalUpdateEvent(logLine);
-        case SHENANDOAH_FULL_GC:
-            return new ShenandoahFullGcEvent(logLine);
-        case SHENANDOAH_INIT_MARK:
-            return new ShenandoahInitMarkEvent(logLine);
-        case SHENANDOAH_INIT_UPDATE:
-            return new ShenandoahInitUpdateEvent(logLine);
-        case SHENANDOAH_STATS:
-            return new ShenandoahStatsEvent();
-        case SHENANDOAH_TRIGGER:
-            return new ShenandoahTriggerEvent();
-
-        // CMS
-        case PAR_NEW:
-            return new ParNewEvent(logLine);
-        case CMS_CONCURRENT:
-            return new CmsConcurrentEvent();
-        case CMS_INITIAL_MARK:
-            return new CmsInitialMarkEvent(logLine);
-        case CMS_REMARK:
-            return new CmsRemarkEvent(logLine);
-        case CMS_SERIAL_OLD:
-            return new CmsSerialOldEvent(logLine);
-
-        // Parallel
-        case PARALLEL_COMPACTING_OLD:
-            return new ParallelCompactingOldEvent(logLine);
-        case PARALLEL_SCAVENGE:
-            return new ParallelScavengeEvent(logLine);
-        case PARALLEL_SERIAL_OLD:
-            return new ParallelSerialOldEvent(logLine);
-
-        // Serial
-        case SERIAL_NEW:
-            return new SerialNewEvent(logLine);
-        case SERIAL_OLD:
-            return new SerialOldEvent(logLine);
-
-        // Other
-        case APPLICATION_CONCURRENT_TIME:
-            return new ApplicationConcurrentTimeEvent();
-        case APPLICATION_LOGGING:
-            return new ApplicationLoggingEvent(logLine);
-        case APPLICATION_STOPPED_TIME:
-            return new ApplicationStoppedTimeEvent(logLine);
-        case BLANK_LINE:
-            return new BlankLineEvent(logLine);
-        case CLASS_HISTOGRAM:
-            return new ClassHistogramEvent(logLine);
-        case CLASS_UNLOADING:
-            return new ClassUnloadingEvent(logLine);
-        case FLS_STATISTICS:
-            return new FlsStatisticsEvent(logLine);
-        case GC_INFO:
-            return new GcInfoEvent(logLine);
-        case GC_LOCKER:
-            return new GcLockerEvent(logLine);
-        case HEAP_AT_GC:
-            return new HeapAtGcEvent(logLine);
-        case GC_OVERHEAD_LIMIT:
-            return new GcOverheadLimitEvent(logLine);
-        case LOG_FILE:
-            return new LogFileEvent(logLine);
-        case REFERENCE_GC:
-            return new ReferenceGcEvent(logLine);
-        case TENURING_DISTRIBUTION:
-            return new TenuringDistributionEvent(logLine);
-        case THREAD_DUMP:
-            return new ThreadDumpEvent(logLine);
-        case UNKNOWN:
+        if (RegExGuard.isTooLong(logLine)) {
             return new UnknownEvent(logLine);
-        case VERBOSE_GC_OLD:
-            return new VerboseGcOldEvent(logLine);
-        case VERBOSE_GC_YOUNG:
-            return new VerboseGcYoungEvent(logLine);
-        case HEADER_COMMAND_LINE_FLAGS:
-            return new HeaderCommandLineFlagsEvent(logLine);
-        case HEADER_MEMORY:
-            return new HeaderMemoryEvent(logLine);
-        case HEADER_VERSION:
-            return new HeaderVersionEvent(logLine);
-        default:
-            throw new AssertionError("Unexpected event type value: " + eventType);
         }
+        return RegExGuard.evaluate(() -> parseLogLine(logLine, EventTypeRegistry.candidates(logLine)),
+                () -> new UnknownEvent(logLine));
+    }
+
+    /**
+     * @param cache
+     *            The event type cache.
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param shape
+     *            The shape of the log line.
+     * @param excluded
+     *            The event types not checked first, even if cached.
+     * @return The <code>LogEvent</code> corresponding to the log line if its unidentified shape is cached or it
+     *         matches the cached event type of its shape, or null if the log line is not cached, the cached event type
+     *         of its shape is excluded, or it does not match the cached event type.
+     */
+    static final LogEvent parseCachedLogLine(EventTypeCache cache, String logLine, String shape,
+            EnumSet<LogEventType> excluded) {
+        LogEventType eventType = cache.get(logLine, shape);
+        if (eventType == null || excluded.contains(eventType)) {
+            return null;
+        }
+        if (eventType == LogEventType.UNKNOWN) {
+            return new UnknownEvent(logLine);
+        }
+        LogEvent[] parsed = new LogEvent[1];
+        Registration registration = identify(logLine, EnumSet.of(eventType), parsed);
+        if (registration == null || registration.getEventType() != eventType) {
+            return null;
+        }
+        return createLogEvent(logLine, registration, parsed);
+    }
+
+    /**
+     * Create <code>LogEvent</code> from GC log line, checking only the candidate event types.
+     * 
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param candidates
+     *            The event types that can match the log line.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    static final LogEvent parseLogLine(String logLine, EnumSet<LogEventType> candidates) {
+        LogEvent[] parsed = new LogEvent[1];
+        return createLogEvent(logLine, identify(logLine, candidates, parsed), parsed);
+    }
+
+    /**
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param registration
+     *            The <code>Registration</code> the log line matches, or null if none.
+     * @param parsed
+     *            Holder for the event parsed while identifying the log line.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    private static final LogEvent createLogEvent(String logLine, Registration registration, LogEvent[] parsed) {
+        if (parsed[0] != null) {
+            return parsed[0];
+        }
+        return registration == null ? new UnknownEvent(logLine) : registration.createLogEvent(logLine);
     }
 
     /**
@@ -581,97 +416,11 @@ public final class JdkUtil {
      */
     public static final BlockingEvent hydrateBlockingEvent(LogEventType eventType, String logEntry, long timestamp,
             int duration) {
-        switch (eventType) {
-
-        // Unified (alphabetical)
-        case UNIFIED_CMS_INITIAL_MARK:
-            return new UnifiedCmsInitialMarkEvent(logEntry, timestamp, duration);
-        case UNIFIED_G1_CLEANUP:
-            return new UnifiedG1CleanupEvent(logEntry, timestamp, duration);
-        case G1_FULL_GC_PARALLEL:
-            return new UnifiedG1FullGcEvent(logEntry, timestamp, duration);
-        case UNIFIED_G1_YOUNG_INITIAL_MARK:
-            return new UnifiedG1YoungInitialMarkEvent(logEntry, timestamp, duration);
-        case UNIFIED_G1_MIXED_PAUSE:
-            return new UnifiedG1MixedPauseEvent(logEntry, timestamp, duration);
-        case UNIFIED_G1_YOUNG_PAUSE:
-            return new UnifiedG1YoungPauseEvent(logEntry, timestamp, duration);
-        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
-            return new UnifiedG1YoungPrepareMixedEvent(logEntry, timestamp, duration);
-        case UNIFIED_OLD:
-            return new UnifiedOldEvent(logEntry, timestamp, duration);
-        case UNIFIED_PARALLEL_COMPACTING_OLD:
-            return new UnifiedParallelCompactingOldEvent(logEntry, timestamp, duration);
-        case UNIFIED_PARALLEL_SCAVENGE:
-            return new UnifiedParallelScavengeEvent(logEntry, timestamp, duration);
-        case UNIFIED_PAR_NEW:
-            return new UnifiedParNewEvent(logEntry, timestamp, duration);
-        case UNIFIED_REMARK:
-            return new UnifiedRemarkEvent(logEntry, timestamp, duration);
-        case UNIFIED_SERIAL_NEW:
-            return new UnifiedSerialNewEvent(logEntry, timestamp, duration);
-        case UNIFIED_SERIAL_OLD:
-            return new UnifiedSerialOldEvent(logEntry, timestamp, duration);
-        case UNIFIED_YOUNG:
-            return new UnifiedYoungEvent(logEntry, timestamp, duration);
-
-        // G1
-        case G1_YOUNG_PAUSE:
-            return new G1YoungPauseEvent(logEntry, timestamp, duration);
-        case G1_MIXED_PAUSE:
-            return new G1MixedPauseEvent(logEntry, timestamp, duration);
-        case G1_YOUNG_INITIAL_MARK:
-            return new G1YoungInitialMarkEvent(logEntry, timestamp, duration);
-        case G1_REMARK:
-            return new G1RemarkEvent(logEntry, timestamp, duration);
-        case G1_CLEANUP:
-            return new G1CleanupEvent(logEntry, timestamp, duration);
-        case G1_FULL_GC_SERIAL:
-            return new G1FullGcEvent(logEntry, timestamp, duration);
-        // Shenandoah
-        case SHENANDOAH_DEGENERATED_GC_MARK:
-            return new ShenandoahDegeneratedGcMarkEvent(logEntry, timestamp, duration);
-        case SHENANDOAH_FINAL_EVAC:
-            return new ShenandoahFinalEvacEvent(logEntry, timestamp, duration);
-        case SHENANDOAH_FINAL_MARK:
-            return new ShenandoahFinalMarkEvent(logEntry, timestamp, duration);
-        case SHENANDOAH_FINAL_UPDATE:
-            return new ShenandoahFinalUpdateEvent(logEntry, timestamp, duration);
-        case SHENANDOAH_FULL_GC:
-            return new ShenandoahFullGcEvent(logEntry, timestamp, duration);
-        case SHENANDOAH_INIT_MARK:
-            return new ShenandoahInitMarkEvent(logEntry, timestamp, duration);
-        case SHENANDOAH_INIT_UPDATE:
-            return new ShenandoahInitUpdateEvent(logEntry, timestamp, duration);
-        // CMS
-        case PAR_NEW:
-            return new ParNewEvent(logEntry, timestamp, duration);
-        case CMS_SERIAL_OLD:
-            return new CmsSerialOldEvent(logEntry, timestamp, duration);
-        case CMS_INITIAL_MARK:
-            return new CmsInitialMarkEvent(logEntry, timestamp, duration);
-        case CMS_REMARK:
-            return new CmsRemarkEvent(logEntry, timestamp, duration);
-        // Parallel
-        case PARALLEL_SCAVENGE:
-            return new ParallelScavengeEvent(logEntry, timestamp, duration);
-        case PARALLEL_SERIAL_OLD:
-            return new ParallelSerialOldEvent(logEntry, timestamp, duration);
-        case PARALLEL_COMPACTING_OLD:
-            return new ParallelCompactingOldEvent(logEntry, timestamp, duration);
-        // Serial
-        case SERIAL_OLD:
-            return new SerialOldEvent(logEntry, timestamp, duration);
-        case SERIAL_NEW:
-            return new SerialNewEvent(logEntry, timestamp, duration);
-        // Other
-        case VERBOSE_GC_YOUNG:
-            return new VerboseGcYoungEvent(logEntry, timestamp, duration);
-        case VERBOSE_GC_OLD:
-            return new VerboseGcOldEvent(logEntry, timestamp, duration);
-        default:
+        Registration registration = EventTypeRegistry.getRegistration(eventType);
+        if (registration == null) {
             throw new AssertionError("Unexpected event type value: " + eventType + ": " + logEntry);
         }
+        return registration.createBlockingEvent(logEntry, timestamp, duration);
     }
 
     /**
@@ -680,58 +429,11 @@ public final class JdkUtil {
      * @return true if the log event is blocking, false if it is concurrent or informational.
      */
     public static final boolean isBlocking(LogEventType eventType) {
-        switch (eventType) {
-        case APPLICATION_CONCURRENT_TIME:
-        case APPLICATION_STOPPED_TIME:
-        case CLASS_HISTOGRAM:
-        case CLASS_UNLOADING:
-        case CMS_CONCURRENT:
-        case FLS_STATISTICS:
-        case FOOTER_HEAP:
-        case FOOTER_STATS:
-        case GC_INFO:
-        case GC_LOCKER:
-        case GC_OVERHEAD_LIMIT:
-        case G1_CONCURRENT:
-        case HEADER_COMMAND_LINE_FLAGS:
-        case HEADER_MEMORY:
-        case HEADER_VERSION:
-        case HEAP_ADDRESS:
-        case HEAP_AT_GC:
-        case HEAP_REGION_SIZE:
-        case LOG_FILE:
-        case REFERENCE_GC:
-        case SHENANDOAH_CANCELLING_GC:
-        case SHENANDOAH_CONCURRENT:
-        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
-        case SHENANDOAH_STATS:
-        case SHENANDOAH_TRIGGER:
-        case THREAD_DUMP:
-        case TENURING_DISTRIBUTION:
-        case UNIFIED_SAFEPOINT:
-        case UNIFIED_CONCURRENT:
-        case UNIFIED_G1_INFO:
-        case UNKNOWN:
-        case USING_SERIAL:
-        case USING_PARALLEL:
-        case USING_CMS:
-        case USING_G1:
-        case USING_SHENANDOAH:
-            return false;
-        default:
-            return true;
-        }
-
+        return EventTypeRegistry.getRegistration(eventType).isBlocking();
     }
 
     public static final LogEventType determineEventType(String eventTypeString) {
-        LogEventType[] logEventTypes = LogEventType.values();
-        for (LogEventType logEventType : logEventTypes) {
-            if (logEventType.toString().equals(eventTypeString)) {
-                return logEventType;
-            }
-        }
-        return null;
+        return EventTypeRegistry.getEventType(eventTypeString);
     }
 
     /**
@@ -778,7 +480,7 @@ public final class JdkUtil {
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
             Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
+                    JdkMath.parseSecsToMillis(logEntry, matcher.start(1), matcher.end(1)));
             SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
             matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
         }
@@ -804,7 +506,7 @@ public final class JdkUtil {
         while (matcher.find()) {
 
             Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
+                    JdkMath.parseSecsToMillis(logEntry, matcher.start(1), matcher.end(1)));
             SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
             matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
         }
@@ -826,36 +528,57 @@ public final class JdkUtil {
      */
     public static final boolean isBottleneck(BlockingEvent event, BlockingEvent priorEvent, int throughputThreshold)
             throws TimeWarpException {
+        return isBottleneck(event.getTimestamp(), event.getDuration(), priorEvent.getTimestamp(),
+                priorEvent.getDuration(), throughputThreshold,
+                () -> priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
+    }
+
+    /**
+     * Determine if a <code>BlockingEvent</code> should be classified as a bottleneck from its values.
+     * 
+     * @param timestamp
+     *            Current event timestamp (milliseconds).
+     * @param duration
+     *            Current event duration (microseconds).
+     * @param priorTimestamp
+     *            Previous event timestamp (milliseconds).
+     * @param priorDuration
+     *            Previous event duration (microseconds).
+     * @param throughputThreshold
+     *            Throughput threshold (percent of time spent not doing garbage collection for a given time interval) to
+     *            be considered a bottleneck. Whole number 0-100.
+     * @param logEntries
+     *            The previous and current log entries, for the <code>TimeWarpException</code> message.
+     * @return True if the <code>BlockingEvent</code> pause time meets the bottleneck definition.
+     */
+    public static final boolean isBottleneck(long timestamp, int duration, long priorTimestamp, int priorDuration,
+            int throughputThreshold, Supplier<String> logEntries) throws TimeWarpException {
         /*
          * Check for logging time warps, which could be an indication of mixed logging from multiple JVM runs. JDK8
          * seems to have threading issues where sometimes logging gets mixed up under heavy load, and an event appears
          * to start before the previous event finished. They are mainly very small overlaps or a few milliseconds.
          */
-        long eventTimestampMicros = JdkMath.convertMillisToMicros(String.valueOf(event.getTimestamp())).longValue();
-        long priorEventTimestampMicros = JdkMath.convertMillisToMicros(String.valueOf(priorEvent.getTimestamp()))
-                .longValue();
+        long eventTimestampMicros = timestamp * 1000;
+        long priorEventTimestampMicros = priorTimestamp * 1000;
         if (eventTimestampMicros < priorEventTimestampMicros) {
-            throw new TimeWarpException("Bad order: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
-                    + Constants.LINE_SEPARATOR + event.getLogEntry());
-        } else if (eventTimestampMicros < priorEventTimestampMicros + priorEvent.getDuration() - 5000000) {
+            throw new TimeWarpException("Bad order: " + Constants.LINE_SEPARATOR + logEntries.get());
+        } else if (eventTimestampMicros < priorEventTimestampMicros + priorDuration - 5000000) {
             // Only report if overlap > 5 sec to account for overlaps due to JDK threading issues and use of
             // -XX:+UseFastUnorderedTimeStamps
             // TODO: Make this configurable w/ a command line option?
-            throw new TimeWarpException("Event overlap: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
-                    + Constants.LINE_SEPARATOR + event.getLogEntry());
+            throw new TimeWarpException("Event overlap: " + Constants.LINE_SEPARATOR + logEntries.get());
         } else {
             /*
              * Timestamp is the start of a vm event; therefore, the interval is from the end of the prior event to the
              * end of the current event.
              */
-            long interval = eventTimestampMicros + event.getDuration() - priorEventTimestampMicros
-                    - priorEvent.getDuration();
+            long interval = eventTimestampMicros + duration - priorEventTimestampMicros - priorDuration;
             // Determine the maximum duration for the given interval that meets the throughput goal.
             BigDecimal durationThreshold = new BigDecimal(100 - throughputThreshold);
             durationThreshold = durationThreshold.movePointLeft(2);
             durationThreshold = durationThreshold.multiply(new BigDecimal(interval));
             durationThreshold.setScale(0, RoundingMode.DOWN);
-            return event.getDuration() > durationThreshold.longValue();
+            return duration > durationThreshold.longValue();
         }
     }
 
@@ -885,39 +608,15 @@ public final class JdkUtil {
      * @return true if the log event is should be included in the report event list, false otherwise.
      */
     public static final boolean isReportable(LogEventType eventType) {
-        switch (eventType) {
-        case APPLICATION_CONCURRENT_TIME:
-        case APPLICATION_LOGGING:
-        case APPLICATION_STOPPED_TIME:
-        case BLANK_LINE:
-        case CLASS_HISTOGRAM:
-        case CLASS_UNLOADING:
-        case FLS_STATISTICS:
-        case FOOTER_HEAP:
-        case FOOTER_STATS:
-        case GC_INFO:
-        case GC_LOCKER:
-        case GC_OVERHEAD_LIMIT:
-        case HEADER_COMMAND_LINE_FLAGS:
-        case HEADER_MEMORY:
-        case HEADER_VERSION:
-        case HEAP_ADDRESS:
-        case HEAP_AT_GC:
-        case HEAP_REGION_SIZE:
-        case LOG_FILE:
-        case REFERENCE_GC:
-        case UNIFIED_SAFEPOINT:
-        case SHENANDOAH_CANCELLING_GC:
-        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
-        case SHENANDOAH_STATS:
-        case SHENANDOAH_TRIGGER:
-        case UNIFIED_BLANK_LINE:
-        case UNIFIED_G1_INFO:
-        case UNKNOWN:
-            return false;
-        default:
-            return true;
-        }
+        return EventTypeRegistry.getRegistration(eventType).isReportable();
+    }
 
+    /**
+     * @param eventType
+     *            The event type to test.
+     * @return true if the log event is a <code>ThrowAwayEvent</code> that is not needed for analysis, false otherwise.
+     */
+    public static final boolean isThrowAway(LogEventType eventType) {
+        return EventTypeRegistry.getRegistration(eventType).isThrowAway();
     }
 }
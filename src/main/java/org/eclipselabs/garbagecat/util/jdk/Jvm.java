@@ -12,16 +12,18 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk;
 
-import static org.eclipselabs.garbagecat.util.Memory.fromOptionSize;
 import static org.eclipselabs.garbagecat.util.Memory.megabytes;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.BYTES;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
-import static org.eclipselabs.garbagecat.util.jdk.JdkUtil.getOptionValue;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +38,16 @@ import org.eclipselabs.garbagecat.util.Memory.Unit;
  */
 public class Jvm {
 
+    /**
+     * Disabled options with analysis.
+     */
+    private static final Set<String> ACCOUNTED_DISABLED_OPTIONS = new HashSet<String>(Arrays.asList(
+            "HeapDumpOnOutOfMemoryError", "BackgroundCompilation", "PrintGCDetails", "UseParNewGC",
+            "CMSClassUnloadingEnabled", "PrintGCCause", "UseBiasedLocking", "UseCompressedOops",
+            "UseGCLogFileRotation", "UseCompressedClassPointers", "ExplicitGCInvokesConcurrentAndUnloadsClasses",
+            "ClassUnloading", "PrintAdaptiveSizePolicy", "CMSParallelInitialMarkEnabled",
+            "CMSParallelRemarkEnabled", "UseAdaptiveSizePolicy"));
+
     /**
      * The date and time the JVM was started.
      */
@@ -46,6 +58,11 @@ public class Jvm {
      */
     private String options;
 
+    /**
+     * The JVM options parsed.
+     */
+    private JvmOptions jvmOptions;
+
     /**
      * JVM version.
      */
@@ -86,6 +103,7 @@ public class Jvm {
      */
     public Jvm(String jvmOptions, Date jvmStartDate) {
         this.options = jvmOptions;
+        this.jvmOptions = new JvmOptions(jvmOptions);
         this.startDate = jvmStartDate;
     }
 
@@ -109,6 +127,7 @@ public class Jvm {
      */
     public void setOptions(String options) {
         this.options = options;
+        this.jvmOptions = new JvmOptions(options);
     }
 
     /**
@@ -190,8 +209,7 @@ public class Jvm {
      * @return The JVM thread stack size setting, or null if not explicitly set.
      */
     public String getThreadStackSizeOption() {
-        String regex = "(-(X)?(ss|X:ThreadStackSize=)(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("Xss", "ss", "ThreadStackSize");
     }
 
     /**
@@ -204,12 +222,12 @@ public class Jvm {
      * @return The thread stack size value, or null if not set. For example:
      */
     public Memory getThreadStackSizeValue() {
-        String threadStackSizeOption = getThreadStackSizeOption();
+        JvmOptions.Option threadStackSizeOption = jvmOptions.get("Xss", "ss", "ThreadStackSize");
         if (threadStackSizeOption == null) {
             return null;
         }
-        Unit unit = threadStackSizeOption.startsWith("-XX:ThreadStackSize=") ? KILOBYTES : BYTES;
-        return fromOptionSize(getOptionValue(threadStackSizeOption), unit);
+        Unit unit = threadStackSizeOption.getName().equals("ThreadStackSize") ? KILOBYTES : BYTES;
+        return threadStackSizeOption.getSize(unit);
     }
 
     /**
@@ -218,8 +236,7 @@ public class Jvm {
      * @return True if -XX:+DisableExplicitGC option exists, false otherwise.
      */
     public String getDisableExplicitGCOption() {
-        String regex = "(-XX:\\+DisableExplicitGC)";
-        return getJvmOption(regex);
+        return enabled("DisableExplicitGC");
     }
 
     /**
@@ -233,8 +250,7 @@ public class Jvm {
      * @return The minimum heap space, or null if not explicitly set.
      */
     public String getMinHeapOption() {
-        String regex = "(-X(ms|X:InitialHeapSize=)(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("Xms", "InitialHeapSize");
     }
 
     /**
@@ -245,7 +261,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMinHeapValue() {
-        return getOptionValue(getMinHeapOption());
+        return sizeValue("Xms", "InitialHeapSize");
     }
 
     /**
@@ -259,8 +275,7 @@ public class Jvm {
      * @return The maximum heap space, or null if not explicitly set.
      */
     public String getMaxHeapOption() {
-        String regex = "(-X(mx|X:MaxHeapSize=)(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("Xmx", "MaxHeapSize");
     }
 
     /**
@@ -271,28 +286,28 @@ public class Jvm {
      *         </pre>
      */
     public String getMaxHeapValue() {
-        return getOptionValue(getMaxHeapOption());
+        return sizeValue("Xmx", "MaxHeapSize");
     }
 
     /**
      * @return The maximum heap space, or 0 if not set.
      */
     public Memory getMaxHeapBytes() {
-        return getMaxHeapValue() == null ? Memory.ZERO : Memory.fromOptionSize(getMaxHeapValue());
+        return bytes("Xmx", "MaxHeapSize");
     }
 
     /**
      * @return The maximum perm space in bytes, or 0 if not set.
      */
     public Memory getMaxPermBytes() {
-        return getMaxPermValue() == null ? Memory.ZERO : Memory.fromOptionSize(getMaxPermValue());
+        return bytes("MaxPermSize");
     }
 
     /**
      * @return The maximum metaspace in bytes, or 0 if not set.
      */
     public Memory getMaxMetaspaceBytes() {
-        return getMaxMetaspaceValue() == null ? Memory.ZERO : Memory.fromOptionSize(getMaxMetaspaceValue());
+        return bytes("MaxMetaspaceSize");
     }
 
     /**
@@ -314,8 +329,7 @@ public class Jvm {
      * @return The minimum permanent generation space, or null if not explicitly set.
      */
     public String getMinPermOption() {
-        String regex = "(-XX:PermSize=(\\d{1,12})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("PermSize");
     }
 
     /**
@@ -326,7 +340,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMinPermValue() {
-        return getOptionValue(getMinPermOption());
+        return sizeValue("PermSize");
     }
 
     /**
@@ -339,8 +353,7 @@ public class Jvm {
      * @return The minimum permanent generation space, or null if not explicitly set.
      */
     public String getMinMetaspaceOption() {
-        String regex = "(-XX:MetaspaceSize=(\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("MetaspaceSize");
     }
 
     /**
@@ -351,7 +364,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMinMetaspaceValue() {
-        return getOptionValue(getMinMetaspaceOption());
+        return sizeValue("MetaspaceSize");
     }
 
     /**
@@ -364,8 +377,7 @@ public class Jvm {
      * @return The maximum permanent generation space, or null if not explicitly set.
      */
     public String getMaxPermOption() {
-        String regex = "(-XX:MaxPermSize=(\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("MaxPermSize");
     }
 
     /**
@@ -376,7 +388,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMaxPermValue() {
-        return getOptionValue(getMaxPermOption());
+        return sizeValue("MaxPermSize");
     }
 
     /**
@@ -389,8 +401,7 @@ public class Jvm {
      * @return The maximum Metaspace, or null if not explicitly set.
      */
     public String getMaxMetaspaceOption() {
-        String regex = "(-XX:MaxMetaspaceSize=(\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?)";
-        return getJvmOption(regex);
+        return size("MaxMetaspaceSize");
     }
 
     /**
@@ -401,7 +412,7 @@ public class Jvm {
      *         </pre>
      */
     public String getMaxMetaspaceValue() {
-        return getOptionValue(getMaxMetaspaceOption());
+        return sizeValue("MaxMetaspaceSize");
     }
 
     /**
@@ -414,8 +425,7 @@ public class Jvm {
      * @return The client Distributed Garbage Collection (DGC), or null if not explicitly set.
      */
     public String getRmiDgcClientGcIntervalOption() {
-        String regex = "(-Dsun.rmi.dgc.client.gcInterval=(\\d{1,12}))";
-        return getJvmOption(regex);
+        return number("Dsun.rmi.dgc.client.gcInterval");
     }
 
     /**
@@ -427,7 +437,7 @@ public class Jvm {
      *         </pre>
      */
     public String getRmiDgcClientGcIntervalValue() {
-        return getOptionValue(getRmiDgcClientGcIntervalOption());
+        return numberValue("Dsun.rmi.dgc.client.gcInterval");
     }
 
     /**
@@ -440,8 +450,7 @@ public class Jvm {
      * @return The server Distributed Garbage Collection (DGC), or null if not explicitly set.
      */
     public String getRmiDgcServerGcIntervalOption() {
-        String regex = "(-Dsun.rmi.dgc.server.gcInterval=(\\d{1,12}))";
-        return getJvmOption(regex);
+        return number("Dsun.rmi.dgc.server.gcInterval");
     }
 
     /**
@@ -453,7 +462,7 @@ public class Jvm {
      *         </pre>
      */
     public String getRmiDgcServerGcIntervalValue() {
-        return getOptionValue(getRmiDgcServerGcIntervalOption());
+        return numberValue("Dsun.rmi.dgc.server.gcInterval");
     }
 
     /**
@@ -466,8 +475,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getHeapDumpOnOutOfMemoryErrorDisabledOption() {
-        String regex = "(-XX:-HeapDumpOnOutOfMemoryError)";
-        return getJvmOption(regex);
+        return disabled("HeapDumpOnOutOfMemoryError");
     }
 
     /**
@@ -480,8 +488,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getHeapDumpOnOutOfMemoryErrorEnabledOption() {
-        String regex = "(-XX:\\+HeapDumpOnOutOfMemoryError)";
-        return getJvmOption(regex);
+        return enabled("HeapDumpOnOutOfMemoryError");
     }
 
     /**
@@ -494,8 +501,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getHeapDumpPathOption() {
-        String regex = "(-XX:HeapDumpPath=\\S+)";
-        return getJvmOption(regex);
+        return option("HeapDumpPath");
     }
 
     /**
@@ -506,17 +512,7 @@ public class Jvm {
      *         </pre>
      */
     public String getHeapDumpPathValue() {
-        String option = getHeapDumpPathOption();
-        String value = null;
-        if (option != null) {
-            String regex = "(-XX:HeapDumpPath=(\\S+))";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(option);
-            if (matcher.find()) {
-                value = matcher.group(2);
-            }
-        }
-        return value;
+        return value("HeapDumpPath");
     }
 
     /**
@@ -529,8 +525,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getJavaagentOption() {
-        String regex = "(-javaagent:[\\S]+)";
-        return getJvmOption(regex);
+        return option("javaagent");
     }
 
     /**
@@ -543,8 +538,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getAgentpathOption() {
-        String regex = "(-agentpath:[\\S]+)";
-        return getJvmOption(regex);
+        return option("agentpath");
     }
 
     /**
@@ -557,8 +551,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXBatchOption() {
-        String regex = "(-Xbatch)";
-        return getJvmOption(regex);
+        return option("Xbatch");
     }
 
     /**
@@ -571,8 +564,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getDisableBackgroundCompilationOption() {
-        String regex = "(-XX:-BackgroundCompilation)";
-        return getJvmOption(regex);
+        return disabled("BackgroundCompilation");
     }
 
     /**
@@ -585,8 +577,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXCompOption() {
-        String regex = "(-Xcomp)";
-        return getJvmOption(regex);
+        return option("Xcomp");
     }
 
     /**
@@ -599,8 +590,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXIntOption() {
-        String regex = "(-Xint)";
-        return getJvmOption(regex);
+        return option("Xint");
     }
 
     /**
@@ -609,13 +599,13 @@ public class Jvm {
      * 
      * <pre>
      * -XX:+ExplicitGCInvokesConcurrent
+     * -XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses
      * </pre>
      * 
      * @return the option if it exists, null otherwise.
      */
     public String getExplicitGcInvokesConcurrentOption() {
-        String regex = "(-XX:\\+ExplicitGCInvokesConcurrent)";
-        return getJvmOption(regex);
+        return booleanByPrefix("ExplicitGCInvokesConcurrent", true);
     }
 
     /**
@@ -628,8 +618,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintCommandLineFlagsOption() {
-        String regex = "(-XX:\\+PrintCommandLineFlags)";
-        return getJvmOption(regex);
+        return enabled("PrintCommandLineFlags");
     }
 
     /**
@@ -642,8 +631,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCDetailsOption() {
-        String regex = "(-XX:\\+PrintGCDetails)";
-        return getJvmOption(regex);
+        return enabled("PrintGCDetails");
     }
 
     /**
@@ -656,8 +644,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCDetailsDisabled() {
-        String regex = "(-XX:\\-PrintGCDetails)";
-        return getJvmOption(regex);
+        return disabled("PrintGCDetails");
     }
 
     /**
@@ -670,8 +657,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseParNewGCOption() {
-        String regex = "(-XX:\\+UseParNewGC)";
-        return getJvmOption(regex);
+        return enabled("UseParNewGC");
     }
 
     /**
@@ -684,8 +670,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseParNewGcDisabled() {
-        String regex = "(-XX:\\-UseParNewGC)";
-        return getJvmOption(regex);
+        return disabled("UseParNewGC");
     }
 
     /**
@@ -698,8 +683,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseConcMarkSweepGCOption() {
-        String regex = "(-XX:\\+UseConcMarkSweepGC)";
-        return getJvmOption(regex);
+        return enabled("UseConcMarkSweepGC");
     }
 
     /**
@@ -712,8 +696,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSClassUnloadingEnabled() {
-        String regex = "(-XX:\\+CMSClassUnloadingEnabled)";
-        return getJvmOption(regex);
+        return enabled("CMSClassUnloadingEnabled");
     }
 
     /**
@@ -726,8 +709,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSClassUnloadingDisabled() {
-        String regex = "(-XX:\\-CMSClassUnloadingEnabled)";
-        return getJvmOption(regex);
+        return disabled("CMSClassUnloadingEnabled");
     }
 
     /**
@@ -740,8 +722,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintReferenceGC() {
-        String regex = "(-XX:\\+PrintReferenceGC)";
-        return getJvmOption(regex);
+        return enabled("PrintReferenceGC");
     }
 
     /**
@@ -754,8 +735,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCCause() {
-        String regex = "(-XX:\\+PrintGCCause)";
-        return getJvmOption(regex);
+        return enabled("PrintGCCause");
     }
 
     /**
@@ -768,8 +748,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGCCauseDisabled() {
-        String regex = "(-XX:\\-PrintGCCause)";
-        return getJvmOption(regex);
+        return disabled("PrintGCCause");
     }
 
     /**
@@ -782,8 +761,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getTieredCompilation() {
-        String regex = "(-XX:\\+TieredCompilation)";
-        return getJvmOption(regex);
+        return enabled("TieredCompilation");
     }
 
     /**
@@ -796,8 +774,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintStringDeduplicationStatistics() {
-        String regex = "(-XX:\\+PrintStringDeduplicationStatistics)";
-        return getJvmOption(regex);
+        return enabled("PrintStringDeduplicationStatistics");
     }
 
     /**
@@ -811,8 +788,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSInitiatingOccupancyFraction() {
-        String regex = "(-XX:CMSInitiatingOccupancyFraction=\\d{1,3})";
-        return getJvmOption(regex);
+        return number("CMSInitiatingOccupancyFraction");
     }
 
     /**
@@ -828,8 +804,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCMSInitiatingOccupancyOnlyEnabled() {
-        String regex = "(-XX:\\+UseCMSInitiatingOccupancyOnly)";
-        return getJvmOption(regex);
+        return enabled("UseCMSInitiatingOccupancyOnly");
     }
 
     /**
@@ -842,8 +817,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getBiasedLockingDisabled() {
-        String regex = "(-XX:\\-UseBiasedLocking)";
-        return getJvmOption(regex);
+        return disabled("UseBiasedLocking");
     }
 
     /**
@@ -856,8 +830,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintClassHistogramEnabled() {
-        String regex = "(-XX:\\+PrintClassHistogram)\\b";
-        return getJvmOption(regex);
+        return enabled("PrintClassHistogram");
     }
 
     /**
@@ -870,8 +843,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintClassHistogramAfterFullGcEnabled() {
-        String regex = "(-XX:\\+PrintClassHistogramAfterFullGC)";
-        return getJvmOption(regex);
+        return enabled("PrintClassHistogramAfterFullGC");
     }
 
     /**
@@ -884,8 +856,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintClassHistogramBeforeFullGcEnabled() {
-        String regex = "(-XX:\\+PrintClassHistogramBeforeFullGC)";
-        return getJvmOption(regex);
+        return enabled("PrintClassHistogramBeforeFullGC");
     }
 
     /**
@@ -898,8 +869,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintGcApplicationConcurrentTime() {
-        String regex = "(-XX:\\+PrintGCApplicationConcurrentTime)";
-        return getJvmOption(regex);
+        return enabled("PrintGCApplicationConcurrentTime");
     }
 
     /**
@@ -912,8 +882,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getTraceClassUnloading() {
-        String regex = "(-XX:\\+TraceClassUnloading)";
-        return getJvmOption(regex);
+        return enabled("TraceClassUnloading");
     }
 
     /**
@@ -926,8 +895,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedOopsDisabled() {
-        String regex = "(-XX:\\-UseCompressedOops)";
-        return getJvmOption(regex);
+        return disabled("UseCompressedOops");
     }
 
     /**
@@ -940,8 +908,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedOopsEnabled() {
-        String regex = "(-XX:\\+UseCompressedOops)";
-        return getJvmOption(regex);
+        return enabled("UseCompressedOops");
     }
 
     /**
@@ -954,8 +921,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseGcLogFileRotationDisabled() {
-        String regex = "(-XX:\\-UseGCLogFileRotation)";
-        return getJvmOption(regex);
+        return disabled("UseGCLogFileRotation");
     }
 
     /**
@@ -968,8 +934,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseGcLogFileRotationEnabled() {
-        String regex = "(-XX:\\+UseGCLogFileRotation)";
-        return getJvmOption(regex);
+        return enabled("UseGCLogFileRotation");
     }
 
     /**
@@ -982,8 +947,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getNumberOfGcLogFiles() {
-        String regex = "(-XX:NumberOfGCLogFiles=\\d{1,2})";
-        return getJvmOption(regex);
+        return number("NumberOfGCLogFiles");
     }
 
     /**
@@ -996,8 +960,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getGcLogFileSize() {
-        String regex = "(-XX:GCLogFileSize=(\\d{1,9})([kKmM])?)";
-        return getJvmOption(regex);
+        return size("GCLogFileSize");
     }
 
     /**
@@ -1011,14 +974,14 @@ public class Jvm {
      * 
      */
     public String getGcLogFileSizeValue() {
-        return getOptionValue(getGcLogFileSize());
+        return sizeValue("GCLogFileSize");
     }
 
     /**
      * @return The gc log file size in bytes, or 0 if not set.
      */
     public Memory getGcLogFileSizeBytes() {
-        return getGcLogFileSizeValue() == null ? Memory.ZERO : Memory.fromOptionSize(getGcLogFileSizeValue());
+        return bytes("GCLogFileSize");
     }
 
     /**
@@ -1031,8 +994,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedClassPointersEnabled() {
-        String regex = "(-XX:\\+UseCompressedClassPointers)";
-        return getJvmOption(regex);
+        return enabled("UseCompressedClassPointers");
     }
 
     /**
@@ -1045,8 +1007,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCompressedClassPointersDisabled() {
-        String regex = "(-XX:\\-UseCompressedClassPointers)";
-        return getJvmOption(regex);
+        return disabled("UseCompressedClassPointers");
     }
 
     /**
@@ -1059,8 +1020,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCompressedClassSpaceSizeOption() {
-        String regex = "(-XX:CompressedClassSpaceSize=((\\d{1,10})(" + JdkRegEx.OPTION_SIZE + ")?))";
-        return getJvmOption(regex);
+        return size("CompressedClassSpaceSize");
     }
 
     /**
@@ -1074,15 +1034,14 @@ public class Jvm {
      * 
      */
     public String getCompressedClassSpaceSizeValue() {
-        return getOptionValue(getCompressedClassSpaceSizeOption());
+        return sizeValue("CompressedClassSpaceSize");
     }
 
     /**
      * @return The compressed class space in bytes, or 0 if not set.
      */
     public Memory getCompressedClassSpaceSizeBytes() {
-        return getCompressedClassSpaceSizeValue() == null ? Memory.ZERO
-                : Memory.fromOptionSize(getCompressedClassSpaceSizeValue());
+        return bytes("CompressedClassSpaceSize");
     }
 
     /**
@@ -1095,8 +1054,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintFLStatistics() {
-        String regex = "(-XX:PrintFLSStatistics=(\\d))";
-        return getJvmOption(regex);
+        return number("PrintFLSStatistics");
     }
 
     /**
@@ -1109,8 +1067,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintTenuringDistribution() {
-        String regex = "(-XX:\\+PrintTenuringDistribution)";
-        return getJvmOption(regex);
+        return enabled("PrintTenuringDistribution");
     }
 
     /**
@@ -1123,8 +1080,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getExplicitGcInvokesConcurrentAndUnloadsClassesDisabled() {
-        String regex = "(-XX:\\-ExplicitGCInvokesConcurrentAndUnloadsClasses)";
-        return getJvmOption(regex);
+        return disabled("ExplicitGCInvokesConcurrentAndUnloadsClasses");
     }
 
     /**
@@ -1132,13 +1088,13 @@ public class Jvm {
      * 
      * <pre>
      * -XX:-ClassUnloading
+     * -XX:-ClassUnloadingWithConcurrentMark
      * </pre>
      * 
      * @return the option if it exists, null otherwise.
      */
     public String getClassUnloadingDisabled() {
-        String regex = "(-XX:\\-ClassUnloading)";
-        return getJvmOption(regex);
+        return booleanByPrefix("ClassUnloading", false);
     }
 
     /**
@@ -1151,8 +1107,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getD64() {
-        String regex = "(-d64)";
-        return getJvmOption(regex);
+        return option("d64");
     }
 
     /**
@@ -1165,8 +1120,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintPromotionFailureEnabled() {
-        String regex = "(-XX:\\+PrintPromotionFailure)";
-        return getJvmOption(regex);
+        return enabled("PrintPromotionFailure");
     }
 
     /**
@@ -1179,8 +1133,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseMembarEnabled() {
-        String regex = "(-XX:\\+UseMembar)";
-        return getJvmOption(regex);
+        return enabled("UseMembar");
     }
 
     /**
@@ -1193,8 +1146,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintAdaptiveResizePolicyDisabled() {
-        String regex = "(-XX:\\-PrintAdaptiveSizePolicy)";
-        return getJvmOption(regex);
+        return disabled("PrintAdaptiveSizePolicy");
     }
 
     /**
@@ -1207,8 +1159,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getPrintAdaptiveResizePolicyEnabled() {
-        String regex = "(-XX:\\+PrintAdaptiveSizePolicy)";
-        return getJvmOption(regex);
+        return enabled("PrintAdaptiveSizePolicy");
     }
 
     /**
@@ -1222,8 +1173,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getMaxTenuringThresholdOption() {
-        String regex = "(-XX:MaxTenuringThreshold=(\\d+))";
-        return getJvmOption(regex);
+        return number("MaxTenuringThreshold");
     }
 
     /**
@@ -1236,8 +1186,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getSurvivorRatio() {
-        String regex = "(-XX:SurvivorRatio=(\\d+))";
-        return getJvmOption(regex);
+        return number("SurvivorRatio");
     }
 
     /**
@@ -1250,8 +1199,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getTargetSurvivorRatio() {
-        String regex = "(-XX:TargetSurvivorRatio=(\\d{1,3}))";
-        return getJvmOption(regex);
+        return number("TargetSurvivorRatio");
     }
 
     /**
@@ -1264,8 +1212,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUnlockExperimentalVmOptionsEnabled() {
-        String regex = "(-XX:\\+UnlockExperimentalVMOptions)";
-        return getJvmOption(regex);
+        return enabled("UnlockExperimentalVMOptions");
     }
 
     /**
@@ -1278,8 +1225,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseFastUnorderedTimeStampsEnabled() {
-        String regex = "(-XX:\\+UseFastUnorderedTimeStamps)";
-        return getJvmOption(regex);
+        return enabled("UseFastUnorderedTimeStamps");
     }
 
     /**
@@ -1293,8 +1239,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1MixedGCLiveThresholdPercent() {
-        String regex = "(-XX:G1MixedGCLiveThresholdPercent=\\d{1,3})";
-        return getJvmOption(regex);
+        return number("G1MixedGCLiveThresholdPercent");
     }
 
     /**
@@ -1306,17 +1251,7 @@ public class Jvm {
      *         </pre>
      */
     public String getG1MixedGCLiveThresholdPercentValue() {
-        // Cannot use JdkUtil.getOptionValue() because the option name has a number in it.
-        String value = null;
-        if (getG1MixedGCLiveThresholdPercent() != null) {
-            String regex = "^-XX:G1MixedGCLiveThresholdPercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(getG1MixedGCLiveThresholdPercent());
-            if (matcher.find()) {
-                value = matcher.group(1);
-            }
-        }
-        return value;
+        return numberValue("G1MixedGCLiveThresholdPercent");
     }
 
     /**
@@ -1329,8 +1264,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1HeapWastePercent() {
-        String regex = "(-XX:G1HeapWastePercent=\\d{1,3})";
-        return getJvmOption(regex);
+        return number("G1HeapWastePercent");
     }
 
     /**
@@ -1341,17 +1275,7 @@ public class Jvm {
      *         </pre>
      */
     public String getG1HeapWastePercentValue() {
-        // Cannot use JdkUtil.getOptionValue() because the option name has a number in it.
-        String value = null;
-        if (getG1HeapWastePercent() != null) {
-            String regex = "^-XX:G1HeapWastePercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(getG1HeapWastePercent());
-            if (matcher.find()) {
-                value = matcher.group(1);
-            }
-        }
-        return value;
+        return numberValue("G1HeapWastePercent");
     }
 
     /**
@@ -1364,8 +1288,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseG1Gc() {
-        String regex = "(-XX:\\+UseG1GC)";
-        return getJvmOption(regex);
+        return enabled("UseG1GC");
     }
 
     /**
@@ -1378,8 +1301,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCmsParallelInitialMarkDisabled() {
-        String regex = "(-XX:-CMSParallelInitialMarkEnabled)";
-        return getJvmOption(regex);
+        return disabled("CMSParallelInitialMarkEnabled");
     }
 
     /**
@@ -1392,8 +1314,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getCmsParallelRemarkDisabled() {
-        String regex = "(-XX:-CMSParallelRemarkEnabled)";
-        return getJvmOption(regex);
+        return disabled("CMSParallelRemarkEnabled");
     }
 
     /**
@@ -1406,8 +1327,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1SummarizeRSetStatsEnabled() {
-        String regex = "(-XX:\\+G1SummarizeRSetStats)";
-        return getJvmOption(regex);
+        return enabled("G1SummarizeRSetStats");
     }
 
     /**
@@ -1420,8 +1340,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getG1SummarizeRSetStatsPeriod() {
-        String regex = "(-XX:G1SummarizeRSetStatsPeriod=\\d{1,3})";
-        return getJvmOption(regex);
+        return number("G1SummarizeRSetStatsPeriod");
     }
 
     /**
@@ -1432,17 +1351,7 @@ public class Jvm {
      *         </pre>
      */
     public String getG1SummarizeRSetStatsPeriodValue() {
-        // Cannot use JdkUtil.getOptionValue() because the option name has a number in it.
-        String value = null;
-        if (getG1SummarizeRSetStatsPeriod() != null) {
-            String regex = "^-XX:G1SummarizeRSetStatsPeriod=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(getG1SummarizeRSetStatsPeriod());
-            if (matcher.find()) {
-                value = matcher.group(1);
-            }
-        }
-        return value;
+        return numberValue("G1SummarizeRSetStatsPeriod");
     }
 
     /**
@@ -1455,8 +1364,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseCGroupMemoryLimitForHeap() {
-        String regex = "(-XX:\\+UseCGroupMemoryLimitForHeap)";
-        return getJvmOption(regex);
+        return enabled("UseCGroupMemoryLimitForHeap");
     }
 
     /**
@@ -1464,12 +1372,13 @@ public class Jvm {
      * @return True if the minimum and maximum permanent generation space are set equal.
      */
     public boolean isMinAndMaxPermSpaceEqual() {
-        return (getMinPermValue() == null && getMaxPermValue() == null)
-                || (getMinPermValue() != null && getMaxPermValue() != null
-                        && Memory.fromOptionSize(getMinPermValue()).equals(Memory.fromOptionSize(getMaxPermValue())));
+        return getMinPermValue() == null ? getMaxPermValue() == null
+                : getMaxPermValue() != null && bytes("PermSize").equals(bytes("MaxPermSize"));
     }
 
     /**
+     * Find a JVM option by regular expression. The option getters look up the parsed options instead.
+     * 
      * @param regex
      *            The option regular expression.
      * @return The JVM option, or null if not explicitly set.
@@ -1567,17 +1476,22 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUnlockDiagnosticVmOptions() {
-        String regex = "(-XX:\\+UnlockDiagnosticVMOptions)";
-        return getJvmOption(regex);
+        return enabled("UnlockDiagnosticVMOptions");
     }
 
     /**
+     * JMX is enabled by -XX:+ManagementServer or any com.sun.management.jmxremote system property. For example:
+     * 
+     * <pre>
+     * -Dcom.sun.management.jmxremote
+     * -Dcom.sun.management.jmxremote.port=12345
+     * </pre>
+     * 
      * @return true if JMX enable, false otherwise.
      */
     public boolean IsJmxEnabled() {
         boolean isJmxEnabled = false;
-        if (getJvmOption("(-XX:\\+ManagementServer)") != null
-                || getJvmOption("(-Dcom.sun.management.jmxremote)") != null) {
+        if (enabled("ManagementServer") != null || optionByPrefix("Dcom.sun.management.jmxremote") != null) {
             isJmxEnabled = true;
         }
         return isJmxEnabled;
@@ -1589,12 +1503,11 @@ public class Jvm {
      * @return the disabled JVM options, null otherwise.
      */
     public ArrayList<String> getDisabledOptions() {
-        String regex = "(-XX:-[\\S]+)";
         ArrayList<String> disabledOptions = new ArrayList<String>();
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(options);
-        while (matcher.find()) {
-            disabledOptions.add(matcher.group(1));
+        for (JvmOptions.Option option : jvmOptions.getOptions()) {
+            if (option.getOption().startsWith("-XX:-")) {
+                disabledOptions.add(option.getOption());
+            }
         }
         return disabledOptions;
     }
@@ -1605,17 +1518,9 @@ public class Jvm {
      * @return the unaccounted disabled JVM options, null otherwise.
      */
     public String getUnaccountedDisabledOptions() {
-        String accountedDisabledOptions = "-XX:-HeapDumpOnOutOfMemoryError -XX:-BackgroundCompilation "
-                + "-XX:-PrintGCDetails -XX:-UseParNewGC -XX:-CMSClassUnloadingEnabled "
-                + "-XX:-PrintGCCause -XX:-UseBiasedLocking -XX:-UseCompressedOops "
-                + "-XX:-UseGCLogFileRotation -XX:-UseCompressedClassPointers "
-                + "-XX:-ExplicitGCInvokesConcurrentAndUnloadsClasses -XX:-ClassUnloading "
-                + "-XX:-PrintAdaptiveSizePolicy -XX:-CMSParallelInitialMarkEnabled -XX:-CMSParallelRemarkEnabled "
-                + "-XX:-UseAdaptiveSizePolicy";
-
         String unaccountedDisabledOptions = null;
         for (String disabledOption : getDisabledOptions()) {
-            if (accountedDisabledOptions.lastIndexOf(disabledOption) == -1) {
+            if (!ACCOUNTED_DISABLED_OPTIONS.contains(disabledOption.substring(5))) {
                 unaccountedDisabledOptions = unaccountedDisabledOptions == null ? disabledOption
                         : unaccountedDisabledOptions + ", " + disabledOption;
             }
@@ -1634,7 +1539,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getUseAdaptiveSizePolicyDisabledOption() {
-        return getJvmOption("(-XX:-UseAdaptiveSizePolicy)");
+        return disabled("UseAdaptiveSizePolicy");
     }
 
     /**
@@ -1647,7 +1552,7 @@ public class Jvm {
      * @return the option if it exists, null otherwise.
      */
     public String getXlogGcOption() {
-        return getJvmOption("(-Xloggc:\\S+)");
+        return option("Xloggc");
     }
 
     /**
@@ -1656,15 +1561,123 @@ public class Jvm {
      * @return the GC log file name, null otherwise.
      */
     public String getGcLogFileName() {
-        String gcLogFileName = null;
-        String regex = "-Xloggc:(.+)";
-        Pattern pattern = Pattern.compile(regex);
-        if (getXlogGcOption() != null) {
-            Matcher matcher = pattern.matcher(getXlogGcOption());
-            if (matcher.find()) {
-                gcLogFileName = matcher.group(1);
+        return value("Xloggc");
+    }
+
+    /**
+     * @param names
+     *            Names of options with the same meaning.
+     * @return The option in effect, or null if not explicitly set.
+     */
+    private String option(String... names) {
+        JvmOptions.Option option = jvmOptions.get(names);
+        return option == null ? null : option.getOption();
+    }
+
+    /**
+     * @param names
+     *            Names of options with the same meaning.
+     * @return The value of the option in effect, or null if not explicitly set.
+     */
+    private String value(String... names) {
+        JvmOptions.Option option = jvmOptions.get(names);
+        return option == null ? null : option.getValue();
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The option (e.g. <code>-XX:+UseG1GC</code>) if enabled, null otherwise.
+     */
+    private String enabled(String name) {
+        JvmOptions.Option option = jvmOptions.get(name);
+        return option != null && Boolean.TRUE.equals(option.getBoolean()) ? option.getOption() : null;
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The option (e.g. <code>-XX:-UseG1GC</code>) if disabled, null otherwise.
+     */
+    private String disabled(String name) {
+        JvmOptions.Option option = jvmOptions.get(name);
+        return option != null && Boolean.FALSE.equals(option.getBoolean()) ? option.getOption() : null;
+    }
+
+    /**
+     * @param prefix
+     *            The start of the option names.
+     * @return The option specified last whose name starts with the prefix, or null if not explicitly set.
+     */
+    private String optionByPrefix(String prefix) {
+        List<JvmOptions.Option> options = jvmOptions.getByPrefix(prefix);
+        return options.isEmpty() ? null : options.get(options.size() - 1).getOption();
+    }
+
+    /**
+     * @param prefix
+     *            The start of the option names.
+     * @param enabled
+     *            True to find an enabled option, false to find a disabled option.
+     * @return The option specified last whose name starts with the prefix and that is enabled or disabled, null
+     *         otherwise.
+     */
+    private String booleanByPrefix(String prefix, boolean enabled) {
+        String match = null;
+        for (JvmOptions.Option option : jvmOptions.getByPrefix(prefix)) {
+            if (Boolean.valueOf(enabled).equals(option.getBoolean())) {
+                match = option.getOption();
             }
         }
-        return gcLogFileName;
+        return match;
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The option (e.g. <code>-XX:SurvivorRatio=6</code>) if it has a number value, null otherwise.
+     */
+    private String number(String name) {
+        JvmOptions.Option option = jvmOptions.get(name);
+        return option != null && option.getNumber() != null ? option.getOption() : null;
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The number value of the option (e.g. <code>6</code>), or null if not set.
+     */
+    private String numberValue(String name) {
+        return number(name) == null ? null : value(name);
+    }
+
+    /**
+     * @param names
+     *            Names of options with the same meaning.
+     * @return The option in effect (e.g. <code>-Xmx2048m</code>) if it has a size value, null otherwise.
+     */
+    private String size(String... names) {
+        JvmOptions.Option option = jvmOptions.get(names);
+        return option != null && option.isSize() ? option.getOption() : null;
+    }
+
+    /**
+     * @param names
+     *            Names of options with the same meaning.
+     * @return The size value of the option in effect (e.g. <code>2048m</code>), or null if not set.
+     */
+    private String sizeValue(String... names) {
+        return size(names) == null ? null : value(names);
+    }
+
+    /**
+     * @param names
+     *            Names of options with the same meaning.
+     * @return The size of the option in effect, or 0 if not set.
+     */
+    private Memory bytes(String... names) {
+        JvmOptions.Option option = jvmOptions.get(names);
+        Memory size = option == null ? null : option.getSize(BYTES);
+        return size == null ? Memory.ZERO : size;
     }
 }
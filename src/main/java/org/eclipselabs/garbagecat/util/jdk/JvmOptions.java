@@ -0,0 +1,328 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.Memory.Unit;
+
+/**
+ * <p>
+ * JVM options parsed in a single pass into a map of option name to option, with the option value parsed into a
+ * boolean, number, size, or string.
+ * </p>
+ *
+ * <p>
+ * Option names:
+ * </p>
+ *
+ * <ul>
+ * <li><code>-XX</code> options are named without the <code>-XX:</code> prefix, sign, or value (e.g.
+ * <code>-XX:+UseG1GC</code> is <code>UseG1GC</code>, <code>-XX:MaxHeapSize=1g</code> is <code>MaxHeapSize</code>).</li>
+ * <li>Size options without a separator are named without the leading dash or size (e.g. <code>-Xmx2048m</code> is
+ * <code>Xmx</code>, <code>-ss128k</code> is <code>ss</code>).</li>
+ * <li>Other options are named without the leading dash or the value following the first <code>=</code> or
+ * <code>:</code> (e.g. <code>-Xloggc:gc.log</code> is <code>Xloggc</code>,
+ * <code>-Dsun.rmi.dgc.client.gcInterval=1</code> is <code>Dsun.rmi.dgc.client.gcInterval</code>).</li>
+ * </ul>
+ *
+ * <p>
+ * When an option is specified more than once, the last one is in effect, the same as the JVM.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class JvmOptions {
+
+    /**
+     * Size options specified without a separator between the option name and the size (e.g. <code>-Xmx2048m</code>).
+     */
+    private static final String[] SIZE_OPTIONS = { "Xms", "Xmx", "Xmn", "Xss", "ss" };
+
+    /**
+     * The options in the order specified.
+     */
+    private final List<Option> options = new ArrayList<Option>();
+
+    /**
+     * The option in effect for each option name.
+     */
+    private final Map<String, Option> optionsByName = new HashMap<String, Option>();
+
+    /**
+     * Parse the JVM options.
+     *
+     * @param jvmOptions
+     *            The JVM options, separated by whitespace.
+     */
+    public JvmOptions(String jvmOptions) {
+        if (jvmOptions == null) {
+            return;
+        }
+        int length = jvmOptions.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(jvmOptions.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(jvmOptions.charAt(i))) {
+                i++;
+            }
+            add(jvmOptions.substring(start, i));
+        }
+    }
+
+    /**
+     * Add the option(s) in a token, ignoring quotes and splitting options not separated by whitespace (e.g.
+     * <code>-Xcomp-Xms2048M</code>).
+     *
+     * @param token
+     *            Characters between whitespace.
+     */
+    private void add(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && (token.charAt(start) == '"' || token.charAt(start) == '\'')) {
+            start++;
+        }
+        while (end > start && (token.charAt(end - 1) == '"' || token.charAt(end - 1) == '\'')) {
+            end--;
+        }
+        while (end - start > 1 && token.charAt(start) == '-') {
+            int next = start + 1;
+            if (token.startsWith("-XX:", start)) {
+                next = Math.min(start + 5, end);
+            }
+            while (next < end && token.charAt(next) != '=' && token.charAt(next) != ':'
+                    && !(token.charAt(next) == '-' && next + 1 < end
+                            && (token.charAt(next + 1) == 'X' || token.charAt(next + 1) == 'D'))) {
+                next++;
+            }
+            if (next < end && token.charAt(next) != '-') {
+                next = end;
+            }
+            Option option = parse(token.substring(start, next));
+            option.position = options.size();
+            options.add(option);
+            optionsByName.put(option.getName(), option);
+            start = next;
+        }
+    }
+
+    /**
+     * @param token
+     *            An option, starting with a dash.
+     * @return The option.
+     */
+    private static Option parse(String token) {
+        if (token.startsWith("-XX:")) {
+            if (token.length() > 5 && (token.charAt(4) == '+' || token.charAt(4) == '-')) {
+                return new Option(token.substring(5), token, null, Boolean.valueOf(token.charAt(4) == '+'));
+            }
+            int separator = token.indexOf('=');
+            if (separator < 0) {
+                return new Option(token.substring(4), token, null, Boolean.TRUE);
+            }
+            return new Option(token.substring(4, separator), token, token.substring(separator + 1));
+        }
+        for (String sizeOption : SIZE_OPTIONS) {
+            if (token.startsWith(sizeOption, 1) && token.length() > sizeOption.length() + 1
+                    && Character.isDigit(token.charAt(sizeOption.length() + 1))) {
+                return new Option(sizeOption, token, token.substring(sizeOption.length() + 1));
+            }
+        }
+        int separator = 1;
+        while (separator < token.length() && token.charAt(separator) != '=' && token.charAt(separator) != ':') {
+            separator++;
+        }
+        if (separator == token.length()) {
+            return new Option(token.substring(1), token, null, Boolean.TRUE);
+        }
+        return new Option(token.substring(1, separator), token, token.substring(separator + 1));
+    }
+
+    /**
+     * @param name
+     *            The option name.
+     * @return The option in effect, or null if not specified.
+     */
+    public Option get(String name) {
+        return optionsByName.get(name);
+    }
+
+    /**
+     * @param names
+     *            Names of options with the same meaning (e.g. <code>Xmx</code> and <code>MaxHeapSize</code>).
+     * @return The option specified last, or null if none are specified.
+     */
+    public Option get(String... names) {
+        Option last = null;
+        for (String name : names) {
+            Option option = optionsByName.get(name);
+            if (option != null && (last == null || option.position > last.position)) {
+                last = option;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @param prefix
+     *            The start of the option names (e.g. <code>Dcom.sun.management.jmxremote</code> for
+     *            <code>-Dcom.sun.management.jmxremote.port=12345</code>).
+     * @return The options in effect whose names start with the prefix, in the order specified.
+     */
+    public List<Option> getByPrefix(String prefix) {
+        List<Option> matches = new ArrayList<Option>();
+        for (Option option : options) {
+            if (option.getName().startsWith(prefix) && optionsByName.get(option.getName()) == option) {
+                matches.add(option);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return The options in the order specified, including options specified more than once.
+     */
+    public List<Option> getOptions() {
+        return Collections.unmodifiableList(options);
+    }
+
+    /**
+     * A JVM option.
+     */
+    public static final class Option {
+
+        /**
+         * The option name.
+         */
+        private final String name;
+
+        /**
+         * The option as specified (e.g. <code>-XX:MaxHeapSize=1g</code>).
+         */
+        private final String option;
+
+        /**
+         * The value as specified (e.g. <code>1g</code>), or null if none.
+         */
+        private final String value;
+
+        /**
+         * The parsed value: <code>Boolean</code>, <code>Long</code>, <code>Memory</code>, or <code>String</code>.
+         */
+        private final Object parsedValue;
+
+        /**
+         * Position of the option on the command line, to order options with the same meaning.
+         */
+        private int position;
+
+        private Option(String name, String option, String value) {
+            this(name, option, value, parseValue(value));
+        }
+
+        private Option(String name, String option, String value, Object parsedValue) {
+            this.name = name;
+            this.option = option;
+            this.value = value;
+            this.parsedValue = parsedValue;
+        }
+
+        /**
+         * @param value
+         *            The value as specified.
+         * @return The number, size, or string value.
+         */
+        private static Object parseValue(String value) {
+            int digits = 0;
+            while (digits < value.length() && value.charAt(digits) >= '0' && value.charAt(digits) <= '9') {
+                digits++;
+            }
+            try {
+                if (digits > 0 && digits == value.length()) {
+                    return Long.valueOf(value);
+                }
+                if (digits > 0 && digits == value.length() - 1 && "bBkKmMgG".indexOf(value.charAt(digits)) >= 0) {
+                    return Memory.memory(value.substring(0, digits), value.charAt(digits));
+                }
+            } catch (NumberFormatException e) {
+                // Too large for a number
+            }
+            return value;
+        }
+
+        /**
+         * @return The option name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The option as specified (e.g. <code>-XX:MaxHeapSize=1g</code>).
+         */
+        public String getOption() {
+            return option;
+        }
+
+        /**
+         * @return The value as specified (e.g. <code>1g</code>), or null if the option has no value.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return True if the option is enabled (e.g. <code>-XX:+UseG1GC</code>, <code>-Xint</code>), false if it is
+         *         disabled (e.g. <code>-XX:-UseG1GC</code>), or null if the option has a value.
+         */
+        public Boolean getBoolean() {
+            return parsedValue instanceof Boolean ? (Boolean) parsedValue : null;
+        }
+
+        /**
+         * @return The number value (e.g. <code>85</code>), or null if the value is not a number.
+         */
+        public Long getNumber() {
+            return parsedValue instanceof Long ? (Long) parsedValue : null;
+        }
+
+        /**
+         * @param unit
+         *            The unit of a size without units.
+         * @return The size value (e.g. <code>1g</code>), or null if the value is not a size.
+         */
+        public Memory getSize(Unit unit) {
+            if (parsedValue instanceof Memory) {
+                return (Memory) parsedValue;
+            }
+            return parsedValue instanceof Long ? Memory.memory((Long) parsedValue, unit) : null;
+        }
+
+        /**
+         * @return True if the value is a number or size, false otherwise.
+         */
+        public boolean isSize() {
+            return parsedValue instanceof Long || parsedValue instanceof Memory;
+        }
+    }
+}
@@ -510,7 +510,7 @@ public class UnifiedSafepoint {
      * Identify the safepoint trigger.
      * 
      * @param trigger
-     *            The Trigger String stored in the database.
+     *            The <code>Trigger</code> name.
      * @return The <code>Trigger</code>.
      */
     public static final Trigger identifyTrigger(String trigger) {
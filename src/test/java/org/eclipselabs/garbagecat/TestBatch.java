@@ -0,0 +1,97 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestBatch {
+
+    private static final List<String> DATASETS = asList("dataset1.txt", "dataset165.txt", "dataset182.txt",
+            "dataset196.txt", "dataset198.txt");
+
+    @Test
+    void testLogFilesDirectoryAndGlob(@TempDir File temporaryFolder) throws Exception {
+        File logDirectory = new File(temporaryFolder, "logs");
+        logDirectory.mkdir();
+        for (String dataset : DATASETS) {
+            Files.copy(TestUtil.getFile(dataset).toPath(), new File(logDirectory, dataset).toPath());
+        }
+        // Files created by garbagecat are not analyzed
+        new File(logDirectory, "dataset1.txt" + Batch.REPORT_SUFFIX).createNewFile();
+        new File(logDirectory, "dataset1.txt.pp").createNewFile();
+        assertEquals(DATASETS.size(), Batch.getLogFiles(singletonList(logDirectory.getPath())).size(),
+                "Directory log files not correct.");
+        assertEquals(4, Batch.getLogFiles(singletonList(logDirectory.getPath() + "/dataset1[0-9]*.txt")).size(),
+                "Glob log files not correct.");
+        assertEquals(DATASETS.size(), Batch.getLogFiles(asList(logDirectory.getPath(),
+                logDirectory.getPath() + "/*.txt", new File(logDirectory, "dataset1.txt").getPath())).size(),
+                "Duplicate log files not removed.");
+        assertEquals(2, Batch.getLogFiles(singletonList(temporaryFolder.getPath() + "/**/dataset19*.txt")).size(),
+                "Recursive glob log files not correct.");
+    }
+
+    @Test
+    void testReportFiles(@TempDir File temporaryFolder) {
+        List<File> reportFiles = Batch.getReportFiles(
+                asList(new File("a/gc.log"), new File("b/gc.log"), new File("c/gc.log.1")), temporaryFolder);
+        assertEquals(new File(temporaryFolder, "gc.log.report.txt"), reportFiles.get(0), "Report file not correct.");
+        assertEquals(new File(temporaryFolder, "gc.log-2.report.txt"), reportFiles.get(1),
+                "Duplicate report file not numbered.");
+        assertEquals(new File(temporaryFolder, "gc.log.1.report.txt"), reportFiles.get(2), "Report file not correct.");
+    }
+
+    /**
+     * Test concurrently analyzed log files are reported the same as log files analyzed one at a time.
+     */
+    @Test
+    void testCreateReportsSameAsSerial(@TempDir File temporaryFolder) throws Exception {
+        List<File> logFiles = new ArrayList<File>();
+        for (String dataset : DATASETS) {
+            logFiles.add(TestUtil.getFile(dataset));
+        }
+        File summaryFile = new File(temporaryFolder, "summary.txt");
+        new Batch(logFiles, null, null, false, false, DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD, 4)
+                .createReports(summaryFile.getPath(), false, false);
+        String summary = new String(Files.readAllBytes(summaryFile.toPath()));
+        assertTrue(summary.startsWith("Batch: " + DATASETS.size() + " log file(s)"), "Summary header not correct.");
+        for (File logFile : logFiles) {
+            GcManager gcManager = new GcManager();
+            gcManager.store(singletonList(logFile), null, false, false);
+            File serialReportFile = new File(temporaryFolder, logFile.getName() + ".serial");
+            Main.createReport(gcManager.getJvmRun(new Jvm(null, null), DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD),
+                    serialReportFile.getPath(), false, false, logFile.getPath());
+            File reportFile = new File(temporaryFolder, logFile.getName() + Batch.REPORT_SUFFIX);
+            assertEquals(new String(Files.readAllBytes(serialReportFile.toPath())),
+                    new String(Files.readAllBytes(reportFile.toPath())), logFile.getName() + " report not correct.");
+            assertTrue(summary.contains("Report: " + reportFile.getName()), logFile.getName() + " not in summary.");
+        }
+    }
+}
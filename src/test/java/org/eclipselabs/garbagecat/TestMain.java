@@ -18,14 +18,20 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_LATEST_VERSION_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OFF_HEAP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_OFF_HEAP_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_STAGES_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_STAGES_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_THREADS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_THREADS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERSION_LONG;
@@ -55,8 +61,13 @@ class TestMain {
                 "-t", //
                 "80", //
                 "-r", //
+                "-n", //
+                "4", //
                 "-o", //
                 "12345678.txt", //
+                "-x", //
+                temporaryFolder.getAbsolutePath(), //
+                "-g", //
                 "-v", //
                 "-l", //
                 // Instead of a file, use a location sure to exist.
@@ -70,7 +81,10 @@ class TestMain {
         assertHasOption(cmd, OPTION_STARTDATETIME_SHORT);
         assertHasOption(cmd, OPTION_THRESHOLD_SHORT);
         assertHasOption(cmd, OPTION_REORDER_SHORT);
+        assertHasOption(cmd, OPTION_THREADS_SHORT);
         assertHasOption(cmd, OPTION_OUTPUT_SHORT);
+        assertHasOption(cmd, OPTION_OFF_HEAP_SHORT);
+        assertHasOption(cmd, OPTION_STAGES_SHORT);
         assertHasOption(cmd, OPTION_VERSION_SHORT);
         assertHasOption(cmd, OPTION_LATEST_VERSION_SHORT);
         assertHasOption(cmd, OPTION_LATEST_VERSION_SHORT);
@@ -89,8 +103,13 @@ class TestMain {
                 "--threshold", //
                 "80", //
                 "--reorder", //
+                "--threads", //
+                "4", //
                 "--output", //
                 "12345678.txt", //
+                "--offheap", //
+                tmpFolder.getAbsolutePath(), //
+                "--stages", //
                 "--version", //
                 "--latest", //
                 // Instead of a file, use a location sure to exist.
@@ -104,7 +123,10 @@ class TestMain {
         assertHasOption(cmd, OPTION_STARTDATETIME_LONG);
         assertHasOption(cmd, OPTION_THRESHOLD_LONG);
         assertHasOption(cmd, OPTION_REORDER_LONG);
+        assertHasOption(cmd, OPTION_THREADS_LONG);
         assertHasOption(cmd, OPTION_OUTPUT_LONG);
+        assertHasOption(cmd, OPTION_OFF_HEAP_LONG);
+        assertHasOption(cmd, OPTION_STAGES_LONG);
         assertHasOption(cmd, OPTION_VERSION_LONG);
         assertHasOption(cmd, OPTION_LATEST_VERSION_LONG);
     }
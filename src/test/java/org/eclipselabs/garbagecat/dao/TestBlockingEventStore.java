@@ -0,0 +1,259 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestBlockingEventStore {
+
+    private static final String PAR_NEW = "3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+            + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]";
+
+    private static final String SERIAL_OLD = "3010786.012: [Full GC 3010786.012:"
+            + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+            + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]";
+
+    private static final String UNIFIED_G1_YOUNG_PAUSE = "[0.337s][info][gc,start     ] GC(0) Pause Young (Normal) "
+            + "(G1 Evacuation Pause) Metaspace: 3771K->3771K(1056768K) 24M->4M(256M) 3.692ms "
+            + "User=0.02s Sys=0.01s Real=0.00s";
+
+    /**
+     * Add events logged out of order, more than fit in a heap segment, checking the events and the event type indexes
+     * are in timestamp order.
+     */
+    private static void assertReordered(BlockingEventStore store) {
+        int count = 5000;
+        // Swap each pair of events, and log the first events after all the others
+        for (int i = 10; i < count; i += 2) {
+            store.add(reorderedEvent(i + 1));
+            store.add(reorderedEvent(i));
+        }
+        for (int i = 9; i >= 0; i--) {
+            store.add(reorderedEvent(i));
+        }
+        assertEquals(count, store.size(), "Event count not correct.");
+        for (int row = 0; row < count; row++) {
+            assertEquals(row, store.getTimestamp(row), "Events not in timestamp order.");
+            assertEquals("event " + row, store.getLogEntry(row), "Log entry not correct.");
+            assertEquals(row % 3 == 0 ? LogEventType.SERIAL_OLD : LogEventType.PAR_NEW, store.getEventType(row),
+                    "Event type not correct.");
+        }
+        List<BlockingEvent> serialOldEvents = store.getEvents(LogEventType.SERIAL_OLD);
+        assertEquals((count + 2) / 3, serialOldEvents.size(), "SERIAL_OLD event count not correct.");
+        for (int i = 0; i < serialOldEvents.size(); i++) {
+            assertEquals(i * 3, serialOldEvents.get(i).getTimestamp(), "SERIAL_OLD events not in timestamp order.");
+        }
+        assertEquals(count - serialOldEvents.size(), store.getEvents(LogEventType.PAR_NEW).size(),
+                "PAR_NEW event count not correct.");
+    }
+
+    private static BlockingEvent reorderedEvent(int timestamp) {
+        return JdkUtil.hydrateBlockingEvent(timestamp % 3 == 0 ? LogEventType.SERIAL_OLD : LogEventType.PAR_NEW,
+                "event " + timestamp, timestamp, timestamp);
+    }
+
+    @Test
+    void testAggregates() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new ParNewEvent(PAR_NEW));
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.add(new UnifiedG1YoungPauseEvent(UNIFIED_G1_YOUNG_PAUSE));
+        assertEquals(3, store.size(), "Event count not correct.");
+        assertEquals(824995, store.getMaxHeapOccupancy(), "Max heap occupancy not correct.");
+        assertEquals(500466, store.getMaxHeapAfterGc(), "Max heap after GC not correct.");
+        assertEquals(1187840, store.getMaxHeapSpace(), "Max heap space not correct.");
+        assertEquals(819200, store.getMaxOldSpace(), "Max old space not correct.");
+        assertEquals(368640, store.getMaxYoungSpace(), "Max young space not correct.");
+        assertEquals(123092, store.getMaxPermOccupancy(), "Max perm occupancy not correct.");
+        assertEquals(122684, store.getMaxPermAfterGc(), "Max perm after GC not correct.");
+        assertEquals(1056768, store.getMaxPermSpace(), "Max perm space not correct.");
+        assertEquals(1992451, store.getMaxDuration(), "Max duration not correct.");
+        assertEquals(80598 + 1992451 + 3692, store.getTotalDuration(), "Total duration not correct.");
+    }
+
+    @Test
+    void testEdenAllocation() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new G1YoungPauseEvent("2.847: [GC pause (G1 Evacuation Pause) (young), 0.0414530 secs]"
+                + "[Eden: 112.0M(112.0M)->0.0B(112.0M) Survivors: 16.0M->16.0M Heap: 136.9M(30.0G)->70.9M(30.0G)]"));
+        // Created from values, so no eden occupancy
+        store.add(JdkUtil.hydrateBlockingEvent(LogEventType.G1_YOUNG_PAUSE, "G1 young pause", 3847, 1000));
+        store.add(new G1YoungPauseEvent("6.847: [GC pause (G1 Evacuation Pause) (young), 0.0414530 secs]"
+                + "[Eden: 50.0M(112.0M)->0.0B(112.0M) Survivors: 16.0M->16.0M Heap: 136.9M(30.0G)->70.9M(30.0G)]"));
+        store.add(new G1YoungPauseEvent("4.847: [GC pause (G1 Evacuation Pause) (young), 0.0414530 secs]"
+                + "[Eden: 100.0M(112.0M)->0.0B(112.0M) Survivors: 16.0M->16.0M Heap: 136.9M(30.0G)->70.9M(30.0G)]"));
+        assertEquals((100 + 50) * 1024, store.getEdenAllocation(LogEventType.G1_YOUNG_PAUSE),
+                "Eden allocation not correct.");
+        assertEquals(6847 - 2847, store.getElapsedTime(LogEventType.G1_YOUNG_PAUSE), "Elapsed time not correct.");
+        assertEquals(0, store.getEdenAllocation(LogEventType.PAR_NEW), "PAR_NEW eden allocation not correct.");
+        assertEquals(0, store.getElapsedTime(LogEventType.PAR_NEW), "PAR_NEW elapsed time not correct.");
+        assertEquals(2847, store.getFirstEvent().getTimestamp(), "First event not correct.");
+        assertEquals(6847, store.getLastEvent().getTimestamp(), "Last event not correct.");
+    }
+
+    @Test
+    void testClear() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.clear();
+        store.add(new ParNewEvent(PAR_NEW));
+        assertEquals(806117, store.getMaxHeapOccupancy(), "Max heap occupancy not reset.");
+        assertEquals(0, store.getMaxPermSpace(), "Max perm space not reset.");
+        assertEquals(80598, store.getMaxDuration(), "Max duration not reset.");
+        assertEquals(80598, store.getTotalDuration(), "Total duration not reset.");
+    }
+
+    @Test
+    void testEmpty() {
+        BlockingEventStore store = new BlockingEventStore();
+        assertEquals(0, store.getMaxHeapOccupancy(), "Max heap occupancy not correct.");
+        assertEquals(0, store.getMaxDuration(), "Max duration not correct.");
+        assertEquals(0, store.getEvents().size(), "Events not empty.");
+    }
+
+    @Test
+    void testMaterialize() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.add(new ParNewEvent(PAR_NEW));
+        store.add(new UnifiedG1YoungPauseEvent(UNIFIED_G1_YOUNG_PAUSE));
+        List<BlockingEvent> events = store.getEvents();
+        assertTrue(events.get(1) instanceof ParNewEvent, "Events not in timestamp order.");
+        assertEquals(PAR_NEW, events.get(1).getLogEntry(), "Log entry not correct.");
+        assertEquals(80598, events.get(1).getDuration(), "Duration not correct.");
+        assertNull(((ParNewEvent) events.get(1)).getOldOccupancyEnd(), "Event parsed from log entry.");
+        assertTrue(events.get(2) instanceof SerialOldEvent, "Events not in timestamp order.");
+        assertEquals(LogEventType.SERIAL_OLD, store.getEventType(2), "Event type not correct.");
+        assertEquals(1, store.getEvents(LogEventType.PAR_NEW).size(), "Events of event type not correct.");
+    }
+
+    @Test
+    void testParsed() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.add(new ParNewEvent(PAR_NEW));
+        store.add(new UnifiedG1YoungPauseEvent(UNIFIED_G1_YOUNG_PAUSE));
+        List<BlockingEvent> events = store.getParsedEvents();
+        assertEquals(3, events.size(), "Event count not correct.");
+        assertTrue(events.get(1) instanceof ParNewEvent, "Events not in timestamp order.");
+        assertEquals(new ParNewEvent(PAR_NEW).getOldOccupancyEnd(), ((ParNewEvent) events.get(1)).getOldOccupancyEnd(),
+                "Event values not parsed.");
+        assertEquals(new SerialOldEvent(SERIAL_OLD).getPermSpace(), ((SerialOldEvent) events.get(2)).getPermSpace(),
+                "Last event not kept.");
+    }
+
+    @Test
+    void testEventTypeIndex() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new ParNewEvent(PAR_NEW));
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.add(new UnifiedG1YoungPauseEvent(UNIFIED_G1_YOUNG_PAUSE));
+        store.add(JdkUtil.hydrateBlockingEvent(LogEventType.PAR_NEW, "ParNew", 1000, 5678));
+        List<BlockingEvent> parNewEvents = store.getEvents(LogEventType.PAR_NEW);
+        assertEquals(2, parNewEvents.size(), "PAR_NEW event count not correct.");
+        assertEquals(1000, parNewEvents.get(0).getTimestamp(), "PAR_NEW events not in timestamp order.");
+        assertEquals(PAR_NEW, parNewEvents.get(1).getLogEntry(), "PAR_NEW events not in timestamp order.");
+        assertEquals(SERIAL_OLD, store.getEvents(LogEventType.SERIAL_OLD).get(0).getLogEntry(),
+                "SERIAL_OLD event not correct.");
+        assertEquals(1, store.getEvents(LogEventType.UNIFIED_G1_YOUNG_PAUSE).size(),
+                "UNIFIED_G1_YOUNG_PAUSE event count not correct.");
+        assertEquals(0, store.getEvents(LogEventType.G1_YOUNG_PAUSE).size(), "G1_YOUNG_PAUSE events not empty.");
+        store.clear();
+        assertEquals(0, store.getEvents(LogEventType.PAR_NEW).size(), "Index not cleared.");
+    }
+
+    @Test
+    void testMapped(@TempDir File temporaryFolder) {
+        BlockingEventStore store = new BlockingEventStore(temporaryFolder);
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.add(new UnifiedG1YoungPauseEvent(UNIFIED_G1_YOUNG_PAUSE));
+        store.add(new ParNewEvent(PAR_NEW));
+        assertEquals(3, store.size(), "Event count not correct.");
+        assertEquals(LogEventType.UNIFIED_G1_YOUNG_PAUSE, store.getEventType(0), "Events not in timestamp order.");
+        assertEquals(PAR_NEW, store.getLogEntry(1), "Log entry not correct.");
+        assertEquals(SERIAL_OLD, store.getEvent(2).getLogEntry(), "Log entry not correct.");
+        assertEquals(824995, store.getMaxHeapOccupancy(), "Max heap occupancy not correct.");
+        assertEquals(1992451, store.getMaxDuration(), "Max duration not correct.");
+    }
+
+    @Test
+    void testMaterializeFromValues() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(JdkUtil.hydrateBlockingEvent(LogEventType.PAR_NEW, "ParNew", 1234, 5678));
+        BlockingEvent event = store.getEvent(0);
+        assertTrue(event instanceof ParNewEvent, "Event type not correct.");
+        assertEquals(1234, event.getTimestamp(), "Timestamp not correct.");
+        assertEquals(5678, event.getDuration(), "Duration not correct.");
+        assertEquals("ParNew", event.getLogEntry(), "Log entry not correct.");
+    }
+
+    @Test
+    void testReordered() {
+        assertReordered(new BlockingEventStore());
+    }
+
+    @Test
+    void testReorderedMapped(@TempDir File temporaryFolder) {
+        BlockingEventStore store = new BlockingEventStore(temporaryFolder);
+        assertReordered(store);
+        store.close();
+    }
+
+    @Test
+    void testWriteRead(@TempDir File temporaryFolder) throws IOException {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new ParNewEvent(PAR_NEW));
+        store.add(new SerialOldEvent(SERIAL_OLD));
+        store.add(new UnifiedG1YoungPauseEvent(UNIFIED_G1_YOUNG_PAUSE));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.write(new DataOutputStream(bytes));
+        BlockingEventStore read = new BlockingEventStore(temporaryFolder);
+        read.add(new ParNewEvent(PAR_NEW));
+        read.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(3, read.size(), "Event count not correct.");
+        assertEquals(824995, read.getMaxHeapOccupancy(), "Max heap occupancy not correct.");
+        assertEquals(1056768, read.getMaxPermSpace(), "Max perm space not correct.");
+        assertEquals(1992451, read.getMaxDuration(), "Max duration not correct.");
+        assertEquals(80598 + 1992451 + 3692, read.getTotalDuration(), "Total duration not correct.");
+        assertEquals(1, read.getEvents(LogEventType.PAR_NEW).size(), "Event type index not rebuilt.");
+        assertEquals(SERIAL_OLD, read.getLogEntry(2), "Log entry not correct.");
+        assertTrue(read.getFirstEvent() instanceof UnifiedG1YoungPauseEvent, "First event not correct.");
+        assertEquals(PAR_NEW, read.getEvent(1).getLogEntry(), "Event not correct.");
+        assertTrue(read.getLastEvent() instanceof SerialOldEvent, "Last event not correct.");
+        read.close();
+    }
+}
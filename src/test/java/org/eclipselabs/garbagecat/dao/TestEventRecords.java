@@ -0,0 +1,91 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestEventRecords {
+
+    private static final int VALUE = 0;
+
+    private static final int LOG_ENTRY = 8;
+
+    private static final int RECORD_WIDTH = LOG_ENTRY + EventRecords.LOG_ENTRY_WIDTH;
+
+    /**
+     * Append and insert more records than fit in a heap segment, checking the records are in order.
+     */
+    private static void assertRecords(EventRecords records) {
+        int count = 10000;
+        for (int i = 0; i < count; i += 2) {
+            int row = records.append();
+            records.putLong(row, VALUE, i);
+            records.putLogEntry(row, LOG_ENTRY, "entry " + i);
+        }
+        for (int i = 1; i < count; i += 2) {
+            records.insert(i);
+            records.putLong(i, VALUE, i);
+            records.putLogEntry(i, LOG_ENTRY, "entry " + i);
+        }
+        assertEquals(count, records.size(), "Record count not correct.");
+        for (int row = 0; row < count; row++) {
+            assertEquals(row, records.getLong(row, VALUE), "Value not correct.");
+            assertEquals("entry " + row, records.getLogEntry(row, LOG_ENTRY), "Log entry not correct.");
+        }
+    }
+
+    @Test
+    void testClear(@TempDir File temporaryFolder) {
+        EventRecords records = new EventRecords(RECORD_WIDTH, temporaryFolder);
+        records.putLogEntry(records.append(), LOG_ENTRY, "before");
+        records.clear();
+        assertEquals(0, records.size(), "Records not cleared.");
+        records.putLogEntry(records.append(), LOG_ENTRY, "after");
+        assertEquals("after", records.getLogEntry(0, LOG_ENTRY), "Log entry not correct.");
+    }
+
+    @Test
+    void testHeap() {
+        assertRecords(new EventRecords(RECORD_WIDTH, null));
+    }
+
+    @Test
+    void testLogEntrySpanningSegments() {
+        EventRecords records = new EventRecords(RECORD_WIDTH, null);
+        char[] chars = new char[(1 << 20) + 100];
+        Arrays.fill(chars, 'é');
+        String logEntry = new String(chars);
+        records.putLogEntry(records.append(), LOG_ENTRY, "first");
+        records.putLogEntry(records.append(), LOG_ENTRY, logEntry);
+        records.putLogEntry(records.append(), LOG_ENTRY, null);
+        assertEquals("first", records.getLogEntry(0, LOG_ENTRY), "Log entry not correct.");
+        assertEquals(logEntry, records.getLogEntry(1, LOG_ENTRY), "Log entry spanning segments not correct.");
+        assertNull(records.getLogEntry(2, LOG_ENTRY), "Log entry not null.");
+    }
+
+    @Test
+    void testMapped(@TempDir File temporaryFolder) {
+        assertRecords(new EventRecords(RECORD_WIDTH, temporaryFolder));
+    }
+}
@@ -12,14 +12,24 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
@@ -47,4 +57,48 @@ class TestJvmDao {
         assertTrue(events.get(1) instanceof ParNewEvent);
         assertTrue(events.get(2) instanceof SerialOldEvent);
     }
+
+    @Test
+    void testSafepointEventsOffHeap(@TempDir File temporaryFolder) {
+        JvmDao jvmDao = new JvmDao(temporaryFolder);
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("safepoint 1", 1000, 2000, Trigger.G1_COLLECT_FULL));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("safepoint 2", 3000, 1000, Trigger.G1_COLLECT_FULL));
+        jvmDao.addStoppedTimeEvent(new ApplicationStoppedTimeEvent("stopped", 4000, 7000));
+        assertEquals(2, jvmDao.getUnifiedSafepointEventCount(), "Safepoint event count not correct.");
+        assertEquals(2, jvmDao.getUnifiedSafepointTimeMax(), "Safepoint max not correct.");
+        assertEquals(3, jvmDao.getUnifiedSafepointTimeTotal(), "Safepoint total not correct.");
+        assertEquals(1000, jvmDao.getFirstSafepointEvent().getTimestamp(), "First safepoint event not correct.");
+        UnifiedSafepointEvent last = (UnifiedSafepointEvent) jvmDao.getLastSafepointEvent();
+        assertEquals("safepoint 2", last.getLogEntry(), "Last safepoint log entry not correct.");
+        assertEquals(Trigger.G1_COLLECT_FULL, last.getTrigger(), "Last safepoint trigger not correct.");
+        assertEquals(1, jvmDao.getStoppedTimeEventCount(), "Stopped time event count not correct.");
+        assertEquals(7, jvmDao.getStoppedTimeMax(), "Stopped time max not correct.");
+        assertEquals(1, jvmDao.getSafepointEventSummaries().size(), "Safepoint summaries not correct.");
+        jvmDao.cleanup();
+        assertEquals(0, jvmDao.getUnifiedSafepointEventCount(), "Safepoint events not removed.");
+        assertThrows(UncheckedIOException.class,
+                () -> jvmDao.addStoppedTimeEvent(new ApplicationStoppedTimeEvent("stopped", 5000, 7000)),
+                "Scratch file not closed.");
+    }
+
+    @Test
+    void testSafepointEventSummaries() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("cleanup", 1000, 500, Trigger.CLEANUP));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("full 1", 2000, 3000, Trigger.G1_COLLECT_FULL));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("full 2", 3000, 9000, Trigger.G1_COLLECT_FULL));
+        jvmDao.addSafepointEvent(new UnifiedSafepointEvent("cleanup", 4000, 700, Trigger.CLEANUP));
+        List<SafepointEventSummary> summaries = jvmDao.getSafepointEventSummaries();
+        assertEquals(2, summaries.size(), "Safepoint summary count not correct.");
+        SafepointEventSummary full = summaries.get(0);
+        assertEquals(Trigger.G1_COLLECT_FULL, full.getTrigger(), "Summaries not ordered by total pause time.");
+        assertEquals(2, full.getCount(), "Count not correct.");
+        assertEquals(12, full.getPauseTotal(), "Total pause not correct.");
+        assertEquals(9, full.getPauseMax(), "Max pause not correct.");
+        assertArrayEquals(new long[] { 0, 0, 1, 0, 1 }, full.getPauseHistogram(), "Histogram not correct.");
+        SafepointEventSummary cleanup = summaries.get(1);
+        assertEquals(Trigger.CLEANUP, cleanup.getTrigger(), "Trigger not correct.");
+        assertEquals(2, cleanup.getCount(), "Count not correct.");
+        assertArrayEquals(new long[] { 2 }, cleanup.getPauseHistogram(), "Histogram not correct.");
+    }
 }
@@ -0,0 +1,138 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.util.Memory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the fields declared by the events: sizes are primitive kilobytes, not <code>Memory</code> objects. This checks
+ * the field layout, not the memory an event takes in the heap, which depends on how the JVM lays out objects.
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestEventFieldLayout {
+
+    @Test
+    void testNoMemoryFields() throws Exception {
+        List<Class<?>> eventClasses = getEventClasses();
+        assertFalse(eventClasses.isEmpty(), "Event classes not found.");
+        for (Class<?> eventClass : eventClasses) {
+            for (Field field : instanceFields(eventClass)) {
+                assertTrue(field.getType() != Memory.class,
+                        eventClass.getName() + " " + field.getName() + " not stored in kilobytes.");
+            }
+        }
+    }
+
+    @Test
+    void testFieldLayout() {
+        // timestamp, 5 sizes (long); duration, 3 times (int)
+        assertEquals(64, primitiveFieldBytes(G1YoungPauseEvent.class), "G1YoungPauseEvent primitive fields changed.");
+        // log entry, trigger
+        assertEquals(2, referenceFields(G1YoungPauseEvent.class), "G1YoungPauseEvent reference fields changed.");
+        // timestamp, 6 sizes (long); duration, 3 times (int); incremental mode (boolean)
+        assertEquals(73, primitiveFieldBytes(ParNewEvent.class), "ParNewEvent primitive fields changed.");
+        // log entry, trigger
+        assertEquals(2, referenceFields(ParNewEvent.class), "ParNewEvent reference fields changed.");
+    }
+
+    /**
+     * @param eventClass
+     *            The event class.
+     * @return The instance fields of the event class and its superclasses.
+     */
+    private static List<Field> instanceFields(Class<?> eventClass) {
+        List<Field> fields = new ArrayList<Field>();
+        for (Class<?> c = eventClass; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @param eventClass
+     *            The event class.
+     * @return The total width (bytes) of the primitive instance fields, without any object header or padding.
+     */
+    private static int primitiveFieldBytes(Class<?> eventClass) {
+        int bytes = 0;
+        for (Field field : instanceFields(eventClass)) {
+            Class<?> type = field.getType();
+            if (type == long.class || type == double.class) {
+                bytes += 8;
+            } else if (type == int.class || type == float.class) {
+                bytes += 4;
+            } else if (type == short.class || type == char.class) {
+                bytes += 2;
+            } else if (type == boolean.class || type == byte.class) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param eventClass
+     *            The event class.
+     * @return The number of reference instance fields.
+     */
+    private static int referenceFields(Class<?> eventClass) {
+        int count = 0;
+        for (Field field : instanceFields(eventClass)) {
+            if (!field.getType().isPrimitive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The event classes in the jdk and unified packages.
+     */
+    private static List<Class<?>> getEventClasses() throws Exception {
+        List<Class<?>> eventClasses = new ArrayList<Class<?>>();
+        for (String packageName : new String[] { "org.eclipselabs.garbagecat.domain.jdk",
+                "org.eclipselabs.garbagecat.domain.jdk.unified" }) {
+            File directory = new File(new File(G1YoungPauseEvent.class.getProtectionDomain().getCodeSource()
+                    .getLocation().toURI()), packageName.replace('.', '/'));
+            for (File file : directory.listFiles()) {
+                String name = file.getName();
+                if (name.endsWith("Event.class")) {
+                    Class<?> c = Class.forName(packageName + "." + name.substring(0, name.length() - 6));
+                    if (LogEvent.class.isAssignableFrom(c) && !c.isInterface()) {
+                        eventClasses.add(c);
+                    }
+                }
+            }
+        }
+        return eventClasses;
+    }
+}
@@ -15,6 +15,8 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -75,6 +77,21 @@ class TestG1YoungPauseEvent {
         assertEquals(50, event.getParallelism(), "Parallelism not calculated correctly.");
     }
 
+    @Test
+    void testTryParse() {
+        String logLine = "0.308: [GC pause (young) 8192K->2028K(59M), 0.0078140 secs] "
+                + "[Times: user=0.01 sys=0.00, real=0.02 secs]";
+        G1YoungPauseEvent event = G1YoungPauseEvent.tryParse(logLine);
+        assertNotNull(event, "Log line not parsed as " + JdkUtil.LogEventType.G1_YOUNG_PAUSE.toString() + ".");
+        assertEquals(logLine, event.getLogEntry(), "Log entry not correct.");
+        assertEquals((long) 308, event.getTimestamp(), "Time stamp not parsed correctly.");
+        assertEquals(kilobytes(8192), event.getCombinedOccupancyInit(), "Combined begin size not parsed correctly.");
+        assertEquals(7814, event.getDuration(), "Duration not parsed correctly.");
+        assertNull(G1YoungPauseEvent.tryParse(
+                "1244.357: [GC pause (young) (initial-mark) 847M->599M(970M), 0.0566840 secs]"),
+                "Log line parsed as " + JdkUtil.LogEventType.G1_YOUNG_PAUSE.toString() + ".");
+    }
+
     @Test
     void testTriggerGcLockerInitiatedGc() {
         String logLine = "9.466: [GC pause (GCLocker Initiated GC) (young) 523M->198M(8192M), 0.0500110 secs]";
@@ -150,6 +167,34 @@ class TestG1YoungPauseEvent {
         assertEquals(41453, event.getDuration(), "Duration not parsed correctly.");
     }
 
+    /**
+     * Sizes logged in bytes are rounded down in the standard and preprocessed formats, parsed or scanned, and rounded
+     * half even in the details formats.
+     */
+    @Test
+    void testLogLineBytes() {
+        String[] logLines = { "1.234: [GC pause (young) 1536B->2560B(3584B), 0.0254200 secs]",
+                "1.234: [GC pause (young), 0.02542000 secs][ 1536B->2560B(3584B)]" };
+        for (String logLine : logLines) {
+            G1YoungPauseEvent event = new G1YoungPauseEvent(logLine);
+            assertEquals(kilobytes(1), event.getCombinedOccupancyInit(), "Combined begin size not rounded down.");
+            assertEquals(kilobytes(2), event.getCombinedOccupancyEnd(), "Combined end size not rounded down.");
+            assertEquals(kilobytes(3), event.getCombinedSpace(), "Combined available size not rounded down.");
+        }
+        G1YoungPauseEvent scanned = G1YoungPauseEvent.scan(logLines[0]);
+        assertEquals(kilobytes(1), scanned.getCombinedOccupancyInit(), "Scanned combined begin size not rounded down.");
+        assertEquals(kilobytes(3), scanned.getCombinedSpace(), "Scanned combined available size not rounded down.");
+        String logLine = "1.234: [GC pause (G1 Evacuation Pause) (young), 0.0254200 secs]"
+                + "[Eden: 1536B(2048B)->2560B(2048B) Survivors: 0B->0B Heap: 1536B(3584B)->2560B(3584B)]";
+        for (G1YoungPauseEvent event : new G1YoungPauseEvent[] { new G1YoungPauseEvent(logLine),
+                G1YoungPauseEvent.scan(logLine) }) {
+            assertEquals(kilobytes(2), event.getEdenOccupancyInit(), "Eden begin size not rounded half even.");
+            assertEquals(kilobytes(2), event.getEdenOccupancyEnd(), "Eden end size not rounded half even.");
+            assertEquals(kilobytes(2), event.getCombinedOccupancyInit(), "Combined begin size not rounded half even.");
+            assertEquals(kilobytes(4), event.getCombinedSpace(), "Combined available size not rounded half even.");
+        }
+    }
+
     @Test
     void testLogLinePreprocessedG1Sizes() {
         String logLine = "0.807: [GC pause (young), 0.00290200 secs][ 29M->2589K(59M)]"
@@ -12,10 +12,41 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1ConcurrentEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.RegExGuard;
+import org.eclipselabs.garbagecat.util.jdk.CollectorFamilyClassifier;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry.Registration;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
@@ -34,4 +65,526 @@ class TestGcManager {
         gcManager.preprocess(testFile, null);
     }
 
+    /**
+     * Test preprocessing and storing in a single pass gives the same results as preprocessing to a file and storing
+     * the file.
+     */
+    @Test
+    void testPreprocessAndStoreSameAsPreprocessThenStore() {
+        for (File testFile : getTestFiles()) {
+            GcManager gcManager = new GcManager();
+            File preprocessedFile = gcManager.preprocess(testFile, null);
+            gcManager.store(preprocessedFile, true);
+            JvmRun expected = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+            gcManager = new GcManager();
+            gcManager.preprocessAndStore(testFile, null, true);
+            JvmRun actual = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+            assertSameJvmRun(testFile, expected, actual);
+        }
+    }
+
+    /**
+     * Test parsing in parallel gives the same results as parsing on a single thread.
+     */
+    @Test
+    void testParallelSameAsSerial() {
+        for (File testFile : getTestFiles()) {
+            GcManager gcManager = new GcManager();
+            File preprocessedFile = gcManager.preprocess(testFile, null);
+            gcManager = new GcManager();
+            gcManager.store(preprocessedFile, true);
+            JvmRun expected = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            gcManager = new GcManager();
+            gcManager.setParallelism(4);
+            gcManager.store(preprocessedFile, true);
+            JvmRun actual = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            assertSameJvmRun(testFile, expected, actual);
+
+            gcManager = new GcManager();
+            gcManager.preprocessAndStore(testFile, null, true);
+            expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            gcManager = new GcManager();
+            gcManager.setParallelism(4);
+            gcManager.preprocessAndStore(testFile, null, true);
+            actual = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            assertSameJvmRun(testFile, expected, actual);
+        }
+    }
+
+    /**
+     * Test a batch parsed with a snapshot taken before the narrowing changed is parsed again when it is stored, so it
+     * is parsed the same as after storing the prior batches.
+     */
+    @Test
+    void testParsedAgainWhenNarrowingChanged() {
+        Predicate<String> overlap = line -> line.startsWith("gcmanager-snapshot-test: ");
+        EventTypeRegistry.register(new Registration(LogEventType.CMS_CONCURRENT, overlap,
+                logLine -> new CmsConcurrentEvent()).literals("gcmanager-snapshot-test: ")
+                        .family(CollectorFamily.CMS));
+        EventTypeRegistry.register(new Registration(LogEventType.G1_CONCURRENT, overlap, G1ConcurrentEvent::new)
+                .literals("gcmanager-snapshot-test: ").family(CollectorFamily.G1));
+        GcManager gcManager = new GcManager();
+        List<String> parNewLogLines = new ArrayList<String>();
+        for (int i = 0; i < 3; i++) {
+            parNewLogLines.add(i + ".102: [GC " + i + ".102: [ParNew: 3264K->320K(3264K), 0.0030460 secs] "
+                    + "3264K->1214K(10176K), 0.0031400 secs]");
+        }
+        CollectorFamilyClassifier parNewSnapshot = gcManager.getClassifierSnapshot();
+        LogEvent[] parNewEvents = gcManager.parse(parNewLogLines, parNewSnapshot);
+        List<String> overlapLogLines = Arrays.asList("gcmanager-snapshot-test: 1");
+        CollectorFamilyClassifier overlapSnapshot = gcManager.getClassifierSnapshot();
+        LogEvent[] overlapEvents = gcManager.parse(overlapLogLines, overlapSnapshot);
+        assertTrue(overlapEvents[0] instanceof G1ConcurrentEvent, "Log line not parsed without narrowing.");
+        gcManager.store(parNewLogLines, parNewEvents, parNewSnapshot, false, false);
+        assertFalse(overlapSnapshot.isCurrent(), "Narrowing not changed.");
+        gcManager.store(overlapLogLines, overlapEvents, overlapSnapshot, false, true);
+        List<LogEventType> eventTypes = gcManager
+                .getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD).getEventTypes();
+        assertTrue(eventTypes.contains(LogEventType.CMS_CONCURRENT), "Log line not parsed again with narrowing.");
+        assertFalse(eventTypes.contains(LogEventType.G1_CONCURRENT), "Log line parsed with a stale snapshot stored.");
+    }
+
+    private static File[] getTestFiles() {
+        File[] testFiles = TestUtil.getFile("dataset1.txt").getParentFile()
+                .listFiles((dir, name) -> name.matches("^dataset\\d+\\.txt$"));
+        assertTrue(testFiles.length > 0, "No test datasets found.");
+        return testFiles;
+    }
+
+    private static void assertSameJvmRun(File testFile, JvmRun expected, JvmRun actual) {
+        String message = testFile.getName() + ": ";
+        assertEquals(expected.getBlockingEventCount(), actual.getBlockingEventCount(),
+                message + "Blocking event count not correct.");
+        assertEquals(expected.getStoppedTimeEventCount(), actual.getStoppedTimeEventCount(),
+                message + "Stopped time event count not correct.");
+        assertEquals(expected.getUnifiedSafepointEventCount(), actual.getUnifiedSafepointEventCount(),
+                message + "Safepoint event count not correct.");
+        assertEquals(expected.getGcPauseTotal(), actual.getGcPauseTotal(), message + "GC pause total not correct.");
+        assertEquals(expected.getEventTypes(), actual.getEventTypes(), message + "Event types not correct.");
+        assertEquals(expected.getUnidentifiedLogLines(), actual.getUnidentifiedLogLines(),
+                message + "Unidentified log lines not correct.");
+        assertEquals(expected.getAnalysis(), actual.getAnalysis(), message + "Analysis not correct.");
+        assertEquals(expected.getLastLogLineUnprocessed(), actual.getLastLogLineUnprocessed(),
+                message + "Last log line unprocessed not correct.");
+    }
+
+    /**
+     * Test preprocessing and storing in a single pass does not write a preprocessed file.
+     */
+    @Test
+    void testPreprocessAndStoreNoPreprocessedFile(@TempDir File temporaryFolder) throws IOException {
+        File testFile = new File(temporaryFolder, "dataset31.txt");
+        Files.copy(TestUtil.getFile("dataset31.txt").toPath(), testFile.toPath());
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        assertTrue(jvmRun.isPreprocessed(), "Preprocessed not correct.");
+        assertFalse(new File(testFile.getPath() + ".pp").exists(), "Preprocessed file written.");
+    }
+
+    /**
+     * Test the event storage cannot be changed after logging has been stored.
+     */
+    @Test
+    void testScratchDirectoryAfterStore(@TempDir File temporaryFolder) {
+        GcManager gcManager = new GcManager();
+        gcManager.setScratchDirectory(temporaryFolder);
+        gcManager.store(TestUtil.getFile("dataset31.txt"), false);
+        assertThrows(IllegalStateException.class, () -> gcManager.setScratchDirectory(temporaryFolder),
+                "Event storage changed after logging stored.");
+    }
+
+    /**
+     * Test each stage of the ingest pipeline reports the log lines it handled.
+     */
+    @Test
+    void testStageStatistics() throws IOException {
+        File testFile = TestUtil.getFile("dataset31.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false);
+        assertTrue(gcManager.getStageStatistics().isEmpty(), "Stage statistics without pipeline.");
+        gcManager = new GcManager();
+        gcManager.setParallelism(2);
+        gcManager.preprocessAndStore(testFile, null, false);
+        List<StageStatistics> stageStatistics = gcManager.getStageStatistics();
+        assertEquals(4, stageStatistics.size(), "Stage count not correct.");
+        assertEquals("read", stageStatistics.get(0).getName(), "Read stage not correct.");
+        assertEquals("preprocess", stageStatistics.get(1).getName(), "Preprocess stage not correct.");
+        assertEquals("parse", stageStatistics.get(2).getName(), "Parse stage not correct.");
+        assertEquals("store", stageStatistics.get(3).getName(), "Store stage not correct.");
+        assertEquals(Files.readAllLines(testFile.toPath()).size(), stageStatistics.get(0).getLogLines(),
+                "Read log lines not correct.");
+        assertEquals(stageStatistics.get(0).getLogLines(), stageStatistics.get(1).getLogLines(),
+                "Preprocess log lines not correct.");
+        assertEquals(stageStatistics.get(2).getLogLines(), stageStatistics.get(3).getLogLines(),
+                "Store log lines not correct.");
+        assertTrue(stageStatistics.get(3).getMaxQueueDepth() <= IngestPipeline.QUEUE_CAPACITY,
+                "Queue depth not bounded.");
+    }
+
+    /**
+     * Test gzip compressed logging is handled the same as uncompressed logging.
+     */
+    @Test
+    void testGzipSameAsUncompressed(@TempDir File temporaryFolder) throws IOException {
+        File testFile = TestUtil.getFile("dataset31.txt");
+        File gzipFile = new File(temporaryFolder, "dataset31.txt.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(gzipFile))) {
+            Files.copy(testFile.toPath(), outputStream);
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.preprocessAndStore(gzipFile, null, false);
+        JvmRun actual = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        assertSameJvmRun(gzipFile, expected, actual);
+    }
+
+    /**
+     * Test a set of rotated log files given in any order is the same JVM run as the logging in a single file.
+     */
+    @Test
+    void testRotatedLogFilesSameAsSingleFile(@TempDir File temporaryFolder) throws IOException {
+        File testFile = TestUtil.getFile("dataset103.txt");
+        List<String> logLines = Files.readAllLines(testFile.toPath());
+        // Rotate at the start of a garbage collection
+        int rotation1 = logLines.size() / 3;
+        while (!logLines.get(rotation1).matches("^\\d{4}-.+$")) {
+            rotation1++;
+        }
+        int rotation2 = 2 * logLines.size() / 3;
+        while (!logLines.get(rotation2).matches("^\\d{4}-.+$")) {
+            rotation2++;
+        }
+        File logFile0 = new File(temporaryFolder, "gc.log.0");
+        File logFile1 = new File(temporaryFolder, "gc.log.1");
+        File logFile2 = new File(temporaryFolder, "gc.log.2.current");
+        Files.write(logFile0.toPath(), logLines.subList(0, rotation1));
+        Files.write(logFile1.toPath(), logLines.subList(rotation1, rotation2));
+        Files.write(logFile2.toPath(), logLines.subList(rotation2, logLines.size()));
+        List<File> logFiles = Arrays.asList(logFile2, logFile0, logFile1);
+        for (boolean preprocess : new boolean[] { false, true }) {
+            for (int parallelism : new int[] { 1, 4 }) {
+                GcManager gcManager = new GcManager();
+                if (preprocess) {
+                    gcManager.preprocessAndStore(testFile, null, false);
+                } else {
+                    gcManager.store(testFile, false);
+                }
+                JvmRun expected = gcManager.getJvmRun(new Jvm(null, null),
+                        Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+                gcManager = new GcManager();
+                gcManager.setParallelism(parallelism);
+                gcManager.store(logFiles, null, preprocess, false);
+                JvmRun actual = gcManager.getJvmRun(new Jvm(null, null),
+                        Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+                assertSameJvmRun(testFile, expected, actual);
+                assertEquals(expected.getFirstGcEvent().getLogEntry(), actual.getFirstGcEvent().getLogEntry(),
+                        "First GC event not correct.");
+                assertEquals(expected.getLastGcEvent().getLogEntry(), actual.getLastGcEvent().getLogEntry(),
+                        "Last GC event not correct.");
+            }
+        }
+    }
+
+    /**
+     * Test a set of rotated log files with detail logging given in any order is the same JVM run as the logging in a
+     * single file. No single raw log line of the multi-line detail logging parses as an event, so the log files are
+     * ordered by the timestamp that starts the logging.
+     */
+    @Test
+    void testRotatedLogFilesDetailLogging(@TempDir File temporaryFolder) throws IOException {
+        File testFile = TestUtil.getFile("dataset57.txt");
+        List<String> logLines = Files.readAllLines(testFile.toPath());
+        // Rotate at the start of a garbage collection
+        File logFile1 = new File(temporaryFolder, "gc.log.1");
+        File logFile2 = new File(temporaryFolder, "gc.log.2");
+        File logFile0 = new File(temporaryFolder, "gc.log.0.current");
+        Files.write(logFile1.toPath(), logLines.subList(0, 29));
+        Files.write(logFile2.toPath(), logLines.subList(29, 60));
+        Files.write(logFile0.toPath(), logLines.subList(60, logLines.size()));
+        List<File> logFiles = Arrays.asList(logFile0, logFile2, logFile1);
+        for (int parallelism : new int[] { 1, 4 }) {
+            GcManager gcManager = new GcManager();
+            gcManager.preprocessAndStore(testFile, null, false);
+            JvmRun expected = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            gcManager = new GcManager();
+            gcManager.setParallelism(parallelism);
+            gcManager.store(logFiles, null, true, false);
+            JvmRun actual = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            assertSameJvmRun(testFile, expected, actual);
+            assertEquals(expected.getFirstGcEvent().getLogEntry(), actual.getFirstGcEvent().getLogEntry(),
+                    "First GC event not correct.");
+            assertEquals(expected.getLastGcEvent().getLogEntry(), actual.getLastGcEvent().getLogEntry(),
+                    "Last GC event not correct.");
+        }
+    }
+
+    @Test
+    void testFirstTimestamp() {
+        assertEquals(44620073L, GcManager.getLogLineTimestamp("2016-02-18T02:01:28.575-0500: 44620.073: [GC pause "),
+                "Datestamp and timestamp not correct.");
+        assertEquals(44620073L, GcManager.getLogLineTimestamp(" 44620.073: [G1Ergonomics (CSet Construction)"),
+                "Indented timestamp not correct.");
+        assertEquals(370L, GcManager.getLogLineTimestamp("[0.370s][info][gc,start     ] GC(6) Pause Young"),
+                "Unified uptime not correct.");
+        assertEquals(5413L, GcManager.getLogLineTimestamp("[2019-05-09T01:39:00.821+0000][5413ms] GC(0) Pause"),
+                "Unified datestamp and uptime not correct.");
+        assertEquals(GcUtil.parseDateStamp("2016-02-18T02:01:28.575-0500").getTime(),
+                GcManager.getLogLineTimestamp("2016-02-18T02:01:28.575-0500: [GC pause (young)"),
+                "Datestamp without timestamp not correct.");
+        assertEquals(Long.MAX_VALUE, GcManager.getLogLineTimestamp("   [Parallel Time: 268.9 ms, GC Workers: 4]"),
+                "Log line without timestamp not correct.");
+        assertEquals(Long.MAX_VALUE, GcManager.getLogLineTimestamp(", 0.2752700 secs]"),
+                "Log line without timestamp not correct.");
+    }
+
+    /**
+     * Test following logging as it is written is the same JVM run as storing all the logging at once.
+     */
+    @Test
+    void testFollowSameAsStore(@TempDir File temporaryFolder) throws IOException {
+        File testFile = TestUtil.getFile("dataset103.txt");
+        final List<String> logLines = Files.readAllLines(testFile.toPath());
+        final File logFile = new File(temporaryFolder, "gc.log");
+        Files.write(logFile.toPath(), logLines.subList(0, logLines.size() / 2));
+        for (boolean preprocess : new boolean[] { false, true }) {
+            GcManager gcManager = new GcManager();
+            if (preprocess) {
+                gcManager.preprocessAndStore(testFile, null, false);
+            } else {
+                gcManager.store(testFile, false);
+            }
+            JvmRun expected = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+            Files.write(logFile.toPath(), logLines.subList(0, logLines.size() / 2));
+            final GcManager followGcManager = new GcManager();
+            final List<Integer> blockingEventCounts = new ArrayList<Integer>();
+            followGcManager.follow(logFile, null, preprocess, false, 0, () -> {
+                blockingEventCounts.add(followGcManager
+                        .getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD)
+                        .getBlockingEventCount());
+                try {
+                    if (blockingEventCounts.size() == 1) {
+                        Files.write(logFile.toPath(), logLines.subList(logLines.size() / 2, logLines.size()),
+                                StandardOpenOption.APPEND);
+                    } else {
+                        Thread.currentThread().interrupt();
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            // Clear interrupt
+            Thread.interrupted();
+            JvmRun actual = followGcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            assertEquals(2, blockingEventCounts.size(), "Report count not correct.");
+            assertTrue(blockingEventCounts.get(0) < blockingEventCounts.get(1), "Reports not incremental.");
+            assertEquals(expected.getBlockingEventCount(), actual.getBlockingEventCount(),
+                    "Blocking event count not correct.");
+            assertEquals(expected.getStoppedTimeEventCount(), actual.getStoppedTimeEventCount(),
+                    "Stopped time event count not correct.");
+            assertEquals(expected.getGcPauseTotal(), actual.getGcPauseTotal(), "GC pause total not correct.");
+            assertEquals(expected.getEventTypes(), actual.getEventTypes(), "Event types not correct.");
+        }
+    }
+
+    /**
+     * Test resuming from a checkpoint after more logging is appended is the same JVM run as storing all the logging at
+     * once.
+     */
+    @Test
+    void testCheckpointSameAsStore(@TempDir File temporaryFolder) throws IOException {
+        File logFile = new File(temporaryFolder, "gc.log");
+        File checkpointFile = new File(temporaryFolder, "gc.log.checkpoint");
+        for (File testFile : getTestFiles()) {
+            List<String> logLines = Files.readAllLines(testFile.toPath());
+            for (boolean preprocess : new boolean[] { false, true }) {
+                Files.deleteIfExists(checkpointFile.toPath());
+                Files.write(logFile.toPath(), logLines.subList(0, logLines.size() / 2));
+                GcManager gcManager = new GcManager();
+                gcManager.store(logFile, null, preprocess, true, checkpointFile);
+                assertTrue(checkpointFile.exists(), testFile.getName() + ": Checkpoint not written.");
+                Files.write(logFile.toPath(), logLines.subList(logLines.size() / 2, logLines.size()),
+                        StandardOpenOption.APPEND);
+
+                gcManager = new GcManager();
+                if (preprocess) {
+                    gcManager.preprocessAndStore(logFile, null, true);
+                } else {
+                    gcManager.store(logFile, true);
+                }
+                JvmRun expected = gcManager.getJvmRun(new Jvm(null, null),
+                        Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+
+                // Resume, then resume again with no logging appended
+                for (int i = 0; i < 2; i++) {
+                    gcManager = new GcManager();
+                    gcManager.store(logFile, null, preprocess, true, checkpointFile);
+                    JvmRun actual = gcManager.getJvmRun(new Jvm(null, null),
+                            Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+                    assertSameJvmRun(testFile, expected, actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test a checkpoint is not used for a different log file.
+     */
+    @Test
+    void testCheckpointDifferentLogFile(@TempDir File temporaryFolder) throws IOException {
+        File logFile = new File(temporaryFolder, "gc.log");
+        File checkpointFile = new File(temporaryFolder, "gc.log.checkpoint");
+        Files.copy(TestUtil.getFile("dataset103.txt").toPath(), logFile.toPath());
+        GcManager gcManager = new GcManager();
+        gcManager.store(logFile, null, false, false, checkpointFile);
+        // Rotated
+        Files.copy(TestUtil.getFile("dataset31.txt").toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        gcManager = new GcManager();
+        gcManager.store(logFile, false);
+        JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        gcManager = new GcManager();
+        gcManager.store(logFile, null, false, false, checkpointFile);
+        JvmRun actual = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        assertSameJvmRun(logFile, expected, actual);
+    }
+
+    /**
+     * Test loading the events from an event cache is the same JVM run as parsing the logging.
+     */
+    @Test
+    void testEventCacheSameAsStore(@TempDir File temporaryFolder) throws IOException {
+        File cacheFile = new File(temporaryFolder, "gc.log.events");
+        for (File testFile : getTestFiles()) {
+            List<File> logFiles = Arrays.asList(testFile);
+            for (boolean preprocess : new boolean[] { false, true }) {
+                Files.deleteIfExists(cacheFile.toPath());
+                GcManager gcManager = new GcManager();
+                assertFalse(gcManager.loadEventCache(cacheFile, logFiles, null, preprocess, true),
+                        testFile.getName() + ": Event cache loaded.");
+                gcManager.store(logFiles, null, preprocess, true);
+                gcManager.saveEventCache(cacheFile, logFiles, null, preprocess, true);
+                JvmRun expected = gcManager.getJvmRun(new Jvm(null, null), 99);
+
+                gcManager = new GcManager();
+                assertFalse(gcManager.loadEventCache(cacheFile, logFiles, null, !preprocess, true),
+                        testFile.getName() + ": Event cache loaded for different options.");
+                assertTrue(gcManager.loadEventCache(cacheFile, logFiles, null, preprocess, true),
+                        testFile.getName() + ": Event cache not loaded.");
+                JvmRun actual = gcManager.getJvmRun(new Jvm(null, null), 99);
+                assertSameJvmRun(testFile, expected, actual);
+                String message = testFile.getName() + ": ";
+                assertEquals(expected.getBottlenecks(), actual.getBottlenecks(), message + "Bottlenecks not correct.");
+                assertEquals(expected.getAllocationRate(), actual.getAllocationRate(),
+                        message + "Allocation rate not correct.");
+                assertEquals(expected.getMaxGcPause(), actual.getMaxGcPause(), message + "Max GC pause not correct.");
+                assertEquals(expected.getStoppedTimeMax(), actual.getStoppedTimeMax(),
+                        message + "Max stopped time not correct.");
+                assertEquals(expected.getMaxHeapAfterGc(), actual.getMaxHeapAfterGc(),
+                        message + "Max heap after GC not correct.");
+                assertEquals(expected.getMaxHeapOccupancy(), actual.getMaxHeapOccupancy(),
+                        message + "Max heap occupancy not correct.");
+                assertEquals(expected.getMaxHeapSpace(), actual.getMaxHeapSpace(),
+                        message + "Max heap space not correct.");
+                assertEquals(expected.getMaxOldSpace(), actual.getMaxOldSpace(),
+                        message + "Max old space not correct.");
+                assertEquals(expected.getMaxYoungSpace(), actual.getMaxYoungSpace(),
+                        message + "Max young space not correct.");
+                assertEquals(expected.getMaxPermAfterGc(), actual.getMaxPermAfterGc(),
+                        message + "Max perm after GC not correct.");
+                assertEquals(expected.getMaxPermOccupancy(), actual.getMaxPermOccupancy(),
+                        message + "Max perm occupancy not correct.");
+                assertEquals(expected.getMaxPermSpace(), actual.getMaxPermSpace(),
+                        message + "Max perm space not correct.");
+            }
+        }
+    }
+
+    /**
+     * Test an event cache is not used after the log file changes.
+     */
+    @Test
+    void testEventCacheLogFileChanged(@TempDir File temporaryFolder) throws IOException {
+        File logFile = new File(temporaryFolder, "gc.log");
+        File cacheFile = new File(temporaryFolder, "gc.log.events");
+        Files.copy(TestUtil.getFile("dataset103.txt").toPath(), logFile.toPath());
+        List<File> logFiles = Arrays.asList(logFile);
+        GcManager gcManager = new GcManager();
+        gcManager.store(logFiles, null, false, false);
+        gcManager.saveEventCache(cacheFile, logFiles, null, false, false);
+        Files.write(logFile.toPath(), Arrays.asList(""), StandardOpenOption.APPEND);
+        gcManager = new GcManager();
+        assertFalse(gcManager.loadEventCache(cacheFile, logFiles, null, false, false), "Event cache loaded.");
+    }
+
+    /**
+     * Test the entangled log lines and context are restored when the regular expression budget runs out partway
+     * through preprocessing a log line.
+     */
+    @Test
+    void testPreprocessBudgetExceeded() {
+        PreprocessState state = new PreprocessState();
+        PreprocessState.EntangledLogLines entangledLogLines = state.entangledLogLines;
+        PreprocessState.Context context = state.context;
+        entangledLogLines.add("entangled");
+        context.add("prior");
+        String preprocessedLogLine = GcManager.preprocessWithinBudget(() -> {
+            entangledLogLines.add("partial");
+            context.remove("prior");
+            context.add("partial");
+            CharSequence input = RegExGuard.input("budget");
+            for (long i = 0; i <= RegExGuard.MAX_STEPS; i++) {
+                input.charAt(0);
+            }
+            return "preprocessed";
+        }, () -> "exceeded " + entangledLogLines + " " + context, entangledLogLines, context);
+        assertEquals("exceeded [entangled] [prior]", preprocessedLogLine, "Preprocessing not rolled back.");
+        assertEquals(Arrays.asList("entangled"), entangledLogLines, "Entangled log lines not restored.");
+        assertEquals(new HashSet<String>(Arrays.asList("prior")), context, "Context not restored.");
+        assertEquals("preprocessed", GcManager.preprocessWithinBudget(() -> "preprocessed", () -> "exceeded",
+                entangledLogLines, context), "Preprocessed log line not correct.");
+    }
+
+    /**
+     * Test undoing changes that clear the entangled log lines and remove and add back context tokens.
+     */
+    @Test
+    void testPreprocessStateUndo() {
+        PreprocessState state = new PreprocessState();
+        state.entangledLogLines.addAll(Arrays.asList("entangled 1", "entangled 2"));
+        state.context.addAll(Arrays.asList("prior 1", "prior 2"));
+        state.entangledLogLines.mark();
+        state.context.mark();
+        state.entangledLogLines.add("added");
+        state.entangledLogLines.clear();
+        state.entangledLogLines.add("after clear");
+        state.context.remove("prior 1");
+        state.context.add("prior 1");
+        state.context.add("added");
+        state.context.remove("added");
+        state.context.remove("prior 2");
+        state.context.add("partial");
+        state.entangledLogLines.undo();
+        state.context.undo();
+        assertEquals(Arrays.asList("entangled 1", "entangled 2"), state.entangledLogLines,
+                "Entangled log lines not restored.");
+        assertEquals(new HashSet<String>(Arrays.asList("prior 1", "prior 2")), state.context, "Context not restored.");
+        // Changes before the mark are kept
+        state.entangledLogLines.add("kept");
+        state.entangledLogLines.mark();
+        state.entangledLogLines.add("undone");
+        state.entangledLogLines.undo();
+        assertEquals(Arrays.asList("entangled 1", "entangled 2", "kept"), state.entangledLogLines,
+                "Entangled log lines added before the mark not kept.");
+    }
 }
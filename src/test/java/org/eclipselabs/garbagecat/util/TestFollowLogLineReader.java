@@ -0,0 +1,119 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestFollowLogLineReader {
+
+    /**
+     * Read log lines, appending the next logging each time the end of the logging written so far is reached, and
+     * stopping after all the logging is appended.
+     */
+    private static List<String> follow(final File file, List<String> appends) throws IOException {
+        final Iterator<String> iterator = appends.iterator();
+        List<String> logLines = new ArrayList<String>();
+        FollowLogLineReader logLineReader = new FollowLogLineReader(file, 1, () -> {
+            try {
+                if (iterator.hasNext()) {
+                    Files.write(file.toPath(), iterator.next().getBytes("US-ASCII"), StandardOpenOption.APPEND);
+                } else {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        try {
+            String logLine = logLineReader.readLine();
+            while (logLine != null) {
+                logLines.add(logLine);
+                logLine = logLineReader.readLine();
+            }
+        } finally {
+            logLineReader.close();
+            // Clear interrupt
+            Thread.interrupted();
+        }
+        return logLines;
+    }
+
+    @Test
+    void testAppended(@TempDir File temporaryFolder) throws IOException {
+        File file = new File(temporaryFolder, "gc.log");
+        Files.write(file.toPath(), "a\nb".getBytes("US-ASCII"));
+        List<String> logLines = follow(file, Arrays.asList("b\r", "\nccc", "", "\n\ndddd\n", "eeeee"));
+        assertEquals(Arrays.asList("a", "bb", "ccc", "", "dddd"), logLines, "Log lines not correct.");
+    }
+
+    @Test
+    void testStopWhenInterrupted(@TempDir File temporaryFolder) throws IOException {
+        File file = new File(temporaryFolder, "gc.log");
+        Files.write(file.toPath(), new byte[0]);
+        FollowLogLineReader logLineReader = new FollowLogLineReader(file, 1, null);
+        Thread.currentThread().interrupt();
+        try {
+            assertNull(logLineReader.readLine(), "Log line not correct.");
+        } finally {
+            logLineReader.close();
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testTruncated(@TempDir File temporaryFolder) throws IOException {
+        File file = new File(temporaryFolder, "gc.log");
+        Files.write(file.toPath(), "aaaa\nbbbb\n".getBytes("US-ASCII"));
+        final List<String> logLines = new ArrayList<String>();
+        FollowLogLineReader logLineReader = new FollowLogLineReader(file, 1, () -> {
+            try {
+                if (logLines.size() == 2) {
+                    // copytruncate rotation
+                    Files.write(file.toPath(), "c\n".getBytes("US-ASCII"));
+                } else {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        try {
+            String logLine = logLineReader.readLine();
+            while (logLine != null) {
+                logLines.add(logLine);
+                logLine = logLineReader.readLine();
+            }
+        } finally {
+            logLineReader.close();
+            Thread.interrupted();
+        }
+        assertEquals(Arrays.asList("aaaa", "bbbb", "c"), logLines, "Log lines not correct.");
+    }
+}
@@ -0,0 +1,105 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestGzipLogLineReader {
+
+    private static File gzip(File file, File temporaryFolder) throws IOException {
+        File gzipFile = new File(temporaryFolder, file.getName() + ".gz");
+        try (OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(gzipFile))) {
+            Files.copy(file.toPath(), outputStream);
+        }
+        return gzipFile;
+    }
+
+    private static List<String> readLines(LogLineReader logLineReader) throws IOException {
+        List<String> logLines = new ArrayList<String>();
+        try {
+            String logLine = logLineReader.readLine();
+            while (logLine != null) {
+                logLines.add(logLine);
+                logLine = logLineReader.readLine();
+            }
+        } finally {
+            logLineReader.close();
+        }
+        return logLines;
+    }
+
+    @Test
+    void testCloseBeforeEnd(@TempDir File temporaryFolder) throws IOException {
+        File file = new File(temporaryFolder, "gc.log");
+        byte[] logLine = "0.065: [GC pause]\n".getBytes("US-ASCII");
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            // Larger than the chunks the decompression thread can hand off before blocking
+            for (int i = 0; i < 100000; i++) {
+                outputStream.write(logLine);
+            }
+        }
+        GzipLogLineReader logLineReader = new GzipLogLineReader(gzip(file, temporaryFolder));
+        assertEquals("0.065: [GC pause]", logLineReader.readLine(), "Log line not correct.");
+        logLineReader.close();
+    }
+
+    @Test
+    void testIsGzip(@TempDir File temporaryFolder) throws IOException {
+        File file = TestUtil.getFile("dataset1.txt");
+        assertFalse(GzipLogLineReader.isGzip(file), file.getName() + " incorrectly identified as gzip.");
+        assertTrue(GzipLogLineReader.isGzip(gzip(file, temporaryFolder)), "Gzip file not identified.");
+        assertFalse(GzipLogLineReader.isGzip(temporaryFolder), "Directory incorrectly identified as gzip.");
+    }
+
+    @Test
+    void testSameAsBufferedReader(@TempDir File temporaryFolder) throws IOException {
+        File[] testFiles = TestUtil.getFile("dataset1.txt").getParentFile()
+                .listFiles((dir, name) -> name.matches("^dataset\\d+\\.txt$"));
+        assertTrue(testFiles.length > 0, "No test datasets found.");
+        for (File testFile : testFiles) {
+            List<String> expected = readLines(new BufferedLogLineReader(testFile));
+            assertEquals(expected, readLines(new GzipLogLineReader(gzip(testFile, temporaryFolder))),
+                    testFile.getName());
+        }
+    }
+
+    @Test
+    void testTruncated(@TempDir File temporaryFolder) throws IOException {
+        File gzipFile = gzip(TestUtil.getFile("dataset1.txt"), temporaryFolder);
+        byte[] bytes = Files.readAllBytes(gzipFile.toPath());
+        Files.write(gzipFile.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> readLines(new GzipLogLineReader(gzipFile)),
+                "Truncated gzip file not reported.");
+    }
+}
@@ -0,0 +1,77 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestLiteralIndex {
+
+    private enum Key {
+        YOUNG, MIXED, FULL, ANY
+    }
+
+    private static LiteralIndex<Key> index() {
+        Map<Key, String[]> literals = new EnumMap<Key, String[]>(Key.class);
+        literals.put(Key.YOUNG, new String[] { " Pause Young " });
+        literals.put(Key.MIXED, new String[] { "Young (Mixed)" });
+        literals.put(Key.FULL, new String[] { "[Full GC", " Pause Full " });
+        return new LiteralIndex<Key>(Key.class, literals);
+    }
+
+    @Test
+    void testNoLiterals() {
+        assertEquals(EnumSet.of(Key.ANY), index().candidates("[0.013s][info][gc] Using G1"),
+                "Key without literals not always a candidate.");
+        assertEquals(EnumSet.of(Key.ANY), index().candidates(""), "Key without literals not always a candidate.");
+    }
+
+    @Test
+    void testOverlappingLiterals() {
+        assertEquals(EnumSet.of(Key.YOUNG, Key.MIXED, Key.ANY),
+                index().candidates("[1.5s][info][gc] GC(3) Pause Young (Mixed) (G1 Evacuation Pause)"),
+                "Overlapping literals not matched.");
+    }
+
+    @Test
+    void testAlternateLiterals() {
+        assertEquals(EnumSet.of(Key.FULL, Key.ANY), index().candidates("1.5: [Full GC 1000K->500K(2000K), 0.1 secs]"),
+                "First literal not matched.");
+        assertEquals(EnumSet.of(Key.FULL, Key.ANY), index().candidates("[1.5s][info][gc] GC(9) Pause Full (System)"),
+                "Second literal not matched.");
+    }
+
+    @Test
+    void testPartialLiteral() {
+        assertEquals(EnumSet.of(Key.ANY), index().candidates("[1.5s][info][gc] GC(3) Pause Youné Pause Full"),
+                "Partial literal matched.");
+    }
+
+    @Test
+    void testNotAscii() {
+        Map<Key, String[]> literals = new EnumMap<Key, String[]>(Key.class);
+        literals.put(Key.YOUNG, new String[] { "Pause Jünge" });
+        assertThrows(IllegalArgumentException.class, () -> new LiteralIndex<Key>(Key.class, literals),
+                "Literal not ASCII accepted.");
+    }
+}
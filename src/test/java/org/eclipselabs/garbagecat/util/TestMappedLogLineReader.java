@@ -0,0 +1,100 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestMappedLogLineReader {
+
+    private static List<String> readLines(LogLineReader logLineReader) throws IOException {
+        List<String> logLines = new ArrayList<String>();
+        try {
+            String logLine = logLineReader.readLine();
+            while (logLine != null) {
+                logLines.add(logLine);
+                logLine = logLineReader.readLine();
+            }
+        } finally {
+            logLineReader.close();
+        }
+        return logLines;
+    }
+
+    private static List<String> readLines(File file, int windowSize) throws IOException {
+        return readLines(new MappedLogLineReader(file, windowSize));
+    }
+
+    private static File write(File temporaryFolder, byte[] bytes) throws IOException {
+        File file = new File(temporaryFolder, "gc.log");
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+    @Test
+    void testEmptyFile(@TempDir File temporaryFolder) throws IOException {
+        File file = write(temporaryFolder, new byte[0]);
+        MappedLogLineReader logLineReader = new MappedLogLineReader(file);
+        assertNull(logLineReader.readLine(), "Empty file log line not correct.");
+        logLineReader.close();
+    }
+
+    @Test
+    void testLineTerminators(@TempDir File temporaryFolder) throws IOException {
+        File file = write(temporaryFolder, "a\nbb\r\nccc\rdddd\n\n\r\n\reeeee".getBytes("US-ASCII"));
+        List<String> expected = readLines(new BufferedLogLineReader(file));
+        for (int windowSize = 1; windowSize <= 32; windowSize++) {
+            assertEquals(expected, readLines(file, windowSize), "Log lines not correct for window " + windowSize);
+        }
+    }
+
+    @Test
+    void testNonAscii(@TempDir File temporaryFolder) throws IOException {
+        String logging = "2021-03-09T14:45:02.012-0300: 0.065: [GC pause]\nApplication logging: café über\n";
+        File file = write(temporaryFolder, logging.getBytes(Charset.defaultCharset()));
+        List<String> expected = readLines(new BufferedLogLineReader(file));
+        for (int windowSize = 1; windowSize <= 16; windowSize++) {
+            assertEquals(expected, readLines(file, windowSize), "Log lines not correct for window " + windowSize);
+        }
+    }
+
+    @Test
+    void testSameAsBufferedReader() throws IOException {
+        File[] testFiles = TestUtil.getFile("dataset1.txt").getParentFile()
+                .listFiles((dir, name) -> name.matches("^dataset\\d+\\.txt$"));
+        assertTrue(testFiles.length > 0, "No test datasets found.");
+        for (File testFile : testFiles) {
+            List<String> expected = readLines(new BufferedLogLineReader(new BufferedReader(new FileReader(testFile))));
+            assertEquals(expected, readLines(new MappedLogLineReader(testFile)), testFile.getName());
+            assertEquals(expected, readLines(testFile, 4096), testFile.getName());
+        }
+    }
+}
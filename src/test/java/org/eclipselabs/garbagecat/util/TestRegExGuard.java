@@ -0,0 +1,73 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestRegExGuard {
+
+    /**
+     * Regular expression that backtracks catastrophically when a long line does not end with "a".
+     */
+    private static final Pattern BACKTRACKING = Pattern.compile("^(.*a){12}$");
+
+    @Test
+    void testTooLong() {
+        char[] logLine = new char[RegExGuard.MAX_LINE_LENGTH];
+        assertFalse(RegExGuard.isTooLong(new String(logLine)), "Log line too long.");
+        assertTrue(RegExGuard.isTooLong(new String(logLine) + " "), "Log line not too long.");
+    }
+
+    @Test
+    void testWithinBudget() {
+        assertEquals(Boolean.TRUE,
+                RegExGuard.evaluate(() -> BACKTRACKING.matcher(RegExGuard.input("aaaaaaaaaaaa")).matches(), () -> null),
+                "Log line not matched.");
+        assertEquals(Boolean.FALSE,
+                RegExGuard.evaluate(() -> BACKTRACKING.matcher(RegExGuard.input("aaaaab")).matches(), () -> null),
+                "Log line matched.");
+    }
+
+    @Test
+    void testBudgetExceeded() {
+        String logLine = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaab";
+        long start = System.nanoTime();
+        assertEquals(Boolean.FALSE,
+                RegExGuard.evaluate(() -> BACKTRACKING.matcher(RegExGuard.input(logLine)).matches(), () -> false),
+                "Budget exceeded result not returned.");
+        assertTrue(System.nanoTime() - start < RegExGuard.MAX_NANOS * 10, "Budget not enforced.");
+        assertEquals("exceeded", RegExGuard.evaluate(() -> {
+            BACKTRACKING.matcher(RegExGuard.input("aaaaaaaaaaaaaaaaaaab")).matches();
+            return "evaluated";
+        }, () -> "exceeded", 1000, RegExGuard.MAX_NANOS), "Step budget not enforced.");
+    }
+
+    @Test
+    void testNotGuarded() {
+        String logLine = "aaaaab";
+        assertSame(logLine, RegExGuard.input(logLine), "Log line outside of an evaluation guarded.");
+        RegExGuard.evaluate(() -> null, () -> null);
+        assertSame(logLine, RegExGuard.input(logLine), "Budget not removed after evaluation.");
+    }
+}
@@ -980,6 +980,9 @@ class TestAnalysis {
         // Usually no reason to set the thread stack size on 64 bit.
         assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_THREAD_STACK_SIZE_NOT_SET),
                 Analysis.WARN_THREAD_STACK_SIZE_NOT_SET + " analysis incorrectly identified.");
+        // -XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses handles explicit gc concurrently.
+        assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_NOT_CONCURRENT),
+                Analysis.WARN_EXPLICIT_GC_NOT_CONCURRENT + " analysis incorrectly identified.");
     }
 
     /**
@@ -1230,7 +1233,9 @@ class TestAnalysis {
         assertTrue(jvmRun.getJvm().is64Bit(), "64-bit not identified.");
         assertFalse(jvmRun.getAnalysis().contains(Analysis.WARN_THREAD_STACK_SIZE_NOT_SET),
                 Analysis.WARN_THREAD_STACK_SIZE_NOT_SET + " analysis incorrectly identified.");
-
+        // -Dcom.sun.management.jmxremote.port=12345
+        assertTrue(jvmRun.getAnalysis().contains(Analysis.INFO_JMX_ENABLED),
+                Analysis.INFO_JMX_ENABLED + " analysis not identified.");
     }
 
     /**
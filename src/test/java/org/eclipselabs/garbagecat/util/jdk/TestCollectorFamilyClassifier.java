@@ -0,0 +1,244 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1ConcurrentEvent;
+import org.eclipselabs.garbagecat.util.RegExGuard;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry.Registration;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.PreprocessActionType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestCollectorFamilyClassifier {
+
+    @Test
+    void testUsingG1() {
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        assertEquals(EnumSet.allOf(PreprocessActionType.class), classifier.getPreprocessActions(),
+                "Preprocess actions narrowed.");
+        assertEquals(LogEventType.USING_G1, classifier.identifyEventType("[0.003s][info][gc] Using G1"),
+                "Log line not recognized as " + LogEventType.USING_G1.toString() + ".");
+        assertEquals(EnumSet.allOf(PreprocessActionType.class), classifier.getPreprocessActions(),
+                "Preprocess actions narrowed before the event type is observed.");
+        classifier.observe(LogEventType.USING_G1);
+        assertEquals(EnumSet.of(CollectorFamily.G1), classifier.getCollectorFamilies(), "Collector family not G1.");
+        assertTrue(classifier.isUnified(), "Logging format not unified.");
+        assertTrue(classifier.getPreprocessActions().contains(PreprocessActionType.UNIFIED),
+                "Unified preprocess action excluded.");
+        assertFalse(classifier.getPreprocessActions().contains(PreprocessActionType.CMS),
+                "CMS preprocess action not excluded.");
+        assertFalse(classifier.getPreprocessActions().contains(PreprocessActionType.G1),
+                "Legacy G1 preprocess action not excluded.");
+    }
+
+    /**
+     * Test exceeding the regular expression budget or not identifying a log line does not affect the identification of
+     * other log lines with the same shape.
+     */
+    @Test
+    void testCacheOnlyAffectsSameLogLine() {
+        // Log lines ending in 2 exceed the budget, log lines ending in 9 do not match, all others match
+        EventTypeRegistry.register(new Registration(LogEventType.APPLICATION_LOGGING, line -> {
+            if (!line.startsWith("classifier-cache-test: ")) {
+                return false;
+            }
+            if (line.endsWith("2")) {
+                CharSequence input = RegExGuard.input(line);
+                for (long i = 0; i <= RegExGuard.MAX_STEPS; i++) {
+                    input.charAt(0);
+                }
+            }
+            return !line.endsWith("9");
+        }, ApplicationLoggingEvent::new).literals("classifier-cache-test: ").notReportable().throwAway());
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        assertEquals(LogEventType.APPLICATION_LOGGING, classifier.identifyEventType("classifier-cache-test: 1"),
+                "Log line not identified.");
+        assertEquals(LogEventType.UNKNOWN, classifier.identifyEventType("classifier-cache-test: 2"),
+                "Log line exceeding budget identified.");
+        assertEquals(LogEventType.APPLICATION_LOGGING, classifier.identifyEventType("classifier-cache-test: 3"),
+                "Log line with the same shape as a log line exceeding budget not identified.");
+        assertEquals(LogEventType.UNKNOWN, classifier.identifyEventType("classifier-cache-test: 9"),
+                "Log line not matching identified.");
+        assertEquals(LogEventType.UNKNOWN, classifier.identifyEventType("classifier-cache-test: 9"),
+                "Cached unidentified log line identified.");
+        assertEquals(LogEventType.APPLICATION_LOGGING.toString(),
+                classifier.parseLogLine("classifier-cache-test: 4").getName(),
+                "Log line with the same shape as an unidentified log line not parsed.");
+        assertEquals(LogEventType.UNKNOWN.toString(), classifier.parseLogLine("classifier-cache-test: 2").getName(),
+                "Log line exceeding budget parsed.");
+        assertEquals(LogEventType.APPLICATION_LOGGING,
+                new CollectorFamilyClassifier().identifyEventType("classifier-cache-test: 5"),
+                "Log line not identified by another classifier.");
+    }
+
+    /**
+     * Test unidentified log lines that only differ in their timestamps and sizes are not checked again, while
+     * unidentified log lines differing in other numbers are.
+     */
+    @Test
+    void testUnidentifiedShapeCached() {
+        AtomicInteger checks = new AtomicInteger();
+        EventTypeRegistry.register(new Registration(LogEventType.APPLICATION_LOGGING, line -> {
+            if (!line.contains("classifier-unidentified-test")) {
+                return false;
+            }
+            checks.incrementAndGet();
+            return line.endsWith("matched 4");
+        }, ApplicationLoggingEvent::new).literals("classifier-unidentified-test").notReportable().throwAway());
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        assertEquals(LogEventType.UNKNOWN,
+                classifier.identifyEventType("12.345: classifier-unidentified-test 1024K 0.0012345 secs, matched 9"),
+                "Log line not matching identified.");
+        assertEquals(1, checks.get(), "Log line not checked.");
+        assertEquals(LogEventType.UNKNOWN,
+                classifier.identifyEventType("67.890: classifier-unidentified-test 2048K 0.0054321 secs, matched 9"),
+                "Log line with the same unidentified shape identified.");
+        assertEquals(LogEventType.UNKNOWN.toString(),
+                classifier.parseLogLine("98.765: classifier-unidentified-test 4096K 0.0098765 secs, matched 9")
+                        .getName(),
+                "Log line with the same unidentified shape parsed.");
+        assertEquals(1, checks.get(), "Log line with the same unidentified shape checked again.");
+        assertEquals(LogEventType.APPLICATION_LOGGING,
+                classifier.identifyEventType("12.345: classifier-unidentified-test 1024K 0.0012345 secs, matched 4"),
+                "Log line differing in another number not identified.");
+        assertEquals(2, checks.get(), "Log line differing in another number not checked.");
+    }
+
+    /**
+     * Test a log line matched by an excluded event type and an event type of the established collector family is
+     * identified as the event type of the collector family, even though the excluded event type is matched first
+     * without narrowing.
+     */
+    @Test
+    void testOverlapIdentifiedByEstablishedFamily() {
+        Predicate<String> overlap = line -> line.startsWith("classifier-overlap-test: ");
+        EventTypeRegistry.register(new Registration(LogEventType.CMS_CONCURRENT, overlap,
+                logLine -> new CmsConcurrentEvent()).literals("classifier-overlap-test: ")
+                        .family(CollectorFamily.CMS));
+        EventTypeRegistry.register(new Registration(LogEventType.G1_CONCURRENT, overlap, G1ConcurrentEvent::new)
+                .literals("classifier-overlap-test: ").family(CollectorFamily.G1));
+        String logLine = "classifier-overlap-test: 1";
+        assertEquals(LogEventType.G1_CONCURRENT, JdkUtil.identifyEventType(logLine),
+                "Log line not recognized as " + LogEventType.G1_CONCURRENT.toString() + " without narrowing.");
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        String parNew = "2.102: [GC 2.102: [ParNew: 3264K->320K(3264K), 0.0030460 secs] "
+                + "3264K->1214K(10176K), 0.0031400 secs]";
+        for (int i = 0; i < CollectorFamilyClassifier.ESTABLISHING_EVENTS; i++) {
+            classifier.observe(classifier.identifyEventType(parNew));
+        }
+        assertEquals(EnumSet.of(CollectorFamily.CMS), classifier.getCollectorFamilies(), "Collector family not CMS.");
+        assertEquals(LogEventType.CMS_CONCURRENT, classifier.identifyEventType(logLine),
+                "Log line not recognized as " + LogEventType.CMS_CONCURRENT.toString() + ".");
+        assertEquals(EnumSet.of(CollectorFamily.CMS), classifier.getCollectorFamilies(), "G1 collector family added.");
+    }
+
+    @Test
+    void testEstablishedByEvents() {
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        String logLine = "1113.145: [GC pause (young) 849M->583M(968M), 0.0392710 secs]";
+        for (int i = 1; i < CollectorFamilyClassifier.ESTABLISHING_EVENTS; i++) {
+            assertEquals(LogEventType.G1_YOUNG_PAUSE, classifier.identifyEventType(logLine),
+                    "Log line not recognized as " + LogEventType.G1_YOUNG_PAUSE.toString() + ".");
+            classifier.observe(LogEventType.G1_YOUNG_PAUSE);
+        }
+        assertTrue(classifier.getCollectorFamilies().isEmpty(), "Collector family established.");
+        assertNull(classifier.isUnified(), "Logging format established.");
+        classifier.observe(classifier.identifyEventType(logLine));
+        assertEquals(EnumSet.of(CollectorFamily.G1), classifier.getCollectorFamilies(), "Collector family not G1.");
+        assertFalse(classifier.isUnified(), "Logging format not legacy.");
+    }
+
+    @Test
+    void testFallBackAddsCollectorFamily() {
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        String logLine = "2.102: [GC 2.102: [ParNew: 3264K->320K(3264K), 0.0030460 secs] "
+                + "3264K->1214K(10176K), 0.0031400 secs]";
+        for (int i = 0; i < CollectorFamilyClassifier.ESTABLISHING_EVENTS; i++) {
+            classifier.observe(classifier.identifyEventType(logLine));
+        }
+        assertEquals(EnumSet.of(CollectorFamily.CMS), classifier.getCollectorFamilies(), "Collector family not CMS.");
+        assertEquals(LogEventType.SERIAL_NEW,
+                classifier.identifyEventType("2.202: [GC 2.202: [DefNew: 3264K->320K(3264K), 0.0030460 secs] "
+                        + "3264K->1214K(10176K), 0.0031400 secs]"),
+                "Log line not recognized as " + LogEventType.SERIAL_NEW.toString() + ".");
+        classifier.observe(LogEventType.SERIAL_NEW);
+        assertEquals(EnumSet.of(CollectorFamily.CMS, CollectorFamily.SERIAL), classifier.getCollectorFamilies(),
+                "Collector family not added.");
+    }
+
+    /**
+     * Test the narrowed event types identify every line in the test datasets the same as checking every event type.
+     */
+    @Test
+    void testSameAsAllEventTypes() throws Exception {
+        for (File dataset : TestUtil.getFile("dataset1.txt").getParentFile().listFiles()) {
+            CollectorFamilyClassifier identifyClassifier = new CollectorFamilyClassifier();
+            CollectorFamilyClassifier parseClassifier = new CollectorFamilyClassifier();
+            for (String logLine : Files.readAllLines(dataset.toPath(), StandardCharsets.ISO_8859_1)) {
+                LogEventType eventType = identifyClassifier.identifyEventType(logLine);
+                assertEquals(JdkUtil.identifyEventType(logLine), eventType,
+                        dataset.getName() + " event type not identified correctly: " + logLine);
+                identifyClassifier.observe(eventType);
+                LogEvent event = parseClassifier.parseLogLine(logLine);
+                assertEquals(JdkUtil.parseLogLine(logLine).getName(), event.getName(),
+                        dataset.getName() + " event not parsed correctly: " + logLine);
+                parseClassifier.observe(EventTypeRegistry.getEventType(event));
+            }
+        }
+    }
+
+    /**
+     * Test a snapshot keeps the narrowing it was taken with while event types are observed, and is no longer current
+     * once the narrowing changes.
+     */
+    @Test
+    void testSnapshot() {
+        CollectorFamilyClassifier classifier = new CollectorFamilyClassifier();
+        CollectorFamilyClassifier snapshot = classifier.snapshot();
+        assertTrue(snapshot.isCurrent(), "Snapshot not current.");
+        classifier.observe(classifier.identifyEventType("[0.003s][info][gc] Using G1"));
+        assertFalse(snapshot.isCurrent(), "Snapshot current after narrowing changed.");
+        assertTrue(snapshot.getCollectorFamilies().isEmpty(), "Snapshot narrowing changed.");
+        assertEquals(EnumSet.allOf(PreprocessActionType.class), snapshot.getPreprocessActions(),
+                "Snapshot preprocess actions narrowed.");
+        CollectorFamilyClassifier settled = classifier.snapshot();
+        assertTrue(settled.isCurrent(), "Snapshot not current.");
+        assertEquals(EnumSet.of(CollectorFamily.G1), settled.getCollectorFamilies(), "Collector family not G1.");
+        classifier.observe(LogEventType.UNIFIED_G1_YOUNG_PAUSE);
+        assertTrue(settled.isCurrent(), "Snapshot not current after observing an established event type.");
+        assertThrows(UnsupportedOperationException.class, () -> settled.observe(LogEventType.USING_CMS),
+                "Snapshot updated.");
+    }
+}
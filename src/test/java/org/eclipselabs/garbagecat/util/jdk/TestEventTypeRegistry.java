@@ -0,0 +1,78 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
+import org.eclipselabs.garbagecat.domain.UnknownEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry.Registration;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestEventTypeRegistry {
+
+    @Test
+    void testEveryEventTypeRegistered() {
+        for (LogEventType eventType : LogEventType.values()) {
+            assertNotNull(EventTypeRegistry.getRegistration(eventType), eventType + " not registered.");
+            assertEquals(eventType, EventTypeRegistry.getEventType(eventType.toString()), eventType + " not named.");
+        }
+        assertNull(EventTypeRegistry.getEventType("NOT_AN_EVENT_TYPE"), "Event type name not correct.");
+    }
+
+    @Test
+    void testFamily() {
+        assertTrue(EventTypeRegistry.getEventTypes(CollectorFamily.CMS).contains(LogEventType.PAR_NEW),
+                JdkUtil.LogEventType.PAR_NEW.toString() + " not CMS.");
+        assertFalse(EventTypeRegistry.getEventTypes(CollectorFamily.G1).contains(LogEventType.PAR_NEW),
+                JdkUtil.LogEventType.PAR_NEW.toString() + " G1.");
+        assertTrue(EventTypeRegistry.getEventTypes(CollectorFamily.UNKNOWN).isEmpty(),
+                "Event types with unknown collector family.");
+    }
+
+    @Test
+    void testEventTypeOfEvent() {
+        String logLine = "1.219: [GC (Allocation Failure) 1.219: [ParNew: 8192K->1024K(9216K), 0.0158290 secs] "
+                + "8192K->2236K(19456K), 0.0159114 secs] [Times: user=0.04 sys=0.00, real=0.02 secs]";
+        assertEquals(LogEventType.PAR_NEW, EventTypeRegistry.getEventType(new ParNewEvent(logLine)),
+                JdkUtil.LogEventType.PAR_NEW.toString() + " event type not correct.");
+        assertEquals(LogEventType.UNKNOWN, EventTypeRegistry.getEventType(new UnknownEvent(logLine)),
+                JdkUtil.LogEventType.UNKNOWN.toString() + " event type not correct.");
+    }
+
+    @Test
+    void testRegister() {
+        String logLine = "platform-agent: heap shrink requested";
+        assertEquals(LogEventType.UNKNOWN, JdkUtil.identifyEventType(logLine), "Log line identified.");
+        EventTypeRegistry.register(new Registration(LogEventType.APPLICATION_LOGGING,
+                line -> line.startsWith("platform-agent: "), ApplicationLoggingEvent::new)
+                        .literals("platform-agent: ").notReportable().throwAway());
+        assertEquals(LogEventType.APPLICATION_LOGGING, JdkUtil.identifyEventType(logLine),
+                "Registered event type not identified.");
+        assertEquals(LogEventType.APPLICATION_LOGGING.toString(), JdkUtil.parseLogLine(logLine).getName(),
+                "Registered event type not parsed.");
+        assertTrue(JdkUtil.isThrowAway(LogEventType.APPLICATION_LOGGING), "Registered event type not throwaway.");
+        assertFalse(JdkUtil.isReportable(LogEventType.APPLICATION_LOGGING), "Registered event type reportable.");
+    }
+}
@@ -19,8 +19,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Random;
+
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.Memory.Unit;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -243,4 +246,95 @@ class TestJdkMath {
         assertTrue(JdkMath.isInvertedParallelism(99), "Parallism not calculated correctly.");
         assertFalse(JdkMath.isInvertedParallelism(100), "Parallism not calculated correctly.");
     }
+
+    @Test
+    void testParseSecs() {
+        String logLine = "[Times: user=0,02 sys=0.00, real=12.0225213 secs]";
+        int user = logLine.indexOf("0,02");
+        int real = logLine.indexOf("12.0225213");
+        assertEquals(2, JdkMath.parseSecsToCentis(logLine, user, user + 4),
+                "Secs not parsed to centiseconds properly.");
+        assertEquals(12022, JdkMath.parseSecsToMillis(logLine, real, real + 10),
+                "Secs not parsed to milliseconds properly.");
+        assertEquals(12022521, JdkMath.parseSecsToMicros(logLine, real, real + 10),
+                "Secs not parsed to microseconds properly.");
+        assertEquals(12022, JdkMath.parseMillisToMicros("12.0225213", 0, 10), "Millis not parsed to micros properly.");
+        assertEquals(12, JdkMath.parseMillis("12.0225213", 0, 10), "Millis not parsed properly.");
+    }
+
+    @Test
+    void testParseSizeToKilobytes() {
+        String logLine = "[Eden: 112.0M(112.0M)->0.0B(112.0M) Survivors: 16.0M->16.0M Heap: 136,9G(30.0G)]";
+        int eden = logLine.indexOf("112.0M");
+        int edenEnd = logLine.indexOf("0.0B");
+        int heap = logLine.indexOf("136,9G");
+        assertEquals(114688, JdkMath.parseSizeToKilobytes(logLine, eden, eden + 5, 'M'), "Size not parsed properly.");
+        assertEquals(0, JdkMath.parseSizeToKilobytes(logLine, edenEnd, edenEnd + 3, 'B'), "Size not parsed properly.");
+        assertEquals(143550054, JdkMath.parseSizeToKilobytes(logLine, heap, heap + 5, 'G'),
+                "Size not parsed properly.");
+        assertEquals(2, JdkMath.parseSizeToKilobytes("2560", 0, 4, 'B'), "Size not rounded half even.");
+        assertEquals(4, JdkMath.parseSizeToKilobytes("3584", 0, 4, 'B'), "Size not rounded half even.");
+        assertEquals(3, Memory.toKilobytes("3584", 0, 4, 'B'), "Size not rounded down.");
+        assertEquals(16384, Memory.toKilobytes("16M", 0, 2, 'M'), "Size not parsed properly.");
+    }
+
+    /**
+     * Test the fixed-point parsers give the same results as <code>BigDecimal</code> and <code>double</code> for random
+     * numbers in the formats logged.
+     */
+    @Test
+    void testParseSameAsConvert() {
+        Random random = new Random(20211017L);
+        for (int i = 0; i < 100000; i++) {
+            String number = randomDecimal(random, 1 + random.nextInt(i % 100 == 0 ? 20 : 7), random.nextInt(10));
+            String logLine = "[" + number + " secs]";
+            int end = number.length() + 1;
+            assertEquals(JdkMath.convertSecsToMillis(number).longValue(), JdkMath.parseSecsToMillis(logLine, 1, end),
+                    number + " secs not parsed to milliseconds properly.");
+            assertEquals(JdkMath.convertSecsToMicros(number).intValue(), JdkMath.parseSecsToMicros(logLine, 1, end),
+                    number + " secs not parsed to microseconds properly.");
+            assertEquals(JdkMath.convertSecsToCentis(number).intValue(), JdkMath.parseSecsToCentis(logLine, 1, end),
+                    number + " secs not parsed to centiseconds properly.");
+            assertEquals(JdkMath.convertMillisToMicros(number).intValue(),
+                    JdkMath.parseMillisToMicros(logLine, 1, end), number + " millis not parsed to micros properly.");
+            assertEquals(JdkMath.roundMillis(number).intValue(), JdkMath.parseMillis(logLine, 1, end),
+                    number + " millis not parsed properly.");
+        }
+        String units = "BbKkMmGg";
+        for (int i = 0; i < 100000; i++) {
+            char unit = units.charAt(random.nextInt(units.length()));
+            String size = randomDecimal(random, 1 + random.nextInt(i % 100 == 0 ? 14 : 8),
+                    random.nextInt(3) == 0 ? 0 : random.nextInt(4));
+            assertEquals(JdkMath.convertSizeToKilobytes(size, unit).getValue(Unit.KILOBYTES),
+                    JdkMath.parseSizeToKilobytes("(" + size + unit + ")", 1, size.length() + 1, unit),
+                    size + unit + " not parsed to kilobytes properly.");
+            String wholeSize = randomDecimal(random, 1 + random.nextInt(i % 100 == 0 ? 14 : 8), 0);
+            assertEquals(Memory.memory(wholeSize, unit).convertTo(Unit.KILOBYTES).getValue(Unit.KILOBYTES),
+                    Memory.toKilobytes(wholeSize + unit, 0, wholeSize.length(), unit),
+                    wholeSize + unit + " not parsed to kilobytes properly.");
+        }
+    }
+
+    /**
+     * @param random
+     *            The random number generator.
+     * @param integerDigits
+     *            The number of integer digits.
+     * @param fractionDigits
+     *            The number of decimal places, or 0 for a whole number.
+     * @return A random decimal number with a decimal period or comma.
+     */
+    private static String randomDecimal(Random random, int integerDigits, int fractionDigits) {
+        StringBuilder number = new StringBuilder();
+        for (int i = 0; i < integerDigits; i++) {
+            number.append((char) ('0' + random.nextInt(10)));
+        }
+        if (fractionDigits > 0) {
+            number.append(random.nextBoolean() ? '.' : ',');
+            for (int i = 0; i < fractionDigits; i++) {
+                number.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        return number.toString();
+    }
 }
@@ -0,0 +1,219 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedParallelScavengeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
+import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.util.jdk.EventTypeRegistry.Registration;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+class TestJdkScanner {
+
+    @Test
+    void testTimestamp() {
+        assertEquals(123456L, new JdkScanner("123.456").timestamp(), "Timestamp not correct.");
+        assertEquals(456L, new JdkScanner(",456").timestamp(), "Timestamp without seconds not correct.");
+        assertEquals(JdkScanner.NO_MATCH, new JdkScanner("123.4567").timestamp(), "Timestamp decimal places matched.");
+    }
+
+    @Test
+    void testDuration() {
+        JdkScanner scanner = new JdkScanner("0.0225213 secs]");
+        assertEquals(22521L, scanner.duration(), "Duration not rounded down.");
+        assertTrue(scanner.character(']'), "Duration units not skipped.");
+        assertEquals(12345678L, new JdkScanner("12,34567891").duration(), "Duration not correct.");
+        assertEquals(JdkScanner.NO_MATCH, new JdkScanner("12345.1234567").duration(), "Duration digits matched.");
+    }
+
+    @Test
+    void testSize() {
+        assertEquals(2048L, new JdkScanner("2M").size(), "Size not correct.");
+        assertEquals(JdkScanner.NO_MATCH, new JdkScanner("2.5M").size(), "Size with decimal places matched.");
+        assertEquals(2560L, new JdkScanner("2.5M").sizeToKilobytes(), "Size not correct.");
+        assertEquals(2L, new JdkScanner("2560B").sizeToKilobytes(), "Size not rounded half even.");
+        assertEquals(1234L, new JdkScanner("1234 K").sizeK(), "Size not correct.");
+    }
+
+    @Test
+    void testDecorator() {
+        JdkScanner scanner = new JdkScanner("[0.370s][info][gc,start     ] GC(6) Pause Young");
+        assertEquals(370L, scanner.decorator(), "Uptime not correct.");
+        assertFalse(scanner.isUptimeMillis(), "Uptime not seconds.");
+        assertTrue(scanner.literal(" Pause Young"), "Decorator not skipped.");
+        scanner = new JdkScanner("[2019-05-09T01:39:00.821+0000][5413ms] GC(0) Pause Young");
+        assertEquals(5413L, scanner.decorator(), "Uptime not correct.");
+        assertTrue(scanner.isDatestamp(), "Datestamp not identified.");
+        assertTrue(scanner.isUptimeMillis(), "Uptime not milliseconds.");
+        assertEquals(JdkScanner.NO_MATCH, new JdkScanner("[0.370s][debug][gc] GC(6)").decorator(),
+                "Level not in decorator matched.");
+    }
+
+    @Test
+    void testTimes() {
+        JdkScanner scanner = new JdkScanner(" [Times: user=0.45 sys=0,03, real=1.23 secs]");
+        assertTrue(scanner.times(), "Times block not matched.");
+        assertEquals(45, scanner.getTimeUser(), "User time not correct.");
+        assertEquals(3, scanner.getTimeSys(), "Sys time not correct.");
+        assertEquals(123, scanner.getTimeReal(), "Real time not correct.");
+        assertTrue(scanner.isEnd(), "Times block not skipped.");
+    }
+
+    /**
+     * An event type with a scanner, and its regular expression path.
+     */
+    private static final class ScannedEventType {
+
+        private final LogEventType eventType;
+
+        private final Function<String, LogEvent> scan;
+
+        private final Function<String, LogEvent> parse;
+
+        /**
+         * The private <code>matcher</code> method of the event, which matches the regular expressions only.
+         */
+        private final Method matcher;
+
+        private ScannedEventType(LogEventType eventType, Class<? extends LogEvent> eventClass,
+                Function<String, LogEvent> scan, Function<String, LogEvent> parse) throws Exception {
+            this.eventType = eventType;
+            this.scan = scan;
+            this.parse = parse;
+            matcher = eventClass.getDeclaredMethod("matcher", String.class);
+            matcher.setAccessible(true);
+        }
+
+        private boolean matchesRegEx(String logLine) throws Exception {
+            return matcher.invoke(null, logLine) != null;
+        }
+    }
+
+    /**
+     * Identify the event type of a log line with the regular expressions only, in the same order as
+     * {@link JdkUtil#identifyEventType(String)}.
+     */
+    private static LogEventType identifyEventTypeRegEx(String logLine, Map<LogEventType, ScannedEventType> scanned)
+            throws Exception {
+        EnumSet<LogEventType> candidates = EventTypeRegistry.candidates(logLine);
+        for (Registration registration : EventTypeRegistry.getRegistrations()) {
+            LogEventType eventType = registration.getEventType();
+            if (candidates.contains(eventType)) {
+                ScannedEventType scannedEventType = scanned.get(eventType);
+                if (scannedEventType == null ? registration.matches(logLine, null)
+                        : scannedEventType.matchesRegEx(logLine)) {
+                    return eventType;
+                }
+            }
+        }
+        return LogEventType.UNKNOWN;
+    }
+
+    /**
+     * Test the scanners create the same events as the regular expressions for every log line in the test datasets, as
+     * logged and preprocessed, and the scanners handle logging of every event type. A log line a scanner accepts must
+     * match the regular expressions, and every log line must be identified as the same event type with and without the
+     * scanners.
+     */
+    @Test
+    void testScanSameAsRegEx() throws Exception {
+        Map<LogEventType, ScannedEventType> paths = new LinkedHashMap<LogEventType, ScannedEventType>();
+        for (ScannedEventType path : new ScannedEventType[] {
+                new ScannedEventType(LogEventType.G1_YOUNG_PAUSE, G1YoungPauseEvent.class, G1YoungPauseEvent::scan,
+                        G1YoungPauseEvent::new),
+                new ScannedEventType(LogEventType.UNIFIED_G1_YOUNG_PAUSE, UnifiedG1YoungPauseEvent.class,
+                        UnifiedG1YoungPauseEvent::scan, UnifiedG1YoungPauseEvent::new),
+                new ScannedEventType(LogEventType.UNIFIED_SAFEPOINT, UnifiedSafepointEvent.class,
+                        UnifiedSafepointEvent::scan, UnifiedSafepointEvent::new),
+                new ScannedEventType(LogEventType.APPLICATION_STOPPED_TIME, ApplicationStoppedTimeEvent.class,
+                        ApplicationStoppedTimeEvent::scan, ApplicationStoppedTimeEvent::new),
+                new ScannedEventType(LogEventType.PAR_NEW, ParNewEvent.class, ParNewEvent::scan, ParNewEvent::new),
+                new ScannedEventType(LogEventType.PARALLEL_SCAVENGE, ParallelScavengeEvent.class,
+                        ParallelScavengeEvent::scan, ParallelScavengeEvent::new),
+                new ScannedEventType(LogEventType.UNIFIED_PARALLEL_SCAVENGE, UnifiedParallelScavengeEvent.class,
+                        UnifiedParallelScavengeEvent::scan, UnifiedParallelScavengeEvent::new) }) {
+            paths.put(path.eventType, path);
+        }
+        Map<String, Integer> scanned = new LinkedHashMap<String, Integer>();
+        for (File dataset : TestUtil.getFile("dataset1.txt").getParentFile().listFiles()) {
+            if (!dataset.getName().matches("dataset\\d+\\.txt")) {
+                continue;
+            }
+            List<String> logLines = new ArrayList<String>(
+                    Files.readAllLines(dataset.toPath(), StandardCharsets.ISO_8859_1));
+            File preprocessedFile = new GcManager().preprocess(dataset, null);
+            logLines.addAll(Files.readAllLines(preprocessedFile.toPath(), StandardCharsets.ISO_8859_1));
+            preprocessedFile.delete();
+            for (String logLine : logLines) {
+                for (ScannedEventType path : paths.values()) {
+                    LogEvent event = path.scan.apply(logLine);
+                    if (event != null) {
+                        assertTrue(path.matchesRegEx(logLine),
+                                dataset.getName() + " log line scanned but not matched: " + logLine);
+                        assertSameEvent(path.parse.apply(logLine), event,
+                                dataset.getName() + " log line not scanned correctly: " + logLine);
+                        scanned.merge(event.getName(), 1, Integer::sum);
+                    }
+                }
+                assertEquals(identifyEventTypeRegEx(logLine, paths), JdkUtil.identifyEventType(logLine),
+                        dataset.getName() + " log line not identified the same as with the regular expressions: "
+                                + logLine);
+            }
+        }
+        assertEquals(paths.size(), scanned.size(), "Event types not scanned: " + scanned);
+    }
+
+    /**
+     * @param expected
+     *            The event created with the regular expressions.
+     * @param actual
+     *            The event created with the scanner.
+     * @param message
+     *            The assertion message.
+     */
+    private static void assertSameEvent(LogEvent expected, LogEvent actual, String message) throws Exception {
+        for (Method method : expected.getClass().getMethods()) {
+            if (method.getParameterCount() == 0 && method.getDeclaringClass() != Object.class
+                    && (method.getName().startsWith("get") || method.getName().startsWith("is"))) {
+                assertEquals(method.invoke(expected), method.invoke(actual), message + " (" + method.getName() + ")");
+            }
+        }
+    }
+}
@@ -20,9 +20,15 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Date;
+import java.util.EnumSet;
 
+import org.eclipselabs.garbagecat.TestUtil;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
@@ -31,6 +37,8 @@ import org.eclipselabs.garbagecat.domain.jdk.ShenandoahInitUpdateEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1FullGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegExGuard;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
@@ -338,4 +346,93 @@ class TestJdkUtil {
                 + "[CMS-concurrent-preclean: 0.108/0.139 secs] [Times: user=0.14 sys=0.01, real=0.14 secs]";
         assertEquals("2012-06-20T12:29:58.094+0200", JdkUtil.getDateStamp(logLine), "Datestamp not parsed correctly.");
     }
+
+    /**
+     * Test the event type index identifies every line in the test datasets the same as checking every event type.
+     */
+    @Test
+    void testIdentifyEventTypeIndexSameAsAllEventTypes() throws Exception {
+        EnumSet<LogEventType> allEventTypes = EnumSet.allOf(LogEventType.class);
+        for (File dataset : TestUtil.getFile("dataset1.txt").getParentFile().listFiles()) {
+            for (String logLine : Files.readAllLines(dataset.toPath(), StandardCharsets.ISO_8859_1)) {
+                assertEquals(JdkUtil.identifyEventType(logLine, allEventTypes), JdkUtil.identifyEventType(logLine),
+                        dataset.getName() + " event type not identified correctly: " + logLine);
+            }
+        }
+    }
+
+    /**
+     * Test throwaway events are identified by event type the same as by parsing every line in the test datasets.
+     */
+    @Test
+    void testIsThrowAwaySameAsParsedEvent() throws Exception {
+        for (File dataset : TestUtil.getFile("dataset1.txt").getParentFile().listFiles()) {
+            for (String logLine : Files.readAllLines(dataset.toPath(), StandardCharsets.ISO_8859_1)) {
+                assertEquals(JdkUtil.parseLogLine(logLine) instanceof ThrowAwayEvent,
+                        JdkUtil.isThrowAway(JdkUtil.identifyEventType(logLine)),
+                        dataset.getName() + " throwaway event not identified correctly: " + logLine);
+            }
+        }
+    }
+
+    @Test
+    void testLogLineTooLong() {
+        StringBuilder logLine = new StringBuilder("1.219: [GC (Allocation Failure) 1.219: [ParNew: "
+                + "8192K->1024K(9216K), 0.0158290 secs] 8192K->2236K(19456K), 0.0159114 secs] "
+                + "[Times: user=0.04 sys=0.00, real=0.02 secs]");
+        assertEquals(LogEventType.PAR_NEW, JdkUtil.identifyEventType(logLine.toString()),
+                JdkUtil.LogEventType.PAR_NEW.toString() + " not identified.");
+        while (!RegExGuard.isTooLong(logLine.toString())) {
+            logLine.append(' ');
+        }
+        assertEquals(LogEventType.UNKNOWN, JdkUtil.identifyEventType(logLine.toString()),
+                "Log line too long identified.");
+        assertEquals(LogEventType.UNKNOWN.toString(), JdkUtil.parseLogLine(logLine.toString()).getName(),
+                "Log line too long parsed.");
+    }
+
+    @Test
+    void testShape() {
+        assertEquals("[0.000s][info][gc] GC(00) Pause Young (Normal) (G1 Evacuation Pause) 00M->0M(000M) 0.000ms",
+                JdkUtil.getShape("[0.021s][info][gc] GC(12) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) "
+                        + "3.456ms"),
+                "Shape not correct.");
+        assertEquals(JdkUtil.getShape("1.234: [GC pause (G1 Evacuation Pause) (young) 12M->3M(64M), 0.0012345 secs]"),
+                JdkUtil.getShape("9.876: [GC pause (G1 Evacuation Pause) (young) 45M->6M(78M), 0.0098765 secs]"),
+                "Log lines only differing in numbers not the same shape.");
+        assertFalse(JdkUtil.getShape("1.234: [GC").equals(JdkUtil.getShape("12.3456: [GC")),
+                "Number of digits not kept.");
+        assertEquals("-XX:+UseG1GC -XX:MaxGCPauseMillis=000",
+                JdkUtil.getShape("-XX:+UseG1GC -XX:MaxGCPauseMillis=200"), "Digits in names not kept.");
+    }
+
+    @Test
+    void testUnidentifiedShape() {
+        assertEquals("0000-00-00T00:00:00.000-0000: 00000.000: application message 0000K 0.000ms 00ms GC(0) 1 98%",
+                JdkUtil.getUnidentifiedShape("2016-02-18T02:01:28.575-0500: 44620.073: application message 1024K "
+                        + "1.234ms 12ms GC(6) 1 98%"),
+                "Unidentified shape not correct.");
+        assertEquals("[0.000s][info][gc] Using G1 with 8 threads",
+                JdkUtil.getUnidentifiedShape("[0.003s][info][gc] Using G1 with 8 threads"),
+                "Digits in names or other numbers masked.");
+        assertFalse(
+                JdkUtil.getUnidentifiedShape("1.234: message").equals(JdkUtil.getUnidentifiedShape("12.345: message")),
+                "Number of digits not kept.");
+    }
+
+    /**
+     * Test log lines are identified and parsed the same as checking every event type in the test datasets.
+     */
+    @Test
+    void testShapeCacheSameAsAllEventTypes() throws Exception {
+        for (File dataset : TestUtil.getFile("dataset1.txt").getParentFile().listFiles()) {
+            for (String logLine : Files.readAllLines(dataset.toPath(), StandardCharsets.ISO_8859_1)) {
+                LogEventType eventType = JdkUtil.identifyEventType(logLine, EnumSet.allOf(LogEventType.class));
+                assertEquals(eventType, JdkUtil.identifyEventType(logLine),
+                        dataset.getName() + " event type not identified correctly: " + logLine);
+                assertEquals(eventType.toString(), JdkUtil.parseLogLine(logLine).getName(),
+                        dataset.getName() + " event type not parsed correctly: " + logLine);
+            }
+        }
+    }
 }
@@ -18,6 +18,7 @@ import static org.eclipselabs.garbagecat.util.Memory.megabytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipselabs.garbagecat.util.Memory;
@@ -541,6 +542,58 @@ class TestJvm {
                 "-XX:+ExplicitGCInvokesConcurrent option incorrect.");
     }
 
+    @Test
+    void testExplicitGCInvokesConcurrentAndUnloadsClasses() {
+        String jvmOptions = "-XX:+CMSClassUnloadingEnabled -XX:CMSInitiatingOccupancyFraction=75 "
+                + "-XX:+CMSScavengeBeforeRemark -XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses "
+                + "-XX:GCLogFileSize=8388608 -XX:InitialHeapSize=13958643712 -XX:MaxHeapSize=13958643712 "
+                + "-XX:MaxPermSize=402653184 -XX:MaxTenuringThreshold=6 -XX:NewRatio=2 -XX:NumberOfGCLogFiles=8 "
+                + "-XX:OldPLABSize=16 -XX:PermSize=402653184 -XX:+PrintGC -XX:+PrintGCDateStamps "
+                + "-XX:+PrintGCDetails -XX:+PrintGCTimeStamps -XX:+UseCompressedOops -XX:+UseConcMarkSweepGC "
+                + "-XX:+UseGCLogFileRotation -XX:+UseParNewGC";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        assertEquals("-XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses", jvm.getExplicitGcInvokesConcurrentOption(),
+                "-XX:+ExplicitGCInvokesConcurrentAndUnloadsClasses option incorrect.");
+    }
+
+    @Test
+    void testExplicitGCInvokesConcurrentDisabled() {
+        String jvmOptions = "-XX:+ExplicitGCInvokesConcurrent -XX:-ExplicitGCInvokesConcurrentAndUnloadsClasses";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        assertEquals("-XX:+ExplicitGCInvokesConcurrent", jvm.getExplicitGcInvokesConcurrentOption(),
+                "-XX:+ExplicitGCInvokesConcurrent option incorrect.");
+        jvm = new Jvm("-XX:-ExplicitGCInvokesConcurrent", null);
+        assertNull(jvm.getExplicitGcInvokesConcurrentOption(), "-XX:-ExplicitGCInvokesConcurrent option incorrect.");
+    }
+
+    @Test
+    void testJmxRemoteSubOptions() {
+        String jvmOptions = "-Dprogram.name=run.sh -d64 -server -Xms10000m -Xmx10000m -ss512k -XX:PermSize=512m "
+                + "-XX:MaxPermSize=512m -XX:NewSize=3000m -XX:MaxNewSize=3000m -XX:SurvivorRatio=6 "
+                + "-XX:TargetSurvivorRatio=90 -XX:MaxTenuringThreshold=5 -verbose:gc -XX:+PrintGC "
+                + "-XX:+PrintGCDetails -XX:+PrintGCDateStamps -XX:-TraceClassUnloading -XX:+UseConcMarkSweepGC "
+                + "-XX:+UseParNewGC -XX:+CMSParallelRemarkEnabled -XX:CMSInitiatingOccupancyFraction=70 "
+                + "-XX:+UseCMSInitiatingOccupancyOnly -XX:ParallelGCThreads=8 -XX:+CMSScavengeBeforeRemark "
+                + "-Dcom.sun.management.jmxremote.port=12345 -Dcom.sun.management.jmxremote.ssl=false "
+                + "-Djava.net.preferIPv4Stack=true -Djboss.platform.mbeanserver "
+                + "-Djavax.management.builder.initial=org.jboss.system.server.jmx.MBeanServerBuilderImpl "
+                + "-XX:ErrorFile=/opt/jboss/jboss-eap-4.3/jboss-as/server/path/log/crash/hs_err_pid%p.log "
+                + "-XX:+DisableExplicitGC -Dsun.rmi.dgc.client.gcInterval=3600000 "
+                + "-Dsun.rmi.dgc.server.gcInterval=3600000 -Dsun.lang.ClassLoader.allowArraySyntax=true";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        assertTrue(jvm.IsJmxEnabled(), "JMX not enabled.");
+        assertTrue(new Jvm("-Xss128k -Dcom.sun.management.jmxremote", null).IsJmxEnabled(), "JMX not enabled.");
+        assertFalse(new Jvm("-Xss128k -Djava.net.preferIPv4Stack=true", null).IsJmxEnabled(), "JMX enabled.");
+    }
+
+    @Test
+    void testClassUnloadingWithConcurrentMarkDisabled() {
+        String jvmOptions = "-Xss128k -XX:-ClassUnloadingWithConcurrentMark";
+        Jvm jvm = new Jvm(jvmOptions, null);
+        assertEquals("-XX:-ClassUnloadingWithConcurrentMark", jvm.getClassUnloadingDisabled(),
+                "-XX:-ClassUnloadingWithConcurrentMark option incorrect.");
+    }
+
     @Test
     void testPrintCommandLineFlags() {
         String jvmOptions = "-Xss128k -XX:+PrintCommandLineFlags -XX:+DisableExplicitGC";
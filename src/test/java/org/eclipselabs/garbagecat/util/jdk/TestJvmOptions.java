@@ -0,0 +1,100 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2021 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.eclipselabs.garbagecat.util.Memory.bytes;
+import static org.eclipselabs.garbagecat.util.Memory.gigabytes;
+import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
+import static org.eclipselabs.garbagecat.util.Memory.Unit.BYTES;
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.jdk.JvmOptions.Option;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestJvmOptions {
+
+    @Test
+    void testNullOptions() {
+        JvmOptions jvmOptions = new JvmOptions(null);
+        assertTrue(jvmOptions.getOptions().isEmpty(), "Options parsed.");
+        assertNull(jvmOptions.get("UseG1GC"), "Option found.");
+    }
+
+    @Test
+    void testTypedValues() {
+        JvmOptions jvmOptions = new JvmOptions("-XX:+UseG1GC -XX:-UseCompressedOops -XX:SurvivorRatio=6 "
+                + "-XX:MaxHeapSize=1g -XX:HeapDumpPath=/mydir/ -Xint");
+        assertEquals(Boolean.TRUE, jvmOptions.get("UseG1GC").getBoolean(), "Enabled option not parsed.");
+        assertEquals(Boolean.FALSE, jvmOptions.get("UseCompressedOops").getBoolean(), "Disabled option not parsed.");
+        assertEquals(Long.valueOf(6), jvmOptions.get("SurvivorRatio").getNumber(), "Number not parsed.");
+        assertEquals(bytes(6), jvmOptions.get("SurvivorRatio").getSize(BYTES), "Number not parsed as size.");
+        assertEquals(gigabytes(1), jvmOptions.get("MaxHeapSize").getSize(BYTES), "Size not parsed.");
+        assertNull(jvmOptions.get("MaxHeapSize").getNumber(), "Size parsed as number.");
+        assertEquals("/mydir/", jvmOptions.get("HeapDumpPath").getValue(), "String not parsed.");
+        assertNull(jvmOptions.get("HeapDumpPath").getSize(BYTES), "String parsed as size.");
+        assertEquals(Boolean.TRUE, jvmOptions.get("Xint").getBoolean(), "Standard option not parsed.");
+    }
+
+    @Test
+    void testNames() {
+        JvmOptions jvmOptions = new JvmOptions("-Xmx2048m -ss128k -Xloggc:gc.log -javaagent:agent.jar=a:b "
+                + "-Dsun.rmi.dgc.client.gcInterval=3600000");
+        assertEquals("2048m", jvmOptions.get("Xmx").getValue(), "-Xmx not parsed.");
+        assertEquals(kilobytes(128), jvmOptions.get("ss").getSize(BYTES), "-ss not parsed.");
+        assertEquals("gc.log", jvmOptions.get("Xloggc").getValue(), "-Xloggc not parsed.");
+        assertEquals("agent.jar=a:b", jvmOptions.get("javaagent").getValue(), "-javaagent not parsed.");
+        assertEquals(Long.valueOf(3600000), jvmOptions.get("Dsun.rmi.dgc.client.gcInterval").getNumber(),
+                "System property not parsed.");
+    }
+
+    @Test
+    void testLastOptionInEffect() {
+        JvmOptions jvmOptions = new JvmOptions("-XX:+UseParNewGC -Xss256k -XX:ThreadStackSize=512 -XX:-UseParNewGC");
+        assertEquals("-XX:-UseParNewGC", jvmOptions.get("UseParNewGC").getOption(), "Last option not in effect.");
+        assertEquals(kilobytes(512), jvmOptions.get("Xss", "ss", "ThreadStackSize").getSize(KILOBYTES),
+                "Last option with the same meaning not in effect.");
+        assertEquals(4, jvmOptions.getOptions().size(), "Options specified more than once not kept.");
+    }
+
+    @Test
+    void testByPrefix() {
+        JvmOptions jvmOptions = new JvmOptions("-Dcom.sun.management.jmxremote.port=12345 -XX:+UseG1GC "
+                + "-Dcom.sun.management.jmxremote.ssl=true -Dcom.sun.management.jmxremote.ssl=false");
+        List<Option> options = jvmOptions.getByPrefix("Dcom.sun.management.jmxremote");
+        assertEquals(2, options.size(), "Options in effect not found by prefix.");
+        assertEquals("-Dcom.sun.management.jmxremote.port=12345", options.get(0).getOption(), "Order not kept.");
+        assertEquals("-Dcom.sun.management.jmxremote.ssl=false", options.get(1).getOption(),
+                "Last option not in effect.");
+        assertTrue(jvmOptions.getByPrefix("UseParallel").isEmpty(), "Option found by prefix not specified.");
+    }
+
+    @Test
+    void testQuotedAndJoinedOptions() {
+        JvmOptions jvmOptions = new JvmOptions("\"-Xss1024k\" -Xcomp-Xms2048M -XX:-DisableExplicitGC "
+                + "-XX:HeapDumpPath=/my-Xdir/");
+        assertEquals("-Xss1024k", jvmOptions.get("Xss").getOption(), "Quoted option not parsed.");
+        assertEquals("-Xcomp", jvmOptions.get("Xcomp").getOption(), "Joined option not split.");
+        assertEquals("2048M", jvmOptions.get("Xms").getValue(), "Joined option not split.");
+        assertEquals(Boolean.FALSE, jvmOptions.get("DisableExplicitGC").getBoolean(), "Disabled option split.");
+        assertEquals("/my-Xdir/", jvmOptions.get("HeapDumpPath").getValue(), "Option value split.");
+    }
+}